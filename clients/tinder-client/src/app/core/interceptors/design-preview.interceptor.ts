@@ -81,8 +81,12 @@ export const designPreviewInterceptor: HttpInterceptorFn = (request, next) => {
     return of(new HttpResponse({ status: 200, body: milaProfile }));
   }
 
-  if (request.method === 'GET' && url.endsWith('/api/v1/swipes/liked-me')) {
-    return of(new HttpResponse({ status: 200, body: [] }));
+  if (request.method === 'GET' && url.includes('/api/v1/swipes/liked-me/page')) {
+    return of(new HttpResponse({ status: 200, body: { items: [], nextCursor: null } }));
+  }
+
+  if (request.method === 'GET' && url.endsWith('/api/v1/swipes/liked-me/count')) {
+    return of(new HttpResponse({ status: 200, body: { count: 0 } }));
   }
 
   if (request.method === 'POST' && url.includes('/api/v1/swipes')) {
@@ -1,5 +1,5 @@
 import { Injectable, inject } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../../environments/environment';
 
@@ -9,12 +9,25 @@ export interface LikedMe {
   isSuper: boolean;
 }
 
+export interface LikedMePage {
+  items: LikedMe[];
+  nextCursor: string | null;
+}
+
 @Injectable({ providedIn: 'root' })
 export class LikesService {
   private http = inject(HttpClient);
   private base = `${environment.apiGatewayUrl}/api/v1/swipes`;
 
-  getLikedMe(): Observable<LikedMe[]> {
-    return this.http.get<LikedMe[]>(`${this.base}/liked-me`);
+  getLikedMe(limit = 30, cursor?: string | null): Observable<LikedMePage> {
+    let params = new HttpParams().set('limit', limit);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<LikedMePage>(`${this.base}/liked-me/page`, { params });
+  }
+
+  getLikedMeCount(): Observable<{ count: number }> {
+    return this.http.get<{ count: number }>(`${this.base}/liked-me/count`);
   }
 }
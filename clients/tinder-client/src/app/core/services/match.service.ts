@@ -1,9 +1,11 @@
 import { Injectable, inject } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
-import { map } from 'rxjs/operators';
+import { EMPTY, Observable } from 'rxjs';
+import { expand, map, reduce } from 'rxjs/operators';
 import { environment } from '../../../environments/environment';
 
+const CHAT_LIST_PAGE_SIZE = 100;
+
 export interface Match {
   id: string;
   profile1Id: string;
@@ -27,6 +29,7 @@ export interface Conversation {
 
 export interface LastMessagePreview {
   messageId: string;
+  seq: number;
   senderId: string;
   messageType: string;
   text: string | null;
@@ -38,6 +41,7 @@ export interface ConversationDto {
   participant1Id: string;
   participant2Id: string;
   status: string;
+  lastActivityAt: string;
   lastMessage: LastMessagePreview | null;
 }
 
@@ -111,9 +115,17 @@ export class MatchService {
     );
   }
 
+  /** All chats, most recently active first; follows the keyset cursor until a short page. */
   getMyChats(profileId: string): Observable<ConversationDto[]> {
-    return this.http.get<ConversationDto[]>(`${environment.apiGatewayUrl}/rest/conversations/my-chats`, {
-      params: { profileId }
-    });
+    const page = (after?: ConversationDto) =>
+      this.http.get<ConversationDto[]>(`${environment.apiGatewayUrl}/rest/conversations/my-chats`, {
+        params: after
+          ? { profileId, limit: CHAT_LIST_PAGE_SIZE, beforeActivityAt: after.lastActivityAt, beforeConversationId: after.conversationId }
+          : { profileId, limit: CHAT_LIST_PAGE_SIZE }
+      });
+    return page().pipe(
+      expand(chats => chats.length === CHAT_LIST_PAGE_SIZE ? page(chats[chats.length - 1]) : EMPTY),
+      reduce((all, chats) => all.concat(chats), [] as ConversationDto[])
+    );
   }
 }
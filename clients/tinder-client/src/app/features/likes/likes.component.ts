@@ -507,7 +507,7 @@ export class LikesComponent implements OnInit {
     this.forbidden.set(false);
 
     this.likesService.getLikedMe().subscribe({
-      next: (items) => {
+      next: ({ items }) => {
         if (items.length === 0) {
           this.likers.set([]);
           this.loading.set(false);
@@ -27,6 +27,8 @@ psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "profiles_db" \
     -f /docker-entrypoint-initdb.d/migration/V1_profiles.sql
 psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "profiles_db" \
     -f /docker-entrypoint-initdb.d/migration/V2_profiles_deck_read_cqrs.sql
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "profiles_db" \
+    -f /docker-entrypoint-initdb.d/migration/V8_profiles_photo_variant_status.sql
 psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "profiles_db" <<-EOSQL
     ALTER TABLE preferences         OWNER TO profiles_app;
     ALTER TABLE location            OWNER TO profiles_app;
@@ -53,6 +55,10 @@ EOSQL
 # match_db
 psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "match_db" \
     -f /docker-entrypoint-initdb.d/migration/V1_match.sql
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "match_db" \
+    -f /docker-entrypoint-initdb.d/migration/V6_match_message_sequence.sql
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "match_db" \
+    -f /docker-entrypoint-initdb.d/migration/V7_match_conversation_last_message.sql
 psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "match_db" <<-EOSQL
     REVOKE ALL ON DATABASE match_db FROM PUBLIC;
     GRANT CONNECT ON DATABASE match_db TO match_app;
@@ -66,6 +72,12 @@ EOSQL
 # consumer_db
 psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "consumer_db" \
     -f /docker-entrypoint-initdb.d/migration/V1_consumer.sql
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "consumer_db" \
+    -f /docker-entrypoint-initdb.d/migration/V3_consumer_outbox_partitioning.sql
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "consumer_db" \
+    -f /docker-entrypoint-initdb.d/migration/V4_consumer_liked_me_feed_index.sql
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "consumer_db" \
+    -f /docker-entrypoint-initdb.d/migration/V5_consumer_processed_swipe_events.sql
 psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "consumer_db" <<-EOSQL
     REVOKE ALL ON DATABASE consumer_db FROM PUBLIC;
     GRANT CONNECT ON DATABASE consumer_db TO consumer_app;
@@ -0,0 +1,29 @@
+-- Batched premium expiration: lapsed profiles are claimed in chunks and their flags cleared in
+-- one statement per chunk; the Keycloak role revocation each one still needs is queued here in
+-- the same transaction, so a failed or interrupted revocation is retried rather than lost.
+CREATE INDEX IF NOT EXISTS idx_profiles_premium_expires_at
+    ON profiles (premium_expires_at)
+    WHERE is_premium = TRUE;
+
+CREATE TABLE IF NOT EXISTS premium_revocation_queue
+(
+    user_id           VARCHAR(255)             NOT NULL,
+    expired_at        TIMESTAMP WITHOUT TIME ZONE,
+    attempts          INTEGER                  NOT NULL,
+    next_attempt_at   TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at        TIMESTAMP WITH TIME ZONE NOT NULL,
+    dead_lettered_at  TIMESTAMP WITH TIME ZONE,
+    last_error        VARCHAR(1000),
+    CONSTRAINT premium_revocation_queue_pkey PRIMARY KEY (user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_premium_revocation_due
+    ON premium_revocation_queue (dead_lettered_at, next_attempt_at);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'profiles_app') THEN
+        ALTER TABLE IF EXISTS premium_revocation_queue OWNER TO profiles_app;
+    END IF;
+END
+$$;
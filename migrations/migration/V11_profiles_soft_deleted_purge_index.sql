@@ -0,0 +1,8 @@
+-- Chunked purge of soft-deleted profiles: each chunk is a keyset page over the ids of
+-- soft-deleted rows, so this partial index keeps every page an index range scan however
+-- large the backlog is, and costs nothing for live profiles.
+-- CONCURRENTLY keeps profiles writable while it builds; run outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_profiles_soft_deleted_purge
+    ON profiles (id, deleted_at)
+    WHERE is_deleted = TRUE;
@@ -0,0 +1,6 @@
+-- Recovery sweep claims: a replica resuming a pending photo's pipeline leases the row with
+-- FOR UPDATE SKIP LOCKED, so other replicas skip it until the lease runs out, and counts the
+-- attempt; a photo still pending after the configured number of attempts is marked FAILED.
+ALTER TABLE photo
+    ADD COLUMN IF NOT EXISTS render_attempts INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS render_leased_until TIMESTAMP WITH TIME ZONE;
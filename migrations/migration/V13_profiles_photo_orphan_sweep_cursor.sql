@@ -0,0 +1,21 @@
+-- Orphaned-photo sweep position, shared by all profiles replicas: the replica that claims the row
+-- (FOR UPDATE SKIP LOCKED, then a lease) is the only one walking the bucket, so the configured
+-- request rate holds for the whole deployment, and a restarted node resumes where the last run
+-- stopped instead of at the start of the bucket. The row is created by the first claim.
+CREATE TABLE IF NOT EXISTS photo_orphan_sweep_cursor
+(
+    sweep         VARCHAR(64)              NOT NULL,
+    resume_after  VARCHAR(1024),
+    lease_owner   UUID,
+    leased_until  TIMESTAMP WITH TIME ZONE,
+    updated_at    TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT photo_orphan_sweep_cursor_pkey PRIMARY KEY (sweep)
+);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'profiles_app') THEN
+        ALTER TABLE IF EXISTS photo_orphan_sweep_cursor OWNER TO profiles_app;
+    END IF;
+END
+$$;
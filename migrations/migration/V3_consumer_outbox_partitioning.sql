@@ -0,0 +1,278 @@
+-- Consumer outbox tables become daily RANGE partitions on created_at.
+-- Published rows are reclaimed by detaching and dropping whole partitions
+-- (OutboxPartitionMaintenanceJob) instead of row deletes, and the publisher's
+-- FOR UPDATE SKIP LOCKED claim only walks a partial index of unpublished rows.
+--
+-- Idempotent: a table that is already partitioned is left untouched.
+-- Rows still pending or dead-lettered are carried over, together with the
+-- last 7 days of published history; older published rows are dropped with
+-- the legacy table.
+--
+-- Note: Postgres requires the partition key in every unique constraint, so
+-- event_id uniqueness is enforced per (event_id, created_at).
+--
+-- Each table also gets a DEFAULT partition, so an insert for a day whose
+-- partition was never created (maintenance job stalled) still commits instead
+-- of failing the swipe/match transaction that writes it. Creating that day's
+-- partition later moves such rows out of DEFAULT.
+--
+-- Dead-lettered rows are never published, so they would keep their partition
+-- from ever being dropped. Before a partition past retention is checked, the
+-- job moves them to <table>_dead_letter (outbox_archive_dead_letters).
+
+CREATE OR REPLACE FUNCTION outbox_ensure_daily_partition(parent_table TEXT, partition_day DATE)
+    RETURNS TEXT
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    partition_name TEXT        := parent_table || '_p' || to_char(partition_day, 'YYYYMMDD');
+    default_name   TEXT        := parent_table || '_default';
+    range_start    TIMESTAMPTZ := partition_day::TIMESTAMP AT TIME ZONE 'UTC';
+    range_end      TIMESTAMPTZ := (partition_day + 1)::TIMESTAMP AT TIME ZONE 'UTC';
+    stranded       BOOLEAN     := FALSE;
+BEGIN
+    -- Serialises replicas creating the same partition at the same time.
+    PERFORM pg_advisory_xact_lock(hashtext(partition_name));
+
+    IF to_regclass(partition_name) IS NULL THEN
+        -- Rows of this day that landed in DEFAULT would violate the new partition's bound,
+        -- so they are moved out first and re-routed once the partition exists.
+        IF to_regclass(default_name) IS NOT NULL THEN
+            EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE created_at >= %L AND created_at < %L)',
+                           default_name, range_start, range_end)
+                INTO stranded;
+        END IF;
+
+        IF stranded THEN
+            DROP TABLE IF EXISTS pg_temp.outbox_default_drain;
+            EXECUTE format(
+                    'CREATE TEMP TABLE outbox_default_drain ON COMMIT DROP AS '
+                        || 'WITH moved AS (DELETE FROM %I WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                        || 'SELECT * FROM moved',
+                    default_name, range_start, range_end
+                    );
+        END IF;
+
+        EXECUTE format(
+                'CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                partition_name,
+                parent_table,
+                range_start,
+                range_end
+                );
+
+        IF stranded THEN
+            EXECUTE format('INSERT INTO %I SELECT * FROM outbox_default_drain', parent_table);
+            DROP TABLE pg_temp.outbox_default_drain;
+        END IF;
+    END IF;
+
+    RETURN partition_name;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION outbox_archive_dead_letters(parent_table TEXT, partition_name TEXT)
+    RETURNS BIGINT
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    archived BIGINT;
+BEGIN
+    EXECUTE format(
+            'WITH moved AS (DELETE FROM %I WHERE published_at IS NULL AND dead_lettered_at IS NOT NULL RETURNING *) '
+                || 'INSERT INTO %I SELECT * FROM moved',
+            partition_name, parent_table || '_dead_letter'
+            );
+    GET DIAGNOSTICS archived = ROW_COUNT;
+    RETURN archived;
+END
+$$;
+
+DO
+$$
+DECLARE
+    first_day  DATE;
+    cursor_day DATE;
+BEGIN
+    IF to_regclass('swipe_event_outbox') IS NOT NULL
+        AND NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'swipe_event_outbox'::regclass) THEN
+
+        ALTER TABLE swipe_event_outbox RENAME TO swipe_event_outbox_legacy;
+        ALTER TABLE swipe_event_outbox_legacy RENAME CONSTRAINT swipe_event_outbox_pkey TO swipe_event_outbox_legacy_pkey;
+        ALTER TABLE swipe_event_outbox_legacy DROP CONSTRAINT IF EXISTS uk_swipe_outbox_event_id;
+        DROP INDEX IF EXISTS idx_swipe_outbox_publish_window;
+        DROP INDEX IF EXISTS idx_swipe_outbox_swiper;
+        DROP INDEX IF EXISTS idx_swipe_outbox_swiped;
+    END IF;
+
+    IF to_regclass('swipe_event_outbox') IS NULL THEN
+        CREATE TABLE swipe_event_outbox
+        (
+            retry_count      INTEGER                  NOT NULL,
+            created_at       TIMESTAMP WITH TIME ZONE NOT NULL,
+            dead_lettered_at TIMESTAMP WITH TIME ZONE,
+            next_attempt_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+            published_at     TIMESTAMP WITH TIME ZONE,
+            event_id         UUID                     NOT NULL,
+            id               UUID                     NOT NULL,
+            swiped_id        UUID                     NOT NULL,
+            swiper_id        UUID                     NOT NULL,
+            event_type       VARCHAR(32)              NOT NULL,
+            last_error       VARCHAR(1000),
+            payload          TEXT                     NOT NULL,
+            CONSTRAINT swipe_event_outbox_pkey PRIMARY KEY (id, created_at),
+            CONSTRAINT uk_swipe_outbox_event_id UNIQUE (event_id, created_at)
+        ) PARTITION BY RANGE (created_at);
+
+        CREATE INDEX idx_swipe_outbox_pending
+            ON swipe_event_outbox (created_at, next_attempt_at)
+            WHERE published_at IS NULL AND dead_lettered_at IS NULL;
+
+        first_day := (now() AT TIME ZONE 'UTC')::DATE;
+        IF to_regclass('swipe_event_outbox_legacy') IS NOT NULL THEN
+            SELECT least(first_day, min((created_at AT TIME ZONE 'UTC')::DATE))
+            INTO first_day
+            FROM swipe_event_outbox_legacy
+            WHERE published_at IS NULL
+               OR created_at >= now() - INTERVAL '7 days';
+        END IF;
+
+        cursor_day := coalesce(first_day, (now() AT TIME ZONE 'UTC')::DATE);
+        WHILE cursor_day <= (now() AT TIME ZONE 'UTC')::DATE + 7 LOOP
+            PERFORM outbox_ensure_daily_partition('swipe_event_outbox', cursor_day);
+            cursor_day := cursor_day + 1;
+        END LOOP;
+
+        IF to_regclass('swipe_event_outbox_legacy') IS NOT NULL THEN
+            INSERT INTO swipe_event_outbox
+            SELECT retry_count, created_at, dead_lettered_at, next_attempt_at, published_at,
+                   event_id, id, swiped_id, swiper_id, event_type, last_error, payload
+            FROM swipe_event_outbox_legacy
+            WHERE published_at IS NULL
+               OR created_at >= now() - INTERVAL '7 days';
+
+            DROP TABLE swipe_event_outbox_legacy;
+        END IF;
+    END IF;
+END
+$$;
+
+DO
+$$
+DECLARE
+    first_day  DATE;
+    cursor_day DATE;
+BEGIN
+    IF to_regclass('match_event_outbox') IS NOT NULL
+        AND NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'match_event_outbox'::regclass) THEN
+
+        ALTER TABLE match_event_outbox RENAME TO match_event_outbox_legacy;
+        ALTER TABLE match_event_outbox_legacy RENAME CONSTRAINT match_event_outbox_pkey TO match_event_outbox_legacy_pkey;
+        ALTER TABLE match_event_outbox_legacy DROP CONSTRAINT IF EXISTS uk_match_outbox_event_id;
+        DROP INDEX IF EXISTS idx_match_outbox_publish_window;
+        DROP INDEX IF EXISTS idx_match_outbox_profile1;
+        DROP INDEX IF EXISTS idx_match_outbox_profile2;
+    END IF;
+
+    IF to_regclass('match_event_outbox') IS NULL THEN
+        CREATE TABLE match_event_outbox
+        (
+            retry_count      INTEGER                  NOT NULL,
+            created_at       TIMESTAMP WITH TIME ZONE NOT NULL,
+            dead_lettered_at TIMESTAMP WITH TIME ZONE,
+            next_attempt_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+            published_at     TIMESTAMP WITH TIME ZONE,
+            event_id         UUID                     NOT NULL,
+            id               UUID                     NOT NULL,
+            profile1_id      UUID                     NOT NULL,
+            profile2_id      UUID                     NOT NULL,
+            event_type       VARCHAR(32)              NOT NULL,
+            last_error       VARCHAR(1000),
+            payload          TEXT                     NOT NULL,
+            CONSTRAINT match_event_outbox_pkey PRIMARY KEY (id, created_at),
+            CONSTRAINT uk_match_outbox_event_id UNIQUE (event_id, created_at)
+        ) PARTITION BY RANGE (created_at);
+
+        CREATE INDEX idx_match_outbox_pending
+            ON match_event_outbox (created_at, next_attempt_at)
+            WHERE published_at IS NULL AND dead_lettered_at IS NULL;
+
+        first_day := (now() AT TIME ZONE 'UTC')::DATE;
+        IF to_regclass('match_event_outbox_legacy') IS NOT NULL THEN
+            SELECT least(first_day, min((created_at AT TIME ZONE 'UTC')::DATE))
+            INTO first_day
+            FROM match_event_outbox_legacy
+            WHERE published_at IS NULL
+               OR created_at >= now() - INTERVAL '7 days';
+        END IF;
+
+        cursor_day := coalesce(first_day, (now() AT TIME ZONE 'UTC')::DATE);
+        WHILE cursor_day <= (now() AT TIME ZONE 'UTC')::DATE + 7 LOOP
+            PERFORM outbox_ensure_daily_partition('match_event_outbox', cursor_day);
+            cursor_day := cursor_day + 1;
+        END LOOP;
+
+        IF to_regclass('match_event_outbox_legacy') IS NOT NULL THEN
+            INSERT INTO match_event_outbox
+            SELECT retry_count, created_at, dead_lettered_at, next_attempt_at, published_at,
+                   event_id, id, profile1_id, profile2_id, event_type, last_error, payload
+            FROM match_event_outbox_legacy
+            WHERE published_at IS NULL
+               OR created_at >= now() - INTERVAL '7 days';
+
+            DROP TABLE match_event_outbox_legacy;
+        END IF;
+    END IF;
+END
+$$;
+
+DO
+$$
+DECLARE
+    parent TEXT;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY ['swipe_event_outbox', 'match_event_outbox'] LOOP
+        IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(parent))
+            AND to_regclass(parent || '_default') IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', parent || '_default', parent);
+        END IF;
+        -- Same columns as the parent, in the same order, plus when the row was archived.
+        IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(parent))
+            AND to_regclass(parent || '_dead_letter') IS NULL THEN
+            EXECUTE format(
+                    'CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS, '
+                        || 'archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(), '
+                        || 'PRIMARY KEY (id, created_at))',
+                    parent || '_dead_letter', parent
+                    );
+        END IF;
+    END LOOP;
+END
+$$;
+
+DO
+$$
+DECLARE
+    child REGCLASS;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'consumer_app') THEN
+        ALTER TABLE IF EXISTS swipe_event_outbox OWNER TO consumer_app;
+        ALTER TABLE IF EXISTS match_event_outbox OWNER TO consumer_app;
+        ALTER TABLE IF EXISTS swipe_event_outbox_dead_letter OWNER TO consumer_app;
+        ALTER TABLE IF EXISTS match_event_outbox_dead_letter OWNER TO consumer_app;
+        ALTER FUNCTION outbox_ensure_daily_partition(TEXT, DATE) OWNER TO consumer_app;
+        ALTER FUNCTION outbox_archive_dead_letters(TEXT, TEXT) OWNER TO consumer_app;
+
+        -- Partitions keep their creator as owner; the retention job detaches and drops them as consumer_app.
+        FOR child IN
+            SELECT inhrelid::REGCLASS
+            FROM pg_inherits
+            WHERE inhparent IN ('swipe_event_outbox'::REGCLASS, 'match_event_outbox'::REGCLASS)
+        LOOP
+            EXECUTE format('ALTER TABLE %s OWNER TO consumer_app', child);
+        END LOOP;
+    END IF;
+END
+$$;
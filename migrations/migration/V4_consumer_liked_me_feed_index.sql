@@ -0,0 +1,12 @@
+-- Covering index for the keyset-paginated liked-me feed and its COUNT.
+-- Pages are read as a backward index-only scan:
+--   WHERE liked_user_id = ? AND (liked_at, liker_profile_id) < (?, ?)
+--   ORDER BY liked_at DESC, liker_profile_id DESC
+-- It also replaces idx_pending_liked_user_id, whose only column is this index's prefix.
+-- CONCURRENTLY keeps pending_likes writable while it builds; run outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pending_liked_user_feed
+    ON pending_likes (liked_user_id, liked_at, liker_profile_id)
+    INCLUDE (is_super, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_pending_liked_user_id;
@@ -0,0 +1,15 @@
+-- eventIds of SwipeCreatedEvents already applied by SwipeService.save.
+-- SwipeEventDeduplicator inserts here with ON CONFLICT DO NOTHING as the first
+-- statement of the swipe transaction, so an eventId is only remembered when its
+-- swipe commits. Rows older than the swipe-created topic retention (7 days) can
+-- no longer be redelivered and are purged by ProcessedSwipeEventCleanupJob.
+
+CREATE TABLE IF NOT EXISTS processed_swipe_events
+(
+    event_id     UUID                     NOT NULL,
+    processed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT processed_swipe_events_pkey PRIMARY KEY (event_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_processed_swipe_events_processed_at
+    ON processed_swipe_events (processed_at);
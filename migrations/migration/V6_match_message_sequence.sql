@@ -0,0 +1,30 @@
+-- Per-conversation message sequence for keyset-paginated history and reconnect deltas.
+-- conversations.last_message_seq is incremented in the sending transaction (the row update
+-- serialises concurrent senders of one conversation), and the message stores the value it got.
+-- Existing messages are numbered in (created_at, message_id) order. Idempotent: reruns only
+-- touch rows that have no sequence yet.
+
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS last_message_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE messages ADD COLUMN IF NOT EXISTS seq BIGINT;
+
+WITH numbered AS (
+    SELECT message_id,
+           row_number() OVER (PARTITION BY conversation_id ORDER BY created_at, message_id) AS seq
+    FROM messages
+    WHERE seq IS NULL
+)
+UPDATE messages m
+SET seq = numbered.seq
+FROM numbered
+WHERE m.message_id = numbered.message_id;
+
+UPDATE conversations c
+SET last_message_seq = latest.seq
+FROM (SELECT conversation_id, max(seq) AS seq FROM messages GROUP BY conversation_id) latest
+WHERE c.conversation_id = latest.conversation_id
+  AND c.last_message_seq < latest.seq;
+
+ALTER TABLE messages ALTER COLUMN seq SET NOT NULL;
+
+-- Serves both history pages (seq < cursor, descending) and deltas (seq > N, ascending).
+CREATE UNIQUE INDEX IF NOT EXISTS ux_messages_conversation_seq ON messages (conversation_id, seq);
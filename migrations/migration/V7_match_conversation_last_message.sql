@@ -0,0 +1,39 @@
+-- Denormalised last-message preview on conversations, so the chat list is one keyset query
+-- instead of one "newest message" lookup per conversation. The columns are written in the
+-- sending transaction, right after conversations.last_message_seq is incremented (V6).
+-- last_activity_at orders the chat list: the newest message, or creation time for a chat
+-- without messages. Idempotent: the backfill only touches conversations whose preview lags
+-- behind last_message_seq, or that have no activity timestamp yet.
+
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS last_message_id UUID;
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS last_message_sender_id UUID;
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS last_message_type VARCHAR(16);
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS last_message_preview VARCHAR(200);
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS last_message_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE conversations ADD COLUMN IF NOT EXISTS last_activity_at TIMESTAMP WITH TIME ZONE;
+
+UPDATE conversations c
+SET last_message_id        = m.message_id,
+    last_message_sender_id = m.sender_id,
+    last_message_type      = m.type,
+    last_message_preview   = CASE WHEN m.type = 'TEXT' THEN left(m.text, 200) END,
+    last_message_at        = m.created_at,
+    last_activity_at       = m.created_at
+FROM messages m
+WHERE m.conversation_id = c.conversation_id
+  AND m.seq = c.last_message_seq
+  AND c.last_message_seq > 0
+  AND c.last_message_id IS DISTINCT FROM m.message_id;
+
+-- Conversations have no creation timestamp; chats without messages sort as of the migration.
+UPDATE conversations
+SET last_activity_at = now()
+WHERE last_activity_at IS NULL;
+
+ALTER TABLE conversations ALTER COLUMN last_activity_at SET NOT NULL;
+
+-- One index per participant column: the chat-list query reads both sides and merges them.
+CREATE INDEX IF NOT EXISTS idx_conversations_participant1_activity
+    ON conversations (participant1_id, last_activity_at DESC, conversation_id DESC);
+CREATE INDEX IF NOT EXISTS idx_conversations_participant2_activity
+    ON conversations (participant2_id, last_activity_at DESC, conversation_id DESC);
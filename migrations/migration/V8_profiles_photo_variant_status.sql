@@ -0,0 +1,9 @@
+-- Size variants are rendered after the upload request returns; the row is catalogued PENDING
+-- and flipped to READY once every variant is stored. Existing photos already have all variants.
+ALTER TABLE photo
+    ADD COLUMN IF NOT EXISTS status VARCHAR(16) NOT NULL DEFAULT 'READY';
+
+-- Recovery sweep: pending photos whose pipeline was interrupted.
+CREATE INDEX IF NOT EXISTS idx_photo_pending_created
+    ON photo (created_at)
+    WHERE status = 'PENDING';
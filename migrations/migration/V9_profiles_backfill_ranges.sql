@@ -0,0 +1,37 @@
+-- Partitioned Deck Card projection backfill: the profile id space is split into keyset
+-- ranges that bounded workers page through in parallel, each with its own durable cursor.
+-- lower_bound is exclusive and upper_bound inclusive; NULL means the open end of the id space.
+CREATE TABLE IF NOT EXISTS deck_card_projection_backfill_range
+(
+    run_id            UUID                     NOT NULL,
+    range_index       INTEGER                  NOT NULL,
+    lower_bound       UUID,
+    upper_bound       UUID,
+    last_profile_id   UUID,
+    processed_count   BIGINT                   NOT NULL,
+    completed         BOOLEAN                  NOT NULL,
+    updated_at        TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT deck_card_projection_backfill_range_pkey PRIMARY KEY (run_id, range_index)
+);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conname = 'fk_deck_card_projection_backfill_range_run'
+          AND conrelid = 'deck_card_projection_backfill_range'::regclass
+    ) THEN
+        ALTER TABLE deck_card_projection_backfill_range
+            ADD CONSTRAINT fk_deck_card_projection_backfill_range_run
+                FOREIGN KEY (run_id) REFERENCES deck_card_projection_backfill_run (run_id) ON DELETE CASCADE;
+    END IF;
+END
+$$;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'profiles_app') THEN
+        ALTER TABLE IF EXISTS deck_card_projection_backfill_range OWNER TO profiles_app;
+    END IF;
+END
+$$;
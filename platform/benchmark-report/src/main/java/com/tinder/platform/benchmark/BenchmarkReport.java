@@ -0,0 +1,127 @@
+package com.tinder.platform.benchmark;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One result line of an opt-in benchmark test. Fields keep their insertion order and are
+ * written as a single JSON object: logged at INFO and appended to
+ * {@code target/benchmarks/<benchmark>.jsonl}, so runs can be compared without scraping stdout.
+ */
+public final class BenchmarkReport {
+
+    private static final Logger log = LoggerFactory.getLogger(BenchmarkReport.class);
+    private static final Path RESULTS = Path.of("target", "benchmarks");
+
+    private final String benchmark;
+    private final Map<String, Object> fields = new LinkedHashMap<>();
+
+    private BenchmarkReport(String benchmark) {
+        this.benchmark = benchmark;
+    }
+
+    public static BenchmarkReport of(String benchmark) {
+        return new BenchmarkReport(benchmark);
+    }
+
+    public BenchmarkReport with(String name, long value) {
+        fields.put(name, value);
+        return this;
+    }
+
+    /** Rounded to three decimals. */
+    public BenchmarkReport with(String name, double value) {
+        fields.put(name, round(value));
+        return this;
+    }
+
+    public BenchmarkReport with(String name, String value) {
+        fields.put(name, value);
+        return this;
+    }
+
+    /**
+     * Nested {@code {"p50":…,"p99":…}} over raw nanosecond samples, converted to {@code unit};
+     * a quantile of {@code 1.0} is written as {@code max}.
+     */
+    public BenchmarkReport percentiles(String name, long[] nanos, TimeUnit unit, double... quantiles) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        double nanosPerUnit = unit.toNanos(1);
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (double quantile : quantiles) {
+            values.put(label(quantile), round(percentile(sorted, quantile) / nanosPerUnit));
+        }
+        fields.put(name, values);
+        return this;
+    }
+
+    public void emit() {
+        String line = toJson();
+        log.info("{} {}", benchmark, line);
+        try {
+            Files.createDirectories(RESULTS);
+            Files.writeString(RESULTS.resolve(benchmark + ".jsonl"), line + System.lineSeparator(),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not record benchmark result for " + benchmark, e);
+        }
+    }
+
+    /** Nearest-rank value of an ascending array; {@code quantile} in [0, 1]. */
+    public static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))];
+    }
+
+    String toJson() {
+        return json(fields);
+    }
+
+    private static String label(double quantile) {
+        if (quantile >= 1.0) {
+            return "max";
+        }
+        String digits = BigDecimal.valueOf(quantile).movePointRight(2).stripTrailingZeros().toPlainString();
+        return "p" + digits.replace(".", "");
+    }
+
+    private static BigDecimal round(double value) {
+        return BigDecimal.valueOf(value).setScale(3, RoundingMode.HALF_UP).stripTrailingZeros();
+    }
+
+    private static String json(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            StringBuilder out = new StringBuilder("{");
+            map.forEach((key, nested) -> {
+                if (out.length() > 1) {
+                    out.append(',');
+                }
+                out.append('"').append(key).append("\":").append(json(nested));
+            });
+            return out.append('}').toString();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return '"' + String.valueOf(value).replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -0,0 +1,135 @@
+package com.tinder.platform.vthreads;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Pinning diagnostics for the services' virtual-thread runtime mode ({@code spring.threads.virtual.enabled}).
+ *
+ * <p>Streams the JFR {@code jdk.VirtualThreadPinned} event in-process: a virtual thread that blocks
+ * while holding a monitor ({@code synchronized}) or inside a native frame keeps its carrier busy,
+ * which silently turns the carrier pool into the concurrency limit again. The first pin per call
+ * site is logged at WARN with its stack, classified as JDBC driver / Kafka client / application
+ * monitor; repeats are counted and summarised on {@link #close()}.
+ *
+ * <p>Framework-free: services register it as a bean with {@code start} and {@code close} as its
+ * lifecycle methods.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.tinder.";
+    private static final int MAX_FRAMES = 12;
+
+    private final Duration threshold;
+    private final Map<String, LongAdder> pinsBySite = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    public void start() {
+        if (stream != null) {
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            log.info("Virtual-thread pinning monitor started (threshold={}ms)", threshold.toMillis());
+        } catch (Exception e) {
+            log.warn("Virtual-thread pinning monitor unavailable: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        RecordingStream recording = stream;
+        if (recording == null) {
+            return;
+        }
+        stream = null;
+        recording.close();
+        pinsBySite.forEach((site, count) ->
+                log.info("Virtual-thread pinning summary: {} pin(s) at {}", count.sum(), site));
+    }
+
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String site = pinSite(frames);
+
+        LongAdder count = pinsBySite.computeIfAbsent(site, key -> new LongAdder());
+        count.increment();
+        if (count.sum() == 1) {
+            log.warn("Virtual thread pinned for {}ms in {} at {}\n{}",
+                    event.getDuration().toMillis(), classify(frames), site, render(frames));
+        } else {
+            log.debug("Virtual thread pinned for {}ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    /** First application frame, falling back to the first non-JDK frame. */
+    private static String pinSite(List<RecordedFrame> frames) {
+        RecordedFrame fallback = null;
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APP_PACKAGE)) {
+                return describe(frame);
+            }
+            if (fallback == null && !type.startsWith("java.") && !type.startsWith("jdk.")) {
+                fallback = frame;
+            }
+        }
+        if (fallback != null) {
+            return describe(fallback);
+        }
+        return frames.isEmpty() ? "<no stack>" : describe(frames.get(0));
+    }
+
+    private static String classify(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("org.postgresql.") || type.startsWith("com.zaxxer.hikari.")) {
+                return "JDBC driver";
+            }
+            if (type.startsWith("org.apache.kafka.")) {
+                return "Kafka client";
+            }
+        }
+        return "monitor/native frame";
+    }
+
+    private static String render(List<RecordedFrame> frames) {
+        return frames.stream()
+                .limit(MAX_FRAMES)
+                .map(frame -> "\tat " + describe(frame))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
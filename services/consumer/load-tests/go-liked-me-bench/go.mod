@@ -0,0 +1,3 @@
+module tinder-clone/services/consumer/load-tests/go-liked-me-bench
+
+go 1.23.0
@@ -0,0 +1,229 @@
+package main
+
+import (
+	"encoding/json"
+	"fmt"
+	"io"
+	"net"
+	"net/http"
+	"net/url"
+	"os"
+	"runtime"
+	"sort"
+	"strconv"
+	"strings"
+	"sync"
+	"sync/atomic"
+	"time"
+)
+
+// Modes:
+//   legacy - GET /api/v1/swipes/liked-me (whole list every time)
+//   page   - GET /api/v1/swipes/liked-me/page?limit=LIMIT (first page, what an app open costs)
+//   walk   - follows nextCursor through the whole feed; one sample per page
+//   count  - GET /api/v1/swipes/liked-me/count
+type result struct {
+	Mode            string  `json:"mode"`
+	BaseURL         string  `json:"baseUrl"`
+	Workers         int     `json:"workers"`
+	Limit           int     `json:"limit"`
+	DurationSecs    float64 `json:"durationSeconds"`
+	Requests        uint64  `json:"requests"`
+	Failures        uint64  `json:"failures"`
+	ErrorRate       float64 `json:"errorRate"`
+	RPS             float64 `json:"rps"`
+	BytesPerRequest float64 `json:"bytesPerRequest"`
+	P50Millis       float64 `json:"p50Millis"`
+	P95Millis       float64 `json:"p95Millis"`
+	P99Millis       float64 `json:"p99Millis"`
+}
+
+type page struct {
+	Items      []json.RawMessage `json:"items"`
+	NextCursor *string           `json:"nextCursor"`
+}
+
+func main() {
+	baseURL := strings.TrimRight(env("BASE_URL", "http://127.0.0.1:8050"), "/")
+	profileID := strings.TrimSpace(os.Getenv("PROFILE_ID"))
+	if profileID == "" {
+		fatal("PROFILE_ID is required (seed it with seed-likes.sql)")
+	}
+	mode := env("MODE", "page")
+	limit := intEnv("LIMIT", 30)
+	duration := durationEnv("DURATION", 15*time.Second)
+	workers := intEnv("WORKERS", runtime.NumCPU()*4)
+	maxErrorRate := floatEnv("MAX_ERROR_RATE", 0.01)
+
+	transport := &http.Transport{
+		MaxIdleConns:        workers * 2,
+		MaxIdleConnsPerHost: workers * 2,
+		MaxConnsPerHost:     workers * 2,
+		IdleConnTimeout:     30 * time.Second,
+		DialContext: (&net.Dialer{
+			Timeout:   2 * time.Second,
+			KeepAlive: 30 * time.Second,
+		}).DialContext,
+	}
+	client := &http.Client{Transport: transport, Timeout: 30 * time.Second}
+	defer transport.CloseIdleConnections()
+
+	get := func(target string) ([]byte, time.Duration, error) {
+		request, err := http.NewRequest(http.MethodGet, target, nil)
+		if err != nil {
+			return nil, 0, err
+		}
+		request.Header.Set("X-User-Id", profileID)
+		request.Header.Set("Accept", "application/json")
+		start := time.Now()
+		response, err := client.Do(request)
+		if err != nil {
+			return nil, time.Since(start), err
+		}
+		body, err := io.ReadAll(response.Body)
+		response.Body.Close()
+		elapsed := time.Since(start)
+		if err == nil && response.StatusCode != http.StatusOK {
+			err = fmt.Errorf("status %d", response.StatusCode)
+		}
+		return body, elapsed, err
+	}
+
+	pageURL := func(cursor string) string {
+		query := url.Values{}
+		query.Set("limit", strconv.Itoa(limit))
+		if cursor != "" {
+			query.Set("cursor", cursor)
+		}
+		return baseURL + "/api/v1/swipes/liked-me/page?" + query.Encode()
+	}
+
+	deadline := time.Now().Add(duration)
+	var attempts, failures, bytesRead atomic.Uint64
+	latencies := make(chan []int64, workers)
+	var group sync.WaitGroup
+	group.Add(workers)
+	start := time.Now()
+	for worker := 0; worker < workers; worker++ {
+		go func() {
+			defer group.Done()
+			local := make([]int64, 0, 4096)
+			record := func(body []byte, elapsed time.Duration, err error) {
+				attempts.Add(1)
+				bytesRead.Add(uint64(len(body)))
+				local = append(local, elapsed.Microseconds())
+				if err != nil {
+					failures.Add(1)
+				}
+			}
+			cursor := ""
+			for time.Now().Before(deadline) {
+				switch mode {
+				case "legacy":
+					record(get(baseURL + "/api/v1/swipes/liked-me"))
+				case "count":
+					record(get(baseURL + "/api/v1/swipes/liked-me/count"))
+				case "page":
+					record(get(pageURL("")))
+				case "walk":
+					body, elapsed, err := get(pageURL(cursor))
+					record(body, elapsed, err)
+					var decoded page
+					if err != nil || json.Unmarshal(body, &decoded) != nil || decoded.NextCursor == nil {
+						cursor = ""
+					} else {
+						cursor = *decoded.NextCursor
+					}
+				default:
+					fatal("MODE must be one of legacy, page, walk, count")
+				}
+			}
+			latencies <- local
+		}()
+	}
+	group.Wait()
+	close(latencies)
+	elapsed := time.Since(start)
+	allLatencies := make([]int64, 0, int(attempts.Load()))
+	for local := range latencies {
+		allLatencies = append(allLatencies, local...)
+	}
+	sort.Slice(allLatencies, func(left, right int) bool { return allLatencies[left] < allLatencies[right] })
+
+	requestCount := attempts.Load()
+	failureCount := failures.Load()
+	errorRate := 0.0
+	bytesPerRequest := 0.0
+	if requestCount > 0 {
+		errorRate = float64(failureCount) / float64(requestCount)
+		bytesPerRequest = float64(bytesRead.Load()) / float64(requestCount)
+	}
+	report := result{
+		Mode:            mode,
+		BaseURL:         baseURL,
+		Workers:         workers,
+		Limit:           limit,
+		DurationSecs:    elapsed.Seconds(),
+		Requests:        requestCount,
+		Failures:        failureCount,
+		ErrorRate:       errorRate,
+		RPS:             float64(requestCount) / elapsed.Seconds(),
+		BytesPerRequest: bytesPerRequest,
+		P50Millis:       percentileMillis(allLatencies, 0.50),
+		P95Millis:       percentileMillis(allLatencies, 0.95),
+		P99Millis:       percentileMillis(allLatencies, 0.99),
+	}
+	encoded, err := json.Marshal(report)
+	if err != nil {
+		fatal(err.Error())
+	}
+	fmt.Println(string(encoded))
+
+	if requestCount == 0 || errorRate >= maxErrorRate {
+		os.Exit(2)
+	}
+}
+
+func percentileMillis(values []int64, percentile float64) float64 {
+	if len(values) == 0 {
+		return 0
+	}
+	index := int(float64(len(values)-1) * percentile)
+	return float64(values[index]) / 1000
+}
+
+func env(name, fallback string) string {
+	if value := strings.TrimSpace(os.Getenv(name)); value != "" {
+		return value
+	}
+	return fallback
+}
+
+func intEnv(name string, fallback int) int {
+	value, err := strconv.Atoi(env(name, strconv.Itoa(fallback)))
+	if err != nil || value <= 0 {
+		fatal(name + " must be a positive integer")
+	}
+	return value
+}
+
+func floatEnv(name string, fallback float64) float64 {
+	value, err := strconv.ParseFloat(env(name, strconv.FormatFloat(fallback, 'f', -1, 64)), 64)
+	if err != nil || value < 0 {
+		fatal(name + " must be a non-negative number")
+	}
+	return value
+}
+
+func durationEnv(name string, fallback time.Duration) time.Duration {
+	value, err := time.ParseDuration(env(name, fallback.String()))
+	if err != nil || value <= 0 {
+		fatal(name + " must be a positive duration")
+	}
+	return value
+}
+
+func fatal(message string) {
+	fmt.Fprintln(os.Stderr, "error:", message)
+	os.Exit(1)
+}
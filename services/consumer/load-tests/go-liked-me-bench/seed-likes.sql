@@ -0,0 +1,13 @@
+-- Seeds :likes pending likes for :'profile_id' (one per second, newest now) into consumer_db.
+-- psql -v profile_id=<uuid> -v likes=50000 -f seed-likes.sql
+DELETE FROM pending_likes WHERE liked_user_id = :'profile_id';
+
+INSERT INTO pending_likes (id, liked_user_id, liker_profile_id, liked_at, is_super)
+SELECT gen_random_uuid(),
+       :'profile_id',
+       gen_random_uuid(),
+       date_trunc('milliseconds', now()) - g * INTERVAL '1 second',
+       g % 20 = 0
+FROM generate_series(0, :likes - 1) AS g;
+
+ANALYZE pending_likes;
@@ -0,0 +1,43 @@
+#!/bin/sh
+# Platform vs virtual-thread comparison for one of consumer, match or profiles.
+#
+# For each runtime mode the service is recreated with the same Tomcat max threads
+# and Hikari pool (docker-compose.virtual-threads-benchmark.yml), then main.go is
+# run at each in-flight level in WORKERS_LEVELS. One JSON line is printed per
+# (mode, workers) pair, followed by the number of pinning reports the service
+# logged (VirtualThreadPinningMonitor, virtual mode only).
+set -eu
+
+SERVICE="${SERVICE:-consumer}"
+TARGET_URL="${TARGET_URL:?TARGET_URL is required}"
+WORKERS_LEVELS="${WORKERS_LEVELS:-25 50 200 800}"
+MODES="${MODES:-platform virtual}"
+HEALTH_URL="${HEALTH_URL:-}"
+
+here="$(cd "$(dirname "$0")" && pwd)"
+root="$here/../../../.."
+compose() {
+  docker compose -f "$root/docker-compose.yml" -f "$root/docker-compose.virtual-threads-benchmark.yml" "$@"
+}
+
+for mode in $MODES; do
+  if [ "$mode" = "virtual" ]; then enabled=true; else enabled=false; fi
+  VIRTUAL_THREADS_ENABLED="$enabled" compose up -d --no-deps --force-recreate "$SERVICE" >/dev/null
+
+  printf 'waiting for %s (%s threads)' "$SERVICE" "$mode" >&2
+  until [ "$(docker inspect -f '{{.State.Health.Status}}' "$SERVICE")" = "healthy" ]; do
+    printf '.' >&2
+    sleep 5
+  done
+  echo >&2
+  if [ -n "$HEALTH_URL" ]; then
+    curl -fsS "$HEALTH_URL" >/dev/null
+  fi
+
+  for workers in $WORKERS_LEVELS; do
+    (cd "$here" && LABEL="$SERVICE-$mode" WORKERS="$workers" go run .) || true
+  done
+
+  pins="$(docker logs "$SERVICE" 2>&1 | grep -c 'Virtual thread pinned' || true)"
+  printf '{"label":"%s-%s","pinnedSites":%s}\n' "$SERVICE" "$mode" "$pins"
+done
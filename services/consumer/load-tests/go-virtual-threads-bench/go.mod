@@ -0,0 +1,3 @@
+module tinder-clone/services/consumer/load-tests/go-virtual-threads-bench
+
+go 1.23.0
@@ -0,0 +1,213 @@
+package main
+
+import (
+	"encoding/json"
+	"fmt"
+	"io"
+	"net"
+	"net/http"
+	"os"
+	"sort"
+	"strconv"
+	"strings"
+	"sync"
+	"sync/atomic"
+	"time"
+)
+
+// Closed-loop load against one blocking JPA endpoint. WORKERS is the number of
+// in-flight requests; compare.sh sweeps it for the platform and virtual runtime
+// modes while Tomcat max threads and the Hikari pool stay fixed.
+type result struct {
+	Label        string  `json:"label"`
+	URL          string  `json:"url"`
+	Workers      int     `json:"workers"`
+	DurationSecs float64 `json:"durationSeconds"`
+	Requests     uint64  `json:"requests"`
+	Failures     uint64  `json:"failures"`
+	ErrorRate    float64 `json:"errorRate"`
+	RPS          float64 `json:"rps"`
+	P50Millis    float64 `json:"p50Millis"`
+	P95Millis    float64 `json:"p95Millis"`
+	P99Millis    float64 `json:"p99Millis"`
+	MaxMillis    float64 `json:"maxMillis"`
+}
+
+func main() {
+	target := strings.TrimSpace(os.Getenv("TARGET_URL"))
+	if target == "" {
+		fatal("TARGET_URL is required, e.g. http://127.0.0.1:8050/api/v1/swipes/liked-me/page?limit=30")
+	}
+	label := env("LABEL", "run")
+	workers := intEnv("WORKERS", 64)
+	duration := durationEnv("DURATION", 30*time.Second)
+	warmup := durationEnv("WARMUP", 5*time.Second)
+	timeout := durationEnv("REQUEST_TIMEOUT", 10*time.Second)
+	maxErrorRate := floatEnv("MAX_ERROR_RATE", 0.01)
+	headers := parseHeaders(os.Getenv("HEADERS"))
+	if token := strings.TrimSpace(os.Getenv("BEARER_TOKEN")); token != "" {
+		headers["Authorization"] = "Bearer " + token
+	}
+
+	transport := &http.Transport{
+		MaxIdleConns:        workers,
+		MaxIdleConnsPerHost: workers,
+		MaxConnsPerHost:     workers,
+		IdleConnTimeout:     30 * time.Second,
+		DialContext: (&net.Dialer{
+			Timeout:   2 * time.Second,
+			KeepAlive: 30 * time.Second,
+		}).DialContext,
+	}
+	client := &http.Client{Transport: transport, Timeout: timeout}
+	defer transport.CloseIdleConnections()
+
+	call := func() (time.Duration, error) {
+		request, err := http.NewRequest(http.MethodGet, target, nil)
+		if err != nil {
+			return 0, err
+		}
+		for name, value := range headers {
+			request.Header.Set(name, value)
+		}
+		start := time.Now()
+		response, err := client.Do(request)
+		if err != nil {
+			return time.Since(start), err
+		}
+		_, err = io.Copy(io.Discard, response.Body)
+		response.Body.Close()
+		elapsed := time.Since(start)
+		if err == nil && response.StatusCode != http.StatusOK {
+			err = fmt.Errorf("status %d", response.StatusCode)
+		}
+		return elapsed, err
+	}
+
+	// Warm-up: fill the connection pool, JIT and Hikari before measuring.
+	run(workers, time.Now().Add(warmup), call, nil)
+
+	var attempts, failures atomic.Uint64
+	start := time.Now()
+	allLatencies := run(workers, start.Add(duration), call, func(err error) {
+		attempts.Add(1)
+		if err != nil {
+			failures.Add(1)
+		}
+	})
+	elapsed := time.Since(start)
+	sort.Slice(allLatencies, func(left, right int) bool { return allLatencies[left] < allLatencies[right] })
+
+	requestCount := attempts.Load()
+	failureCount := failures.Load()
+	errorRate := 0.0
+	if requestCount > 0 {
+		errorRate = float64(failureCount) / float64(requestCount)
+	}
+	report := result{
+		Label:        label,
+		URL:          target,
+		Workers:      workers,
+		DurationSecs: elapsed.Seconds(),
+		Requests:     requestCount,
+		Failures:     failureCount,
+		ErrorRate:    errorRate,
+		RPS:          float64(requestCount) / elapsed.Seconds(),
+		P50Millis:    percentileMillis(allLatencies, 0.50),
+		P95Millis:    percentileMillis(allLatencies, 0.95),
+		P99Millis:    percentileMillis(allLatencies, 0.99),
+		MaxMillis:    percentileMillis(allLatencies, 1.0),
+	}
+	encoded, err := json.Marshal(report)
+	if err != nil {
+		fatal(err.Error())
+	}
+	fmt.Println(string(encoded))
+
+	if requestCount == 0 || errorRate >= maxErrorRate {
+		os.Exit(2)
+	}
+}
+
+// run keeps `workers` requests in flight until deadline and returns every latency in microseconds.
+func run(workers int, deadline time.Time, call func() (time.Duration, error), record func(error)) []int64 {
+	latencies := make(chan []int64, workers)
+	var group sync.WaitGroup
+	group.Add(workers)
+	for worker := 0; worker < workers; worker++ {
+		go func() {
+			defer group.Done()
+			local := make([]int64, 0, 4096)
+			for time.Now().Before(deadline) {
+				elapsed, err := call()
+				if record != nil {
+					record(err)
+					local = append(local, elapsed.Microseconds())
+				}
+			}
+			latencies <- local
+		}()
+	}
+	group.Wait()
+	close(latencies)
+	all := make([]int64, 0)
+	for local := range latencies {
+		all = append(all, local...)
+	}
+	return all
+}
+
+func parseHeaders(raw string) map[string]string {
+	headers := map[string]string{"Accept": "application/json"}
+	for _, pair := range strings.Split(raw, ",") {
+		name, value, ok := strings.Cut(pair, ":")
+		if ok && strings.TrimSpace(name) != "" {
+			headers[strings.TrimSpace(name)] = strings.TrimSpace(value)
+		}
+	}
+	return headers
+}
+
+func percentileMillis(values []int64, percentile float64) float64 {
+	if len(values) == 0 {
+		return 0
+	}
+	index := int(float64(len(values)-1) * percentile)
+	return float64(values[index]) / 1000
+}
+
+func env(name, fallback string) string {
+	if value := strings.TrimSpace(os.Getenv(name)); value != "" {
+		return value
+	}
+	return fallback
+}
+
+func intEnv(name string, fallback int) int {
+	value, err := strconv.Atoi(env(name, strconv.Itoa(fallback)))
+	if err != nil || value <= 0 {
+		fatal(name + " must be a positive integer")
+	}
+	return value
+}
+
+func floatEnv(name string, fallback float64) float64 {
+	value, err := strconv.ParseFloat(env(name, strconv.FormatFloat(fallback, 'f', -1, 64)), 64)
+	if err != nil || value < 0 {
+		fatal(name + " must be a non-negative number")
+	}
+	return value
+}
+
+func durationEnv(name string, fallback time.Duration) time.Duration {
+	value, err := time.ParseDuration(env(name, fallback.String()))
+	if err != nil || value <= 0 {
+		fatal(name + " must be a positive duration")
+	}
+	return value
+}
+
+func fatal(message string) {
+	fmt.Fprintln(os.Stderr, "error:", message)
+	os.Exit(1)
+}
@@ -0,0 +1,11 @@
+-- Same claim the publisher runs in SwipeEventOutboxRepository.lockNextBatchForPublish.
+BEGIN;
+SELECT *
+FROM swipe_event_outbox
+WHERE published_at IS NULL
+  AND dead_lettered_at IS NULL
+  AND next_attempt_at <= now()
+ORDER BY created_at
+LIMIT 50
+FOR UPDATE SKIP LOCKED;
+ROLLBACK;
@@ -0,0 +1,113 @@
+#!/bin/sh
+# Outbox soak: simulates DAYS days of swipe outbox volume and measures the
+# publisher's FOR UPDATE SKIP LOCKED claim after each simulated day.
+#
+# MODE=partitioned applies V3 and reclaims history by dropping partitions
+# (what OutboxPartitionMaintenanceJob does); MODE=legacy keeps the V1 flat
+# table and reclaims history with DELETE, for comparison.
+#
+# Everything lives in the scratch schema SOAK_SCHEMA, which is dropped first.
+# Connection settings come from the usual PG* environment variables.
+set -eu
+
+MODE="${MODE:-partitioned}"
+DAYS="${DAYS:-28}"
+ROWS_PER_DAY="${ROWS_PER_DAY:-500000}"
+PENDING_PER_DAY="${PENDING_PER_DAY:-500}"
+RETENTION_DAYS="${RETENTION_DAYS:-7}"
+CLIENTS="${CLIENTS:-4}"
+DURATION_SECONDS="${DURATION_SECONDS:-15}"
+SOAK_SCHEMA="${SOAK_SCHEMA:-outbox_soak}"
+
+here="$(cd "$(dirname "$0")" && pwd)"
+migrations="$here/../../../../migrations/migration"
+work="$(mktemp -d)"
+trap 'rm -rf "$work"' EXIT
+
+export PGOPTIONS="-c search_path=$SOAK_SCHEMA,public -c client_min_messages=warning"
+
+sql() {
+  psql -v ON_ERROR_STOP=1 -qtA "$@"
+}
+
+sql -c "DROP SCHEMA IF EXISTS $SOAK_SCHEMA CASCADE; CREATE SCHEMA $SOAK_SCHEMA;"
+sql -f "$migrations/V1_consumer.sql" >/dev/null
+if [ "$MODE" = "partitioned" ]; then
+  sql -f "$migrations/V3_consumer_outbox_partitioning.sql" >/dev/null
+fi
+
+# Simulated "today" starts far enough in the past that DAYS days end at the real today.
+start_day="$(sql -c "SELECT (now() AT TIME ZONE 'UTC')::date - $DAYS")"
+
+day=1
+while [ "$day" -le "$DAYS" ]; do
+  sim_day="$(sql -c "SELECT DATE '$start_day' + $day")"
+
+  if [ "$MODE" = "partitioned" ]; then
+    sql -c "SELECT outbox_ensure_daily_partition('swipe_event_outbox', DATE '$sim_day')" >/dev/null
+  fi
+
+  # The previous day's stragglers get published, then a full day of traffic lands;
+  # all but PENDING_PER_DAY rows are published through UPDATE, as the publisher does.
+  sql <<SQL >/dev/null
+UPDATE swipe_event_outbox SET published_at = now() WHERE published_at IS NULL;
+INSERT INTO swipe_event_outbox (retry_count, created_at, next_attempt_at, published_at,
+                                event_id, id, swiped_id, swiper_id, event_type, payload)
+SELECT 0,
+       ts,
+       ts,
+       NULL,
+       gen_random_uuid(), gen_random_uuid(), gen_random_uuid(), gen_random_uuid(),
+       'SWIPE_SAVED',
+       '{"eventId":"' || gen_random_uuid() || '","profile1Id":"' || gen_random_uuid()
+           || '","profile2Id":"' || gen_random_uuid() || '","decision":true,"timestamp":0}'
+FROM (SELECT DATE '$sim_day' + (g * INTERVAL '86400 seconds' / $ROWS_PER_DAY) AS ts
+      FROM generate_series(0, $ROWS_PER_DAY - 1) AS g) slots;
+UPDATE swipe_event_outbox
+SET published_at = created_at + INTERVAL '50 milliseconds'
+WHERE published_at IS NULL
+  AND created_at < DATE '$sim_day' + 1 - ($PENDING_PER_DAY * INTERVAL '86400 seconds' / $ROWS_PER_DAY);
+SQL
+
+  # Retention for the simulated day.
+  cutoff="$(sql -c "SELECT DATE '$sim_day' - $RETENTION_DAYS")"
+  reclaim_start="$(date +%s%3N)"
+  if [ "$MODE" = "partitioned" ]; then
+    for partition in $(sql -c "
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'swipe_event_outbox'::regclass
+          AND c.relname LIKE 'swipe\_event\_outbox\_p%'
+          AND c.relname < 'swipe_event_outbox_p' || to_char(DATE '$cutoff', 'YYYYMMDD')
+        ORDER BY c.relname"); do
+      sql -c "SELECT outbox_archive_dead_letters('swipe_event_outbox', '$partition')" >/dev/null
+      if [ "$(sql -c "SELECT EXISTS (SELECT 1 FROM $partition WHERE published_at IS NULL)")" = "f" ]; then
+        # Plain detach: Postgres refuses CONCURRENTLY while the DEFAULT partition exists.
+        sql -c "ALTER TABLE swipe_event_outbox DETACH PARTITION $partition"
+        sql -c "DROP TABLE $partition"
+      fi
+    done
+  else
+    sql -c "DELETE FROM swipe_event_outbox WHERE published_at IS NOT NULL AND created_at < DATE '$cutoff'" >/dev/null
+  fi
+  reclaim_ms=$(( $(date +%s%3N) - reclaim_start ))
+
+  sql -c "ANALYZE swipe_event_outbox" >/dev/null
+
+  rm -f "$work"/pgbench_log.*
+  pgbench -n -q -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION_SECONDS" \
+    --log --log-prefix="$work/pgbench_log" -f "$here/lock-next-batch.sql" >"$work/pgbench.out" 2>&1
+
+  # Third column of the per-transaction log is latency in microseconds.
+  latencies="$(cat "$work"/pgbench_log.* | awk '{print $3}' | sort -n)"
+  count="$(printf '%s\n' "$latencies" | wc -l | tr -d ' ')"
+  p50="$(printf '%s\n' "$latencies" | awk -v n="$count" 'NR == int(n * 0.50) + 1 {printf "%.3f", $1 / 1000}')"
+  p99="$(printf '%s\n' "$latencies" | awk -v n="$count" 'NR == int(n * 0.99) + 1 {printf "%.3f", $1 / 1000}')"
+  tps="$(awk -F'= ' '/^tps/ {split($2, parts, " "); printf "%.1f", parts[1]}' "$work/pgbench.out")"
+  table_mb="$(sql -c "SELECT round(coalesce(sum(pg_total_relation_size(relid)), 0) / 1048576.0, 1)
+                      FROM pg_partition_tree('swipe_event_outbox')")"
+
+  printf '{"mode":"%s","day":%d,"claims":%s,"tps":%s,"p50Millis":%s,"p99Millis":%s,"reclaimMillis":%d,"tableMegabytes":%s}\n' \
+    "$MODE" "$day" "$count" "${tps:-0}" "${p50:-0}" "${p99:-0}" "$reclaim_ms" "$table_mb"
+
+  day=$((day + 1))
+done
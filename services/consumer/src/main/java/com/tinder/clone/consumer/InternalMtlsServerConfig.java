@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.catalina.connector.Connector;
 import org.apache.tomcat.util.net.SSLHostConfig;
 import org.apache.tomcat.util.net.SSLHostConfigCertificate;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.tomcat.servlet.TomcatServletWebServerFactory;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
@@ -54,6 +55,9 @@ public class InternalMtlsServerConfig {
     @Value("${internal.server.ssl.client-auth:need}")
     private String clientAuth;
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean
     public WebServerFactoryCustomizer<TomcatServletWebServerFactory> internalMtlsConnector() {
         return factory -> {
@@ -75,6 +79,10 @@ public class InternalMtlsServerConfig {
         connector.setScheme("https");
         connector.setSecure(true);
         connector.setPort(internalPort);
+        if (virtualThreads) {
+            // Boot's virtual-thread customizer only reaches the primary connector
+            connector.getProtocolHandler().setExecutor(new VirtualThreadExecutor("tomcat-mtls-"));
+        }
 
         SSLHostConfig sslHostConfig = new SSLHostConfig();
         sslHostConfig.setCertificateVerification(mapClientAuth(clientAuth));
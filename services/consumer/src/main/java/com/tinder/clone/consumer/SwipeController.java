@@ -1,6 +1,8 @@
 package com.tinder.clone.consumer;
 
+import com.tinder.clone.consumer.model.dto.LikedMeCountDto;
 import com.tinder.clone.consumer.model.dto.LikedMeDto;
+import com.tinder.clone.consumer.model.dto.LikedMePageDto;
 import com.tinder.clone.consumer.service.SwipeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,4 +41,25 @@ public class SwipeController {
         log.debug("Liked-me request for profileId={}", profileId);
         return service.getLikedMe(profileId);
     }
+
+    /**
+     * Keyset-paginated "Likes You" feed, newest first. Pass the previous page's
+     * {@code nextCursor} to continue; a null {@code nextCursor} marks the last page.
+     * Premium/admin only — enforced at the Gateway via PremiumOrAdminFilter.
+     */
+    @GetMapping("/api/v1/swipes/liked-me/page")
+    public LikedMePageDto getLikedMePage(@RequestHeader("X-User-Id") UUID profileId,
+                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "limit", required = false) Integer limit) {
+        log.debug("Liked-me page request for profileId={}, limit={}", profileId, limit);
+        return service.getLikedMePage(profileId, cursor, limit);
+    }
+
+    /**
+     * Number of pending likes for the badge, without materializing the list.
+     */
+    @GetMapping("/api/v1/swipes/liked-me/count")
+    public LikedMeCountDto getLikedMeCount(@RequestHeader("X-User-Id") UUID profileId) {
+        return new LikedMeCountDto(service.countLikedMe(profileId));
+    }
 }
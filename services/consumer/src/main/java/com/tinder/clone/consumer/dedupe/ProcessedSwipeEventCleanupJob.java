@@ -0,0 +1,50 @@
+package com.tinder.clone.consumer.dedupe;
+
+import com.tinder.clone.consumer.dedupe.config.SwipeDedupeProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Forgets processed eventIds once the swipe-created topic can no longer redeliver them.
+ * Deletes in bounded batches so each statement holds its locks briefly.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessedSwipeEventCleanupJob {
+
+    private final ProcessedSwipeEventRepository repository;
+    private final SwipeDedupeProperties properties;
+
+    @Scheduled(
+            initialDelayString = "${swipe-dedupe.cleanup-interval-ms:3600000}",
+            fixedDelayString = "${swipe-dedupe.cleanup-interval-ms:3600000}"
+    )
+    public void purgeExpiredEventIds() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Instant cutoff = Instant.now().minus(properties.getRetention());
+        int batchSize = Math.max(1, properties.getCleanupBatchSize());
+        long total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = repository.deleteProcessedBefore(cutoff, batchSize);
+                total += deleted;
+            } while (deleted == batchSize);
+        } catch (Exception ex) {
+            log.error("Processed swipe event cleanup failed after {} rows: {}", total, ex.getMessage(), ex);
+            return;
+        }
+
+        if (total > 0) {
+            log.info("Purged {} processed swipe eventIds older than {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.tinder.clone.consumer.dedupe;
+
+import com.tinder.clone.consumer.dedupe.model.ProcessedSwipeEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface ProcessedSwipeEventRepository extends JpaRepository<ProcessedSwipeEvent, UUID> {
+
+    /**
+     * Returns 1 when the eventId was recorded, 0 when it was already present.
+     * Runs in the caller's transaction.
+     */
+    @Modifying
+    @Query(
+            value = """
+                    INSERT INTO processed_swipe_events (event_id, processed_at)
+                    VALUES (:eventId, :processedAt)
+                    ON CONFLICT (event_id) DO NOTHING
+                    """,
+            nativeQuery = true
+    )
+    int insertIfAbsent(@Param("eventId") UUID eventId, @Param("processedAt") Instant processedAt);
+
+    @Transactional
+    @Modifying
+    @Query(
+            value = """
+                    DELETE FROM processed_swipe_events
+                    WHERE event_id IN (
+                        SELECT event_id
+                        FROM processed_swipe_events
+                        WHERE processed_at < :cutoff
+                        LIMIT :batchSize
+                    )
+                    """,
+            nativeQuery = true
+    )
+    int deleteProcessedBefore(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
+}
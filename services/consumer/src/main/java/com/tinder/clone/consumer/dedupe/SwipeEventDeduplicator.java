@@ -0,0 +1,227 @@
+package com.tinder.clone.consumer.dedupe;
+
+import com.tinder.clone.consumer.dedupe.config.SwipeDedupeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * eventId-based dedupe for {@code SwipeCreatedEvent} replays (Kafka redeliveries, producer retries).
+ *
+ * <p>Two stages:
+ * <ol>
+ *   <li>{@link #isDuplicate} runs before any transaction. A time-windowed Bloom filter answers
+ *       "definitely new" for almost every event without touching Postgres; only a Bloom hit costs
+ *       a primary-key lookup in {@code processed_swipe_events}, and a confirmed hit is dropped.</li>
+ *   <li>{@link #claim} is the first statement of {@code SwipeService.save}: an
+ *       {@code INSERT ... ON CONFLICT DO NOTHING} in the same transaction as the swipe, so the
+ *       eventId is only remembered if the swipe commits. Replays that slip past stage 1
+ *       (restart, Bloom window expired, concurrent redelivery) stop here before any other write.</li>
+ * </ol>
+ *
+ * <p>Only {@code eventId} is compared, so producers must mint ids that are unique across
+ * replicas (random UUIDs in swipes-demo and swipes-go).
+ *
+ * <p>Metrics: {@code consumer.swipe.dedupe.events} by result and stage (duplicate rate),
+ * {@code consumer.swipe.dedupe.check} (cost of stage 1), {@code consumer.swipe.save} and
+ * {@code consumer.swipe.save.cpu} (cost of a full save), and {@code consumer.swipe.dedupe.saved}
+ * by kind: CPU and DB/Redis wait time saved, estimated from the mean cost of a full save.
+ */
+@Slf4j
+@Component
+public class SwipeEventDeduplicator {
+
+    private static final String EVENTS = "consumer.swipe.dedupe.events";
+
+    private final ProcessedSwipeEventRepository repository;
+    private final SwipeDedupeProperties properties;
+    private final TimeWindowedBloomFilter bloomFilter;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private final Counter newEvents;
+    private final Counter duplicatesBeforeSave;
+    private final Counter duplicatesInSave;
+    private final Counter bloomFalsePositives;
+    private final Timer checkTimer;
+    private final Timer saveTimer;
+    private final Timer saveCpuTimer;
+
+    private final LongAdder fullSaves = new LongAdder();
+    private final LongAdder fullSaveWallNanos = new LongAdder();
+    private final LongAdder fullSaveCpuSamples = new LongAdder();
+    private final LongAdder fullSaveCpuNanos = new LongAdder();
+    private final LongAdder savedCpuNanos = new LongAdder();
+    private final LongAdder savedWaitNanos = new LongAdder();
+
+    public SwipeEventDeduplicator(ProcessedSwipeEventRepository repository,
+                                  SwipeDedupeProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.bloomFilter = new TimeWindowedBloomFilter(
+                properties.getBloomWindow(),
+                properties.getBloomGenerations(),
+                properties.getBloomExpectedInsertions(),
+                properties.getBloomFalsePositiveRate(),
+                System::nanoTime
+        );
+
+        this.newEvents = Counter.builder(EVENTS).tag("result", "new").tag("stage", "claim")
+                .register(meterRegistry);
+        this.duplicatesBeforeSave = Counter.builder(EVENTS).tag("result", "duplicate").tag("stage", "pre-check")
+                .register(meterRegistry);
+        this.duplicatesInSave = Counter.builder(EVENTS).tag("result", "duplicate").tag("stage", "claim")
+                .register(meterRegistry);
+        this.bloomFalsePositives = Counter.builder("consumer.swipe.dedupe.bloom.false-positives")
+                .register(meterRegistry);
+        this.checkTimer = Timer.builder("consumer.swipe.dedupe.check").register(meterRegistry);
+        this.saveTimer = Timer.builder("consumer.swipe.save").register(meterRegistry);
+        this.saveCpuTimer = Timer.builder("consumer.swipe.save.cpu").register(meterRegistry);
+        FunctionCounter.builder("consumer.swipe.dedupe.saved", savedCpuNanos, adder -> adder.sum() / 1e9)
+                .tag("kind", "cpu").baseUnit("seconds").register(meterRegistry);
+        FunctionCounter.builder("consumer.swipe.dedupe.saved", savedWaitNanos, adder -> adder.sum() / 1e9)
+                .tag("kind", "db").baseUnit("seconds").register(meterRegistry);
+
+        log.info("Swipe dedupe Bloom filter: {} generations x {} bits, {} hash functions",
+                properties.getBloomGenerations(), bloomFilter.bitsPerGeneration(), bloomFilter.hashFunctions());
+    }
+
+    /**
+     * Stage 1, outside any transaction. {@code true} only for an eventId that is already
+     * recorded as processed; lookup failures fall through to {@link #claim}.
+     */
+    public boolean isDuplicate(String eventId) {
+        UUID id = parse(eventId);
+        if (!properties.isEnabled() || id == null) {
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            if (!bloomFilter.mightContain(id)) {
+                return false;
+            }
+            if (repository.existsById(id)) {
+                duplicatesBeforeSave.increment();
+                creditSkippedSave(0, 0);
+                return true;
+            }
+            bloomFalsePositives.increment();
+            return false;
+        } catch (DataAccessException e) {
+            log.warn("Swipe dedupe lookup failed for eventId={}, deferring to claim: {}", eventId, e.getMessage());
+            return false;
+        } finally {
+            checkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Stage 2, inside the swipe transaction. {@code false} means the event was already applied
+     * and the caller must return without further work.
+     */
+    public boolean claim(String eventId) {
+        UUID id = parse(eventId);
+        if (!properties.isEnabled() || id == null) {
+            return true;
+        }
+        boolean claimed = repository.insertIfAbsent(id, Instant.now()) > 0;
+        if (claimed) {
+            newEvents.increment();
+            rememberAfterCommit(id);
+        } else {
+            // Already committed by an earlier delivery.
+            bloomFilter.put(id);
+            duplicatesInSave.increment();
+        }
+        return claimed;
+    }
+
+    /**
+     * The Bloom filter only learns an eventId once its processed row has committed, so it
+     * never holds ids of swipes that rolled back.
+     */
+    private void rememberAfterCommit(UUID id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bloomFilter.put(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bloomFilter.put(id);
+            }
+        });
+    }
+
+    /**
+     * Runs a save and records its cost. {@code save} returns {@code false} when {@link #claim}
+     * rejected the event, in which case only the difference to a full save is credited.
+     */
+    public boolean track(BooleanSupplier save) {
+        long cpuStart = currentThreadCpuNanos();
+        long wallStart = System.nanoTime();
+        boolean processed = save.getAsBoolean();
+        long wall = System.nanoTime() - wallStart;
+        long cpuEnd = currentThreadCpuNanos();
+        long cpu = cpuStart < 0 || cpuEnd < 0 ? -1 : cpuEnd - cpuStart;
+
+        if (!processed) {
+            creditSkippedSave(wall, Math.max(0, cpu));
+            return false;
+        }
+        saveTimer.record(wall, TimeUnit.NANOSECONDS);
+        fullSaves.increment();
+        fullSaveWallNanos.add(wall);
+        if (cpu >= 0) {
+            saveCpuTimer.record(cpu, TimeUnit.NANOSECONDS);
+            fullSaveCpuSamples.increment();
+            fullSaveCpuNanos.add(cpu);
+        }
+        return true;
+    }
+
+    private void creditSkippedSave(long spentWallNanos, long spentCpuNanos) {
+        long saves = fullSaves.sum();
+        if (saves == 0) {
+            return;
+        }
+        long meanWall = fullSaveWallNanos.sum() / saves;
+        long cpuSamples = fullSaveCpuSamples.sum();
+        long meanCpu = cpuSamples == 0 ? 0 : fullSaveCpuNanos.sum() / cpuSamples;
+        // Wall time of a save that is not CPU is time spent waiting on Postgres and Redis.
+        long meanWait = Math.max(0, meanWall - meanCpu);
+        long spentWait = Math.max(0, spentWallNanos - spentCpuNanos);
+        savedCpuNanos.add(Math.max(0, meanCpu - spentCpuNanos));
+        savedWaitNanos.add(Math.max(0, meanWait - spentWait));
+    }
+
+    private long currentThreadCpuNanos() {
+        // -1 when unsupported, e.g. on virtual threads
+        return threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static UUID parse(String eventId) {
+        if (eventId == null || eventId.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(eventId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.tinder.clone.consumer.dedupe;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bloom filter over UUIDs that forgets entries after roughly {@code window}.
+ *
+ * <p>The window is split into {@code generations} bit sets used as a ring: inserts go to the
+ * generation of the current time slice, lookups check all of them, and a generation is cleared
+ * when the ring wraps back onto it. An entry therefore lives between
+ * {@code window * (generations - 1) / generations} and {@code window}.
+ *
+ * <p>Thread-safe without blocking readers. A lookup racing a rotation may miss an entry
+ * that is being cleared; callers must treat a negative as "probably new", never as proof.
+ */
+final class TimeWindowedBloomFilter {
+
+    private final AtomicLongArray[] generations;
+    private final long bitsPerGeneration;
+    private final int hashFunctions;
+    private final long sliceNanos;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock rotationLock = new ReentrantLock();
+
+    private volatile long currentSlice;
+
+    TimeWindowedBloomFilter(Duration window, int generations, long expectedInsertions,
+                            double falsePositiveRate, LongSupplier nanoClock) {
+        if (generations < 2) {
+            throw new IllegalArgumentException("generations must be at least 2");
+        }
+        // Lookups probe every generation, so each one gets its share of the error budget.
+        long perGeneration = Math.max(1, (expectedInsertions + generations - 1) / generations);
+        double perGenerationRate = falsePositiveRate / generations;
+        long bits = (long) Math.ceil(-perGeneration * Math.log(perGenerationRate) / (Math.log(2) * Math.log(2)));
+        long words = Math.max(1, (bits + 63) / 64);
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedInsertions + " insertions");
+        }
+
+        this.bitsPerGeneration = words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitsPerGeneration / perGeneration * Math.log(2)));
+        this.sliceNanos = Math.max(1, window.toNanos() / generations);
+        this.nanoClock = nanoClock;
+        this.generations = new AtomicLongArray[generations];
+        for (int i = 0; i < generations; i++) {
+            this.generations[i] = new AtomicLongArray((int) words);
+        }
+        this.currentSlice = nanoClock.getAsLong() / sliceNanos;
+    }
+
+    boolean mightContain(UUID id) {
+        rotateIfNeeded();
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits()) | 1;
+        for (AtomicLongArray generation : generations) {
+            if (containsAll(generation, h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void put(UUID id) {
+        rotateIfNeeded();
+        AtomicLongArray generation = generations[slot(currentSlice)];
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitsPerGeneration);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = generation.get(word);
+            while ((current & mask) == 0 && !generation.compareAndSet(word, current, current | mask)) {
+                current = generation.get(word);
+            }
+        }
+    }
+
+    long bitsPerGeneration() {
+        return bitsPerGeneration;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    private boolean containsAll(AtomicLongArray generation, long h1, long h2) {
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitsPerGeneration);
+            if ((generation.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rotateIfNeeded() {
+        long slice = nanoClock.getAsLong() / sliceNanos;
+        if (slice <= currentSlice) {
+            return;
+        }
+        rotationLock.lock();
+        try {
+            long from = currentSlice;
+            if (slice <= from) {
+                return;
+            }
+            // Clear every generation the clock moved onto, at most one full lap.
+            long steps = Math.min(slice - from, generations.length);
+            for (long s = slice - steps + 1; s <= slice; s++) {
+                AtomicLongArray generation = generations[slot(s)];
+                for (int word = 0; word < generation.length(); word++) {
+                    generation.set(word, 0L);
+                }
+            }
+            currentSlice = slice;
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    private int slot(long slice) {
+        return (int) Math.floorMod(slice, (long) generations.length);
+    }
+
+    /** MurmurHash3 fmix64 finalizer. */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,42 @@
+package com.tinder.clone.consumer.dedupe.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "swipe-dedupe")
+public class SwipeDedupeProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long an eventId stays in the in-memory Bloom filter. Redeliveries and producer
+     * retries land well inside this; older replays are still caught by the eventId table.
+     */
+    private Duration bloomWindow = Duration.ofHours(1);
+
+    /**
+     * The window is split into this many generations; the oldest one is cleared on rotation.
+     */
+    private int bloomGenerations = 6;
+
+    private long bloomExpectedInsertions = 2_000_000;
+
+    /**
+     * Target false-positive rate across all generations. A false positive costs one primary-key lookup.
+     */
+    private double bloomFalsePositiveRate = 0.01;
+
+    /**
+     * Matches the swipe-created topic retention: older events cannot be redelivered.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    private long cleanupIntervalMs = 3600000;
+
+    private int cleanupBatchSize = 10000;
+}
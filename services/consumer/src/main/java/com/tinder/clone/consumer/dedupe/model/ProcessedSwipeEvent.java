@@ -0,0 +1,29 @@
+package com.tinder.clone.consumer.dedupe.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(
+        name = "processed_swipe_events",
+        indexes = {
+                @Index(name = "idx_processed_swipe_events_processed_at", columnList = "processed_at")
+        }
+)
+public class ProcessedSwipeEvent {
+
+    @Id
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private UUID eventId;
+
+    @Column(name = "processed_at", nullable = false, updatable = false)
+    private Instant processedAt;
+}
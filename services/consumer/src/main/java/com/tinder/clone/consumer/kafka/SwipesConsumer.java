@@ -1,5 +1,6 @@
 package com.tinder.clone.consumer.kafka;
 
+import com.tinder.clone.consumer.dedupe.SwipeEventDeduplicator;
 import com.tinder.clone.consumer.kafka.event.SwipeCreatedEvent;
 import com.tinder.clone.consumer.service.SwipeService;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ public class SwipesConsumer {
 
 
     private final SwipeService consumerService;
+    private final SwipeEventDeduplicator swipeEventDeduplicator;
 
     @KafkaListener(
             topics = "${app.kafka.topic.swipe-created}",
@@ -34,9 +36,14 @@ public class SwipesConsumer {
                 partition, offset, event);
 
         try {
+            if (swipeEventDeduplicator.isDuplicate(event.getEventId())) {
+                acknowledgment.acknowledge();
+                log.info("Dropped duplicate SwipeCreatedEvent: {}", event.getEventId());
+                return;
+            }
 
             log.info("Processing SwipeCreatedEvent: {}", event);
-            consumerService.save(event);
+            swipeEventDeduplicator.track(() -> consumerService.save(event));
 
             // Acknowledge the message after successful processing
             acknowledgment.acknowledge();
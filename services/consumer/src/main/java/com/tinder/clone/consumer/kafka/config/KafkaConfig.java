@@ -10,6 +10,7 @@ import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
@@ -60,6 +61,9 @@ public class KafkaConfig {
     @Value("${app.kafka.error-handler.backoff-ms:1000}")
     private long retryBackoffMs;
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean
     public NewTopic swipeCreatedTopic() {
         return TopicBuilder.name(swipeCreatedTopic)
@@ -167,6 +171,7 @@ public class KafkaConfig {
         factory.setConcurrency(concurrency);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         factory.setCommonErrorHandler(kafkaErrorHandler);
+        applyListenerThreading(factory);
         return factory;
     }
 
@@ -179,6 +184,7 @@ public class KafkaConfig {
         factory.setConcurrency(concurrency);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         factory.setCommonErrorHandler(kafkaErrorHandler);
+        applyListenerThreading(factory);
         return factory;
     }
 
@@ -191,9 +197,23 @@ public class KafkaConfig {
         factory.setConcurrency(concurrency);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         factory.setCommonErrorHandler(kafkaErrorHandler);
+        applyListenerThreading(factory);
         return factory;
     }
 
+    /**
+     * Boot only switches its own auto-configured listener factory to virtual threads,
+     * so the hand-built factories opt in here when the virtual-thread mode is on.
+     */
+    private void applyListenerThreading(ConcurrentKafkaListenerContainerFactory<?, ?> factory) {
+        if (!virtualThreads) {
+            return;
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("kafka-listener-");
+        executor.setVirtualThreads(true);
+        factory.getContainerProperties().setListenerTaskExecutor(executor);
+    }
+
     private Map<String, Object> baseConsumerProps(String kafkaGroupId, Class<?> valueType) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
@@ -8,7 +8,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "pending_likes", indexes = {
-        @Index(name = "idx_pending_liked_user_id", columnList = "liked_user_id"),
+        @Index(name = "idx_pending_liked_user_feed", columnList = "liked_user_id, liked_at, liker_profile_id"),
         @Index(name = "idx_pending_liker_profile_id", columnList = "liker_profile_id"),
         @Index(name = "idx_pending_unique_pair", columnList = "liked_user_id, liker_profile_id", unique = true)
 })
@@ -0,0 +1,3 @@
+package com.tinder.clone.consumer.model.dto;
+
+public record LikedMeCountDto(long count) {}
@@ -0,0 +1,14 @@
+package com.tinder.clone.consumer.model.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of the "liked me" feed, newest first.
+ * {@code nextCursor} is null on the last page.
+ */
+public record LikedMePageDto(List<LikedMeDto> items, String nextCursor) {
+
+    public LikedMePageDto {
+        items = List.copyOf(items);
+    }
+}
@@ -0,0 +1,326 @@
+package com.tinder.clone.consumer.outbox;
+
+import com.tinder.clone.consumer.outbox.config.OutboxPartitionProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the daily {@code created_at} partitions of the outbox tables in shape.
+ * Future partitions are pre-created through {@code outbox_ensure_daily_partition}
+ * (V3 migration); partitions older than the retention window are detached and dropped
+ * once they hold no unpublished rows, so published history never goes through DELETE + vacuum.
+ * Dead-lettered rows will never be published, so they are first moved to
+ * {@code <table>_dead_letter}; otherwise one of them would pin its partition forever.
+ * <p>
+ * Rows that landed in the {@code DEFAULT} partition because their day's partition was missing
+ * are reported on {@code outbox.partitions.default.rows} and drained: creating the day's
+ * partition moves them out of {@code DEFAULT}. Postgres refuses {@code DETACH ... CONCURRENTLY}
+ * while a default partition exists, so old partitions are detached with a plain detach under
+ * {@code outbox.partitions.detach-lock-timeout-ms}; a detach that times out is retried next cycle.
+ * <p>
+ * Tables that are not partitioned (e.g. a schema created by Hibernate in tests) are skipped.
+ */
+@Service
+@Slf4j
+public class OutboxPartitionMaintenanceJob {
+
+    static final List<String> OUTBOX_TABLES = List.of("swipe_event_outbox", "match_event_outbox");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxPartitionProperties properties;
+    private final Map<String, AtomicLong> defaultPartitionRows = new LinkedHashMap<>();
+
+    public OutboxPartitionMaintenanceJob(JdbcTemplate jdbcTemplate,
+                                         OutboxPartitionProperties properties,
+                                         MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        for (String table : OUTBOX_TABLES) {
+            AtomicLong rows = new AtomicLong();
+            defaultPartitionRows.put(table, rows);
+            Gauge.builder("outbox.partitions.default.rows", rows, AtomicLong::get)
+                    .tag("table", table)
+                    .description("Outbox rows found in the DEFAULT partition by the last maintenance run")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "0",
+            fixedDelayString = "${outbox.partitions.maintenance-interval-ms:3600000}"
+    )
+    public void maintainOutboxPartitions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (String table : OUTBOX_TABLES) {
+            try {
+                jdbcTemplate.execute((Connection connection) -> {
+                    maintainTable(connection, table, today);
+                    return null;
+                });
+            } catch (Exception ex) {
+                log.error("Outbox partition maintenance failed: table={}, cause={}", table, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void maintainTable(Connection connection, String table, LocalDate today) throws SQLException {
+        if (!isPartitioned(connection, table)) {
+            log.debug("Outbox table {} is not partitioned, skipping maintenance", table);
+            return;
+        }
+
+        // DETACH ... CONCURRENTLY refuses to run inside a transaction block.
+        connection.setAutoCommit(true);
+
+        // One replica at a time per table; the others simply skip this cycle.
+        if (!advisoryLock(connection, "pg_try_advisory_lock", table)) {
+            return;
+        }
+        try {
+            maintainLockedTable(connection, table, today);
+        } finally {
+            advisoryLock(connection, "pg_advisory_unlock", table);
+        }
+    }
+
+    private void maintainLockedTable(Connection connection, String table, LocalDate today) throws SQLException {
+        boolean hasDefault = hasDefaultPartition(connection, table);
+        if (hasDefault) {
+            drainDefaultPartition(connection, table);
+        }
+
+        int precreateDays = Math.max(1, properties.getPrecreateDays());
+        for (int offset = 0; offset <= precreateDays; offset++) {
+            ensurePartition(connection, table, today.plusDays(offset));
+        }
+
+        LocalDate cutoff = today.minusDays(Math.max(1, properties.getRetentionDays()));
+        int dropped = 0;
+        int retained = 0;
+        long archived = 0;
+        for (PartitionRef partition : listPartitions(connection, table)) {
+            LocalDate day = partition.day();
+            if (day == null || !day.isBefore(cutoff)) {
+                continue;
+            }
+            if (!partition.detachPending()) {
+                archived += archiveDeadLetters(connection, table, partition.name());
+                if (hasUnpublishedRows(connection, partition.name())) {
+                    retained++;
+                    continue;
+                }
+            }
+            if (!dropPartition(connection, table, partition, hasDefault)) {
+                break;
+            }
+            dropped++;
+        }
+
+        if (dropped > 0 || retained > 0 || archived > 0) {
+            log.info(
+                    "Outbox partition retention: table={}, cutoff={}, dropped={}, retainedWithUnpublishedRows={}, "
+                            + "archivedDeadLetters={}",
+                    table, cutoff, dropped, retained, archived
+            );
+        }
+    }
+
+    private boolean isPartitioned(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private boolean hasDefaultPartition(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?) AND partdefid <> 0)")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private boolean advisoryLock(Connection connection, String function, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + function + "(hashtext(?))")) {
+            statement.setString(1, "outbox-partition-maintenance:" + table);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Re-homes rows inserted while their day's partition was missing: creating that day's
+     * partition moves its rows out of {@code DEFAULT} (see {@code outbox_ensure_daily_partition}).
+     */
+    private void drainDefaultPartition(Connection connection, String table) throws SQLException {
+        Map<LocalDate, Long> stranded = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT (created_at AT TIME ZONE 'UTC')::DATE AS day, count(*) FROM "
+                             + defaultPartition(table) + " GROUP BY day ORDER BY day")) {
+            while (rs.next()) {
+                stranded.put(rs.getObject(1, LocalDate.class), rs.getLong(2));
+            }
+        }
+
+        long rows = stranded.values().stream().mapToLong(Long::longValue).sum();
+        defaultPartitionRows.get(table).set(rows);
+        if (rows == 0) {
+            return;
+        }
+
+        log.warn("Outbox rows landed in the default partition: table={}, rows={}, days={}",
+                table, rows, stranded.keySet());
+        for (LocalDate day : stranded.keySet()) {
+            ensurePartition(connection, table, day);
+        }
+    }
+
+    private void ensurePartition(Connection connection, String table, LocalDate day) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT outbox_ensure_daily_partition(?, ?)")) {
+            statement.setString(1, table);
+            statement.setObject(2, day);
+            statement.execute();
+        }
+    }
+
+    private List<PartitionRef> listPartitions(Connection connection, String table) throws SQLException {
+        List<PartitionRef> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT c.relname, i.inhdetachpending
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                ORDER BY c.relname
+                """)) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    partitions.add(new PartitionRef(name, partitionDay(table, name), rs.getBoolean(2)));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Moves the partition's dead-lettered rows to {@link #deadLetterArchive(String)}
+     * (see {@code outbox_archive_dead_letters}); returns how many were moved.
+     */
+    private long archiveDeadLetters(Connection connection, String table, String partition) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT outbox_archive_dead_letters(?, ?)")) {
+            statement.setString(1, table);
+            statement.setString(2, partition);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    private boolean hasUnpublishedRows(Connection connection, String partition) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE published_at IS NULL)")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    /**
+     * Detaches and drops one partition. {@code false} when the parent's lock was not granted
+     * within the detach lock timeout; the remaining drops wait for the next cycle.
+     */
+    private boolean dropPartition(Connection connection, String table, PartitionRef partition, boolean hasDefault)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (partition.detachPending()) {
+                // An interrupted concurrent detach leaves the partition pending; FINALIZE completes it.
+                statement.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition.name() + " FINALIZE");
+            } else if (!hasDefault) {
+                statement.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition.name() + " CONCURRENTLY");
+            } else if (!detachWithLockTimeout(statement, table, partition)) {
+                return false;
+            }
+            statement.execute("DROP TABLE IF EXISTS " + partition.name());
+        }
+        log.debug("Dropped outbox partition {} of {}", partition.name(), table);
+        return true;
+    }
+
+    private boolean detachWithLockTimeout(Statement statement, String table, PartitionRef partition)
+            throws SQLException {
+        // A plain detach locks the parent ACCESS EXCLUSIVE; the timeout keeps it from queueing
+        // outbox writes behind a long-running transaction.
+        statement.execute("SET lock_timeout = " + Math.max(1, properties.getDetachLockTimeoutMs()));
+        try {
+            statement.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition.name());
+            return true;
+        } catch (SQLException ex) {
+            if (!LOCK_NOT_AVAILABLE.equals(ex.getSQLState())) {
+                throw ex;
+            }
+            log.info("Outbox partition detach deferred, lock not granted: table={}, partition={}",
+                    table, partition.name());
+            return false;
+        } finally {
+            statement.execute("RESET lock_timeout");
+        }
+    }
+
+    static String defaultPartition(String table) {
+        return table + "_default";
+    }
+
+    static String deadLetterArchive(String table) {
+        return table + "_dead_letter";
+    }
+
+    static LocalDate partitionDay(String table, String partitionName) {
+        String prefix = table + "_p";
+        if (!partitionName.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partitionName.substring(prefix.length()), PARTITION_SUFFIX);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private record PartitionRef(String name, LocalDate day, boolean detachPending) {
+    }
+}
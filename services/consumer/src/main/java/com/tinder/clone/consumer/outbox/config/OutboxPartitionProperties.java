@@ -0,0 +1,31 @@
+package com.tinder.clone.consumer.outbox.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "outbox.partitions")
+public class OutboxPartitionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Daily partitions created ahead of today so inserts never hit a missing range.
+     */
+    private int precreateDays = 7;
+
+    /**
+     * Partitions whose whole day is older than this are dropped once every row is published.
+     */
+    private int retentionDays = 7;
+
+    /**
+     * Longest wait for the parent's lock when detaching a partition; a table with a
+     * DEFAULT partition cannot be detached CONCURRENTLY.
+     */
+    private long detachLockTimeoutMs = 2000;
+
+    private long maintenanceIntervalMs = 3600000;
+}
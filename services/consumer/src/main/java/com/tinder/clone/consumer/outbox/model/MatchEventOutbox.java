@@ -15,12 +15,10 @@ import java.util.UUID;
 @Table(
         name = "match_event_outbox",
         indexes = {
-                @Index(name = "idx_match_outbox_publish_window", columnList = "published_at, dead_lettered_at, next_attempt_at, created_at"),
-                @Index(name = "idx_match_outbox_profile1", columnList = "profile1_id"),
-                @Index(name = "idx_match_outbox_profile2", columnList = "profile2_id")
+                @Index(name = "idx_match_outbox_pending", columnList = "created_at, next_attempt_at")
         },
         uniqueConstraints = {
-                @UniqueConstraint(name = "uk_match_outbox_event_id", columnNames = "event_id")
+                @UniqueConstraint(name = "uk_match_outbox_event_id", columnNames = {"event_id", "created_at"})
         }
 )
 public class MatchEventOutbox {
@@ -15,12 +15,10 @@ import java.util.UUID;
 @Table(
         name = "swipe_event_outbox",
         indexes = {
-                @Index(name = "idx_swipe_outbox_publish_window", columnList = "published_at, dead_lettered_at, next_attempt_at, created_at"),
-                @Index(name = "idx_swipe_outbox_swiper", columnList = "swiper_id"),
-                @Index(name = "idx_swipe_outbox_swiped", columnList = "swiped_id")
+                @Index(name = "idx_swipe_outbox_pending", columnList = "created_at, next_attempt_at")
         },
         uniqueConstraints = {
-                @UniqueConstraint(name = "uk_swipe_outbox_event_id", columnNames = "event_id")
+                @UniqueConstraint(name = "uk_swipe_outbox_event_id", columnNames = {"event_id", "created_at"})
         }
 )
 public class SwipeEventOutbox {
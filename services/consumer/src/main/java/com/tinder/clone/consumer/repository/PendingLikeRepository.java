@@ -14,13 +14,42 @@ public interface PendingLikeRepository extends JpaRepository<PendingLike, UUID>
 
     List<PendingLike> findByLikedUserIdOrderByLikedAtDesc(UUID likedUserId);
 
+    /**
+     * Newest-first keyset page of the liked-me feed. Served as an index-only backward scan of
+     * idx_pending_liked_user_feed (liked_user_id, liked_at, liker_profile_id) INCLUDE (is_super, id).
+     */
+    @Query(value = """
+        SELECT * FROM pending_likes
+        WHERE liked_user_id = :likedUserId
+        ORDER BY liked_at DESC, liker_profile_id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<PendingLike> findLikedMeFirstPage(@Param("likedUserId") UUID likedUserId,
+                                           @Param("limit") int limit);
+
+    @Query(value = """
+        SELECT * FROM pending_likes
+        WHERE liked_user_id = :likedUserId
+          AND (liked_at, liker_profile_id) < (:likedAt, :likerProfileId)
+        ORDER BY liked_at DESC, liker_profile_id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<PendingLike> findLikedMePageAfter(@Param("likedUserId") UUID likedUserId,
+                                           @Param("likedAt") Instant likedAt,
+                                           @Param("likerProfileId") UUID likerProfileId,
+                                           @Param("limit") int limit);
+
+    long countByLikedUserId(UUID likedUserId);
+
     @Modifying
     @Query("DELETE FROM PendingLike p WHERE p.likedUserId = :likedUserId AND p.likerProfileId = :likerProfileId")
-    void deleteByPair(@Param("likedUserId") UUID likedUserId, @Param("likerProfileId") UUID likerProfileId);
+    int deleteByPair(@Param("likedUserId") UUID likedUserId, @Param("likerProfileId") UUID likerProfileId);
 
     /**
      * Inserts a pending like, silently ignoring conflicts on (liked_user_id, liker_profile_id).
      * Avoids duplicate inserts without throwing an exception.
+     *
+     * @return 1 if a new pending like was stored, 0 if the pair already existed
      */
     @Modifying
     @Query(value = """
@@ -28,8 +57,8 @@ public interface PendingLikeRepository extends JpaRepository<PendingLike, UUID>
         VALUES (gen_random_uuid(), :likedUserId, :likerProfileId, :likedAt, :isSuper)
         ON CONFLICT (liked_user_id, liker_profile_id) DO NOTHING
         """, nativeQuery = true)
-    void upsertIgnore(@Param("likedUserId") UUID likedUserId,
-                      @Param("likerProfileId") UUID likerProfileId,
-                      @Param("likedAt") Instant likedAt,
-                      @Param("isSuper") boolean isSuper);
+    int upsertIgnore(@Param("likedUserId") UUID likedUserId,
+                     @Param("likerProfileId") UUID likerProfileId,
+                     @Param("likedAt") Instant likedAt,
+                     @Param("isSuper") boolean isSuper);
 }
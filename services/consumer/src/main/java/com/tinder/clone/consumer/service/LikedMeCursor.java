@@ -0,0 +1,47 @@
+package com.tinder.clone.consumer.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in the liked-me feed: the last returned (likedAt, likerProfileId).
+ * The feed is ordered by likedAt DESC, likerProfileId DESC, so the next page starts strictly below it.
+ * Not signed: it only carries data the caller has already been shown.
+ */
+record LikedMeCursor(Instant likedAt, UUID likerProfileId) {
+
+    String encode() {
+        String payload = likedAt + "|" + likerProfileId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static LikedMeCursor decode(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = payload.indexOf('|');
+            return new LikedMeCursor(
+                    Instant.parse(payload.substring(0, separator)),
+                    UUID.fromString(payload.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid liked-me cursor");
+        }
+    }
+
+    /** Epoch microseconds — exact in a Redis double score and matches Postgres timestamp precision. */
+    static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000L);
+    }
+
+    static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+}
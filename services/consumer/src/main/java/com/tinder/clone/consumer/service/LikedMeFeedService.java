@@ -0,0 +1,318 @@
+package com.tinder.clone.consumer.service;
+
+import com.tinder.clone.consumer.model.PendingLike;
+import com.tinder.clone.consumer.model.dto.LikedMeDto;
+import com.tinder.clone.consumer.model.dto.LikedMePageDto;
+import com.tinder.clone.consumer.repository.PendingLikeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset-paginated "liked me" feed backed by a per-user Redis sorted set.
+ * <p>
+ * {@code likes:pending:{profileId}} holds the newest {@code cache-window} pending likes,
+ * score = likedAt in epoch micros, member = {@code likerId|S} (super) or {@code likerId|N}.
+ * Equal scores are ordered by member, which matches the Postgres tie-break on liker_profile_id.
+ * Marker members scored below zero describe the set, so likes are always read from score 0 up:
+ * {@code #warm} once a Postgres snapshot has been loaded, {@code #complete} while the set holds
+ * every pending like rather than a truncated window, and one {@code #loading:<token>} per warm-up
+ * still reading Postgres. Pages a truncated window cannot fill are read from Postgres.
+ * <p>
+ * Each Redis step is one Lua script, so a check and the write it guards cannot interleave with
+ * another writer. Adds apply to any existing key, including one that is still loading, so a like
+ * committed during a warm-up lands next to the snapshot. A removal from a key that is not warm
+ * yet deletes it with every loading token, and a warm-up whose token is gone discards its
+ * snapshot, which may still hold the removed like; the next read warms again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LikedMeFeedService {
+
+    private static final String KEY_PREFIX = "likes:pending:";
+    private static final String SUPER_SUFFIX = "|S";
+    private static final String REGULAR_SUFFIX = "|N";
+    private static final String LOADING_PREFIX = "#loading:";
+    // Extra members fetched so a cursor sharing its score with a few neighbours can be skipped in one call.
+    private static final int TIE_SLACK = 8;
+
+    /** Drops the oldest likes beyond ARGV[2] and, with them, the completeness marker. */
+    private static final String TRIM_TO_WINDOW = """
+            local excess = redis.call('ZCOUNT', KEYS[1], 0, '+inf') - tonumber(ARGV[2])
+            if excess > 0 then
+                local markers = redis.call('ZCOUNT', KEYS[1], '-inf', '(0')
+                redis.call('ZREMRANGEBYRANK', KEYS[1], markers, markers + excess - 1)
+                redis.call('ZREM', KEYS[1], '#complete')
+            end
+            """;
+
+    /** KEYS: feed. ARGV: TTL in millis, loading token. 0 when the feed is already warm, 1 once the token is in. */
+    private static final RedisScript<Long> CLAIM = new DefaultRedisScript<>("""
+            if redis.call('ZSCORE', KEYS[1], '#warm') then
+                return 0
+            end
+            redis.call('ZADD', KEYS[1], -1, ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: feed. ARGV: TTL in millis, window, 1 when the snapshot is every pending like, loading
+     * token, then score/member pairs. 0 when a removal dropped the token while Postgres was read.
+     */
+    private static final RedisScript<Long> WARM = new DefaultRedisScript<>("""
+            if redis.call('ZSCORE', KEYS[1], '#warm') then
+                redis.call('ZREM', KEYS[1], ARGV[4])
+                return 1
+            end
+            if not redis.call('ZSCORE', KEYS[1], ARGV[4]) then
+                return 0
+            end
+            for i = 5, #ARGV, 2 do
+                redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('ZREM', KEYS[1], ARGV[4])
+            redis.call('ZADD', KEYS[1], -1, '#warm')
+            if ARGV[3] == '1' then
+                redis.call('ZADD', KEYS[1], -1, '#complete')
+            end
+            """ + TRIM_TO_WINDOW + """
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /** KEYS: feed. ARGV: TTL in millis, window, score, member. A cold feed is left alone. */
+    private static final RedisScript<Long> ADD = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            redis.call('ZADD', KEYS[1], ARGV[3], ARGV[4])
+            """ + TRIM_TO_WINDOW + """
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: feed. ARGV: both member variants of the liker. A feed that is not warm is deleted so an
+     * in-flight warm-up cannot write it back; so is a truncated window with no likes left.
+     */
+    private static final RedisScript<Long> REMOVE = new DefaultRedisScript<>("""
+            if not redis.call('ZSCORE', KEYS[1], '#warm') then
+                redis.call('DEL', KEYS[1])
+                return 0
+            end
+            local removed = redis.call('ZREM', KEYS[1], ARGV[1], ARGV[2])
+            if not redis.call('ZSCORE', KEYS[1], '#complete')
+                    and redis.call('ZCOUNT', KEYS[1], 0, '+inf') == 0 then
+                redis.call('DEL', KEYS[1])
+            end
+            return removed
+            """, Long.class);
+
+    /**
+     * KEYS: feed. ARGV: highest score, count. Nil when the feed is not warm, otherwise 1 or 0 for
+     * completeness followed by member/score pairs, newest first.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ = new DefaultRedisScript<>("""
+            if not redis.call('ZSCORE', KEYS[1], '#warm') then
+                return nil
+            end
+            local window = redis.call('ZREVRANGEBYSCORE', KEYS[1], ARGV[1], 0, 'WITHSCORES', 'LIMIT', 0, ARGV[2])
+            table.insert(window, 1, redis.call('ZSCORE', KEYS[1], '#complete') and 1 or 0)
+            return window
+            """, List.class);
+
+    /** KEYS: feed. The number of likes when the feed is complete, otherwise -1. */
+    private static final RedisScript<Long> COUNT = new DefaultRedisScript<>("""
+            if redis.call('ZSCORE', KEYS[1], '#complete') then
+                return redis.call('ZCOUNT', KEYS[1], 0, '+inf')
+            end
+            return -1
+            """, Long.class);
+
+    private final PendingLikeRepository pendingLikeRepo;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${app.liked-me.cache-window:1000}")
+    private int cacheWindow;
+
+    @Value("${app.liked-me.cache-ttl:PT30M}")
+    private Duration cacheTtl;
+
+    @Value("${app.liked-me.default-page-size:30}")
+    private int defaultPageSize;
+
+    @Value("${app.liked-me.max-page-size:100}")
+    private int maxPageSize;
+
+    public LikedMePageDto page(UUID profileId, String cursor, Integer requestedLimit) {
+        int limit = requestedLimit == null || requestedLimit <= 0
+                ? defaultPageSize
+                : Math.min(requestedLimit, maxPageSize);
+        LikedMeCursor after = LikedMeCursor.decode(cursor);
+
+        List<LikedMeDto> rows = readFromCache(profileId, after, limit + 1);
+        if (rows == null) {
+            rows = readFromDatabase(profileId, after, limit + 1);
+        }
+
+        if (rows.size() <= limit) {
+            return new LikedMePageDto(rows, null);
+        }
+        List<LikedMeDto> items = rows.subList(0, limit);
+        LikedMeDto last = items.get(limit - 1);
+        return new LikedMePageDto(items, new LikedMeCursor(last.likedAt(), last.likerProfileId()).encode());
+    }
+
+    /** Served from the sorted set when it is marked complete, otherwise an index-only COUNT. */
+    public long count(UUID profileId) {
+        try {
+            Long cached = redisTemplate.execute(COUNT, List.of(key(profileId)));
+            if (cached != null && cached >= 0) {
+                return cached;
+            }
+        } catch (Exception e) {
+            log.warn("Liked-me cache count failed for profileId={}: {}", profileId, e.getMessage());
+        }
+        return pendingLikeRepo.countByLikedUserId(profileId);
+    }
+
+    /** Write path: a new pending like was stored. Applied after commit. */
+    public void onLikeAdded(UUID likedUserId, UUID likerProfileId, Instant likedAt, boolean isSuper) {
+        AfterCommit.run("Liked-me cache add", () -> redisTemplate.execute(ADD, List.of(key(likedUserId)),
+                String.valueOf(cacheTtl.toMillis()), String.valueOf(cacheWindow),
+                String.valueOf(LikedMeCursor.toMicros(likedAt)), member(likerProfileId, isSuper)));
+    }
+
+    /** Write path: the liked user responded to the liker, so the pending like is gone. */
+    public void onLikeRemoved(UUID likedUserId, UUID likerProfileId) {
+        AfterCommit.run("Liked-me cache remove", () -> redisTemplate.execute(REMOVE, List.of(key(likedUserId)),
+                member(likerProfileId, true), member(likerProfileId, false)));
+    }
+
+    /**
+     * A match formed between the two profiles: drop both feeds, including any warm-up still
+     * loading them, and let the next read re-warm them.
+     */
+    public void onMatch(UUID profile1Id, UUID profile2Id) {
+        AfterCommit.run("Liked-me cache invalidation", () -> redisTemplate.delete(List.of(key(profile1Id), key(profile2Id))));
+    }
+
+    /**
+     * Returns null when the cache cannot answer this page on its own (cold key that could not be
+     * warmed, or a truncated window that runs out before the page is full).
+     */
+    private List<LikedMeDto> readFromCache(UUID profileId, LikedMeCursor after, int wanted) {
+        String key = key(profileId);
+        try {
+            String max = after == null ? "+inf" : String.valueOf(LikedMeCursor.toMicros(after.likedAt()));
+            int fetch = wanted + (after == null ? 0 : TIE_SLACK);
+            List<?> window = redisTemplate.execute(READ, List.of(key), max, String.valueOf(fetch));
+            if (window == null) {
+                if (!warm(profileId, key)) {
+                    return null;
+                }
+                window = redisTemplate.execute(READ, List.of(key), max, String.valueOf(fetch));
+                if (window == null) {
+                    return null;
+                }
+            }
+
+            boolean complete = Long.valueOf(1).equals(window.get(0));
+            int fetched = (window.size() - 1) / 2;
+            List<LikedMeDto> rows = new ArrayList<>(wanted);
+            for (int i = 1; i + 1 < window.size() && rows.size() < wanted; i += 2) {
+                LikedMeDto row = toDto((String) window.get(i), (String) window.get(i + 1));
+                if (after != null && !isBelow(row, after)) {
+                    continue;
+                }
+                rows.add(row);
+            }
+
+            if (rows.size() < wanted && (!complete || fetched == fetch)) {
+                return null;
+            }
+            return rows;
+        } catch (Exception e) {
+            log.warn("Liked-me cache read failed for profileId={}, falling back to Postgres: {}",
+                    profileId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Loads the newest window from Postgres, one row past it to know whether the window is every
+     * pending like. False when a removal raced the load and the snapshot was discarded.
+     */
+    private boolean warm(UUID profileId, String key) {
+        String ttl = String.valueOf(cacheTtl.toMillis());
+        String token = LOADING_PREFIX + UUID.randomUUID();
+        if (!Long.valueOf(1).equals(redisTemplate.execute(CLAIM, List.of(key), ttl, token))) {
+            return true;
+        }
+        List<PendingLike> newest = pendingLikeRepo.findLikedMeFirstPage(profileId, cacheWindow + 1);
+        boolean complete = newest.size() <= cacheWindow;
+        List<PendingLike> snapshot = complete ? newest : newest.subList(0, cacheWindow);
+
+        List<String> args = new ArrayList<>(4 + snapshot.size() * 2);
+        args.add(ttl);
+        args.add(String.valueOf(cacheWindow));
+        args.add(complete ? "1" : "0");
+        args.add(token);
+        for (PendingLike like : snapshot) {
+            args.add(String.valueOf(LikedMeCursor.toMicros(like.getLikedAt())));
+            args.add(member(like.getLikerProfileId(), like.isSuper()));
+        }
+        boolean warmed = Long.valueOf(1).equals(redisTemplate.execute(WARM, List.of(key), args.toArray()));
+        if (!warmed) {
+            log.debug("Liked-me warm-up for profileId={} raced a removal, reading Postgres", profileId);
+        }
+        return warmed;
+    }
+
+    private List<LikedMeDto> readFromDatabase(UUID profileId, LikedMeCursor after, int wanted) {
+        List<PendingLike> rows = after == null
+                ? pendingLikeRepo.findLikedMeFirstPage(profileId, wanted)
+                : pendingLikeRepo.findLikedMePageAfter(profileId, after.likedAt(), after.likerProfileId(), wanted);
+        return rows.stream()
+                .map(p -> new LikedMeDto(p.getLikerProfileId(), p.getLikedAt(), p.isSuper()))
+                .toList();
+    }
+
+    private static boolean isBelow(LikedMeDto row, LikedMeCursor cursor) {
+        int byTime = row.likedAt().compareTo(cursor.likedAt());
+        if (byTime != 0) {
+            return byTime < 0;
+        }
+        return row.likerProfileId().toString().compareTo(cursor.likerProfileId().toString()) < 0;
+    }
+
+    private static LikedMeDto toDto(String member, String score) {
+        int separator = member.indexOf('|');
+        return new LikedMeDto(
+                UUID.fromString(member.substring(0, separator)),
+                LikedMeCursor.fromMicros((long) Double.parseDouble(score)),
+                member.endsWith(SUPER_SUFFIX)
+        );
+    }
+
+    private static String member(UUID likerProfileId, boolean isSuper) {
+        return likerProfileId + (isSuper ? SUPER_SUFFIX : REGULAR_SUFFIX);
+    }
+
+    private static String key(UUID profileId) {
+        return KEY_PREFIX + profileId;
+    }
+}
@@ -1,8 +1,10 @@
 package com.tinder.clone.consumer.service;
 
+import com.tinder.clone.consumer.dedupe.SwipeEventDeduplicator;
 import com.tinder.clone.consumer.kafka.event.MatchCreateEvent;
 import com.tinder.clone.consumer.kafka.event.SwipeCreatedEvent;
 import com.tinder.clone.consumer.model.dto.LikedMeDto;
+import com.tinder.clone.consumer.model.dto.LikedMePageDto;
 import com.tinder.clone.consumer.model.embedded.SwipeRecordId;
 import com.tinder.clone.consumer.outbox.MatchOutboxService;
 import com.tinder.clone.consumer.outbox.SwipeOutboxService;
@@ -11,11 +13,10 @@ import com.tinder.clone.consumer.repository.SwipeRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 @Service
@@ -23,18 +24,25 @@ import java.util.*;
 @Slf4j
 public class SwipeService {
 
-    private static final String SWIPE_KEY_PREFIX = "swipes:exists";
-    private static final Duration SWIPE_CACHE_TTL = Duration.ofHours(24);
-
     private final SwipeRepository repo;
     private final PendingLikeRepository pendingLikeRepo;
-
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final SwipedSetCache swipedSetCache;
     private final MatchOutboxService matchOutboxService;
     private final SwipeOutboxService swipeOutboxService;
+    private final LikedMeFeedService likedMeFeedService;
+    private final SwipeEventDeduplicator swipeEventDeduplicator;
 
+    /**
+     * Applies a swipe. Returns {@code false} without touching swipes, outbox or Redis
+     * when its eventId was already applied (Kafka redelivery or producer retry).
+     */
     @Transactional
-    public void save(SwipeCreatedEvent swipeRecord) {
+    public boolean save(SwipeCreatedEvent swipeRecord) {
+        if (!swipeEventDeduplicator.claim(swipeRecord.getEventId())) {
+            log.info("Skipping already applied SwipeCreatedEvent: {}", swipeRecord.getEventId());
+            return false;
+        }
+
         UUID swiperId = UUID.fromString(swipeRecord.getProfile1Id());
         UUID targetId = UUID.fromString(swipeRecord.getProfile2Id());
         SwipeRecordId normalizedId = SwipeRecordId.normalized(swiperId, targetId);
@@ -49,14 +57,16 @@ public class SwipeService {
                 swiperIsFirst,
                 swipeRecord.isDecision()
         );
-        refreshSwipeCache(swiperId, targetId);
+        swipedSetCache.onSwipe(swiperId, targetId);
         swipeOutboxService.enqueueSwipeSaved(swipeRecord);
 
         // swiper is now responding to targetId's possible previous like — clear it
-        pendingLikeRepo.deleteByPair(swiperId, targetId);
+        if (pendingLikeRepo.deleteByPair(swiperId, targetId) > 0) {
+            likedMeFeedService.onLikeRemoved(swiperId, targetId);
+        }
 
         if (!swipeRecord.isDecision() || wasMatchBefore) {
-            return;
+            return true;
         }
 
         boolean isMatchNow = Boolean.TRUE.equals(
@@ -64,10 +74,17 @@ public class SwipeService {
         );
         if (isMatchNow) {
             enqueueMatchCreated(normalizedId, swipeRecord.getTimestamp());
+            likedMeFeedService.onMatch(swiperId, targetId);
         } else {
-            // Right swipe, no match yet — notify target that swiper liked them
-            pendingLikeRepo.upsertIgnore(targetId, swiperId, Instant.now(), Boolean.TRUE.equals(swipeRecord.getIsSuper()));
+            // Right swipe, no match yet — notify target that swiper liked them.
+            // Truncated to micros so the cached score equals what Postgres stores.
+            Instant likedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+            boolean isSuper = Boolean.TRUE.equals(swipeRecord.getIsSuper());
+            if (pendingLikeRepo.upsertIgnore(targetId, swiperId, likedAt, isSuper) > 0) {
+                likedMeFeedService.onLikeAdded(targetId, swiperId, likedAt, isSuper);
+            }
         }
+        return true;
     }
 
     @Transactional
@@ -79,12 +96,22 @@ public class SwipeService {
                 .toList();
     }
 
+    public LikedMePageDto getLikedMePage(UUID profileId, String cursor, Integer limit) {
+        log.debug("Fetching 'liked me' page for profileId={}, cursor={}", profileId, cursor);
+        return likedMeFeedService.page(profileId, cursor, limit);
+    }
+
+    public long countLikedMe(UUID profileId) {
+        return likedMeFeedService.count(profileId);
+    }
+
     /**
      * Returns map: candidateId -> true/false (has viewer already swiped on this candidate?)
      * true = viewer already swiped on this candidate → should NOT show in deck
      * false = viewer has not swiped on this candidate yet → can show in deck
      *
      * Note: This only checks OUTGOING swipes from viewer. We don't care if candidate swiped on viewer.
+     * Answered from the viewer's {@link SwipedSetCache}; Postgres is only queried when Redis cannot answer.
      */
     @Transactional
     public Map<UUID, Boolean> existsBetweenBatch(UUID viewerId, List<UUID> candidateIds) {
@@ -92,7 +119,8 @@ public class SwipeService {
             return Collections.emptyMap();
         }
 
-        Set<UUID> swipedInBatch = repo.findViewerSwipedCandidates(viewerId, candidateIds);
+        Set<UUID> swipedInBatch = swipedSetCache.findSwiped(viewerId, candidateIds)
+                .orElseGet(() -> repo.findViewerSwipedCandidates(viewerId, candidateIds));
         Map<UUID, Boolean> result = new HashMap<>(candidateIds.size());
         for (UUID cid : candidateIds) {
             result.put(cid, swipedInBatch.contains(cid));
@@ -101,19 +129,6 @@ public class SwipeService {
     }
 
 
-    private void refreshSwipeCache(UUID swiperId, UUID targetId) {
-        String cacheKey = SWIPE_KEY_PREFIX + ":" + swiperId;
-        Boolean cacheExists = redisTemplate.hasKey(cacheKey);
-
-        if (!Boolean.TRUE.equals(cacheExists)) {
-            return;
-        }
-
-        redisTemplate.opsForSet().remove(cacheKey, "EMPTY_MARKER");
-        redisTemplate.opsForSet().add(cacheKey, targetId.toString());
-        redisTemplate.expire(cacheKey, SWIPE_CACHE_TTL);
-    }
-
     private void enqueueMatchCreated(SwipeRecordId swipeRecordId, long swipeTimestamp) {
         Instant createdAt = swipeTimestamp > 0 ? Instant.ofEpochMilli(swipeTimestamp) : Instant.now();
         MatchCreateEvent matchEvent = MatchCreateEvent.builder()
@@ -0,0 +1,149 @@
+package com.tinder.clone.consumer.service;
+
+import com.tinder.clone.consumer.repository.SwipeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-viewer set of profiles the viewer has already swiped on, kept in Redis
+ * as {@code swipes:seen:{viewerId}} with 16-byte binary UUID members.
+ *
+ * <p>A set is only authoritative once it carries {@link #COMPLETE_MARKER}, which is
+ * written by {@link #warm} after the full Postgres snapshot has been loaded. Swipes
+ * are added unconditionally after commit, so a swipe racing a warm-up is never lost:
+ * either the snapshot already contains it or the write path adds it afterwards.
+ *
+ * <p>Lookups ask for the marker and every candidate in one {@code SMISMEMBER}; a missing
+ * marker triggers a warm-up, and any Redis failure yields {@link Optional#empty()} so the
+ * caller can answer from Postgres instead.
+ */
+@Component
+@Slf4j
+public class SwipedSetCache {
+
+    private static final String KEY_PREFIX = "swipes:seen:";
+
+    /** One byte, so it can never collide with a 16-byte profile id member. */
+    private static final byte[] COMPLETE_MARKER = {0};
+
+    private final StringRedisTemplate redisTemplate;
+    private final SwipeRepository swipeRepository;
+    private final Duration ttl;
+    private final int warmChunkSize;
+
+    public SwipedSetCache(StringRedisTemplate redisTemplate,
+                          SwipeRepository swipeRepository,
+                          @Value("${app.swiped-set.ttl:PT24H}") Duration ttl,
+                          @Value("${app.swiped-set.warm-chunk-size:1000}") int warmChunkSize) {
+        this.redisTemplate = redisTemplate;
+        this.swipeRepository = swipeRepository;
+        this.ttl = ttl;
+        this.warmChunkSize = warmChunkSize;
+    }
+
+    /**
+     * Returns the subset of {@code candidateIds} the viewer has swiped on, or empty when
+     * the cache could not answer authoritatively.
+     */
+    public Optional<Set<UUID>> findSwiped(UUID viewerId, List<UUID> candidateIds) {
+        try {
+            byte[] key = key(viewerId);
+            byte[][] members = new byte[candidateIds.size() + 1][];
+            members[0] = COMPLETE_MARKER;
+            for (int i = 0; i < candidateIds.size(); i++) {
+                members[i + 1] = toBytes(candidateIds.get(i));
+            }
+
+            List<Boolean> flags = isMember(key, members);
+            if (flags == null || !Boolean.TRUE.equals(flags.get(0))) {
+                warm(viewerId, key);
+                flags = isMember(key, members);
+                if (flags == null || !Boolean.TRUE.equals(flags.get(0))) {
+                    return Optional.empty();
+                }
+            }
+
+            Set<UUID> swiped = new HashSet<>();
+            for (int i = 0; i < candidateIds.size(); i++) {
+                if (Boolean.TRUE.equals(flags.get(i + 1))) {
+                    swiped.add(candidateIds.get(i));
+                }
+            }
+            return Optional.of(swiped);
+        } catch (Exception e) {
+            log.warn("Swiped-set lookup failed for viewerId={}, falling back to Postgres: {}", viewerId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Records a swipe once the surrounding transaction commits: SADD and PEXPIRE
+     * are pipelined into a single round trip.
+     */
+    public void onSwipe(UUID swiperId, UUID targetId) {
+        AfterCommit.run("Swiped-set update", () -> {
+            byte[] key = key(swiperId);
+            byte[] member = toBytes(targetId);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.setCommands().sAdd(key, member);
+                connection.keyCommands().pExpire(key, ttl.toMillis());
+                return null;
+            });
+        });
+    }
+
+    private void warm(UUID viewerId, byte[] key) {
+        Set<UUID> swiped = swipeRepository.findProfilesViewerSwipedOn(viewerId);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            addChunked(connection, key, swiped);
+            connection.setCommands().sAdd(key, COMPLETE_MARKER);
+            connection.keyCommands().pExpire(key, ttl.toMillis());
+            return null;
+        });
+        log.debug("Warmed swiped set for viewerId={} with {} profiles", viewerId, swiped.size());
+    }
+
+    private void addChunked(RedisConnection connection, byte[] key, Collection<UUID> profileIds) {
+        Iterator<UUID> it = profileIds.iterator();
+        List<byte[]> chunk = new ArrayList<>(Math.min(warmChunkSize, profileIds.size()));
+        while (it.hasNext()) {
+            chunk.add(toBytes(it.next()));
+            if (chunk.size() == warmChunkSize || !it.hasNext()) {
+                connection.setCommands().sAdd(key, chunk.toArray(new byte[0][]));
+                chunk.clear();
+            }
+        }
+    }
+
+    private List<Boolean> isMember(byte[] key, byte[][] members) {
+        return redisTemplate.execute((RedisCallback<List<Boolean>>) connection ->
+                connection.setCommands().sMIsMember(key, members));
+    }
+
+    private static byte[] key(UUID viewerId) {
+        return (KEY_PREFIX + viewerId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
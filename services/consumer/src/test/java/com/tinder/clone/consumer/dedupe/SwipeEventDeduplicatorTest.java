@@ -0,0 +1,69 @@
+package com.tinder.clone.consumer.dedupe;
+
+import com.tinder.clone.consumer.dedupe.config.SwipeDedupeProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SwipeEventDeduplicatorTest {
+
+    @Mock
+    private ProcessedSwipeEventRepository repository;
+
+    private SwipeEventDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        deduplicator = new SwipeEventDeduplicator(repository, new SwipeDedupeProperties(), new SimpleMeterRegistry());
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void claimedEventId_entersTheBloomFilterOnlyAfterCommit() {
+        UUID eventId = UUID.randomUUID();
+        when(repository.insertIfAbsent(eq(eventId), any())).thenReturn(1);
+        when(repository.existsById(eventId)).thenReturn(true);
+
+        assertThat(deduplicator.claim(eventId.toString())).isTrue();
+        assertThat(deduplicator.isDuplicate(eventId.toString())).isFalse();
+        verify(repository, never()).existsById(eventId);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(deduplicator.isDuplicate(eventId.toString())).isTrue();
+    }
+
+    @Test
+    void rolledBackClaim_leavesTheBloomFilterUntouched() {
+        UUID eventId = UUID.randomUUID();
+        when(repository.insertIfAbsent(eq(eventId), any())).thenReturn(1);
+
+        deduplicator.claim(eventId.toString());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(deduplicator.isDuplicate(eventId.toString())).isFalse();
+        verify(repository, never()).existsById(eventId);
+    }
+}
@@ -0,0 +1,74 @@
+package com.tinder.clone.consumer.dedupe;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeWindowedBloomFilterTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(60);
+
+    private final AtomicLong clock = new AtomicLong(WINDOW.toNanos() * 10);
+
+    @Test
+    void remembersInsertedIds_withinTheWindow() {
+        TimeWindowedBloomFilter filter = filter(10_000, 0.01);
+        List<UUID> ids = randomIds(1_000);
+        ids.forEach(filter::put);
+
+        advance(Duration.ofMinutes(45));
+
+        assertThat(ids).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void forgetsIds_onceTheWindowHasPassed() {
+        TimeWindowedBloomFilter filter = filter(10_000, 0.01);
+        List<UUID> ids = randomIds(1_000);
+        ids.forEach(filter::put);
+
+        advance(WINDOW.plusMinutes(1));
+
+        assertThat(ids).noneMatch(filter::mightContain);
+    }
+
+    @Test
+    void keepsFalsePositiveRateNearTarget_atExpectedLoad() {
+        TimeWindowedBloomFilter filter = filter(60_000, 0.01);
+        // Spread the expected load across the whole window, one generation at a time
+        for (int slice = 0; slice < 6; slice++) {
+            if (slice > 0) {
+                advance(WINDOW.dividedBy(6));
+            }
+            randomIds(10_000).forEach(filter::put);
+        }
+
+        long falsePositives = randomIds(100_000).stream().filter(filter::mightContain).count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private TimeWindowedBloomFilter filter(long expectedInsertions, double falsePositiveRate) {
+        return new TimeWindowedBloomFilter(WINDOW, 6, expectedInsertions, falsePositiveRate, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private static List<UUID> randomIds(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
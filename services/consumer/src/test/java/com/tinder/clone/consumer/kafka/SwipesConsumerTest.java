@@ -1,7 +1,9 @@
 package com.tinder.clone.consumer.kafka;
 
+import com.tinder.clone.consumer.dedupe.SwipeEventDeduplicator;
 import com.tinder.clone.consumer.kafka.event.SwipeCreatedEvent;
 import com.tinder.clone.consumer.service.SwipeService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,8 +12,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.support.Acknowledgment;
 
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
@@ -27,9 +31,19 @@ class SwipesConsumerTest {
     @Mock
     private Acknowledgment acknowledgment;
 
+    @Mock
+    private SwipeEventDeduplicator swipeEventDeduplicator;
+
     @InjectMocks
     private SwipesConsumer swipesConsumer;
 
+    @BeforeEach
+    void setUp() {
+        // Default: not a known duplicate, and track() just runs the save
+        lenient().when(swipeEventDeduplicator.track(any()))
+                .thenAnswer(invocation -> invocation.<BooleanSupplier>getArgument(0).getAsBoolean());
+    }
+
     private SwipeCreatedEvent buildEvent(boolean decision) {
         return SwipeCreatedEvent.builder()
                 .eventId(UUID.randomUUID().toString())
@@ -88,4 +102,16 @@ class SwipesConsumerTest {
         verify(swipeService).save(event);
         verifyNoMoreInteractions(swipeService);
     }
+
+    @Test
+    void handleSwipeCreatedEvent_acknowledgesWithoutSaving_whenEventIsKnownDuplicate() {
+        SwipeCreatedEvent event = buildEvent(true);
+        when(swipeEventDeduplicator.isDuplicate(event.getEventId())).thenReturn(true);
+
+        swipesConsumer.handleSwipeCreatedEvent(event, 0, 7L, acknowledgment);
+
+        verify(acknowledgment).acknowledge();
+        verifyNoInteractions(swipeService);
+        verify(swipeEventDeduplicator, never()).track(any());
+    }
 }
@@ -0,0 +1,41 @@
+package com.tinder.clone.consumer.outbox;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxPartitionMaintenanceJobTest {
+
+    @Test
+    void partitionDay_parsesDailySuffixOfOwnTable() {
+        assertThat(OutboxPartitionMaintenanceJob.partitionDay("swipe_event_outbox", "swipe_event_outbox_p20261018"))
+                .isEqualTo(LocalDate.of(2026, 10, 18));
+    }
+
+    @Test
+    void partitionDay_ignoresForeignOrMalformedPartitions() {
+        assertThat(OutboxPartitionMaintenanceJob.partitionDay("swipe_event_outbox", "match_event_outbox_p20261018"))
+                .isNull();
+        assertThat(OutboxPartitionMaintenanceJob.partitionDay("swipe_event_outbox", "swipe_event_outbox_default"))
+                .isNull();
+        assertThat(OutboxPartitionMaintenanceJob.partitionDay("swipe_event_outbox", "swipe_event_outbox_p2026"))
+                .isNull();
+    }
+
+    @Test
+    void defaultPartition_isNeverMistakenForADailyPartition() {
+        String table = "match_event_outbox";
+        assertThat(OutboxPartitionMaintenanceJob.partitionDay(table, OutboxPartitionMaintenanceJob.defaultPartition(table)))
+                .isNull();
+    }
+
+    @Test
+    void deadLetterArchive_isNeverMistakenForADailyPartition() {
+        String table = "swipe_event_outbox";
+        assertThat(OutboxPartitionMaintenanceJob.deadLetterArchive(table)).isEqualTo("swipe_event_outbox_dead_letter");
+        assertThat(OutboxPartitionMaintenanceJob.partitionDay(table, OutboxPartitionMaintenanceJob.deadLetterArchive(table)))
+                .isNull();
+    }
+}
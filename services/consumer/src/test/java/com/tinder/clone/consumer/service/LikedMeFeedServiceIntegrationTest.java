@@ -0,0 +1,243 @@
+package com.tinder.clone.consumer.service;
+
+import com.tinder.clone.consumer.AbstractIntegrationTest;
+import com.tinder.clone.consumer.model.PendingLike;
+import com.tinder.clone.consumer.model.dto.LikedMeDto;
+import com.tinder.clone.consumer.model.dto.LikedMePageDto;
+import com.tinder.clone.consumer.repository.PendingLikeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Integration tests for {@link LikedMeFeedService} against real PostgreSQL + Redis.
+ * Every walk through the feed must match the Postgres keyset order exactly,
+ * whether pages come from the sorted-set cache, from Postgres, or from both,
+ * including when a like is added or removed while the cache is being warmed.
+ */
+class LikedMeFeedServiceIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Autowired
+    private LikedMeFeedService feedService;
+
+    @MockitoSpyBean
+    private PendingLikeRepository pendingLikeRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private UUID likedUserId;
+    private int defaultWindow;
+
+    @BeforeEach
+    void setUp() {
+        likedUserId = UUID.randomUUID();
+        defaultWindow = (int) ReflectionTestUtils.getField(feedService, "cacheWindow");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ReflectionTestUtils.setField(feedService, "cacheWindow", defaultWindow);
+        pendingLikeRepository.deleteAll();
+        redisTemplate.delete(key());
+    }
+
+    @Test
+    void page_walksWholeFeedNewestFirst_fromWarmedCache() {
+        List<LikedMeDto> expected = seed(25);
+
+        assertThat(walk(7)).isEqualTo(expected);
+        assertThat(cachedLikes()).isEqualTo(25L);
+        assertThat(markers()).containsExactlyInAnyOrder("#warm", "#complete");
+    }
+
+    @Test
+    void page_fallsBackToPostgres_pastATruncatedCacheWindow() {
+        ReflectionTestUtils.setField(feedService, "cacheWindow", 10);
+        List<LikedMeDto> expected = seed(25);
+
+        assertThat(walk(4)).isEqualTo(expected);
+        assertThat(cachedLikes()).isEqualTo(10L);
+        assertThat(markers()).containsExactly("#warm");
+    }
+
+    @Test
+    void onLikeAdded_andOnLikeRemoved_keepWarmCacheInSyncWithPostgres() {
+        seed(5);
+        feedService.page(likedUserId, null, 2); // warms the cache
+
+        UUID newLiker = UUID.randomUUID();
+        Instant likedAt = Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.MICROS);
+        pendingLikeRepository.save(like(newLiker, likedAt, true));
+        feedService.onLikeAdded(likedUserId, newLiker, likedAt, true);
+
+        LikedMeDto removed = walk(3).get(3);
+        pendingLikeRepository.deleteAll(pendingLikeRepository.findByLikedUserIdOrderByLikedAtDesc(likedUserId).stream()
+                .filter(p -> p.getLikerProfileId().equals(removed.likerProfileId()))
+                .toList());
+        feedService.onLikeRemoved(likedUserId, removed.likerProfileId());
+
+        List<LikedMeDto> feed = walk(3);
+        assertThat(feed).hasSize(5);
+        assertThat(feed.get(0)).isEqualTo(new LikedMeDto(newLiker, likedAt, true));
+        assertThat(feed).doesNotContain(removed);
+        assertThat(feed).isEqualTo(fromDatabase());
+    }
+
+    @Test
+    void count_matchesFeedSize_withAndWithoutCache() {
+        seed(12);
+
+        assertThat(feedService.count(likedUserId)).isEqualTo(12L);
+        feedService.page(likedUserId, null, 5);
+        assertThat(feedService.count(likedUserId)).isEqualTo(12L);
+    }
+
+    @Test
+    void page_returnsEmptyLastPage_forUserWithoutLikes() {
+        LikedMePageDto page = feedService.page(likedUserId, null, 10);
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+        assertThat(markers()).containsExactlyInAnyOrder("#warm", "#complete");
+        assertThat(feedService.count(likedUserId)).isZero();
+    }
+
+    @Test
+    void onLikeAdded_trimsAFullWindow_andDropsTheCompletenessMarker() {
+        ReflectionTestUtils.setField(feedService, "cacheWindow", 10);
+        seed(10);
+        feedService.page(likedUserId, null, 3);
+        assertThat(markers()).containsExactlyInAnyOrder("#warm", "#complete");
+
+        UUID newLiker = UUID.randomUUID();
+        Instant likedAt = Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.MICROS);
+        pendingLikeRepository.save(like(newLiker, likedAt, false));
+        feedService.onLikeAdded(likedUserId, newLiker, likedAt, false);
+
+        assertThat(cachedLikes()).isEqualTo(10L);
+        assertThat(markers()).containsExactly("#warm");
+        assertThat(walk(4)).isEqualTo(fromDatabase());
+        assertThat(feedService.count(likedUserId)).isEqualTo(11L);
+    }
+
+    @Test
+    void warm_discardsItsSnapshot_whenALikeIsRemovedWhileItLoads() {
+        List<LikedMeDto> seeded = seed(6);
+        LikedMeDto removed = seeded.get(2);
+        doAnswer(invocation -> {
+            Object snapshot = invocation.callRealMethod();
+            // The like is answered, and its cache update runs, before the snapshot is written.
+            pendingLikeRepository.deleteAll(pendingLikeRepository.findByLikedUserIdOrderByLikedAtDesc(likedUserId).stream()
+                    .filter(p -> p.getLikerProfileId().equals(removed.likerProfileId()))
+                    .toList());
+            feedService.onLikeRemoved(likedUserId, removed.likerProfileId());
+            return snapshot;
+        }).doCallRealMethod().when(pendingLikeRepository).findLikedMeFirstPage(eq(likedUserId), anyInt());
+
+        assertThat(feedService.page(likedUserId, null, 10).items()).hasSize(5).doesNotContain(removed);
+        assertThat(redisTemplate.hasKey(key())).isFalse();
+
+        assertThat(walk(2)).isEqualTo(fromDatabase()).doesNotContain(removed);
+        assertThat(cachedLikes()).isEqualTo(5L);
+    }
+
+    @Test
+    void warm_keepsALikeAddedWhileItLoads() {
+        seed(4);
+        UUID newLiker = UUID.randomUUID();
+        Instant likedAt = Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.MICROS);
+        doAnswer(invocation -> {
+            Object snapshot = invocation.callRealMethod();
+            // The like commits, and its cache update runs, after the snapshot was read.
+            pendingLikeRepository.save(like(newLiker, likedAt, true));
+            feedService.onLikeAdded(likedUserId, newLiker, likedAt, true);
+            return snapshot;
+        }).doCallRealMethod().when(pendingLikeRepository).findLikedMeFirstPage(eq(likedUserId), anyInt());
+
+        feedService.page(likedUserId, null, 2);
+
+        assertThat(cachedLikes()).isEqualTo(5L);
+        assertThat(walk(2)).isEqualTo(fromDatabase())
+                .first().isEqualTo(new LikedMeDto(newLiker, likedAt, true));
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    /** Seeds likes one second apart, with the last three sharing a timestamp to exercise the tie-break. */
+    private List<LikedMeDto> seed(int count) {
+        Instant base = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<PendingLike> likes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Instant likedAt = base.minusSeconds(Math.min(i, count - 3));
+            likes.add(like(UUID.randomUUID(), likedAt, i % 4 == 0));
+        }
+        pendingLikeRepository.saveAll(likes);
+        return fromDatabase();
+    }
+
+    private List<LikedMeDto> fromDatabase() {
+        return pendingLikeRepository.findByLikedUserIdOrderByLikedAtDesc(likedUserId).stream()
+                .map(p -> new LikedMeDto(p.getLikerProfileId(), p.getLikedAt(), p.isSuper()))
+                .sorted(Comparator.comparing(LikedMeDto::likedAt)
+                        .thenComparing(dto -> dto.likerProfileId().toString())
+                        .reversed())
+                .toList();
+    }
+
+    private List<LikedMeDto> walk(int pageSize) {
+        List<LikedMeDto> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            LikedMePageDto page = feedService.page(likedUserId, cursor, pageSize);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(pageSize);
+            all.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return all;
+    }
+
+    private String key() {
+        return "likes:pending:" + likedUserId;
+    }
+
+    /** Likes only; markers are scored below zero. */
+    private Long cachedLikes() {
+        return redisTemplate.opsForZSet().count(key(), 0, Double.POSITIVE_INFINITY);
+    }
+
+    private Set<String> markers() {
+        return redisTemplate.opsForZSet().rangeByScore(key(), Double.NEGATIVE_INFINITY, -1);
+    }
+
+    private PendingLike like(UUID likerId, Instant likedAt, boolean isSuper) {
+        return PendingLike.builder()
+                .likedUserId(likedUserId)
+                .likerProfileId(likerId)
+                .likedAt(likedAt)
+                .isSuper(isSuper)
+                .build();
+    }
+}
@@ -4,14 +4,16 @@ import com.tinder.clone.consumer.AbstractIntegrationTest;
 import com.tinder.clone.consumer.kafka.event.SwipeCreatedEvent;
 import com.tinder.clone.consumer.model.SwipeRecord;
 import com.tinder.clone.consumer.model.embedded.SwipeRecordId;
+import com.tinder.clone.consumer.dedupe.ProcessedSwipeEventRepository;
 import com.tinder.clone.consumer.outbox.MatchEventOutboxRepository;
+import com.tinder.clone.consumer.outbox.SwipeEventOutboxRepository;
 import com.tinder.clone.consumer.outbox.model.MatchEventOutbox;
 import com.tinder.clone.consumer.repository.SwipeRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
 
 import java.util.List;
@@ -25,7 +27,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Integration tests for {@link SwipeService}.
  * Uses real PostgreSQL + Redis containers (via {@link AbstractIntegrationTest}) to verify
  * the complete swipe-processing pipeline: persistence, mutual-match detection, outbox enqueueing,
- * Redis cache refresh, and idempotency.
+ * swiped-set cache maintenance, and idempotency.
  */
 class SwipeServiceIntegrationTest extends AbstractIntegrationTest {
 
@@ -43,12 +45,20 @@ class SwipeServiceIntegrationTest extends AbstractIntegrationTest {
     private MatchEventOutboxRepository outboxRepository;
 
     @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
+    private SwipeEventOutboxRepository swipeOutboxRepository;
+
+    @Autowired
+    private ProcessedSwipeEventRepository processedSwipeEventRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
 
     @AfterEach
     void cleanUp() {
         swipeRepository.deleteAll();
         outboxRepository.deleteAll();
+        swipeOutboxRepository.deleteAll();
+        processedSwipeEventRepository.deleteAll();
     }
 
     // ─── Persistence ──────────────────────────────────────────────────────────
@@ -172,35 +182,64 @@ class SwipeServiceIntegrationTest extends AbstractIntegrationTest {
                 .containsOnly(normalizedId);
     }
 
-    // ─── Redis cache refresh ──────────────────────────────────────────────────
-
     @Test
-    void save_addsTargetToRedisCache_whenSwiperCacheKeyExists() {
-        UUID swiperId = UUID.randomUUID();
-        UUID targetId = UUID.randomUUID();
-        String cacheKey = "swipes:exists:" + swiperId;
+    void save_skipsReplayOfSameEventId_beforeAnyOtherWrite() {
+        UUID profile1 = UUID.randomUUID();
+        UUID profile2 = UUID.randomUUID();
+        swipeService.save(buildEvent(profile1, profile2, true));
+        SwipeCreatedEvent mutual = buildEvent(profile2, profile1, true);
 
-        // Pre-warm the cache key so refreshSwipeCache finds it
-        redisTemplate.opsForSet().add(cacheKey, "EMPTY_MARKER");
+        assertThat(swipeService.save(mutual)).isTrue();
+        long swipeOutboxRows = swipeOutboxRepository.count();
 
-        swipeService.save(buildEvent(swiperId, targetId, true));
+        // Kafka redelivery: identical payload, identical eventId
+        assertThat(swipeService.save(mutual)).isFalse();
+
+        assertThat(swipeOutboxRepository.count()).isEqualTo(swipeOutboxRows);
+        assertThat(outboxRepository.count()).isEqualTo(1);
+        assertThat(processedSwipeEventRepository.existsById(UUID.fromString(mutual.getEventId()))).isTrue();
+    }
+
+    // ─── Swiped-set cache ─────────────────────────────────────────────────────
 
-        // Target ID must be present in the set; EMPTY_MARKER must be removed
-        assertThat(redisTemplate.opsForSet().isMember(cacheKey, targetId.toString())).isTrue();
-        assertThat(redisTemplate.opsForSet().isMember(cacheKey, "EMPTY_MARKER")).isFalse();
-        assertThat(redisTemplate.getExpire(cacheKey)).isGreaterThan(0);
+    @Test
+    void existsBetweenBatch_warmsSwipedSetFromPostgres_whenKeyIsAbsent() {
+        UUID viewer = UUID.randomUUID();
+        UUID swiped = UUID.randomUUID();
+        SwipeRecordId normalizedId = SwipeRecordId.normalized(viewer, swiped);
+        boolean viewerIsFirst = viewer.equals(normalizedId.getProfile1Id());
+        // Written straight to Postgres, so the cache has never seen it
+        swipeRepository.save(SwipeRecord.builder()
+                .swipeRecordId(normalizedId)
+                .decision1(viewerIsFirst ? true : null)
+                .decision2(viewerIsFirst ? null : true)
+                .build());
+
+        assertThat(redisTemplate.hasKey("swipes:seen:" + viewer)).isFalse();
+
+        assertThat(swipeService.existsBetweenBatch(viewer, List.of(swiped))).containsEntry(swiped, true);
+        assertThat(redisTemplate.hasKey("swipes:seen:" + viewer)).isTrue();
+        assertThat(redisTemplate.getExpire("swipes:seen:" + viewer)).isGreaterThan(0);
     }
 
     @Test
-    void save_doesNotCreateRedisKey_whenCacheKeyWasAbsent() {
-        UUID swiperId = UUID.randomUUID();
-        UUID targetId = UUID.randomUUID();
-        String cacheKey = "swipes:exists:" + swiperId;
+    void save_addsTargetToWarmSwipedSet_soLaterBatchesSeeIt() {
+        UUID viewer = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
 
-        // No pre-existing cache key
-        swipeService.save(buildEvent(swiperId, targetId, true));
+        swipeService.save(buildEvent(viewer, first, true));
+        assertThat(swipeService.existsBetweenBatch(viewer, List.of(first, second)))
+                .containsEntry(first, true)
+                .containsEntry(second, false);
+
+        swipeService.save(buildEvent(viewer, second, false));
 
-        assertThat(redisTemplate.hasKey(cacheKey)).isFalse();
+        // Drop the Postgres row: the answer must now come from the cache alone
+        swipeRepository.deleteAll();
+        assertThat(swipeService.existsBetweenBatch(viewer, List.of(first, second)))
+                .containsEntry(first, true)
+                .containsEntry(second, true);
     }
 
     // ─── existsBetweenBatch() ─────────────────────────────────────────────────
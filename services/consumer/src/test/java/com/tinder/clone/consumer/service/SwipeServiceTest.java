@@ -1,5 +1,6 @@
 package com.tinder.clone.consumer.service;
 
+import com.tinder.clone.consumer.dedupe.SwipeEventDeduplicator;
 import com.tinder.clone.consumer.kafka.event.MatchCreateEvent;
 import com.tinder.clone.consumer.kafka.event.SwipeCreatedEvent;
 import com.tinder.clone.consumer.model.embedded.SwipeRecordId;
@@ -14,21 +15,19 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.SetOperations;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
@@ -42,10 +41,7 @@ class SwipeServiceTest {
     private SwipeRepository repo;
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
-
-    @Mock
-    private SetOperations<String, Object> setOperations;
+    private SwipedSetCache swipedSetCache;
 
     @Mock
     private MatchOutboxService matchOutboxService;
@@ -56,15 +52,19 @@ class SwipeServiceTest {
     @Mock
     private PendingLikeRepository pendingLikeRepo;
 
+    @Mock
+    private LikedMeFeedService likedMeFeedService;
+
+    @Mock
+    private SwipeEventDeduplicator swipeEventDeduplicator;
+
     @InjectMocks
     private SwipeService swipeService;
 
     @BeforeEach
     void setUp() {
-
-        // Default: cache key is absent → no cache refresh (lenient to avoid UnnecessaryStubbingException
-        // in tests that don't invoke the Redis cache path, e.g. existsBetweenBatch tests)
-        lenient().when(redisTemplate.hasKey(anyString())).thenReturn(false);
+        // Default: every event is new (lenient — existsBetweenBatch tests never call save)
+        lenient().when(swipeEventDeduplicator.claim(any())).thenReturn(true);
     }
 
     // ─── save(): match detection ───────────────────────────────────────────────
@@ -236,57 +236,51 @@ class SwipeServiceTest {
         );
     }
 
-    // ─── save(): Redis cache refresh ──────────────────────────────────────────
+    // ─── save(): eventId dedupe ───────────────────────────────────────────────
 
     @Test
-    void refreshesRedisCache_whenCacheKeyExists() {
-        UUID swiperId = UUID.fromString("11111111-1111-1111-1111-111111111111");
-        UUID targetId = UUID.fromString("22222222-2222-2222-2222-222222222222");
-        SwipeRecordId normalizedId = SwipeRecordId.normalized(swiperId, targetId);
-        String expectedCacheKey = "swipes:exists:" + swiperId;
-
+    void skipsAllWork_whenEventIdWasAlreadyApplied() {
         SwipeCreatedEvent event = SwipeCreatedEvent.builder()
                 .eventId(UUID.randomUUID().toString())
-                .profile1Id(swiperId.toString())
-                .profile2Id(targetId.toString())
+                .profile1Id(UUID.randomUUID().toString())
+                .profile2Id(UUID.randomUUID().toString())
                 .decision(true)
                 .timestamp(System.currentTimeMillis())
                 .build();
 
-        when(repo.isMutualMatch(normalizedId.getProfile1Id(), normalizedId.getProfile2Id()))
-                .thenReturn(false, false);
-        when(redisTemplate.hasKey(expectedCacheKey)).thenReturn(true);
-        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(swipeEventDeduplicator.claim(event.getEventId())).thenReturn(false);
 
-        swipeService.save(event);
+        assertFalse(swipeService.save(event));
 
-        verify(setOperations).remove(eq(expectedCacheKey), eq("EMPTY_MARKER"));
-        verify(setOperations).add(eq(expectedCacheKey), eq(targetId.toString()));
-        verify(redisTemplate).expire(eq(expectedCacheKey), any(Duration.class));
+        verify(repo, never()).upsertSwipe(any(), any(), any(Boolean.class), any(Boolean.class));
+        verify(swipeOutboxService, never()).enqueueSwipeSaved(any());
+        verify(swipedSetCache, never()).onSwipe(any(), any());
+        verify(pendingLikeRepo, never()).deleteByPair(any(), any());
     }
 
+    // ─── save(): swiped-set cache ─────────────────────────────────────────────
+
     @Test
-    void skipsRedisCacheRefresh_whenCacheKeyAbsent() {
-        UUID swiperId = UUID.fromString("11111111-1111-1111-1111-111111111111");
-        UUID targetId = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    void recordsSwipeInSwipedSet_forSwiperOnly() {
+        UUID swiperId = UUID.fromString("22222222-2222-2222-2222-222222222222");
+        UUID targetId = UUID.fromString("11111111-1111-1111-1111-111111111111");
         SwipeRecordId normalizedId = SwipeRecordId.normalized(swiperId, targetId);
 
         SwipeCreatedEvent event = SwipeCreatedEvent.builder()
                 .eventId(UUID.randomUUID().toString())
                 .profile1Id(swiperId.toString())
                 .profile2Id(targetId.toString())
-                .decision(true)
+                .decision(false)
                 .timestamp(System.currentTimeMillis())
                 .build();
 
         when(repo.isMutualMatch(normalizedId.getProfile1Id(), normalizedId.getProfile2Id()))
-                .thenReturn(false, false);
-        when(redisTemplate.hasKey(anyString())).thenReturn(false);
+                .thenReturn(false);
 
         swipeService.save(event);
 
-        // opsForSet must never be touched
-        verify(redisTemplate, never()).opsForSet();
+        verify(swipedSetCache).onSwipe(swiperId, targetId);
+        verify(swipedSetCache, never()).onSwipe(targetId, swiperId);
     }
 
     // ─── existsBetweenBatch() ─────────────────────────────────────────────────
@@ -315,6 +309,22 @@ class SwipeServiceTest {
         assertThat(result).containsEntry(unswiped, false);
     }
 
+    @Test
+    void existsBetweenBatch_answersFromSwipedSet_withoutQueryingPostgres() {
+        UUID viewerId = UUID.randomUUID();
+        UUID swiped = UUID.randomUUID();
+        UUID unswiped = UUID.randomUUID();
+        List<UUID> candidates = List.of(swiped, unswiped);
+
+        when(swipedSetCache.findSwiped(viewerId, candidates)).thenReturn(Optional.of(Set.of(swiped)));
+
+        Map<UUID, Boolean> result = swipeService.existsBetweenBatch(viewerId, candidates);
+
+        assertThat(result).containsEntry(swiped, true);
+        assertThat(result).containsEntry(unswiped, false);
+        verify(repo, never()).findViewerSwipedCandidates(any(), any());
+    }
+
     @Test
     void existsBetweenBatch_returnsAllFalse_whenNoCandidatesWereSwiped() {
         UUID viewerId = UUID.randomUUID();
@@ -0,0 +1,141 @@
+package com.tinder.clone.consumer.service;
+
+import com.tinder.clone.consumer.AbstractIntegrationTest;
+import com.tinder.clone.consumer.model.embedded.SwipeRecordId;
+import com.tinder.clone.consumer.repository.SwipeRepository;
+import com.tinder.platform.benchmark.BenchmarkReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares {@code existsBetweenBatch} answered by Postgres against the {@link SwipedSetCache}
+ * for batch sizes of 100 to 2000 candidates. Every answer is cross-checked, then each path is
+ * timed and reported as one {@link BenchmarkReport} line per batch size.
+ *
+ * <p>Opt-in, as it seeds tens of thousands of swipes:
+ * {@code mvn test -Dtest=SwipedSetCacheBenchmarkTest -Dconsumer.benchmarks=true}
+ */
+@EnabledIfSystemProperty(named = "consumer.benchmarks", matches = "true")
+class SwipedSetCacheBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final int VIEWER_SWIPES = 20_000;
+    private static final int[] BATCH_SIZES = {100, 250, 500, 1000, 2000};
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 200;
+
+    @MockitoBean
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Autowired
+    private SwipedSetCache swipedSetCache;
+
+    @Autowired
+    private SwipeRepository swipeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private final Random random = new Random(42);
+    private final UUID viewerId = UUID.randomUUID();
+
+    @AfterEach
+    void cleanUp() {
+        swipeRepository.deleteAll();
+        redisTemplate.delete("swipes:seen:" + viewerId);
+    }
+
+    @Test
+    void postgresAndSwipedSetAgree_andReportLatencyPerBatchSize() {
+        List<UUID> swiped = seedViewerSwipes();
+
+        for (int batchSize : BATCH_SIZES) {
+            List<List<UUID>> batches = new ArrayList<>(MEASURED_ROUNDS);
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                batches.add(candidates(swiped, batchSize));
+            }
+
+            for (List<UUID> batch : batches) {
+                Set<UUID> fromCache = swipedSetCache.findSwiped(viewerId, batch).orElseThrow();
+                assertThat(fromCache).isEqualTo(swipeRepository.findViewerSwipedCandidates(viewerId, batch));
+            }
+
+            long[] postgres = time(batches, batch -> () -> swipeRepository.findViewerSwipedCandidates(viewerId, batch));
+            long[] cache = time(batches, batch -> () -> swipedSetCache.findSwiped(viewerId, batch));
+
+            BenchmarkReport.of("swiped-set-cache")
+                    .with("batch", batchSize)
+                    .with("rounds", MEASURED_ROUNDS)
+                    .percentiles("postgres_us", postgres, TimeUnit.MICROSECONDS, 0.50, 0.95, 0.99)
+                    .percentiles("cache_us", cache, TimeUnit.MICROSECONDS, 0.50, 0.95, 0.99)
+                    .emit();
+        }
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private List<UUID> seedViewerSwipes() {
+        List<UUID> targets = new ArrayList<>(VIEWER_SWIPES);
+        List<Object[]> rows = new ArrayList<>(VIEWER_SWIPES);
+        for (int i = 0; i < VIEWER_SWIPES; i++) {
+            UUID target = UUID.randomUUID();
+            SwipeRecordId id = SwipeRecordId.normalized(viewerId, target);
+            boolean viewerIsFirst = viewerId.equals(id.getProfile1Id());
+            boolean decision = random.nextBoolean();
+            rows.add(new Object[]{
+                    id.getProfile1Id(), id.getProfile2Id(),
+                    viewerIsFirst ? decision : null,
+                    viewerIsFirst ? null : decision
+            });
+            targets.add(target);
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO swipe_records (profile1_id, profile2_id, decision1, decision2, version) VALUES (?, ?, ?, ?, 0)",
+                rows);
+        return targets;
+    }
+
+    /** Half already-swiped profiles, half unseen ones, shuffled. */
+    private List<UUID> candidates(List<UUID> swiped, int size) {
+        List<UUID> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(i % 2 == 0 ? swiped.get(random.nextInt(swiped.size())) : UUID.randomUUID());
+        }
+        Collections.shuffle(batch, random);
+        return batch;
+    }
+
+    private long[] time(List<List<UUID>> batches, Function<List<UUID>, Supplier<?>> call) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            call.apply(batches.get(i % batches.size())).get();
+        }
+        long[] nanos = new long[batches.size()];
+        for (int i = 0; i < batches.size(); i++) {
+            Supplier<?> query = call.apply(batches.get(i));
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+}
@@ -0,0 +1,186 @@
+package com.tinder.deck.adapters;
+
+import com.tinder.contracts.dto.Hobby;
+import com.tinder.contracts.dto.SharedLocationDto;
+import com.tinder.contracts.dto.SharedPhotoDto;
+import com.tinder.contracts.dto.SharedPreferencesDto;
+import com.tinder.contracts.dto.SharedProfileDto;
+import com.tinder.contracts.grpc.ProtoValues;
+import com.tinder.contracts.grpc.profile.v1.GetManyRequest;
+import com.tinder.contracts.grpc.profile.v1.GetManyResponse;
+import com.tinder.contracts.grpc.profile.v1.Location;
+import com.tinder.contracts.grpc.profile.v1.Photo;
+import com.tinder.contracts.grpc.profile.v1.Preferences;
+import com.tinder.contracts.grpc.profile.v1.Profile;
+import com.tinder.contracts.grpc.profile.v1.ProfileQueryGrpc;
+import com.tinder.contracts.grpc.profile.v1.SearchRequest;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Protobuf transport for {@link ProfilesHttp} ({@code deck.profiles-transport=grpc}).
+ * Calls are bridged to Reactor with gRPC flow control: search results are
+ * requested from the server only as the deck pipeline asks for them, and a
+ * cancelled subscription cancels the call. Resilience stays in
+ * {@link ProfilesHttp}, so both transports run under the same policy.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "deck.profiles-transport", havingValue = "grpc")
+public class ProfilesGrpc {
+    private static final Logger log = LoggerFactory.getLogger(ProfilesGrpc.class);
+
+    private final ProfileQueryGrpc.ProfileQueryStub profileQueryStub;
+
+    public Flux<SharedProfileDto> searchProfiles(UUID viewerId, SharedPreferencesDto preferences, int limit) {
+        SearchRequest request = SearchRequest.newBuilder()
+                .setViewerId(ProtoValues.uuid(viewerId))
+                .setPreferences(toPreferences(preferences))
+                .setLimit(limit)
+                .build();
+
+        return Flux.<Profile>create(sink -> profileQueryStub.search(request,
+                        new ClientResponseObserver<SearchRequest, Profile>() {
+                            @Override
+                            public void beforeStart(ClientCallStreamObserver<SearchRequest> call) {
+                                call.disableAutoRequestWithInitial(0);
+                                sink.onRequest(n -> call.request((int) Math.min(n, Integer.MAX_VALUE)));
+                                sink.onCancel(() -> call.cancel("Deck subscriber cancelled", null));
+                            }
+
+                            @Override
+                            public void onNext(Profile profile) {
+                                sink.next(profile);
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable) {
+                                sink.error(throwable);
+                            }
+
+                            @Override
+                            public void onCompleted() {
+                                sink.complete();
+                            }
+                        }))
+                .map(ProfilesGrpc::toSharedProfile);
+    }
+
+    public Flux<SharedProfileDto> getProfilesByIds(List<UUID> profileIds) {
+        GetManyRequest.Builder request = GetManyRequest.newBuilder();
+        profileIds.forEach(id -> request.addIds(ProtoValues.uuid(id)));
+
+        return Mono.<GetManyResponse>create(sink -> profileQueryStub.getMany(request.build(),
+                        new StreamObserver<>() {
+                            @Override
+                            public void onNext(GetManyResponse response) {
+                                sink.success(response);
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable) {
+                                sink.error(throwable);
+                            }
+
+                            @Override
+                            public void onCompleted() {
+                                sink.success();
+                            }
+                        }))
+                .flatMapIterable(GetManyResponse::getProfilesList)
+                .map(ProfilesGrpc::toSharedProfile);
+    }
+
+    public Mono<SharedProfileDto> getProfile(UUID id) {
+        return getProfilesByIds(List.of(id)).next();
+    }
+
+    static Preferences toPreferences(SharedPreferencesDto preferences) {
+        Preferences.Builder builder = Preferences.newBuilder();
+        if (preferences.minAge() != null) {
+            builder.setMinAge(preferences.minAge());
+        }
+        if (preferences.maxAge() != null) {
+            builder.setMaxAge(preferences.maxAge());
+        }
+        if (preferences.gender() != null) {
+            builder.setGender(preferences.gender());
+        }
+        if (preferences.maxRange() != null) {
+            builder.setMaxRange(preferences.maxRange());
+        }
+        return builder.build();
+    }
+
+    static SharedProfileDto toSharedProfile(Profile profile) {
+        UUID profileId = ProtoValues.uuid(profile.getId());
+        return new SharedProfileDto(
+                profileId,
+                profile.getName(),
+                profile.hasAge() ? profile.getAge() : null,
+                profile.hasBio() ? profile.getBio() : null,
+                profile.hasCity() ? profile.getCity() : null,
+                profile.getActive(),
+                profile.hasLocation() ? toLocation(profile.getLocation()) : null,
+                profile.hasPreferences() ? toPreferences(profile.getPreferences()) : null,
+                profile.getDeleted(),
+                profile.getPhotosList().stream().map(ProfilesGrpc::toPhoto).toList(),
+                toHobbies(profileId, profile.getHobbiesList()));
+    }
+
+    private static SharedLocationDto toLocation(Location location) {
+        return new SharedLocationDto(
+                ProtoValues.uuid(location.getId()),
+                location.getLatitude(),
+                location.getLongitude(),
+                location.hasCity() ? location.getCity() : null,
+                ProtoValues.utc(location.getCreatedAtEpochMillis()),
+                ProtoValues.utc(location.getUpdatedAtEpochMillis()));
+    }
+
+    private static SharedPreferencesDto toPreferences(Preferences preferences) {
+        return new SharedPreferencesDto(
+                preferences.hasMinAge() ? preferences.getMinAge() : null,
+                preferences.hasMaxAge() ? preferences.getMaxAge() : null,
+                preferences.hasGender() ? preferences.getGender() : null,
+                preferences.hasMaxRange() ? preferences.getMaxRange() : null);
+    }
+
+    private static SharedPhotoDto toPhoto(Photo photo) {
+        return new SharedPhotoDto(
+                ProtoValues.uuid(photo.getPhotoId()),
+                ProtoValues.uuid(photo.getProfileId()),
+                photo.getS3Key(),
+                photo.getPrimary(),
+                photo.getPosition(),
+                photo.hasUrl() ? photo.getUrl() : null,
+                photo.hasContentType() ? photo.getContentType() : null,
+                photo.getSize(),
+                ProtoValues.utc(photo.getCreatedAtEpochMillis()));
+    }
+
+    // Profiles may store hobbies newer than this deck build's enum; drop them rather than fail the build.
+    private static List<Hobby> toHobbies(UUID profileId, List<String> names) {
+        List<Hobby> hobbies = new ArrayList<>(names.size());
+        for (String name : names) {
+            try {
+                hobbies.add(Hobby.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                log.debug("Dropping unknown hobby '{}' for profile {}", name, profileId);
+            }
+        }
+        return hobbies;
+    }
+}
@@ -4,8 +4,10 @@ import com.tinder.contracts.dto.SharedPreferencesDto;
 import com.tinder.contracts.dto.SharedProfileDto;
 import com.tinder.deck.resilience.DeckResilience;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -13,15 +15,26 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
 import reactor.core.publisher.SignalType;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 public class ProfilesHttp {
     private static final Logger log = LoggerFactory.getLogger(ProfilesHttp.class);
+    private static final Duration ACTIVE_EXPORT_ROW_TIMEOUT = Duration.ofSeconds(10);
+    private static final int ACTIVE_EXPORT_RESUME_ATTEMPTS = 3;
+    // Rows decoded ahead of the subscriber; the rest waits in the socket.
+    static final int ACTIVE_EXPORT_PREFETCH = 256;
+
     private final WebClient profilesWebClient;
     private final DeckResilience resilience;
+    // Present only with deck.profiles-transport=grpc; /active stays on HTTP either way.
+    private final ObjectProvider<ProfilesGrpc> profilesGrpc;
 
     public Flux<SharedProfileDto> searchProfiles(UUID viewerId, SharedPreferencesDto preferences, int limit) {
         // Use default preferences if null
@@ -34,7 +47,10 @@ public class ProfilesHttp {
                 viewerId, preferences.gender(), preferences.minAge(), preferences.maxAge(), preferences.maxRange(), limit);
 
         final SharedPreferencesDto finalPrefs = preferences;
-        Flux<SharedProfileDto> call = profilesWebClient.get()
+        ProfilesGrpc grpc = profilesGrpc.getIfAvailable();
+        Flux<SharedProfileDto> call = grpc != null
+                ? grpc.searchProfiles(viewerId, finalPrefs, limit)
+                : profilesWebClient.get()
                 .uri(uri -> {
                     java.net.URI built = uri.path("/search")
                             .queryParam("viewerId", viewerId)
@@ -58,17 +74,37 @@ public class ProfilesHttp {
                 });
     }
 
-
-    public Flux<SharedProfileDto> getActiveUsers() {
-        Flux<SharedProfileDto> call = profilesWebClient.get()
-                .uri(uri -> uri.path("/active")
-                        .build())
-                .retrieve()
-                .bodyToFlux(SharedProfileDto.class);
-
-        return resilience.protectProfiles(call)
+    /**
+     * Streams profiles active within {@code activeWithin} from the NDJSON export,
+     * in id order. The export is long-running, so it is not run through the
+     * profiles circuit breaker and bulkhead: one stream would hold a bulkhead
+     * permit for minutes and count as a slow call. Instead every row must arrive
+     * within the profiles timeout, and a broken stream is reopened after the last
+     * id received so no row is emitted twice.
+     */
+    public Flux<SharedProfileDto> getActiveUsers(Duration activeWithin) {
+        AtomicReference<UUID> lastReceived = new AtomicReference<>();
+        Flux<SharedProfileDto> call = Flux.defer(() -> profilesWebClient.get()
+                        .uri(uri -> uri.path("/active")
+                                .queryParam("activeWithinMinutes", Math.max(1, activeWithin.toMinutes()))
+                                .queryParamIfPresent("after", Optional.ofNullable(lastReceived.get()))
+                                .build())
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .retrieve()
+                        .bodyToFlux(SharedProfileDto.class))
+                .timeout(ACTIVE_EXPORT_ROW_TIMEOUT)
+                .doOnNext(profile -> lastReceived.set(profile.id()))
+                .retryWhen(Retry.backoff(ACTIVE_EXPORT_RESUME_ATTEMPTS, Duration.ofMillis(200))
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.info("Resuming active users export after {} (attempt {})",
+                                lastReceived.get(), signal.totalRetriesInARow() + 1)));
+
+        return call
+                // Bounded demand keeps at most a few hundred rows decoded ahead of the consumer.
+                .limitRate(ACTIVE_EXPORT_PREFETCH)
                 .onErrorResume(throwable -> {
-                    log.warn("Profiles getActiveUsers failed -> empty result. Cause: {}", throwable.toString());
+                    log.warn("Profiles getActiveUsers failed after {} -> ending stream. Cause: {}",
+                            lastReceived.get(), throwable.toString());
                     return Flux.empty();
                 });
     }
@@ -77,7 +113,10 @@ public class ProfilesHttp {
      * Fetch a single profile by id from Profiles service
      */
     public Mono<SharedProfileDto> getProfile(UUID id) {
-        Mono<SharedProfileDto> call = profilesWebClient.get()
+        ProfilesGrpc grpc = profilesGrpc.getIfAvailable();
+        Mono<SharedProfileDto> call = grpc != null
+                ? grpc.getProfile(id)
+                : profilesWebClient.get()
                 .uri("/{id}", id)
                 .retrieve()
                 .toEntity(SharedProfileDto.class)
@@ -90,7 +129,7 @@ public class ProfilesHttp {
 
     /**
      * Fetch multiple profiles by IDs (for preferences cache)
-     * Calls /internal/by-ids endpoint with comma-separated IDs
+     * Calls /internal/by-ids endpoint with comma-separated IDs, or GetMany over gRPC
      */
     public Flux<SharedProfileDto> getProfilesByIds(java.util.List<UUID> profileIds) {
         if (profileIds == null || profileIds.isEmpty()) {
@@ -98,16 +137,17 @@ public class ProfilesHttp {
             return Flux.empty();
         }
 
-        // Convert UUIDs to comma-separated string
-        String idsParam = profileIds.stream()
-                .map(UUID::toString)
-                .collect(java.util.stream.Collectors.joining(","));
-
         log.debug("Fetching {} profiles by IDs", profileIds.size());
 
-        Flux<SharedProfileDto> call = profilesWebClient.get()
+        ProfilesGrpc grpc = profilesGrpc.getIfAvailable();
+        Flux<SharedProfileDto> call = grpc != null
+                ? grpc.getProfilesByIds(profileIds)
+                : profilesWebClient.get()
                 .uri(uri -> uri.path("/by-ids")
-                        .queryParam("ids", idsParam)
+                        // Comma-separated UUIDs
+                        .queryParam("ids", profileIds.stream()
+                                .map(UUID::toString)
+                                .collect(java.util.stream.Collectors.joining(",")))
                         .build())
                 .retrieve()
                 .bodyToFlux(SharedProfileDto.class);
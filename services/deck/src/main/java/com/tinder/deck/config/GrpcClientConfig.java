@@ -0,0 +1,106 @@
+package com.tinder.deck.config;
+
+import com.tinder.contracts.grpc.profile.v1.ProfileQueryGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.handler.ssl.SslContext;
+import io.grpc.netty.shaded.io.netty.handler.ssl.SslContextBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ResourceUtils;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.InputStream;
+import java.security.KeyStore;
+
+/**
+ * gRPC channel to the profiles ProfileQuery service, used when
+ * {@code deck.profiles-transport=grpc}. Presents the same deck-service identity
+ * as {@link HttpClientConfig}; gRPC uses shaded Netty, so the SSL context is
+ * built with the shaded classes.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "deck.profiles-transport", havingValue = "grpc")
+public class GrpcClientConfig {
+
+    @Value("${mtls.client.key-store:classpath:deck-service.p12}")
+    private String keyStorePath;
+
+    @Value("${mtls.client.key-store-password:changeit}")
+    private String keyStorePassword;
+
+    @Value("${mtls.client.key-store-type:PKCS12}")
+    private String keyStoreType;
+
+    @Value("${mtls.client.trust-store:classpath:truststore.jks}")
+    private String trustStorePath;
+
+    @Value("${mtls.client.trust-store-password:changeit}")
+    private String trustStorePassword;
+
+    @Value("${mtls.client.trust-store-type:JKS}")
+    private String trustStoreType;
+
+    @Value("${mtls.enabled:true}")
+    private boolean mtlsEnabled;
+
+    @Bean(destroyMethod = "shutdown")
+    ManagedChannel profilesGrpcChannel(
+            @Value("${profiles.grpc.address:localhost:9010}") String address,
+            // Must match CN / SAN in profiles-service.p12
+            @Value("${profiles.grpc.override-authority:profiles-service}") String overrideAuthority,
+            @Value("${profiles.grpc.max-inbound-message-size-bytes:16777216}") int maxInboundMessageSize) {
+
+        NettyChannelBuilder builder = NettyChannelBuilder.forTarget(address)
+                .maxInboundMessageSize(maxInboundMessageSize);
+
+        if (!mtlsEnabled) {
+            log.warn("mTLS is DISABLED — using plaintext gRPC to profiles-service");
+            builder.usePlaintext();
+        } else {
+            try {
+                builder.useTransportSecurity()
+                        .sslContext(buildSslContext())
+                        .overrideAuthority(overrideAuthority);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to configure mTLS SSL context for gRPC", e);
+            }
+        }
+
+        log.info("Profiles gRPC transport enabled target={}", address);
+        return builder.build();
+    }
+
+    @Bean
+    ProfileQueryGrpc.ProfileQueryStub profileQueryStub(ManagedChannel profilesGrpcChannel) {
+        return ProfileQueryGrpc.newStub(profilesGrpcChannel);
+    }
+
+    private SslContext buildSslContext() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance(keyStoreType);
+        try (InputStream ks = ResourceUtils.getURL(keyStorePath).openStream()) {
+            keyStore.load(ks, keyStorePassword.toCharArray());
+        }
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(keyStore, keyStorePassword.toCharArray());
+
+        KeyStore trustStore = KeyStore.getInstance(trustStoreType);
+        try (InputStream ts = ResourceUtils.getURL(trustStorePath).openStream()) {
+            trustStore.load(ts, trustStorePassword.toCharArray());
+        }
+        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        tmf.init(trustStore);
+
+        return GrpcSslContexts.configure(
+                SslContextBuilder.forClient()
+                        .keyManager(kmf)
+                        .trustManager(tmf)
+        ).build();
+    }
+}
@@ -13,6 +13,8 @@ import io.github.resilience4j.reactor.retry.RetryOperator;
 import io.github.resilience4j.core.IntervalFunction;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.TimeoutException;
@@ -206,6 +208,15 @@ public final class DeckResilience {
         return false;
     }
 
+    // gRPC transport: the statuses a 5xx/429 maps to when profiles is overloaded or restarting.
+    private static boolean isGrpcUnavailable(Throwable ex) {
+        if (ex instanceof StatusRuntimeException sre) {
+            Status.Code code = sre.getStatus().getCode();
+            return code == Status.Code.UNAVAILABLE || code == Status.Code.RESOURCE_EXHAUSTED;
+        }
+        return false;
+    }
+
     private static boolean isHttpFailure(Throwable ex) {
         if (isCallNotPermitted(ex)) {
             return false;
@@ -222,7 +233,8 @@ public final class DeckResilience {
         }
         return isWebClientRequestException(ex)
                || isTimeoutException(ex)
-               || isServerErrorOrTooManyRequests(ex);
+               || isServerErrorOrTooManyRequests(ex)
+               || isGrpcUnavailable(ex);
     }
 
     private static boolean isRedisFailure(Throwable ex) {
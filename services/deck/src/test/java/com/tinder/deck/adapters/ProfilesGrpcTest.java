@@ -0,0 +1,217 @@
+package com.tinder.deck.adapters;
+
+import com.tinder.contracts.dto.Hobby;
+import com.tinder.contracts.dto.SharedPreferencesDto;
+import com.tinder.contracts.grpc.ProtoValues;
+import com.tinder.contracts.grpc.profile.v1.GetManyRequest;
+import com.tinder.contracts.grpc.profile.v1.GetManyResponse;
+import com.tinder.contracts.grpc.profile.v1.Location;
+import com.tinder.contracts.grpc.profile.v1.Photo;
+import com.tinder.contracts.grpc.profile.v1.Preferences;
+import com.tinder.contracts.grpc.profile.v1.Profile;
+import com.tinder.contracts.grpc.profile.v1.ProfileQueryGrpc;
+import com.tinder.contracts.grpc.profile.v1.SearchRequest;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ProfilesGrpc against an in-process ProfileQuery server: message mapping,
+ * status propagation and cancellation of a search the pipeline stops reading.
+ */
+class ProfilesGrpcTest {
+
+    private final FakeProfileQuery profileQuery = new FakeProfileQuery();
+    private Server server;
+    private ManagedChannel channel;
+    private ProfilesGrpc profilesGrpc;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(profileQuery).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        profilesGrpc = new ProfilesGrpc(ProfileQueryGrpc.newStub(channel));
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void searchShouldSendPreferencesAndMapEveryField() {
+        UUID viewerId = UUID.randomUUID();
+        UUID profileId = UUID.randomUUID();
+        profileQuery.results = List.of(fullProfile(profileId));
+
+        StepVerifier.create(profilesGrpc.searchProfiles(viewerId, new SharedPreferencesDto(21, 35, "FEMALE", 50), 100))
+                .assertNext(profile -> {
+                    assertThat(profile.id()).isEqualTo(profileId);
+                    assertThat(profile.name()).isEqualTo("Alice");
+                    assertThat(profile.age()).isEqualTo(29);
+                    assertThat(profile.bio()).isNull();
+                    assertThat(profile.location().latitude()).isEqualTo(48.2);
+                    assertThat(profile.location().createdAt()).isEqualTo(LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+                    assertThat(profile.preferences()).isEqualTo(new SharedPreferencesDto(25, 35, "MALE", 50));
+                    assertThat(profile.photos()).singleElement().satisfies(photo -> {
+                        assertThat(photo.profileId()).isEqualTo(profileId);
+                        assertThat(photo.url()).isNull();
+                        assertThat(photo.size()).isEqualTo(1024L);
+                    });
+                    // Names this deck build does not know are dropped.
+                    assertThat(profile.hobbies()).containsExactly(Hobby.HIKING);
+                })
+                .verifyComplete();
+
+        SearchRequest request = profileQuery.lastSearch.get();
+        assertThat(ProtoValues.uuid(request.getViewerId())).isEqualTo(viewerId);
+        assertThat(request.getLimit()).isEqualTo(100);
+        assertThat(request.getPreferences().getGender()).isEqualTo("FEMALE");
+        assertThat(request.getPreferences().getMinAge()).isEqualTo(21);
+    }
+
+    @Test
+    void searchShouldCancelTheCallWhenTheSubscriberStopsReading() throws InterruptedException {
+        profileQuery.results = IntStream.range(0, 500)
+                .mapToObj(i -> fullProfile(UUID.randomUUID()))
+                .toList();
+
+        StepVerifier.create(profilesGrpc.searchProfiles(UUID.randomUUID(), new SharedPreferencesDto(18, 99, "ANY", 100), 500)
+                        .take(3))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertThat(profileQuery.cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(profileQuery.sent.get()).isLessThan(500);
+    }
+
+    @Test
+    void getProfilesByIdsShouldSendIdsAsBytesInOneCall() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        profileQuery.results = List.of(fullProfile(first), fullProfile(second));
+
+        StepVerifier.create(profilesGrpc.getProfilesByIds(List.of(first, second)))
+                .expectNextMatches(profile -> profile.id().equals(first))
+                .expectNextMatches(profile -> profile.id().equals(second))
+                .verifyComplete();
+
+        assertThat(profileQuery.lastGetMany.get().getIdsList())
+                .extracting(ProtoValues::uuid)
+                .containsExactly(first, second);
+    }
+
+    @Test
+    void getProfileShouldBeEmptyWhenProfilesReturnsNothing() {
+        profileQuery.results = List.of();
+
+        StepVerifier.create(profilesGrpc.getProfile(UUID.randomUUID()))
+                .verifyComplete();
+    }
+
+    @Test
+    void statusErrorsShouldReachTheSubscriber() {
+        profileQuery.failure = Status.UNAVAILABLE.withDescription("restarting");
+
+        StepVerifier.create(profilesGrpc.getProfilesByIds(List.of(UUID.randomUUID())))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(StatusRuntimeException.class)
+                        .extracting(e -> ((StatusRuntimeException) e).getStatus().getCode())
+                        .isEqualTo(Status.Code.UNAVAILABLE))
+                .verify(Duration.ofSeconds(5));
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static Profile fullProfile(UUID id) {
+        long createdAt = ProtoValues.epochMillis(LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+        return Profile.newBuilder()
+                .setId(ProtoValues.uuid(id))
+                .setName("Alice")
+                .setAge(29)
+                .setCity("Vienna")
+                .setActive(true)
+                .setLocation(Location.newBuilder()
+                        .setId(ProtoValues.uuid(UUID.randomUUID()))
+                        .setLatitude(48.2)
+                        .setLongitude(16.37)
+                        .setCity("Vienna")
+                        .setCreatedAtEpochMillis(createdAt)
+                        .setUpdatedAtEpochMillis(createdAt))
+                .setPreferences(Preferences.newBuilder().setMinAge(25).setMaxAge(35).setGender("MALE").setMaxRange(50))
+                .addPhotos(Photo.newBuilder()
+                        .setPhotoId(ProtoValues.uuid(UUID.randomUUID()))
+                        .setProfileId(ProtoValues.uuid(id))
+                        .setS3Key("photos/" + id + "/1.jpg")
+                        .setPrimary(true)
+                        .setContentType("image/jpeg")
+                        .setSize(1024L)
+                        .setCreatedAtEpochMillis(createdAt))
+                .addHobbies("HIKING")
+                .addHobbies("PARAGLIDING")
+                .build();
+    }
+
+    private static final class FakeProfileQuery extends ProfileQueryGrpc.ProfileQueryImplBase {
+        volatile List<Profile> results = List.of();
+        volatile Status failure;
+        final AtomicReference<SearchRequest> lastSearch = new AtomicReference<>();
+        final AtomicReference<GetManyRequest> lastGetMany = new AtomicReference<>();
+        final AtomicInteger sent = new AtomicInteger();
+        final CountDownLatch cancelled = new CountDownLatch(1);
+
+        @Override
+        public void search(SearchRequest request, StreamObserver<Profile> responseObserver) {
+            lastSearch.set(request);
+            ServerCallStreamObserver<Profile> observer = (ServerCallStreamObserver<Profile>) responseObserver;
+            observer.setOnCancelHandler(cancelled::countDown);
+            var remaining = results.iterator();
+            AtomicBoolean completed = new AtomicBoolean();
+            observer.setOnReadyHandler(() -> {
+                while (observer.isReady() && !observer.isCancelled() && remaining.hasNext()) {
+                    observer.onNext(remaining.next());
+                    sent.incrementAndGet();
+                }
+                if (!remaining.hasNext() && !observer.isCancelled() && completed.compareAndSet(false, true)) {
+                    observer.onCompleted();
+                }
+            });
+        }
+
+        @Override
+        public void getMany(GetManyRequest request, StreamObserver<GetManyResponse> responseObserver) {
+            lastGetMany.set(request);
+            if (failure != null) {
+                responseObserver.onError(failure.asRuntimeException());
+                return;
+            }
+            responseObserver.onNext(GetManyResponse.newBuilder().addAllProfiles(results).build());
+            responseObserver.onCompleted();
+        }
+    }
+}
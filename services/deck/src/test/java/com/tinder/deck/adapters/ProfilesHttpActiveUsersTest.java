@@ -0,0 +1,145 @@
+package com.tinder.deck.adapters;
+
+import com.tinder.contracts.dto.SharedProfileDto;
+import com.tinder.deck.config.DeckResilienceProperties;
+import com.tinder.deck.resilience.DeckResilience;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ProfilesHttp.getActiveUsers against a stubbed exchange: the NDJSON request, resuming a
+ * broken export after the last id received, and how far the body is read ahead of a slow
+ * subscriber.
+ */
+class ProfilesHttpActiveUsersTest {
+
+    private static final DefaultDataBufferFactory BUFFERS = DefaultDataBufferFactory.sharedInstance;
+
+    private final Queue<ClientRequest> requests = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void shouldRequestNdjsonForTheWindowAndEmitRowsInOrder() {
+        List<UUID> ids = ids(3);
+        ProfilesHttp profilesHttp = profilesHttp(request -> ndjson(Flux.fromIterable(ids).map(ProfilesHttpActiveUsersTest::row)));
+
+        StepVerifier.create(profilesHttp.getActiveUsers(Duration.ofHours(2)).map(SharedProfileDto::id))
+                .expectNextSequence(ids)
+                .verifyComplete();
+
+        ClientRequest request = requests.remove();
+        assertThat(request.url().getPath()).isEqualTo("/internal/profiles/active");
+        assertThat(query(request, "activeWithinMinutes")).isEqualTo("120");
+        assertThat(query(request, "after")).isNull();
+        assertThat(request.headers().getAccept()).containsExactly(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    void shouldResumeAfterTheLastIdReceivedWithoutDuplicates() {
+        List<UUID> ids = ids(4);
+        AtomicInteger attempt = new AtomicInteger();
+        ProfilesHttp profilesHttp = profilesHttp(request -> attempt.getAndIncrement() == 0
+                // The connection drops after two rows.
+                ? ndjson(Flux.fromIterable(ids.subList(0, 2)).map(ProfilesHttpActiveUsersTest::row)
+                        .concatWith(Flux.error(new IOException("Connection reset by peer"))))
+                : ndjson(Flux.fromIterable(ids.subList(2, 4)).map(ProfilesHttpActiveUsersTest::row)));
+
+        StepVerifier.create(profilesHttp.getActiveUsers(Duration.ofMinutes(30)).map(SharedProfileDto::id))
+                .expectNextSequence(ids)
+                .verifyComplete();
+
+        assertThat(requests).hasSize(2);
+        assertThat(query(requests.remove(), "after")).isNull();
+        assertThat(query(requests.remove(), "after")).isEqualTo(ids.get(1).toString());
+    }
+
+    @Test
+    void shouldEndTheStreamWhenResumingKeepsFailing() {
+        ProfilesHttp profilesHttp = profilesHttp(request -> Mono.error(new IOException("Connection refused")));
+
+        StepVerifier.create(profilesHttp.getActiveUsers(Duration.ofMinutes(30)))
+                .verifyComplete();
+
+        // The first attempt plus three resumes.
+        assertThat(requests).hasSize(4);
+    }
+
+    @Test
+    void slowSubscriberShouldBoundTheRowsReadFromTheBody() {
+        int total = 100_000;
+        AtomicInteger read = new AtomicInteger();
+        ProfilesHttp profilesHttp = profilesHttp(request -> ndjson(Flux.range(0, total)
+                .map(i -> row(UUID.randomUUID()))
+                .doOnNext(line -> read.incrementAndGet())));
+
+        StepVerifier.create(profilesHttp.getActiveUsers(Duration.ofMinutes(30)), 10)
+                .expectNextCount(10)
+                .thenAwait(Duration.ofMillis(200))
+                .then(() -> assertThat(read.get())
+                        .as("rows read from the body while the subscriber holds 10")
+                        .isLessThanOrEqualTo(2 * ProfilesHttp.ACTIVE_EXPORT_PREFETCH))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private ProfilesHttp profilesHttp(Function<ClientRequest, Mono<ClientResponse>> responder) {
+        ExchangeFunction exchange = request -> {
+            requests.add(request);
+            return responder.apply(request);
+        };
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://profiles/internal/profiles")
+                .exchangeFunction(exchange)
+                .build();
+        ObjectProvider<ProfilesGrpc> noGrpc = new StaticListableBeanFactory().getBeanProvider(ProfilesGrpc.class);
+        return new ProfilesHttp(webClient, DeckResilience.from(new DeckResilienceProperties()), noGrpc);
+    }
+
+    private static Mono<ClientResponse> ndjson(Flux<String> lines) {
+        Flux<DataBuffer> body = lines.map(line -> BUFFERS.wrap((line + "\n").getBytes(StandardCharsets.UTF_8)));
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    private static String row(UUID id) {
+        return "{\"profileId\":\"" + id + "\",\"name\":\"User\",\"age\":30,\"isActive\":true,"
+                + "\"preferences\":{\"minAge\":18,\"maxAge\":50,\"gender\":\"ANY\",\"maxRange\":100},"
+                + "\"isDeleted\":false,\"photos\":[]}";
+    }
+
+    private static List<UUID> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID()).toList();
+    }
+
+    private static String query(ClientRequest request, String name) {
+        return UriComponentsBuilder.fromUri(request.url()).build().getQueryParams().getFirst(name);
+    }
+}
@@ -0,0 +1,188 @@
+package com.tinder.deck.adapters;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tinder.contracts.dto.Hobby;
+import com.tinder.contracts.dto.SharedLocationDto;
+import com.tinder.contracts.dto.SharedPhotoDto;
+import com.tinder.contracts.dto.SharedPreferencesDto;
+import com.tinder.contracts.dto.SharedProfileDto;
+import com.tinder.contracts.grpc.ProtoValues;
+import com.tinder.contracts.grpc.profile.v1.GetManyRequest;
+import com.tinder.contracts.grpc.profile.v1.GetManyResponse;
+import com.tinder.contracts.grpc.profile.v1.Location;
+import com.tinder.contracts.grpc.profile.v1.Photo;
+import com.tinder.contracts.grpc.profile.v1.Profile;
+import com.tinder.platform.benchmark.BenchmarkReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes on the wire and CPU per deck build for the two profiles transports: one
+ * 2000-candidate search plus one 1000-id by-ids lookup (a scheduler tick),
+ * encoded by profiles and decoded into {@link SharedProfileDto}s by deck. JSON is
+ * the REST body plus the {@code ids} query string; protobuf is the gRPC message
+ * payloads. HTTP and HTTP/2 framing are left out of both. CPU is the benchmark
+ * thread's CPU time, encode and decode together. Reports one {@link BenchmarkReport}
+ * line per transport.
+ *
+ * <p>Opt-in: {@code ./mvnw test -Dtest=ProfilesTransportBenchmarkTest -Ddeck.benchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "deck.benchmarks", matches = "true")
+class ProfilesTransportBenchmarkTest {
+
+    private static final int SEARCH_LIMIT = 2000;
+    private static final int BY_IDS = 1000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final TypeReference<List<SharedProfileDto>> PROFILE_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void reportBytesAndCpuPerBuild() throws Exception {
+        List<SharedProfileDto> candidates = candidates(SEARCH_LIMIT);
+        List<SharedProfileDto> viewers = candidates.subList(0, BY_IDS);
+        List<Profile> candidateMessages = candidates.stream().map(ProfilesTransportBenchmarkTest::toMessage).toList();
+        GetManyResponse viewerMessages = GetManyResponse.newBuilder()
+                .addAllProfiles(candidateMessages.subList(0, BY_IDS))
+                .build();
+        List<UUID> viewerIds = viewers.stream().map(SharedProfileDto::id).toList();
+
+        report("http_json", () -> {
+            byte[] search = objectMapper.writeValueAsBytes(candidates);
+            String idsQuery = "ids=" + viewerIds.stream().map(UUID::toString).collect(Collectors.joining(","));
+            byte[] byIds = objectMapper.writeValueAsBytes(viewers);
+            List<SharedProfileDto> decoded = objectMapper.readValue(search, PROFILE_LIST);
+            decoded.addAll(objectMapper.readValue(byIds, PROFILE_LIST));
+            assertThat(decoded).hasSize(SEARCH_LIMIT + BY_IDS);
+            return search.length + byIds.length + idsQuery.length();
+        });
+
+        report("grpc_protobuf", () -> {
+            long bytes = 0;
+            List<SharedProfileDto> decoded = new ArrayList<>(SEARCH_LIMIT + BY_IDS);
+            // Search streams one message per candidate.
+            for (Profile message : candidateMessages) {
+                byte[] frame = message.toByteArray();
+                bytes += frame.length;
+                decoded.add(ProfilesGrpc.toSharedProfile(Profile.parseFrom(frame)));
+            }
+            GetManyRequest.Builder request = GetManyRequest.newBuilder();
+            viewerIds.forEach(id -> request.addIds(ProtoValues.uuid(id)));
+            bytes += request.build().toByteArray().length;
+            byte[] byIds = viewerMessages.toByteArray();
+            bytes += byIds.length;
+            GetManyResponse.parseFrom(byIds).getProfilesList().forEach(p -> decoded.add(ProfilesGrpc.toSharedProfile(p)));
+            assertThat(decoded).hasSize(SEARCH_LIMIT + BY_IDS);
+            return bytes;
+        });
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private void report(String transport, Build build) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            build.run();
+        }
+        long bytes = 0;
+        long cpuNanos = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long cpuBefore = THREADS.getCurrentThreadCpuTime();
+            bytes = build.run();
+            cpuNanos += THREADS.getCurrentThreadCpuTime() - cpuBefore;
+        }
+        BenchmarkReport.of("profiles-transport")
+                .with("transport", transport)
+                .with("candidates", SEARCH_LIMIT)
+                .with("viewers", BY_IDS)
+                .with("kb_per_build", bytes / 1024.0)
+                .with("cpu_ms_per_build", cpuNanos / 1e6 / ITERATIONS)
+                .emit();
+    }
+
+    /** Candidates shaped like production rows: three photos, a bio for most, a few hobbies. */
+    private static List<SharedProfileDto> candidates(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        Hobby[] hobbies = Hobby.values();
+        List<SharedProfileDto> profiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(random.nextInt(500_000));
+            List<SharedPhotoDto> photos = new ArrayList<>();
+            for (int p = 0; p < 3; p++) {
+                photos.add(new SharedPhotoDto(UUID.randomUUID(), id, "photos/" + id + "/" + p + ".jpg",
+                        p == 0, p, null, "image/jpeg", 200_000 + random.nextInt(800_000), createdAt));
+            }
+            profiles.add(new SharedProfileDto(
+                    id,
+                    "User " + i,
+                    18 + random.nextInt(40),
+                    random.nextInt(10) < 8 ? "Coffee, mountains and bad puns. Looking for someone to share weekend hikes with." : null,
+                    "Vienna",
+                    true,
+                    new SharedLocationDto(UUID.randomUUID(), 48.1 + random.nextDouble(0.2), 16.2 + random.nextDouble(0.3),
+                            "Vienna", createdAt, createdAt),
+                    new SharedPreferencesDto(18 + random.nextInt(10), 30 + random.nextInt(30), "ALL", 10 + random.nextInt(90)),
+                    false,
+                    photos,
+                    List.of(hobbies[random.nextInt(hobbies.length)], hobbies[random.nextInt(hobbies.length)])));
+        }
+        return profiles;
+    }
+
+    /** The server-side mapping, from the same fields profiles' gRPC mapper sets. */
+    private static Profile toMessage(SharedProfileDto dto) {
+        Profile.Builder profile = Profile.newBuilder()
+                .setId(ProtoValues.uuid(dto.id()))
+                .setName(dto.name())
+                .setAge(dto.age())
+                .setCity(dto.city())
+                .setActive(dto.isActive())
+                .setDeleted(dto.isDeleted())
+                .setPreferences(ProfilesGrpc.toPreferences(dto.preferences()))
+                .setLocation(Location.newBuilder()
+                        .setId(ProtoValues.uuid(dto.location().id()))
+                        .setLatitude(dto.location().latitude())
+                        .setLongitude(dto.location().longitude())
+                        .setCity(dto.location().city())
+                        .setCreatedAtEpochMillis(ProtoValues.epochMillis(dto.location().createdAt()))
+                        .setUpdatedAtEpochMillis(ProtoValues.epochMillis(dto.location().updatedAt())));
+        if (dto.bio() != null) {
+            profile.setBio(dto.bio());
+        }
+        for (SharedPhotoDto photo : dto.photos()) {
+            profile.addPhotos(Photo.newBuilder()
+                    .setPhotoId(ProtoValues.uuid(photo.photoId()))
+                    .setProfileId(ProtoValues.uuid(photo.profileId()))
+                    .setS3Key(photo.s3Key())
+                    .setPrimary(photo.isPrimary())
+                    .setPosition(photo.position())
+                    .setContentType(photo.contentType())
+                    .setSize(photo.size())
+                    .setCreatedAtEpochMillis(ProtoValues.epochMillis(photo.createdAt())));
+        }
+        dto.hobbies().forEach(hobby -> profile.addHobbies(hobby.name()));
+        return profile.build();
+    }
+
+    @FunctionalInterface
+    private interface Build {
+        long run() throws Exception;
+    }
+}
@@ -3,8 +3,10 @@ package com.tinder.match.conversation;
 import com.tinder.match.conversation.dto.ConversationWithMessagesDto;
 import com.tinder.match.conversation.dto.MessageDto;
 import com.tinder.match.conversation.dto.ConversationDto;
+import com.tinder.match.conversation.dto.MessagePageDto;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,9 +16,20 @@ public interface ConversationService {
 
     ConversationWithMessagesDto getConversation(UUID conversationId);
 
+    /** Messages with {@code seq < beforeSeq} (the newest ones when {@code beforeSeq} is null), oldest first. */
+    MessagePageDto getMessagesBefore(UUID conversationId, Long beforeSeq, int limit);
+
+    /** Messages with {@code seq > sinceSeq}, oldest first; what a reconnecting client missed. */
+    MessagePageDto getMessagesSince(UUID conversationId, long sinceSeq, int limit);
+
     MessageDto sendMessage(UUID senderId, MessageDto msg);
 
     MessageDto sendPhotoMessage(UUID senderId, UUID conversationId, UUID clientMessageId, MultipartFile file);
 
-    List<ConversationDto> getMyChats(UUID userId);
+    /**
+     * Conversations of {@code profileId}, most recently active first, with the last-message preview.
+     * Pass the {@code lastActivityAt} and {@code conversationId} of the last returned chat to get the
+     * next page; both null for the first one. {@code limit} defaults to the configured page size.
+     */
+    List<ConversationDto> getMyChats(UUID profileId, Instant beforeActivityAt, UUID beforeConversationId, Integer limit);
 }
@@ -5,6 +5,7 @@ import com.tinder.match.conversation.dto.ConversationDto;
 import com.tinder.match.conversation.dto.ConversationWithMessagesDto;
 import com.tinder.match.conversation.dto.CreateConversationRequest;
 import com.tinder.match.conversation.dto.MessageDto;
+import com.tinder.match.conversation.dto.MessagePageDto;
 import com.tinder.match.security.UserProfileMappingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +16,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -47,6 +49,29 @@ public class ConversationRestController {
         return ResponseEntity.ok(conv);
     }
 
+    /** Older history: pass the {@code seq} of the oldest message the client already has as {@code beforeSeq}. */
+    @GetMapping("/{conversationId}/messages")
+    public ResponseEntity<MessagePageDto> getMessages(
+            @PathVariable UUID conversationId,
+            @RequestParam(required = false) Long beforeSeq,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(conversationService.getMessagesBefore(conversationId, beforeSeq, limit));
+    }
+
+    /**
+     * Reconnect delta: everything after the last {@code seq} the client saw (from history or a
+     * {@code MessageCreatedEvent.conversationSeq}). Repeat with the last returned seq while {@code hasMore}.
+     */
+    @GetMapping("/{conversationId}/messages/since")
+    public ResponseEntity<MessagePageDto> getMessagesSince(
+            @PathVariable UUID conversationId,
+            @RequestParam long seq,
+            @RequestParam(defaultValue = "200") int limit
+    ) {
+        return ResponseEntity.ok(conversationService.getMessagesSince(conversationId, seq, limit));
+    }
+
     @PostMapping
     public ResponseEntity<ConversationDto> createConversation(
             @Valid @RequestBody CreateConversationRequest request,
@@ -77,9 +102,19 @@ public class ConversationRestController {
         return ResponseEntity.ok(message);
     }
 
+    /**
+     * Chat list, most recently active first. For the next page pass the {@code lastActivityAt} and
+     * {@code conversationId} of the last chat received; a page shorter than {@code limit} is the last one.
+     */
     @GetMapping("/my-chats")
-    public ResponseEntity<List<ConversationDto>> getMyChats(@RequestParam UUID profileId) {
-        List<ConversationDto> conversations = conversationService.getMyChats(profileId);
+    public ResponseEntity<List<ConversationDto>> getMyChats(
+            @RequestParam UUID profileId,
+            @RequestParam(required = false) Instant beforeActivityAt,
+            @RequestParam(required = false) UUID beforeConversationId,
+            @RequestParam(required = false) Integer limit
+    ) {
+        List<ConversationDto> conversations =
+                conversationService.getMyChats(profileId, beforeActivityAt, beforeConversationId, limit);
         return ResponseEntity.ok(conversations);
     }
 }
@@ -2,6 +2,7 @@ package com.tinder.match.conversation.dto;
 
 import com.tinder.match.conversation.model.ConversationStatus;
 
+import java.time.Instant;
 import java.util.UUID;
 
 public record ConversationDto(
@@ -9,6 +10,7 @@ public record ConversationDto(
         UUID participant1Id,
         UUID participant2Id,
         ConversationStatus status,
+        Instant lastActivityAt,
         LastMessagePreviewDto lastMessage
 ) {
 }
@@ -5,11 +5,17 @@ import com.tinder.match.conversation.model.ConversationStatus;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * A conversation with its newest page of {@code messages}, oldest first. Older pages come from
+ * {@code GET /rest/conversations/{id}/messages?beforeSeq=<seq of messages[0]>}.
+ */
 public record ConversationWithMessagesDto(
         UUID conversationId,
         UUID participant1Id,
         UUID participant2Id,
         ConversationStatus status,
-        List<MessageHistoryDto> messages
+        List<MessageHistoryDto> messages,
+        boolean hasOlderMessages,
+        long lastMessageSeq
 ) {
 }
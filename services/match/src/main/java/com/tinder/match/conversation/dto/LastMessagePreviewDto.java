@@ -7,6 +7,7 @@ import java.util.UUID;
 
 public record LastMessagePreviewDto(
         UUID messageId,
+        long seq,
         UUID senderId,
         MessageType messageType,
         String text,
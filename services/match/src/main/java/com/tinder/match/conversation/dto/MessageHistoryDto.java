@@ -8,6 +8,7 @@ import java.util.UUID;
 
 public record MessageHistoryDto(
         UUID messageId,
+        long seq,
         UUID senderId,
         MessageType messageType,
         String text,
@@ -0,0 +1,15 @@
+package com.tinder.match.conversation.dto;
+
+import java.util.List;
+
+/**
+ * One slice of a conversation's history, oldest first. {@code hasMore} says whether another page
+ * exists in the direction that was requested: older messages for a history page, newer ones for a
+ * {@code since} delta. {@code lastMessageSeq} is the conversation's newest sequence at read time.
+ */
+public record MessagePageDto(
+        List<MessageHistoryDto> messages,
+        boolean hasMore,
+        long lastMessageSeq
+) {
+}
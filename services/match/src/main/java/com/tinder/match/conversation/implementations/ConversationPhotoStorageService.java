@@ -4,34 +4,57 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.unit.DataSize;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.BucketAlreadyExistsException;
 import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
 import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
 import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Stores chat photos in S3 without holding a whole photo on the heap.
+ * <p>
+ * Dimensions are read from the image header only; the pixels are never decoded. The upload is
+ * then streamed from the multipart part (which Spring spools to disk) through a SHA-256 digest
+ * into S3: photos up to {@link #PART_SIZE_BYTES} with a single PUT, larger ones as a multipart
+ * upload that reuses one part-sized buffer. Peak memory per upload is therefore one part,
+ * whatever the photo size.
+ */
 @Service
 @Slf4j
 public class ConversationPhotoStorageService {
 
-    private static final long MAX_PHOTO_SIZE_BYTES = 5 * 1024 * 1024L;
+    // S3's minimum size for every part but the last.
+    static final int PART_SIZE_BYTES = 5 * 1024 * 1024;
 
     private static final List<String> ALLOWED_CONTENT_TYPES = List.of(
             "image/jpeg",
@@ -45,6 +68,9 @@ public class ConversationPhotoStorageService {
     @Value("${app.s3.bucket}")
     private String bucket;
 
+    @Value("${app.s3.max-photo-size:5MB}")
+    private DataSize maxPhotoSize;
+
     @Value("${app.cloudfront.domain:}")
     private String cloudfrontDomain;
 
@@ -66,14 +92,7 @@ public class ConversationPhotoStorageService {
         validateFile(file);
         ensureBucketExistsIfLocal(resolvedBucket);
 
-        byte[] bytes;
-        try {
-            bytes = file.getBytes();
-        } catch (IOException exception) {
-            throw new IllegalArgumentException("Failed to read photo bytes", exception);
-        }
-
-        BufferedImage image = readImage(bytes);
+        ImageSize size = readImageSize(file);
 
         String contentType = file.getContentType();
         String extension = fileExtensionFor(contentType);
@@ -85,36 +104,31 @@ public class ConversationPhotoStorageService {
                 UUID.randomUUID(),
                 extension
         );
+        Map<String, String> metadata = Map.of(
+                "conversation-id", conversationId.toString(),
+                "sender-id", senderId.toString(),
+                "uploaded-at", Instant.now().toString()
+        );
 
-        PutObjectRequest request = PutObjectRequest.builder()
-                .bucket(resolvedBucket)
-                .key(key)
-                .contentType(contentType)
-                .metadata(Map.of(
-                        "conversation-id", conversationId.toString(),
-                        "sender-id", senderId.toString(),
-                        "uploaded-at", Instant.now().toString()
-                ))
-                .build();
-
-        s3Client.putObject(request, RequestBody.fromBytes(bytes));
+        StoredObject stored = store(file, resolvedBucket, key, contentType, metadata);
         log.info(
-                "Uploaded conversation photo conversationId={} senderId={} clientMessageId={} key={}",
+                "Uploaded conversation photo conversationId={} senderId={} clientMessageId={} key={} parts={}",
                 conversationId,
                 senderId,
                 clientMessageId,
-                key
+                key,
+                stored.parts()
         );
 
         return new UploadedPhoto(
                 key,
                 getPublicUrl(resolvedBucket, key),
                 contentType,
-                (long) bytes.length,
+                stored.sizeBytes(),
                 sanitizeOriginalName(file.getOriginalFilename()),
-                image.getWidth(),
-                image.getHeight(),
-                sha256(bytes)
+                size.width(),
+                size.height(),
+                stored.sha256()
         );
     }
 
@@ -128,31 +142,138 @@ public class ConversationPhotoStorageService {
             throw new IllegalArgumentException("Invalid image type" + (contentType == null ? "" : ": " + contentType));
         }
 
-        if (file.getSize() > MAX_PHOTO_SIZE_BYTES) {
+        if (file.getSize() > maxPhotoSize.toBytes()) {
             throw new IllegalArgumentException("Image too large (" + file.getSize() + " bytes)");
         }
     }
 
-    private BufferedImage readImage(byte[] bytes) {
-        try {
-            BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
-            if (image == null) {
+    /**
+     * Reads width and height from the image header. Only the bytes the reader needs to find the
+     * dimensions are pulled from the upload, so a corrupt body is not detected here.
+     */
+    private ImageSize readImageSize(MultipartFile file) {
+        try (InputStream in = file.getInputStream();
+             ImageInputStream imageInput = new MemoryCacheImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
                 throw new IllegalArgumentException("Corrupted image");
             }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                if (width < 50 || height < 50) {
+                    throw new IllegalArgumentException("Image too small");
+                }
+                if (width > 6000 || height > 6000) {
+                    throw new IllegalArgumentException("Image dimensions too large");
+                }
+
+                return new ImageSize(width, height);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException exception) {
+            throw new IllegalArgumentException("Failed to decode image", exception);
+        }
+    }
 
-            if (image.getWidth() < 50 || image.getHeight() < 50) {
-                throw new IllegalArgumentException("Image too small");
+    private StoredObject store(
+            MultipartFile file,
+            String resolvedBucket,
+            String key,
+            String contentType,
+            Map<String, String> metadata
+    ) {
+        MessageDigest digest = sha256Digest();
+        byte[] buffer = new byte[(int) Math.max(1, Math.min(PART_SIZE_BYTES, file.getSize()))];
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            if (file.getSize() <= PART_SIZE_BYTES) {
+                int length = in.readNBytes(buffer, 0, buffer.length);
+                s3Client.putObject(
+                        PutObjectRequest.builder()
+                                .bucket(resolvedBucket)
+                                .key(key)
+                                .contentType(contentType)
+                                .metadata(metadata)
+                                .build(),
+                        bufferBody(buffer, length, contentType)
+                );
+                return new StoredObject(length, 1, HexFormat.of().formatHex(digest.digest()));
             }
-            if (image.getWidth() > 6000 || image.getHeight() > 6000) {
-                throw new IllegalArgumentException("Image dimensions too large");
+            return storeMultipart(in, buffer, resolvedBucket, key, contentType, metadata, digest);
+        } catch (IOException exception) {
+            throw new IllegalArgumentException("Failed to read photo bytes", exception);
+        }
+    }
+
+    private StoredObject storeMultipart(
+            InputStream in,
+            byte[] buffer,
+            String resolvedBucket,
+            String key,
+            String contentType,
+            Map<String, String> metadata,
+            MessageDigest digest
+    ) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(resolvedBucket)
+                .key(key)
+                .contentType(contentType)
+                .metadata(metadata)
+                .build()).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            long total = 0;
+            int length;
+            // readNBytes fills the buffer unless the stream ends, so only the last part is short.
+            while ((length = in.readNBytes(buffer, 0, buffer.length)) > 0) {
+                int partNumber = parts.size() + 1;
+                String eTag = s3Client.uploadPart(
+                        UploadPartRequest.builder()
+                                .bucket(resolvedBucket)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) length)
+                                .build(),
+                        bufferBody(buffer, length, contentType)
+                ).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                total += length;
             }
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(resolvedBucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(upload -> upload.parts(parts))
+                    .build());
+            return new StoredObject(total, parts.size(), HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException | RuntimeException exception) {
+            abortQuietly(resolvedBucket, key, uploadId);
+            throw exception;
+        }
+    }
 
-            return image;
-        } catch (IOException exception) {
-            throw new IllegalArgumentException("Failed to decode image", exception);
+    private void abortQuietly(String resolvedBucket, String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(resolvedBucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (RuntimeException exception) {
+            log.warn("Failed to abort multipart upload key={} uploadId={}", key, uploadId, exception);
         }
     }
 
+    /** Sends the filled part of the shared buffer; each SDK attempt re-reads it without copying. */
+    private static RequestBody bufferBody(byte[] buffer, int length, String contentType) {
+        return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(buffer, 0, length), length, contentType);
+    }
+
     private String getPublicUrl(String resolvedBucket, String key) {
         if (cloudfrontEnabled && cloudfrontDomain != null && !cloudfrontDomain.isBlank()) {
             return cloudfrontDomain + "/" + key;
@@ -213,20 +334,20 @@ public class ConversationPhotoStorageService {
         return originalName.replaceAll("[\\r\\n]", "_");
     }
 
-    private String sha256(byte[] bytes) {
+    private static MessageDigest sha256Digest() {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(bytes);
-            StringBuilder builder = new StringBuilder(hash.length * 2);
-            for (byte b : hash) {
-                builder.append(String.format("%02x", b));
-            }
-            return builder.toString();
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException exception) {
             throw new IllegalStateException("SHA-256 is not available", exception);
         }
     }
 
+    private record ImageSize(int width, int height) {
+    }
+
+    private record StoredObject(long sizeBytes, int parts, String sha256) {
+    }
+
     public record UploadedPhoto(
             String storageKey,
             String url,
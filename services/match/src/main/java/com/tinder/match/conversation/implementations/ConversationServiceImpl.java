@@ -7,6 +7,7 @@ import com.tinder.match.conversation.dto.LastMessagePreviewDto;
 import com.tinder.match.conversation.dto.MessageAttachmentDto;
 import com.tinder.match.conversation.dto.MessageDto;
 import com.tinder.match.conversation.dto.MessageHistoryDto;
+import com.tinder.match.conversation.dto.MessagePageDto;
 import com.tinder.match.conversation.event.MessageCreatedEvent;
 import com.tinder.match.conversation.model.Conversation;
 import com.tinder.match.conversation.model.ConversationStatus;
@@ -18,7 +19,9 @@ import com.tinder.match.conversation.repository.MessageRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.messaging.MessagingException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -34,11 +37,27 @@ import java.util.UUID;
 @Slf4j
 public class ConversationServiceImpl implements ConversationService {
 
+    // First chat-list page: a cursor after every real (last_activity_at, conversation_id).
+    private static final Instant FIRST_PAGE_ACTIVITY_AT = Instant.parse("9999-12-31T23:59:59Z");
+    private static final UUID FIRST_PAGE_CONVERSATION_ID = UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff");
+
     private final ApplicationEventPublisher eventPublisher;
     private final ConversationRepository conversationRepository;
     private final MessageRepository messageRepository;
     private final ConversationPhotoStorageService conversationPhotoStorageService;
 
+    @Value("${app.conversation.history.page-size:50}")
+    private int historyPageSize;
+
+    @Value("${app.conversation.history.max-page-size:500}")
+    private int historyMaxPageSize;
+
+    @Value("${app.conversation.chat-list.page-size:50}")
+    private int chatListPageSize;
+
+    @Value("${app.conversation.chat-list.max-page-size:200}")
+    private int chatListMaxPageSize;
+
     @Override
     @Transactional
     public ConversationDto createConversation(UUID firstParticipantId, UUID secondParticipantId) {
@@ -86,22 +105,55 @@ public class ConversationServiceImpl implements ConversationService {
         Conversation conversation = conversationRepository.findById(conversationId)
                 .orElseThrow(() -> new MessagingException("Conversation not found"));
 
-        List<MessageHistoryDto> messages = messageRepository
-                .findByConversationConversationIdOrderByCreatedAtAsc(conversationId)
-                .stream()
-                .map(this::toHistoryDto)
-                .toList();
+        MessagePageDto page = pageBefore(conversation, Long.MAX_VALUE, historyPageSize);
 
-        log.info("Get conversation found {} messages for conversationId={}", messages.size(), conversationId);
+        log.info(
+                "Get conversation returned {} of {} messages for conversationId={}",
+                page.messages().size(),
+                conversation.getLastMessageSeq(),
+                conversationId
+        );
         return new ConversationWithMessagesDto(
                 conversation.getConversationId(),
                 conversation.getParticipant1Id(),
                 conversation.getParticipant2Id(),
                 conversation.getStatus(),
-                messages
+                page.messages(),
+                page.hasMore(),
+                page.lastMessageSeq()
         );
     }
 
+    @Override
+    @Transactional
+    public MessagePageDto getMessagesBefore(UUID conversationId, Long beforeSeq, int limit) {
+        log.debug("Get messages requested conversationId={} beforeSeq={} limit={}", conversationId, beforeSeq, limit);
+        Conversation conversation = conversationRepository.findById(conversationId)
+                .orElseThrow(() -> new MessagingException("Conversation not found"));
+        return pageBefore(conversation, beforeSeq != null ? beforeSeq : Long.MAX_VALUE, clampLimit(limit, historyMaxPageSize));
+    }
+
+    @Override
+    @Transactional
+    public MessagePageDto getMessagesSince(UUID conversationId, long sinceSeq, int limit) {
+        log.debug("Get messages since requested conversationId={} sinceSeq={} limit={}", conversationId, sinceSeq, limit);
+        Conversation conversation = conversationRepository.findById(conversationId)
+                .orElseThrow(() -> new MessagingException("Conversation not found"));
+        int pageSize = clampLimit(limit, historyMaxPageSize);
+        if (sinceSeq >= conversation.getLastMessageSeq()) {
+            return new MessagePageDto(List.of(), false, conversation.getLastMessageSeq());
+        }
+
+        List<Message> oldestFirst = messageRepository.findByConversationConversationIdAndSeqGreaterThanOrderBySeqAsc(
+                conversationId, sinceSeq, Limit.of(pageSize + 1));
+        boolean hasMore = oldestFirst.size() > pageSize;
+        List<MessageHistoryDto> messages = oldestFirst.stream()
+                .limit(pageSize)
+                .map(this::toHistoryDto)
+                .toList();
+        return new MessagePageDto(messages, hasMore, conversation.getLastMessageSeq());
+    }
+
     @Override
     @Transactional
     public MessageDto sendMessage(UUID senderId, MessageDto msg) {
@@ -209,15 +261,52 @@ public class ConversationServiceImpl implements ConversationService {
         return toDto(saved);
     }
 
-    public List<ConversationDto> getMyChats(UUID profileId) {
-        log.info("Get my chats requested profile id={}", profileId);
-        List<Conversation> conversations = conversationRepository.findAllByParticipant1IdOrParticipant2Id(profileId, profileId);
+    @Override
+    public List<ConversationDto> getMyChats(UUID profileId, Instant beforeActivityAt, UUID beforeConversationId, Integer limit) {
+        log.info(
+                "Get my chats requested profile id={} beforeActivityAt={} beforeConversationId={} limit={}",
+                profileId,
+                beforeActivityAt,
+                beforeConversationId,
+                limit
+        );
+        if ((beforeActivityAt == null) != (beforeConversationId == null)) {
+            throw new MessagingException("beforeActivityAt and beforeConversationId must be given together");
+        }
+        int pageSize = limit != null ? clampLimit(limit, chatListMaxPageSize) : chatListPageSize;
+
+        List<Conversation> conversations = conversationRepository.findChatListPage(
+                profileId,
+                beforeActivityAt != null ? beforeActivityAt : FIRST_PAGE_ACTIVITY_AT,
+                beforeConversationId != null ? beforeConversationId : FIRST_PAGE_CONVERSATION_ID,
+                pageSize
+        );
         log.info("Get my chats found {} conversations for profile id={}", conversations.size(), profileId);
         return conversations.stream()
-                .map(conv -> toConversationDtoWithPreview(conv))
+                .map(this::toConversationDtoWithPreview)
                 .toList();
     }
 
+    private MessagePageDto pageBefore(Conversation conversation, long beforeSeq, int pageSize) {
+        // One extra row tells whether an older page exists without a count query.
+        List<Message> newestFirst = messageRepository.findByConversationConversationIdAndSeqLessThanOrderBySeqDesc(
+                conversation.getConversationId(), beforeSeq, Limit.of(pageSize + 1));
+        boolean hasMore = newestFirst.size() > pageSize;
+        List<MessageHistoryDto> messages = newestFirst.subList(0, Math.min(pageSize, newestFirst.size()))
+                .reversed()
+                .stream()
+                .map(this::toHistoryDto)
+                .toList();
+        return new MessagePageDto(messages, hasMore, conversation.getLastMessageSeq());
+    }
+
+    private int clampLimit(int limit, int maxLimit) {
+        if (limit < 1) {
+            throw new MessagingException("limit must be positive");
+        }
+        return Math.min(limit, maxLimit);
+    }
+
     private void validateConversationAccess(Conversation conversation, UUID senderId) {
         boolean isParticipant = senderId.equals(conversation.getParticipant1Id())
                 || senderId.equals(conversation.getParticipant2Id());
@@ -297,11 +386,24 @@ public class ConversationServiceImpl implements ConversationService {
     }
 
     private Message persistAndPublish(Message message) {
+        UUID conversationId = message.getConversation().getConversationId();
+        conversationRepository.incrementLastMessageSeq(conversationId);
+        message.setSeq(conversationRepository.findLastMessageSeq(conversationId));
+
         Message saved = messageRepository.save(message);
+        conversationRepository.recordLastMessage(
+                conversationId,
+                saved.getMessageId(),
+                saved.getSenderId(),
+                saved.getType(),
+                previewOf(saved),
+                saved.getCreatedAt()
+        );
         log.info(
-                "Send message persisted messageId={} conversationId={} senderId={} clientMessageId={}",
+                "Send message persisted messageId={} conversationId={} seq={} senderId={} clientMessageId={}",
                 saved.getMessageId(),
                 saved.getConversation().getConversationId(),
+                saved.getSeq(),
                 saved.getSenderId(),
                 saved.getClientMessageId()
         );
@@ -319,7 +421,7 @@ public class ConversationServiceImpl implements ConversationService {
                 message.getConversation().getConversationId(),
                 message.getSenderId(),
                 message.getClientMessageId(),
-                0L,
+                message.getSeq(),
                 message.getType(),
                 message.getText(),
                 dto.attachments()
@@ -350,6 +452,7 @@ public class ConversationServiceImpl implements ConversationService {
 
         return new MessageHistoryDto(
                 message.getMessageId(),
+                message.getSeq(),
                 message.getSenderId(),
                 message.getType(),
                 message.getText(),
@@ -389,28 +492,45 @@ public class ConversationServiceImpl implements ConversationService {
                 conversation.getParticipant1Id(),
                 conversation.getParticipant2Id(),
                 conversation.getStatus(),
+                conversation.getLastActivityAt(),
                 null
         );
     }
 
     private ConversationDto toConversationDtoWithPreview(Conversation conversation) {
-        LastMessagePreviewDto lastMessage = messageRepository
-                .findTopByConversationConversationIdOrderByCreatedAtDesc(conversation.getConversationId())
-                .map(m -> new LastMessagePreviewDto(
-                        m.getMessageId(),
-                        m.getSenderId(),
-                        m.getType(),
-                        m.getText(),
-                        m.getCreatedAt()
-                ))
-                .orElse(null);
+        LastMessagePreviewDto lastMessage = conversation.getLastMessageId() == null
+                ? null
+                : new LastMessagePreviewDto(
+                        conversation.getLastMessageId(),
+                        conversation.getLastMessageSeq(),
+                        conversation.getLastMessageSenderId(),
+                        conversation.getLastMessageType(),
+                        conversation.getLastMessagePreview(),
+                        conversation.getLastMessageAt()
+                );
 
         return new ConversationDto(
                 conversation.getConversationId(),
                 conversation.getParticipant1Id(),
                 conversation.getParticipant2Id(),
                 conversation.getStatus(),
+                conversation.getLastActivityAt(),
                 lastMessage
         );
     }
+
+    private static String previewOf(Message message) {
+        String text = message.getText();
+        if (message.getType() != MessageType.TEXT || text == null) {
+            return null;
+        }
+        if (text.length() <= Conversation.PREVIEW_LENGTH) {
+            return text;
+        }
+        // Do not cut a surrogate pair in half.
+        int end = Character.isHighSurrogate(text.charAt(Conversation.PREVIEW_LENGTH - 1))
+                ? Conversation.PREVIEW_LENGTH - 1
+                : Conversation.PREVIEW_LENGTH;
+        return text.substring(0, end);
+    }
 }
@@ -0,0 +1,262 @@
+package com.tinder.match.conversation.implementations;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers STOMP messages to subscribers on every match replica.
+ *
+ * <p>Each replica keeps Spring's in-memory broker for its own sockets. With
+ * {@code app.websocket.broker.mode=redis} a published message is also sent on a Redis pub/sub
+ * channel per route: one per conversation topic ({@value #CONVERSATION_PREFIX}{id}) and one per
+ * user for {@code /user/{name}/...} destinations. A replica subscribes to a route's channel only
+ * while at least one of its own sessions is subscribed to it, so a message reaches the replicas
+ * that hold a participant and no others. Other destinations stay local.
+ *
+ * <p>The publishing replica delivers to its own sockets directly and skips its echo from Redis.
+ * Redis pub/sub is at-most-once: a replica that misses a message (Redis restart, reconnect)
+ * leaves the gap to the client's {@code /messages/since} delta sync.
+ *
+ * <p>With the default {@code simple} mode nothing touches Redis and delivery is local only, as
+ * for a single replica.
+ */
+@Slf4j
+@Component
+public class StompClusterRelay implements SmartLifecycle {
+
+    public static final String CONVERSATION_PREFIX = "/topic/conversations/";
+    private static final String USER_PREFIX = "/user/";
+    private static final String REDIS_MODE = "redis";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final boolean clustered;
+    private final String channelPrefix;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final MessageListener redisListener = (message, pattern) -> onRedisMessage(message.getBody());
+
+    // sessionId -> subscriptionId -> relayed channel
+    private final Map<String, Map<String, String>> channelsBySession = new ConcurrentHashMap<>();
+    // relayed channel -> local subscriptions
+    private final Map<String, Integer> localSubscriptions = new ConcurrentHashMap<>();
+
+    private volatile StringRedisTemplate redisTemplate;
+    private volatile RedisMessageListenerContainer listenerContainer;
+
+    public StompClusterRelay(
+            SimpMessagingTemplate messagingTemplate,
+            RedisConnectionFactory redisConnectionFactory,
+            @Value("${app.websocket.broker.mode:simple}") String mode,
+            @Value("${app.websocket.broker.redis-channel-prefix:match:stomp:}") String channelPrefix) {
+        this.messagingTemplate = messagingTemplate;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.clustered = REDIS_MODE.equalsIgnoreCase(mode);
+        this.channelPrefix = channelPrefix;
+    }
+
+    public static String conversationDestination(UUID conversationId) {
+        return CONVERSATION_PREFIX + conversationId;
+    }
+
+    /**
+     * Sends {@code payload} to {@code destination} on this replica and, for conversation and user
+     * destinations in {@code redis} mode, to every replica with a subscriber.
+     */
+    public void publish(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+
+        String channel = clustered ? channelFor(destination, null) : null;
+        if (channel == null) {
+            return;
+        }
+        Message<?> converted = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (converted == null || !(converted.getPayload() instanceof byte[] json)) {
+            throw new MessagingException("Cannot serialise STOMP payload for " + destination);
+        }
+        try {
+            redisTemplate.convertAndSend(channel,
+                    nodeId + '\n' + destination + '\n' + new String(json, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            // Local subscribers already have it; remote ones catch up through the delta sync.
+            log.warn("STOMP relay publish failed channel={} destination={}", channel, destination, e);
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String channel = clustered ? channelFor(accessor.getDestination(), event.getUser()) : null;
+        if (channel == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        String previous = channelsBySession
+                .computeIfAbsent(accessor.getSessionId(), sessionId -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), channel);
+        retain(channel);
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> channels = accessor.getSessionId() != null
+                ? channelsBySession.get(accessor.getSessionId())
+                : null;
+        String channel = channels != null && accessor.getSubscriptionId() != null
+                ? channels.remove(accessor.getSubscriptionId())
+                : null;
+        if (channel != null) {
+            release(channel);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> channels = channelsBySession.remove(event.getSessionId());
+        if (channels != null) {
+            channels.values().forEach(this::release);
+        }
+    }
+
+    /** Redis channels this replica currently listens on; one per route with a local subscriber. */
+    public int relayedRoutes() {
+        return localSubscriptions.size();
+    }
+
+    @Override
+    public void start() {
+        if (!clustered) {
+            return;
+        }
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+        redisTemplate = new StringRedisTemplate(redisConnectionFactory);
+        listenerContainer = container;
+        log.info("STOMP cluster relay started node={} channelPrefix={}", nodeId, channelPrefix);
+    }
+
+    @Override
+    public void stop() {
+        RedisMessageListenerContainer container = listenerContainer;
+        listenerContainer = null;
+        if (container == null) {
+            return;
+        }
+        try {
+            container.destroy();
+        } catch (Exception e) {
+            log.warn("STOMP cluster relay did not stop cleanly", e);
+        }
+        localSubscriptions.clear();
+        channelsBySession.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listenerContainer != null;
+    }
+
+    private String channelFor(String destination, Principal user) {
+        if (destination == null) {
+            return null;
+        }
+        if (destination.startsWith(CONVERSATION_PREFIX)) {
+            return channelPrefix + destination;
+        }
+        if (!destination.startsWith(USER_PREFIX)) {
+            return null;
+        }
+        // Publishing: /user/{name}/queue/...; subscribing: /user/queue/... by the session's principal.
+        String userName = user != null ? user.getName() : userNameOf(destination);
+        return userName != null ? channelPrefix + "user:" + userName : null;
+    }
+
+    private static String userNameOf(String destination) {
+        int end = destination.indexOf('/', USER_PREFIX.length());
+        return end > USER_PREFIX.length() ? destination.substring(USER_PREFIX.length(), end) : null;
+    }
+
+    private void retain(String channel) {
+        localSubscriptions.compute(channel, (key, count) -> {
+            if (count == null) {
+                RedisMessageListenerContainer container = listenerContainer;
+                if (container != null) {
+                    container.addMessageListener(redisListener, new ChannelTopic(key));
+                }
+                return 1;
+            }
+            return count + 1;
+        });
+    }
+
+    private void release(String channel) {
+        localSubscriptions.computeIfPresent(channel, (key, count) -> {
+            if (count > 1) {
+                return count - 1;
+            }
+            RedisMessageListenerContainer container = listenerContainer;
+            if (container != null) {
+                container.removeMessageListener(redisListener, new ChannelTopic(key));
+            }
+            return null;
+        });
+    }
+
+    private void onRedisMessage(byte[] body) {
+        // Frame: origin node id '\n' destination '\n' JSON payload.
+        int originEnd = indexOfNewline(body, 0);
+        int destinationEnd = originEnd < 0 ? -1 : indexOfNewline(body, originEnd + 1);
+        if (destinationEnd < 0) {
+            log.warn("Dropping malformed STOMP relay frame ({} bytes)", body.length);
+            return;
+        }
+        if (nodeId.equals(new String(body, 0, originEnd, StandardCharsets.UTF_8))) {
+            return;
+        }
+        String destination = new String(body, originEnd + 1, destinationEnd - originEnd - 1, StandardCharsets.UTF_8);
+
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(
+                Arrays.copyOfRange(body, destinationEnd + 1, body.length), headers.getMessageHeaders()));
+    }
+
+    private static int indexOfNewline(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,9 +1,9 @@
 package com.tinder.match.conversation.listener;
 
 import com.tinder.match.conversation.event.MessageCreatedEvent;
+import com.tinder.match.conversation.implementations.StompClusterRelay;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
@@ -13,7 +13,7 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @Slf4j
 public class EventListener {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final StompClusterRelay stompClusterRelay;
 
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void on(MessageCreatedEvent e) {
@@ -23,7 +23,6 @@ public class EventListener {
                 e.conversationId(),
                 e.senderId()
         );
-        messagingTemplate.convertAndSend("/topic/conversations/" + e.conversationId(), e);
-        messagingTemplate.convertAndSend("/topic/messages", e);
+        stompClusterRelay.publish(StompClusterRelay.conversationDestination(e.conversationId()), e);
     }
 }
@@ -3,6 +3,7 @@ package com.tinder.match.conversation.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Entity
@@ -11,11 +12,19 @@ import java.util.UUID;
         uniqueConstraints = @UniqueConstraint(
                 name = "ux_conversations_participants",
                 columnNames = {"participant1_id", "participant2_id"}
-        )
+        ),
+        indexes = {
+                @Index(name = "idx_conversations_participant1_activity",
+                        columnList = "participant1_id, last_activity_at DESC, conversation_id DESC"),
+                @Index(name = "idx_conversations_participant2_activity",
+                        columnList = "participant2_id, last_activity_at DESC, conversation_id DESC")
+        }
 )
 @Getter
 public class Conversation {
 
+    public static final int PREVIEW_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "conversation_id", nullable = false)
@@ -31,6 +40,38 @@ public class Conversation {
     @Column(name = "status")
     private ConversationStatus status;
 
+    /**
+     * Sequence of the newest message. Only advanced by
+     * {@code ConversationRepository#incrementLastMessageSeq}, never through this entity.
+     */
+    @Column(name = "last_message_seq", nullable = false)
+    private long lastMessageSeq;
+
+    /**
+     * Denormalised preview of the newest message for the chat list. Written together with
+     * {@link #lastMessageSeq} by {@code ConversationRepository#recordLastMessage}.
+     */
+    @Column(name = "last_message_id")
+    private UUID lastMessageId;
+
+    @Column(name = "last_message_sender_id")
+    private UUID lastMessageSenderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_message_type", length = 16)
+    private MessageType lastMessageType;
+
+    /** First {@value #PREVIEW_LENGTH} characters of a text message; null for media messages. */
+    @Column(name = "last_message_preview", length = PREVIEW_LENGTH)
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_at")
+    private Instant lastMessageAt;
+
+    /** Chat-list sort key: {@link #lastMessageAt}, or creation time while there are no messages. */
+    @Column(name = "last_activity_at", nullable = false)
+    private Instant lastActivityAt;
+
     public static Conversation createActive(UUID firstParticipantId, UUID secondParticipantId) {
         UUID participant1 = firstParticipantId;
         UUID participant2 = secondParticipantId;
@@ -44,6 +85,7 @@ public class Conversation {
         conversation.participant1Id = participant1;
         conversation.participant2Id = participant2;
         conversation.status = ConversationStatus.ACTIVE;
+        conversation.lastActivityAt = Instant.now();
         return conversation;
     }
 
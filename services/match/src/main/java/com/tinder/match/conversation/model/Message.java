@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -21,6 +22,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -33,6 +35,11 @@ import java.util.UUID;
         uniqueConstraints = @UniqueConstraint(
                 name = "ux_messages_sender_client_id",
                 columnNames = {"sender_id", "client_message_id"}
+        ),
+        indexes = @Index(
+                name = "ux_messages_conversation_seq",
+                columnList = "conversation_id, seq",
+                unique = true
         )
 )
 @Getter
@@ -57,6 +64,10 @@ public class Message {
     @Column(name = "sender_id", nullable = false, updatable = false)
     private UUID senderId;
 
+    /** Position within the conversation, starting at 1 and without gaps; the history cursor. */
+    @Column(name = "seq", nullable = false, updatable = false)
+    private long seq;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "type", nullable = false, length = 16)
     private MessageType type;
@@ -64,7 +75,9 @@ public class Message {
     @Column(name = "text", length = 5000)
     private String text;
 
+    // History pages load the attachments of all their messages in one IN query, not one per message.
     @Builder.Default
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "message", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<MessageAttachment> attachments = new ArrayList<>();
 
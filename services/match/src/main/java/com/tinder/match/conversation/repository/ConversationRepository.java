@@ -1,8 +1,13 @@
 package com.tinder.match.conversation.repository;
 
 import com.tinder.match.conversation.model.Conversation;
+import com.tinder.match.conversation.model.MessageType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,5 +16,65 @@ public interface ConversationRepository extends JpaRepository<Conversation, UUID
 
     Optional<Conversation> findByParticipant1IdAndParticipant2Id(UUID participant1Id, UUID participant2Id);
 
-    List<Conversation> findAllByParticipant1IdOrParticipant2Id(UUID participant1Id, UUID participant2Id);
+    /**
+     * Chat-list page for {@code profileId}, most recently active first, strictly after the
+     * {@code (beforeActivityAt, beforeConversationId)} cursor. Each branch walks its own
+     * {@code idx_conversations_participant*_activity} index and stops after {@code limit} rows,
+     * so the cost does not grow with the number of conversations.
+     */
+    @Query(value = """
+            SELECT * FROM (
+                (SELECT * FROM conversations
+                 WHERE participant1_id = :profileId
+                   AND (last_activity_at, conversation_id) < (:beforeActivityAt, :beforeConversationId)
+                 ORDER BY last_activity_at DESC, conversation_id DESC
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT * FROM conversations
+                 WHERE participant2_id = :profileId
+                   AND (last_activity_at, conversation_id) < (:beforeActivityAt, :beforeConversationId)
+                 ORDER BY last_activity_at DESC, conversation_id DESC
+                 LIMIT :limit)
+            ) page
+            ORDER BY last_activity_at DESC, conversation_id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Conversation> findChatListPage(
+            @Param("profileId") UUID profileId,
+            @Param("beforeActivityAt") Instant beforeActivityAt,
+            @Param("beforeConversationId") UUID beforeConversationId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Row-locks the conversation until the surrounding transaction ends, so concurrent senders get
+     * consecutive sequences; read the assigned value back with {@link #findLastMessageSeq}.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Conversation c set c.lastMessageSeq = c.lastMessageSeq + 1 where c.conversationId = :conversationId")
+    int incrementLastMessageSeq(@Param("conversationId") UUID conversationId);
+
+    @Query("select c.lastMessageSeq from Conversation c where c.conversationId = :conversationId")
+    long findLastMessageSeq(@Param("conversationId") UUID conversationId);
+
+    /** Called in the sending transaction after {@link #incrementLastMessageSeq}, which already holds the row lock. */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Conversation c
+            set c.lastMessageId = :messageId,
+                c.lastMessageSenderId = :senderId,
+                c.lastMessageType = :type,
+                c.lastMessagePreview = :preview,
+                c.lastMessageAt = :sentAt,
+                c.lastActivityAt = :sentAt
+            where c.conversationId = :conversationId
+            """)
+    int recordLastMessage(
+            @Param("conversationId") UUID conversationId,
+            @Param("messageId") UUID messageId,
+            @Param("senderId") UUID senderId,
+            @Param("type") MessageType type,
+            @Param("preview") String preview,
+            @Param("sentAt") Instant sentAt
+    );
 }
@@ -1,6 +1,7 @@
 package com.tinder.match.conversation.repository;
 
 import com.tinder.match.conversation.model.Message;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -9,9 +10,11 @@ import java.util.UUID;
 
 public interface MessageRepository extends JpaRepository<Message, UUID> {
 
-    List<Message> findByConversationConversationIdOrderByCreatedAtAsc(UUID conversationId);
+    /** History page: newest first, strictly older than {@code seq}. Served by {@code ux_messages_conversation_seq}. */
+    List<Message> findByConversationConversationIdAndSeqLessThanOrderBySeqDesc(UUID conversationId, long seq, Limit limit);
 
-    Optional<Message> findBySenderIdAndClientMessageId(UUID senderId, UUID clientMessageId);
+    /** Reconnect delta: oldest first, strictly newer than {@code seq}. */
+    List<Message> findByConversationConversationIdAndSeqGreaterThanOrderBySeqAsc(UUID conversationId, long seq, Limit limit);
 
-    Optional<Message> findTopByConversationConversationIdOrderByCreatedAtDesc(UUID conversationId);
+    Optional<Message> findBySenderIdAndClientMessageId(UUID senderId, UUID clientMessageId);
 }
@@ -8,6 +8,7 @@ import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
@@ -22,6 +23,7 @@ import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @RequiredArgsConstructor
 @Configuration
@@ -30,6 +32,9 @@ public class KafkaConfig {
     @Value("${app.kafka.topic.match-created}")
     private String topic;
 
+    @Value("${app.kafka.topic.profile-deleted}")
+    private String profileDeletedTopic;
+
     @Value("${spring.kafka.listener.concurrency:1}")
     private int concurrency;
 
@@ -45,6 +50,9 @@ public class KafkaConfig {
     @Value("${app.kafka.error-handler.backoff-ms:1000}")
     private long retryBackoffMs;
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean
     public NewTopic matchCreatedTopic(){
         return TopicBuilder.name(topic)
@@ -95,9 +103,46 @@ public class KafkaConfig {
         factory.setConcurrency(concurrency);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         factory.setCommonErrorHandler(kafkaErrorHandler);
+        applyListenerThreading(factory);
         return factory;
     }
 
+    /**
+     * One consumer group per replica, starting at the latest offset: every replica must see every
+     * deletion to clear its local cache, and deletions from before startup are already out of Redis.
+     */
+    @Bean
+    public ConsumerFactory<String, ProfileDeleteEvent> profileDeleteConsumerFactory() {
+        Map<String, Object> props = baseConsumerProps(
+                groupId + profileDeletedTopic + "." + UUID.randomUUID(), ProfileDeleteEvent.class);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProfileDeleteEvent> profileDeleteKafkaListenerContainerFactory(
+            DefaultErrorHandler kafkaErrorHandler) {
+        ConcurrentKafkaListenerContainerFactory<String, ProfileDeleteEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(profileDeleteConsumerFactory());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setCommonErrorHandler(kafkaErrorHandler);
+        applyListenerThreading(factory);
+        return factory;
+    }
+
+    /**
+     * Boot only switches its own auto-configured listener factory to virtual threads,
+     * so the hand-built factories opt in here when the virtual-thread mode is on.
+     */
+    private void applyListenerThreading(ConcurrentKafkaListenerContainerFactory<?, ?> factory) {
+        if (!virtualThreads) {
+            return;
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("kafka-listener-");
+        executor.setVirtualThreads(true);
+        factory.getContainerProperties().setListenerTaskExecutor(executor);
+    }
 
     private Map<String, Object> baseConsumerProps(String kafkaGroupId, Class<?> valueType) {
         Map<String, Object> props = new HashMap<>();
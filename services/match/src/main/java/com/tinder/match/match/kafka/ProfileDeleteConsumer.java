@@ -0,0 +1,39 @@
+package com.tinder.match.match.kafka;
+
+import com.tinder.match.security.UserProfileMappingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evicts a deleted profile's identity mapping. Every replica reads the topic in its own consumer
+ * group, because each holds its own local cache.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProfileDeleteConsumer {
+
+    private final UserProfileMappingService userProfileMappingService;
+
+    @KafkaListener(
+            topics = "${app.kafka.topic.profile-deleted}",
+            containerFactory = "profileDeleteKafkaListenerContainerFactory"
+    )
+    public void handleProfileDeleteEvent(
+            @Payload ProfileDeleteEvent event,
+            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+            @Header(KafkaHeaders.OFFSET) long offset,
+            Acknowledgment acknowledgment
+    ) {
+        log.info("Received ProfileDeleteEvent in partition: {}, offset: {}, profileId: {}",
+                partition, offset, event.getProfileId());
+        userProfileMappingService.evictProfile(event.getProfileId());
+        acknowledgment.acknowledge();
+    }
+}
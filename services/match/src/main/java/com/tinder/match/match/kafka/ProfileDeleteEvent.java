@@ -0,0 +1,18 @@
+package com.tinder.match.match.kafka;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProfileDeleteEvent {
+
+    private UUID eventId;
+    private UUID profileId;
+    private Instant timestamp;
+}
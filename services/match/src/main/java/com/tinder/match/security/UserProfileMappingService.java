@@ -1,13 +1,29 @@
 package com.tinder.match.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Holds an in-memory mapping of Keycloak user ID (JWT sub claim) → profile UUID.
+ * Maps Keycloak user ID (JWT sub claim) → profile UUID.
  * <p>
  * Conversations store participant IDs as profile UUIDs, but the STOMP principal name
  * is the Keycloak user ID (JWT sub). This service bridges the two so the WebSocket
@@ -16,12 +32,62 @@ import java.util.concurrent.ConcurrentHashMap;
  * Entries are registered via the REST layer (create-conversation / get-conversation)
  * where the caller is authenticated and self-declares their profile ID, which is then
  * validated against the conversation participants before being stored.
+ * <p>
+ * Two levels: a Caffeine cache per replica, bounded by estimated bytes and expiring after
+ * {@code local.ttl}, in front of Redis, which every replica shares and which survives deploys.
+ * On startup the most recently registered users are bulk-loaded from Redis so reconnecting
+ * sockets do not find a cold node. A deleted profile is evicted from both levels on every replica
+ * ({@code ProfileDeleteConsumer}).
  */
 @Service
 @Slf4j
 public class UserProfileMappingService {
 
-    private final ConcurrentHashMap<String, UUID> userIdToProfileId = new ConcurrentHashMap<>();
+    private static final String KEY_PREFIX = "match:user-profile:";
+    private static final String REVERSE_KEY_PREFIX = "match:profile-user:";
+    private static final String RECENT_KEY = "match:user-profile-recent";
+    private static final int WARM_UP_BATCH = 500;
+    // Rough per-entry heap: String and its byte[] headers, the UUID, and a Caffeine node with expiry.
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final StringRedisTemplate redis;
+    private final Duration redisTtl;
+    private final int warmUpSize;
+    private final Cache<String, UUID> localProfileIds;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+
+    public UserProfileMappingService(
+            StringRedisTemplate redis,
+            MeterRegistry meterRegistry,
+            @Value("${app.identity-cache.local.max-size:8MB}") DataSize localMaxSize,
+            @Value("${app.identity-cache.local.ttl:30m}") Duration localTtl,
+            @Value("${app.identity-cache.redis.ttl:7d}") Duration redisTtl,
+            @Value("${app.identity-cache.warm-up.size:20000}") int warmUpSize) {
+        this.redis = redis;
+        this.redisTtl = redisTtl;
+        this.warmUpSize = warmUpSize;
+        this.localProfileIds = Caffeine.newBuilder()
+                .maximumWeight(localMaxSize.toBytes())
+                .weigher((String userId, UUID profileId) -> ENTRY_OVERHEAD_BYTES + userId.length())
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localProfileIds, "match.identity");
+        Gauge.builder("match.identity.cache.bytes", localProfileIds,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Estimated heap held by the local user → profile cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("match.identity.cache.hit.ratio", localProfileIds, cache -> cache.stats().hitRate())
+                .description("Local hit ratio since startup")
+                .register(meterRegistry);
+        this.redisHits = redisCounter(meterRegistry, "hit");
+        this.redisMisses = redisCounter(meterRegistry, "miss");
+        this.redisErrors = redisCounter(meterRegistry, "error");
+    }
 
     /**
      * Register a Keycloak user ID → profile ID mapping.
@@ -31,7 +97,26 @@ public class UserProfileMappingService {
      */
     public void register(String userId, UUID profileId) {
         if (userId == null || profileId == null) return;
-        userIdToProfileId.put(userId, profileId);
+        // Called on every conversation read; only a new or changed mapping goes to Redis.
+        if (profileId.equals(localProfileIds.getIfPresent(userId))) {
+            return;
+        }
+        localProfileIds.put(userId, profileId);
+        try {
+            String profile = profileId.toString();
+            long now = System.currentTimeMillis();
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection commands = (StringRedisConnection) connection;
+                commands.setEx(KEY_PREFIX + userId, redisTtl.toSeconds(), profile);
+                commands.setEx(REVERSE_KEY_PREFIX + profile, redisTtl.toSeconds(), userId);
+                commands.zAdd(RECENT_KEY, now, userId);
+                commands.zRemRange(RECENT_KEY, 0, -(warmUpSize + 1L));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            log.warn("Failed to store user mapping in Redis userId={}", userId, e);
+        }
         log.debug("Registered user mapping userId={} profileId={}", userId, profileId);
     }
 
@@ -42,6 +127,94 @@ public class UserProfileMappingService {
      * @return profile UUID, or {@code null} if not yet registered
      */
     public UUID resolve(String userId) {
-        return userId == null ? null : userIdToProfileId.get(userId);
+        if (userId == null) {
+            return null;
+        }
+        UUID local = localProfileIds.getIfPresent(userId);
+        if (local != null) {
+            return local;
+        }
+        try {
+            String value = redis.opsForValue().get(KEY_PREFIX + userId);
+            if (value == null) {
+                redisMisses.increment();
+                return null;
+            }
+            redisHits.increment();
+            UUID profileId = UUID.fromString(value);
+            localProfileIds.put(userId, profileId);
+            return profileId;
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            log.warn("Failed to read user mapping from Redis userId={}", userId, e);
+            return null;
+        }
+    }
+
+    /** Drops every mapping to {@code profileId}, locally and in Redis. */
+    public void evictProfile(UUID profileId) {
+        if (profileId == null) {
+            return;
+        }
+        localProfileIds.asMap().values().removeIf(profileId::equals);
+        try {
+            String reverseKey = REVERSE_KEY_PREFIX + profileId;
+            String userId = redis.opsForValue().getAndDelete(reverseKey);
+            if (userId != null) {
+                redis.delete(KEY_PREFIX + userId);
+                redis.opsForZSet().remove(RECENT_KEY, userId);
+            }
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            log.warn("Failed to evict user mapping from Redis profileId={}", profileId, e);
+        }
+        log.info("Evicted user mapping for deleted profileId={}", profileId);
+    }
+
+    /** Loads the {@code warm-up.size} most recently registered mappings with batched MGETs. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmUpSize <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        int loaded = 0;
+        try {
+            Set<String> recent = redis.opsForZSet().reverseRange(RECENT_KEY, 0, warmUpSize - 1L);
+            if (recent == null || recent.isEmpty()) {
+                return;
+            }
+            List<String> userIds = new ArrayList<>(recent);
+            for (int from = 0; from < userIds.size(); from += WARM_UP_BATCH) {
+                List<String> batch = userIds.subList(from, Math.min(from + WARM_UP_BATCH, userIds.size()));
+                List<String> profileIds = redis.opsForValue().multiGet(batch.stream().map(id -> KEY_PREFIX + id).toList());
+                if (profileIds == null) {
+                    continue;
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    if (profileIds.get(i) != null) {
+                        localProfileIds.put(batch.get(i), UUID.fromString(profileIds.get(i)));
+                        loaded++;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            log.warn("User mapping warm-up stopped after {} entries", loaded, e);
+            return;
+        }
+        log.info("User mapping warm-up loaded {} entries in {}ms", loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** The local level, for size assertions in tests. */
+    Cache<String, UUID> localCache() {
+        return localProfileIds;
+    }
+
+    private static Counter redisCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("match.identity.redis.lookups")
+                .description("Local-cache misses answered by Redis")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 }
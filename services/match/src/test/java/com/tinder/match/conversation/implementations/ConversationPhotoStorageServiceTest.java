@@ -0,0 +1,166 @@
+package com.tinder.match.conversation.implementations;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ConversationPhotoStorageServiceTest {
+
+    private final S3Client s3Client = mock(S3Client.class);
+    private ConversationPhotoStorageService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ConversationPhotoStorageService(s3Client);
+        ReflectionTestUtils.setField(service, "bucket", "chat-photos");
+        ReflectionTestUtils.setField(service, "maxPhotoSize", DataSize.ofMegabytes(20));
+        ReflectionTestUtils.setField(service, "region", "eu-north-1");
+    }
+
+    @Test
+    void givenSmallPhoto_whenUploaded_thenOnePutCarriesItAndHeaderGivesDimensions() throws IOException {
+        byte[] photo = png(640, 480);
+        ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+
+        ConversationPhotoStorageService.UploadedPhoto uploaded = upload(photo);
+
+        verify(s3Client).putObject(any(PutObjectRequest.class), body.capture());
+        assertThat(read(body.getValue())).isEqualTo(photo);
+        assertThat(uploaded.width()).isEqualTo(640);
+        assertThat(uploaded.height()).isEqualTo(480);
+        assertThat(uploaded.sizeBytes()).isEqualTo(photo.length);
+        assertThat(uploaded.sha256()).isEqualTo(sha256(photo));
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void givenPhotoLargerThanOnePart_whenUploaded_thenItIsStreamedInPartsAndHashedWhole() throws IOException {
+        byte[] photo = padded(png(640, 480), 12 * 1024 * 1024);
+        List<byte[]> parts = new ArrayList<>();
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(call -> {
+            parts.add(read(call.getArgument(1)));
+            return UploadPartResponse.builder().eTag("etag-" + parts.size()).build();
+        });
+
+        ConversationPhotoStorageService.UploadedPhoto uploaded = upload(photo);
+
+        assertThat(parts).extracting(part -> part.length).containsExactly(
+                ConversationPhotoStorageService.PART_SIZE_BYTES,
+                ConversationPhotoStorageService.PART_SIZE_BYTES,
+                photo.length - 2 * ConversationPhotoStorageService.PART_SIZE_BYTES);
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().multipartUpload().parts()).hasSize(3);
+        assertThat(uploaded.sizeBytes()).isEqualTo(photo.length);
+        assertThat(uploaded.sha256()).isEqualTo(sha256(photo));
+    }
+
+    @Test
+    void givenPartUploadFails_whenUploaded_thenMultipartUploadIsAborted() throws IOException {
+        byte[] photo = padded(png(640, 480), 8 * 1024 * 1024);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().statusCode(503).message("slow down").build());
+
+        assertThatThrownBy(() -> upload(photo)).isInstanceOf(S3Exception.class);
+
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    void givenBytesWithoutImageHeader_whenUploaded_thenRejectedBeforeS3() {
+        byte[] notAnImage = "definitely not a png".getBytes();
+
+        assertThatThrownBy(() -> upload(notAnImage))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Corrupted image");
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    void givenTinyImage_whenUploaded_thenRejectedFromHeaderDimensions() throws IOException {
+        byte[] tiny = png(20, 20);
+
+        assertThatThrownBy(() -> upload(tiny))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Image too small");
+        verifyNoInteractions(s3Client);
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private ConversationPhotoStorageService.UploadedPhoto upload(byte[] photo) {
+        MockMultipartFile file = new MockMultipartFile("file", "photo.png", "image/png", photo);
+        return service.uploadPhoto(file, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    /** The header probe never looks past the image, so trailing filler stands in for a large photo. */
+    private static byte[] padded(byte[] image, int size) {
+        byte[] padded = Arrays.copyOf(image, size);
+        for (int i = image.length; i < size; i++) {
+            padded[i] = (byte) i;
+        }
+        return padded;
+    }
+
+    private static byte[] read(RequestBody body) {
+        try (InputStream in = body.contentStreamProvider().newStream()) {
+            return in.readAllBytes();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
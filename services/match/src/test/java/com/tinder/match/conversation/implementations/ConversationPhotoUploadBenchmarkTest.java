@@ -0,0 +1,194 @@
+package com.tinder.match.conversation.implementations;
+
+import com.tinder.match.config.AwsProperties;
+import com.tinder.match.config.S3BucketConfiguration;
+import com.tinder.platform.benchmark.BenchmarkReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap allocated on the request thread per chat photo upload, for PNGs of roughly 1, 5, 10 and
+ * 20 MB against LocalStack S3. Compares the former path (whole file into a byte array, full
+ * {@code ImageIO} decode, hash over the array, {@code putObject} from bytes) with the streaming
+ * one (header probe, digest while streaming 5 MB parts). Allocation comes from the thread's own
+ * counter, so it includes the SDK and HTTP client work done on that thread. Reports one
+ * {@link BenchmarkReport} line per size and path.
+ *
+ * <p>Uploads are file-backed like Spring's spooled multipart parts, so reading a photo costs what
+ * it costs in the running service.
+ *
+ * <p>Opt-in: {@code ./mvnw test -Dtest=ConversationPhotoUploadBenchmarkTest -Dmatch.benchmarks=true}.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "match.benchmarks", matches = "true")
+class ConversationPhotoUploadBenchmarkTest {
+
+    private static final int[] SIZES_MB = {1, 5, 10, 20};
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+    private static final String BUCKET = "chat-photos-benchmark";
+
+    @Container
+    static LocalStackContainer localstack = new LocalStackContainer(DockerImageName.parse("localstack/localstack:3.8"))
+            .withServices(LocalStackContainer.Service.S3);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void reportHeapAllocatedPerUpload() throws Exception {
+        AwsProperties aws = new AwsProperties();
+        aws.setRegion(localstack.getRegion());
+        aws.getCredentials().setAccessKey(localstack.getAccessKey());
+        aws.getCredentials().setSecretKey(localstack.getSecretKey());
+        aws.getS3().setEndpoint(localstack.getEndpoint().toString());
+
+        try (S3Client s3Client = new S3BucketConfiguration(aws).s3Client()) {
+            s3Client.createBucket(request -> request.bucket(BUCKET));
+            ConversationPhotoStorageService service = new ConversationPhotoStorageService(s3Client);
+            ReflectionTestUtils.setField(service, "bucket", BUCKET);
+            ReflectionTestUtils.setField(service, "maxPhotoSize", DataSize.ofMegabytes(25));
+            ReflectionTestUtils.setField(service, "region", localstack.getRegion());
+
+            for (int sizeMb : SIZES_MB) {
+                MultipartFile photo = fileBacked(noisePng(sizeMb * 1024 * 1024));
+
+                report("legacy_bytes_decode", photo, () -> legacyUpload(s3Client, photo));
+                report("streaming_header_probe", photo, () -> service.uploadPhoto(
+                        photo, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+            }
+        }
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private void report(String operation, MultipartFile photo, Upload upload) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            upload.run();
+        }
+        long allocated = 0;
+        long nanos = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            upload.run();
+            nanos += System.nanoTime() - start;
+            allocated += THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+        }
+        BenchmarkReport.of("conversation-photo-upload")
+                .with("op", operation)
+                .with("photo_mb", photo.getSize() / 1048576.0)
+                .with("allocated_mb_per_upload", allocated / 1048576.0 / ITERATIONS)
+                .with("ms_per_upload", nanos / 1e6 / ITERATIONS)
+                .emit();
+    }
+
+    /** The pre-streaming service body. */
+    private static void legacyUpload(S3Client s3Client, MultipartFile file) throws Exception {
+        byte[] bytes = file.getBytes();
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+        assertThat(image.getWidth()).isPositive();
+        s3Client.putObject(PutObjectRequest.builder()
+                        .bucket(BUCKET)
+                        .key("legacy/" + UUID.randomUUID() + ".png")
+                        .contentType(file.getContentType())
+                        .build(),
+                RequestBody.fromBytes(bytes));
+        HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    /** RGB noise barely compresses, so the PNG lands close to {@code targetBytes}. */
+    private byte[] noisePng(int targetBytes) throws IOException {
+        int side = (int) Math.sqrt(targetBytes / 3.0);
+        BufferedImage image = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        SplittableRandom random = new SplittableRandom(side);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        File file = tempDir.resolve("photo-" + side + ".png").toFile();
+        ImageIO.write(image, "png", file);
+        return Files.readAllBytes(file.toPath());
+    }
+
+    private MultipartFile fileBacked(byte[] content) throws IOException {
+        Path path = Files.write(tempDir.resolve(UUID.randomUUID() + ".png"), content);
+        return new MultipartFile() {
+            @Override
+            public String getName() {
+                return "file";
+            }
+
+            @Override
+            public String getOriginalFilename() {
+                return path.getFileName().toString();
+            }
+
+            @Override
+            public String getContentType() {
+                return "image/png";
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return content.length == 0;
+            }
+
+            @Override
+            public long getSize() {
+                return content.length;
+            }
+
+            @Override
+            public byte[] getBytes() throws IOException {
+                return Files.readAllBytes(path);
+            }
+
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return Files.newInputStream(path);
+            }
+
+            @Override
+            public void transferTo(File dest) throws IOException {
+                Files.copy(path, dest.toPath());
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Upload {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,190 @@
+package com.tinder.match.conversation.implementations;
+
+import com.tinder.match.conversation.dto.ConversationDto;
+import com.tinder.match.conversation.dto.ConversationWithMessagesDto;
+import com.tinder.match.conversation.dto.MessageDto;
+import com.tinder.match.conversation.dto.MessageHistoryDto;
+import com.tinder.match.conversation.dto.MessagePageDto;
+import com.tinder.match.conversation.event.MessageCreatedEvent;
+import com.tinder.match.conversation.model.Conversation;
+import com.tinder.match.conversation.model.Message;
+import com.tinder.match.conversation.model.MessageType;
+import com.tinder.match.conversation.repository.ConversationRepository;
+import com.tinder.match.conversation.repository.MessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.messaging.MessagingException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ConversationServiceImplTest {
+
+    private final ConversationRepository conversationRepository = mock(ConversationRepository.class);
+    private final MessageRepository messageRepository = mock(MessageRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final UUID participant1 = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private final UUID participant2 = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private final UUID conversationId = UUID.randomUUID();
+
+    private ConversationServiceImpl service;
+    private Conversation conversation;
+
+    @BeforeEach
+    void setUp() {
+        service = new ConversationServiceImpl(eventPublisher, conversationRepository, messageRepository,
+                mock(ConversationPhotoStorageService.class));
+        ReflectionTestUtils.setField(service, "historyPageSize", 3);
+        ReflectionTestUtils.setField(service, "historyMaxPageSize", 5);
+        ReflectionTestUtils.setField(service, "chatListPageSize", 20);
+        ReflectionTestUtils.setField(service, "chatListMaxPageSize", 100);
+
+        conversation = Conversation.createActive(participant1, participant2);
+        ReflectionTestUtils.setField(conversation, "conversationId", conversationId);
+        ReflectionTestUtils.setField(conversation, "lastMessageSeq", 10L);
+        when(conversationRepository.findById(conversationId)).thenReturn(Optional.of(conversation));
+    }
+
+    @Test
+    void givenLongConversation_whenOpened_thenOnlyNewestPageIsReturnedOldestFirst() {
+        when(messageRepository.findByConversationConversationIdAndSeqLessThanOrderBySeqDesc(
+                conversationId, Long.MAX_VALUE, Limit.of(4)))
+                .thenReturn(messages(10, 9, 8, 7));
+
+        ConversationWithMessagesDto dto = service.getConversation(conversationId);
+
+        assertThat(dto.messages()).extracting(MessageHistoryDto::seq).containsExactly(8L, 9L, 10L);
+        assertThat(dto.hasOlderMessages()).isTrue();
+        assertThat(dto.lastMessageSeq()).isEqualTo(10L);
+    }
+
+    @Test
+    void givenCursor_whenPagingBackwards_thenOlderMessagesAreReturnedAndLimitIsCapped() {
+        when(messageRepository.findByConversationConversationIdAndSeqLessThanOrderBySeqDesc(
+                conversationId, 3L, Limit.of(6)))
+                .thenReturn(messages(2, 1));
+
+        MessagePageDto page = service.getMessagesBefore(conversationId, 3L, 1_000);
+
+        assertThat(page.messages()).extracting(MessageHistoryDto::seq).containsExactly(1L, 2L);
+        assertThat(page.hasMore()).isFalse();
+    }
+
+    @Test
+    void givenReconnectingClient_whenAskingSinceSeq_thenMissedMessagesAreReturnedInOrder() {
+        when(messageRepository.findByConversationConversationIdAndSeqGreaterThanOrderBySeqAsc(
+                conversationId, 6L, Limit.of(3)))
+                .thenReturn(messages(7, 8, 9));
+
+        MessagePageDto page = service.getMessagesSince(conversationId, 6L, 2);
+
+        assertThat(page.messages()).extracting(MessageHistoryDto::seq).containsExactly(7L, 8L);
+        assertThat(page.hasMore()).isTrue();
+    }
+
+    @Test
+    void givenClientAlreadyUpToDate_whenAskingSinceSeq_thenNoMessageQueryIsIssued() {
+        MessagePageDto page = service.getMessagesSince(conversationId, 10L, 50);
+
+        assertThat(page.messages()).isEmpty();
+        assertThat(page.hasMore()).isFalse();
+        verifyNoInteractions(messageRepository);
+    }
+
+    @Test
+    void givenNewMessage_whenSent_thenItTakesTheNextConversationSequenceAndPublishesIt() {
+        when(messageRepository.findBySenderIdAndClientMessageId(any(), any())).thenReturn(Optional.empty());
+        when(conversationRepository.findLastMessageSeq(conversationId)).thenReturn(11L);
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.sendMessage(participant1, new MessageDto(conversationId, UUID.randomUUID(), MessageType.TEXT, "hi", null));
+
+        verify(conversationRepository).incrementLastMessageSeq(conversationId);
+        ArgumentCaptor<Message> saved = ArgumentCaptor.forClass(Message.class);
+        verify(messageRepository).save(saved.capture());
+        assertThat(saved.getValue().getSeq()).isEqualTo(11L);
+        ArgumentCaptor<MessageCreatedEvent> event = ArgumentCaptor.forClass(MessageCreatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().conversationSeq()).isEqualTo(11L);
+    }
+
+    @Test
+    void givenLongTextMessage_whenSent_thenConversationPreviewIsTruncatedAndUpdatedInTheSameTransaction() {
+        when(messageRepository.findBySenderIdAndClientMessageId(any(), any())).thenReturn(Optional.empty());
+        when(conversationRepository.findLastMessageSeq(conversationId)).thenReturn(11L);
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        String text = "x".repeat(Conversation.PREVIEW_LENGTH + 50);
+
+        service.sendMessage(participant1, new MessageDto(conversationId, UUID.randomUUID(), MessageType.TEXT, text, null));
+
+        verify(conversationRepository).recordLastMessage(eq(conversationId), any(), eq(participant1),
+                eq(MessageType.TEXT), eq("x".repeat(Conversation.PREVIEW_LENGTH)), any());
+    }
+
+    @Test
+    void givenFirstChatListPage_whenRequested_thenOneQueryServesPreviewsFromConversationColumns() {
+        UUID lastMessageId = UUID.randomUUID();
+        Instant lastMessageAt = Instant.parse("2026-01-02T10:15:30Z");
+        ReflectionTestUtils.setField(conversation, "lastMessageId", lastMessageId);
+        ReflectionTestUtils.setField(conversation, "lastMessageSenderId", participant2);
+        ReflectionTestUtils.setField(conversation, "lastMessageType", MessageType.TEXT);
+        ReflectionTestUtils.setField(conversation, "lastMessagePreview", "see you");
+        ReflectionTestUtils.setField(conversation, "lastMessageAt", lastMessageAt);
+        ReflectionTestUtils.setField(conversation, "lastActivityAt", lastMessageAt);
+        when(conversationRepository.findChatListPage(eq(participant1), any(), any(), eq(20)))
+                .thenReturn(List.of(conversation));
+
+        List<ConversationDto> chats = service.getMyChats(participant1, null, null, null);
+
+        assertThat(chats).singleElement().satisfies(chat -> {
+            assertThat(chat.lastActivityAt()).isEqualTo(lastMessageAt);
+            assertThat(chat.lastMessage().messageId()).isEqualTo(lastMessageId);
+            assertThat(chat.lastMessage().seq()).isEqualTo(10L);
+            assertThat(chat.lastMessage().text()).isEqualTo("see you");
+        });
+        verifyNoInteractions(messageRepository);
+    }
+
+    @Test
+    void givenHalfACursor_whenRequestingChatList_thenItIsRejected() {
+        assertThatThrownBy(() -> service.getMyChats(participant1, Instant.now(), null, 20))
+                .isInstanceOf(MessagingException.class);
+        verify(conversationRepository, never()).findChatListPage(any(), any(), any(), anyInt());
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private List<Message> messages(long... seqs) {
+        List<Message> messages = new ArrayList<>();
+        for (long seq : seqs) {
+            messages.add(Message.builder()
+                    .messageId(UUID.randomUUID())
+                    .clientMessageId(UUID.randomUUID())
+                    .conversation(conversation)
+                    .senderId(seq % 2 == 0 ? participant1 : participant2)
+                    .seq(seq)
+                    .type(MessageType.TEXT)
+                    .text("message " + seq)
+                    .build());
+        }
+        return messages;
+    }
+}
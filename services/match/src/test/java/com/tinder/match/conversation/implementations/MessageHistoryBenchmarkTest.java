@@ -0,0 +1,159 @@
+package com.tinder.match.conversation.implementations;
+
+import com.tinder.match.conversation.ConversationService;
+import com.tinder.match.conversation.dto.MessagePageDto;
+import com.tinder.match.conversation.model.Message;
+import com.tinder.platform.benchmark.BenchmarkReport;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Opening and syncing a conversation with {@value #MESSAGES} messages (every tenth with a photo
+ * attachment) on a Testcontainers Postgres. Compares the former full load (every message plus
+ * its attachments, ordered by {@code created_at}) with the first history page, a page deep in the
+ * history, and a reconnect delta. Reports one {@link BenchmarkReport} line per operation.
+ *
+ * <p>Opt-in: {@code ./mvnw test -Dtest=MessageHistoryBenchmarkTest -Dmatch.benchmarks=true}.
+ */
+@SpringBootTest(properties = {
+        "spring.docker.compose.skip.in-tests=true",
+        "spring.kafka.listener.auto-startup=false"
+})
+@Testcontainers
+@EnabledIfSystemProperty(named = "match.benchmarks", matches = "true")
+class MessageHistoryBenchmarkTest {
+
+    private static final int MESSAGES = 20_000;
+    private static final int ITERATIONS = 200;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("match_bench")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void kafka(DynamicPropertyRegistry registry) {
+        registry.add("spring.kafka.bootstrap-servers", () -> "127.0.0.1:65535");
+    }
+
+    @Autowired
+    ConversationService conversationService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    void reportHistoryLoadLatencyForLongConversation() {
+        UUID conversationId = seedConversation();
+
+        report("full_load", ITERATIONS / 10, () -> transactionTemplate.execute(status -> {
+            List<Message> all = entityManager.createQuery(
+                            "select m from Message m where m.conversation.conversationId = :id order by m.createdAt",
+                            Message.class)
+                    .setParameter("id", conversationId)
+                    .getResultList();
+            all.forEach(message -> message.getAttachments().size());
+            entityManager.clear();
+            return all.size();
+        }));
+        report("first_page", ITERATIONS,
+                () -> conversationService.getConversation(conversationId).messages().size());
+        report("page_at_seq_10000", ITERATIONS,
+                () -> conversationService.getMessagesBefore(conversationId, 10_000L, 50).messages().size());
+        report("since_last_20", ITERATIONS,
+                () -> conversationService.getMessagesSince(conversationId, MESSAGES - 20, 200).messages().size());
+
+        MessagePageDto deep = conversationService.getMessagesBefore(conversationId, 10_000L, 50);
+        assertThat(deep.messages().getFirst().seq()).isEqualTo(9_950L);
+        assertThat(deep.messages().getLast().seq()).isEqualTo(9_999L);
+        assertThat(deep.hasMore()).isTrue();
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private UUID seedConversation() {
+        UUID conversationId = UUID.randomUUID();
+        UUID participant1 = UUID.randomUUID();
+        UUID participant2 = UUID.randomUUID();
+        jdbcTemplate.update(
+                "INSERT INTO conversations (conversation_id, participant1_id, participant2_id, status, last_message_seq,"
+                        + " last_activity_at) VALUES (?, ?, ?, 'ACTIVE', ?, now())",
+                conversationId, participant1, participant2, MESSAGES);
+
+        Instant start = Instant.now().minusSeconds(MESSAGES);
+        List<Object[]> messages = new ArrayList<>(MESSAGES);
+        List<Object[]> attachments = new ArrayList<>();
+        for (int seq = 1; seq <= MESSAGES; seq++) {
+            UUID messageId = UUID.randomUUID();
+            Timestamp createdAt = Timestamp.from(start.plusSeconds(seq));
+            boolean photo = seq % 10 == 0;
+            messages.add(new Object[]{messageId, UUID.randomUUID(), conversationId,
+                    seq % 2 == 0 ? participant1 : participant2, (long) seq, photo ? "IMAGE" : "TEXT",
+                    photo ? null : "message " + seq, createdAt, createdAt});
+            if (photo) {
+                attachments.add(new Object[]{UUID.randomUUID(), messageId, "chat/photos/" + messageId + ".jpg",
+                        "https://cdn.example/" + messageId + ".jpg", "image/jpeg", 120_000L, createdAt, createdAt});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO messages (message_id, client_message_id, conversation_id, sender_id, seq, type, text,"
+                        + " created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                messages);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO message_attachments (attachment_id, message_id, storage_key, url, mime_type, size_bytes,"
+                        + " created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                attachments);
+        jdbcTemplate.execute("ANALYZE messages");
+        jdbcTemplate.execute("ANALYZE message_attachments");
+        return conversationId;
+    }
+
+    private static void report(String operation, int iterations, Supplier<Integer> action) {
+        for (int i = 0; i < Math.max(5, iterations / 10); i++) {
+            action.get();
+        }
+        long[] nanos = new long[iterations];
+        int rows = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            rows = action.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        BenchmarkReport.of("message-history")
+                .with("operation", operation)
+                .with("messages", MESSAGES)
+                .with("rows", rows)
+                .with("iterations", iterations)
+                .percentiles("latency_us", nanos, TimeUnit.MICROSECONDS, 0.50, 0.99)
+                .emit();
+    }
+}
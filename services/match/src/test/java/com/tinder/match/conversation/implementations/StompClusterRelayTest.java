@@ -0,0 +1,120 @@
+package com.tinder.match.conversation.implementations;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.security.Principal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two replicas sharing one Redis: a conversation's participants are connected to different
+ * replicas, as they are behind a round-robin load balancer.
+ */
+@Testcontainers
+class StompClusterRelayTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:8.2.1-alpine").withExposedPorts(6379);
+
+    private final String destination = StompClusterRelay.conversationDestination(UUID.randomUUID());
+
+    private LettuceConnectionFactory connectionFactory;
+    private StompRelayTestNode nodeA;
+    private StompRelayTestNode nodeB;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        nodeA = new StompRelayTestNode(connectionFactory);
+        nodeB = new StompRelayTestNode(connectionFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void givenParticipantsOnDifferentReplicas_whenMessageIsPublished_thenEachReceivesItExactlyOnce() throws Exception {
+        nodeA.connect("a-1", null);
+        nodeA.subscribe("a-1", "sub-0", destination, null);
+        nodeB.connect("b-1", null);
+        nodeB.subscribe("b-1", "sub-0", destination, null);
+        awaitRedisSubscribers("match:stomp:" + destination, 2);
+
+        nodeA.relay.publish(destination, "hello");
+
+        StompRelayTestNode.Delivery local = nodeA.deliveries.poll(5, TimeUnit.SECONDS);
+        StompRelayTestNode.Delivery remote = nodeB.deliveries.poll(5, TimeUnit.SECONDS);
+        assertThat(local).isNotNull();
+        assertThat(local.sessionId()).isEqualTo("a-1");
+        assertThat(remote).isNotNull();
+        assertThat(remote.sessionId()).isEqualTo("b-1");
+        assertThat(remote.payload()).isEqualTo("hello");
+        // The publishing replica ignores its own echo from Redis.
+        assertThat(nodeA.deliveries.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void givenLastLocalSubscriberLeft_whenMessageIsPublished_thenReplicaNoLongerReceivesTheConversation() throws Exception {
+        nodeB.connect("b-1", null);
+        nodeB.subscribe("b-1", "sub-0", destination, null);
+        nodeB.subscribe("b-1", "sub-1", destination, null);
+        assertThat(nodeB.relay.relayedRoutes()).isEqualTo(1);
+
+        nodeB.disconnect("b-1");
+        awaitRedisSubscribers("match:stomp:" + destination, 0);
+        nodeA.relay.publish(destination, "hello");
+
+        assertThat(nodeB.relay.relayedRoutes()).isZero();
+        assertThat(nodeB.brokerDestinations.stream().filter(destination::equals)).isEmpty();
+        assertThat(nodeB.deliveries.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void givenUserSubscribedOnAnotherReplica_whenUserDestinationIsPublished_thenItIsRoutedToThatReplicaOnly() throws Exception {
+        Principal alice = () -> "alice";
+        nodeB.connect("b-1", alice);
+        nodeB.subscribe("b-1", "sub-0", "/user/queue/notifications", alice);
+        awaitRedisSubscribers("match:stomp:user:alice", 1);
+
+        nodeA.relay.publish("/user/alice/queue/notifications", "ping");
+        nodeA.relay.publish("/user/bob/queue/notifications", "ping");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!nodeB.brokerDestinations.contains("/user/alice/queue/notifications") && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(nodeB.brokerDestinations).containsExactly("/user/alice/queue/notifications");
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static void awaitRedisSubscribers(String channel, int expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        int subscribers;
+        do {
+            String[] reply = redis.execInContainer("redis-cli", "PUBSUB", "NUMSUB", channel).getStdout().trim().split("\n");
+            subscribers = Integer.parseInt(reply[reply.length - 1].trim());
+            if (subscribers == expected) {
+                return;
+            }
+            Thread.sleep(20);
+        } while (System.nanoTime() < deadline);
+        throw new AssertionError("Expected " + expected + " subscribers on " + channel + " but saw " + subscribers);
+    }
+}
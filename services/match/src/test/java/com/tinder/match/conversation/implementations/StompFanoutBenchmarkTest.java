@@ -0,0 +1,132 @@
+package com.tinder.match.conversation.implementations;
+
+import com.tinder.platform.benchmark.BenchmarkReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fan-out latency with {@value #SOCKETS} concurrent STOMP sessions split over two replicas: every
+ * conversation has one participant on each, the worst case for a round-robin load balancer. Messages
+ * are published on replica A at {@value #RATE_PER_SECOND}/s; the report compares local delivery
+ * (in-memory broker only) with cross-replica delivery (Redis pub/sub hop plus the remote broker),
+ * and how long replica B takes to register its routes. Reports one {@link BenchmarkReport} line
+ * per operation.
+ *
+ * <p>Sessions are broker sessions, not TCP sockets: the WebSocket transport costs the same with or
+ * without the relay and is left out.
+ *
+ * <p>Opt-in: {@code ./mvnw test -Dtest=StompFanoutBenchmarkTest -Dmatch.benchmarks=true}.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "match.benchmarks", matches = "true")
+class StompFanoutBenchmarkTest {
+
+    private static final int SOCKETS = 10_000;
+    private static final int CONVERSATIONS = SOCKETS / 2;
+    private static final int MESSAGES = 20_000;
+    private static final int RATE_PER_SECOND = 2_000;
+    private static final String PADDING = "x".repeat(320);
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:8.2.1-alpine").withExposedPorts(6379);
+
+    @Test
+    void reportFanoutLatencyAcrossTwoReplicas() throws Exception {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try (StompRelayTestNode nodeA = new StompRelayTestNode(connectionFactory);
+             StompRelayTestNode nodeB = new StompRelayTestNode(connectionFactory)) {
+            List<String> destinations = new ArrayList<>(CONVERSATIONS);
+            for (int i = 0; i < CONVERSATIONS; i++) {
+                destinations.add(StompClusterRelay.conversationDestination(UUID.randomUUID()));
+            }
+
+            subscribeAll(nodeA, "a-", destinations);
+            long subscribeStart = System.nanoTime();
+            subscribeAll(nodeB, "b-", destinations);
+            long subscribeMicros = (System.nanoTime() - subscribeStart) / 1_000;
+            BenchmarkReport.of("stomp-fanout")
+                    .with("operation", "subscribe_routes")
+                    .with("sockets", CONVERSATIONS)
+                    .with("routes", nodeB.relay.relayedRoutes())
+                    .with("total_us", subscribeMicros)
+                    .emit();
+            assertThat(nodeB.relay.relayedRoutes()).isEqualTo(CONVERSATIONS);
+            // Routes register asynchronously; let the last SUBSCRIBE land before timing delivery.
+            Thread.sleep(1_000);
+
+            SplittableRandom random = new SplittableRandom(42);
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE_PER_SECOND;
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGES; i++) {
+                long due = start + i * intervalNanos;
+                long now;
+                while ((now = System.nanoTime()) < due) {
+                    LockSupport.parkNanos(due - now);
+                }
+                String destination = destinations.get(random.nextInt(CONVERSATIONS));
+                nodeA.relay.publish(destination, System.nanoTime() + ":" + PADDING);
+            }
+
+            long[] local = drain(nodeA, MESSAGES);
+            long[] crossNode = drain(nodeB, MESSAGES);
+            assertThat(local).hasSize(MESSAGES);
+            assertThat(crossNode).hasSize(MESSAGES);
+            report("fanout_local", local);
+            report("fanout_cross_node", crossNode);
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static void subscribeAll(StompRelayTestNode node, String sessionPrefix, List<String> destinations) {
+        for (int i = 0; i < destinations.size(); i++) {
+            String sessionId = sessionPrefix + i;
+            node.connect(sessionId, null);
+            node.subscribe(sessionId, "sub-0", destinations.get(i), null);
+        }
+    }
+
+    private static long[] drain(StompRelayTestNode node, int expected) throws InterruptedException {
+        long[] nanos = new long[expected];
+        for (int i = 0; i < expected; i++) {
+            StompRelayTestNode.Delivery delivery = node.deliveries.poll(30, TimeUnit.SECONDS);
+            if (delivery == null) {
+                return Arrays.copyOf(nanos, i);
+            }
+            String payload = delivery.payload();
+            nanos[i] = delivery.receivedNanos() - Long.parseLong(payload, 0, payload.indexOf(':'), 10);
+        }
+        return nanos;
+    }
+
+    private static void report(String operation, long[] nanos) {
+        BenchmarkReport.of("stomp-fanout")
+                .with("operation", operation)
+                .with("sockets", SOCKETS)
+                .with("conversations", CONVERSATIONS)
+                .with("messages", nanos.length)
+                .with("rate_per_s", RATE_PER_SECOND)
+                .percentiles("latency_us", nanos, TimeUnit.MICROSECONDS, 0.50, 0.99, 0.999, 1.0)
+                .emit();
+    }
+}
@@ -0,0 +1,94 @@
+package com.tinder.match.conversation.implementations;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * One match replica without the servlet layer: the in-memory broker the app configures, wired to a
+ * {@link StompClusterRelay} in {@code redis} mode. STOMP frames a socket would send are fed to the
+ * broker and relay directly; frames the broker writes back to sockets land in {@link #deliveries}.
+ */
+final class StompRelayTestNode implements AutoCloseable {
+
+    record Delivery(String sessionId, String payload, long receivedNanos) {
+    }
+
+    final BlockingQueue<Delivery> deliveries = new LinkedBlockingQueue<>();
+    final List<String> brokerDestinations = new CopyOnWriteArrayList<>();
+    final StompClusterRelay relay;
+
+    private final SimpleBrokerMessageHandler broker;
+
+    StompRelayTestNode(RedisConnectionFactory redisConnectionFactory) {
+        ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        brokerChannel.subscribe(message ->
+                brokerDestinations.add(SimpMessageHeaderAccessor.getDestination(message.getHeaders())));
+        broker = new SimpleBrokerMessageHandler(clientInbound, this::deliver, brokerChannel, List.of("/queue", "/topic"));
+        broker.start();
+
+        SimpMessagingTemplate template = new SimpMessagingTemplate(brokerChannel);
+        template.setMessageConverter(new StringMessageConverter());
+        relay = new StompClusterRelay(template, redisConnectionFactory, "redis", "match:stomp:");
+        relay.start();
+    }
+
+    void connect(String sessionId, Principal user) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+        headers.setSessionId(sessionId);
+        headers.setUser(user);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders()));
+    }
+
+    void subscribe(String sessionId, String subscriptionId, String destination, Principal user) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        headers.setSessionId(sessionId);
+        headers.setSubscriptionId(subscriptionId);
+        headers.setDestination(destination);
+        headers.setUser(user);
+        Message<byte[]> subscribe = MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+        broker.handleMessage(subscribe);
+        relay.onSubscribe(new SessionSubscribeEvent(this, subscribe, user));
+    }
+
+    void disconnect(String sessionId) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT);
+        headers.setSessionId(sessionId);
+        Message<byte[]> disconnect = MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+        broker.handleMessage(disconnect);
+        relay.onDisconnect(new SessionDisconnectEvent(this, disconnect, sessionId, CloseStatus.NORMAL));
+    }
+
+    @Override
+    public void close() {
+        relay.stop();
+        broker.stop();
+    }
+
+    private boolean deliver(Message<?> message, long timeout) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+            deliveries.add(new Delivery(
+                    SimpMessageHeaderAccessor.getSessionId(message.getHeaders()),
+                    new String((byte[]) message.getPayload(), StandardCharsets.UTF_8),
+                    System.nanoTime()));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+package com.tinder.match.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.tinder.platform.benchmark.BenchmarkReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Heap retained by the local user → profile cache while {@value #ROUNDS} rounds of
+ * {@value #USERS_PER_ROUND} distinct users register against an 8 MB bound. An unbounded map
+ * would hold about 200 MB more after the last round than after the first. Reports one
+ * {@link BenchmarkReport} line per round.
+ *
+ * <p>Opt-in, as it relies on {@code System.gc()} and a quiet heap:
+ * {@code ./mvnw test -Dtest=UserProfileMappingMemoryBenchmarkTest -Dmatch.benchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "match.benchmarks", matches = "true")
+class UserProfileMappingMemoryBenchmarkTest {
+
+    private static final DataSize LOCAL_MAX_SIZE = DataSize.ofMegabytes(8);
+    private static final int ROUNDS = 10;
+    private static final int USERS_PER_ROUND = 100_000;
+
+    @Test
+    void reportRetainedHeapForAMillionDistinctUsers() {
+        // stubOnly: the mock must not retain a million recorded invocations itself.
+        StringRedisTemplate redis = mock(StringRedisTemplate.class, withSettings().stubOnly());
+        UserProfileMappingService service = new UserProfileMappingService(redis, new SimpleMeterRegistry(),
+                LOCAL_MAX_SIZE, Duration.ofMinutes(30), Duration.ofDays(7), 0);
+        Cache<String, UUID> cache = service.localCache();
+        long[] heapAfterRound = new long[ROUNDS];
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < USERS_PER_ROUND; i++) {
+                service.register(UUID.randomUUID().toString(), UUID.randomUUID());
+            }
+            cache.cleanUp();
+            heapAfterRound[round] = usedHeapAfterGc();
+            BenchmarkReport.of("user-profile-mapping-memory")
+                    .with("round", round)
+                    .with("registered", (long) (round + 1) * USERS_PER_ROUND)
+                    .with("entries", cache.estimatedSize())
+                    .with("weighted_mb", cache.policy().eviction().orElseThrow().weightedSize().orElseThrow() / 1048576.0)
+                    .with("heap_mb", heapAfterRound[round] / 1048576.0)
+                    .emit();
+        }
+
+        assertThat(heapAfterRound[ROUNDS - 1] - heapAfterRound[0])
+                .isLessThan(DataSize.ofMegabytes(32).toBytes());
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
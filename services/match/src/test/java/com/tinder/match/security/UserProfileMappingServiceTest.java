@@ -0,0 +1,138 @@
+package com.tinder.match.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class UserProfileMappingServiceTest {
+
+    private static final DataSize LOCAL_MAX_SIZE = DataSize.ofMegabytes(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void givenMappingOnlyInRedis_whenResolvedTwice_thenRedisIsReadOnce() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = valueOperations(redis);
+        UUID profileId = UUID.randomUUID();
+        when(values.get("match:user-profile:user-1")).thenReturn(profileId.toString());
+        UserProfileMappingService service = service(redis, 100);
+
+        assertThat(service.resolve("user-1")).isEqualTo(profileId);
+        assertThat(service.resolve("user-1")).isEqualTo(profileId);
+
+        verify(values, times(1)).get("match:user-profile:user-1");
+        assertThat(meterRegistry.get("match.identity.redis.lookups").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenUnchangedMapping_whenRegisteredOnEveryRequest_thenRedisIsWrittenOnce() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        UserProfileMappingService service = service(redis, 100);
+        UUID profileId = UUID.randomUUID();
+
+        service.register("user-1", profileId);
+        service.register("user-1", profileId);
+
+        verify(redis, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void givenDeletedProfile_whenEvicted_thenLocalAndRedisEntriesAreGone() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = valueOperations(redis);
+        ZSetOperations<String, String> recent = zSetOperations(redis);
+        UUID profileId = UUID.randomUUID();
+        when(values.getAndDelete("match:profile-user:" + profileId)).thenReturn("user-1");
+        UserProfileMappingService service = service(redis, 100);
+        service.register("user-1", profileId);
+
+        service.evictProfile(profileId);
+
+        assertThat(service.resolve("user-1")).isNull();
+        verify(redis).delete("match:user-profile:user-1");
+        verify(recent).remove("match:user-profile-recent", "user-1");
+    }
+
+    @Test
+    void givenRecentUsersInRedis_whenWarmedUp_thenTheyResolveWithoutRedisLookups() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = valueOperations(redis);
+        ZSetOperations<String, String> recent = zSetOperations(redis);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(recent.reverseRange("match:user-profile-recent", 0, 99))
+                .thenReturn(new LinkedHashSet<>(List.of("user-1", "user-2", "user-3")));
+        when(values.multiGet(anyList())).thenReturn(Arrays.asList(first.toString(), second.toString(), null));
+        UserProfileMappingService service = service(redis, 100);
+
+        service.warmUp();
+
+        assertThat(service.resolve("user-1")).isEqualTo(first);
+        assertThat(service.resolve("user-2")).isEqualTo(second);
+        verify(values, times(0)).get("match:user-profile:user-1");
+    }
+
+    @Test
+    void givenFarMoreUsersThanFit_whenRegistered_thenLocalCacheStaysWithinItsWeightBound() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class, withSettings().stubOnly());
+        UserProfileMappingService service = service(redis, 0);
+        int users = 50_000;
+
+        for (int i = 0; i < users; i++) {
+            service.register(UUID.randomUUID().toString(), UUID.randomUUID());
+        }
+        Cache<String, UUID> cache = service.localCache();
+        cache.cleanUp();
+
+        long weightedSize = cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+        assertThat(weightedSize).isLessThanOrEqualTo(LOCAL_MAX_SIZE.toBytes());
+        assertThat(cache.estimatedSize()).isLessThanOrEqualTo(LOCAL_MAX_SIZE.toBytes() / 160);
+        assertThat(cache.stats().evictionCount()).isGreaterThanOrEqualTo(users - LOCAL_MAX_SIZE.toBytes() / 160);
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private UserProfileMappingService service(StringRedisTemplate redis, int warmUpSize) {
+        return new UserProfileMappingService(redis, meterRegistry, LOCAL_MAX_SIZE,
+                Duration.ofMinutes(30), Duration.ofDays(7), warmUpSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueOperations<String, String> valueOperations(StringRedisTemplate redis) {
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(values);
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ZSetOperations<String, String> zSetOperations(StringRedisTemplate redis) {
+        ZSetOperations<String, String> zSet = mock(ZSetOperations.class);
+        when(redis.opsForZSet()).thenReturn(zSet);
+        when(zSet.remove(eq("match:user-profile-recent"), any())).thenReturn(1L);
+        when(zSet.reverseRange(any(), anyLong(), anyLong())).thenReturn(new LinkedHashSet<>());
+        return zSet;
+    }
+}
@@ -0,0 +1,107 @@
+package com.tinder.profiles.api.grpc;
+
+import com.tinder.contracts.grpc.ProtoValues;
+import com.tinder.contracts.grpc.profile.v1.Location;
+import com.tinder.contracts.grpc.profile.v1.Photo;
+import com.tinder.contracts.grpc.profile.v1.Preferences;
+import com.tinder.contracts.grpc.profile.v1.Profile;
+import com.tinder.profiles.application.profile.model.PreferencesData;
+import com.tinder.profiles.application.profile.query.InternalProfileView;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Maps internal profile views onto the {@code profiles.query.v1} messages.
+ * Carries the same fields as {@code ProfileApiMapper#toSharedProfileDto};
+ * hobbies stay names and deck resolves them against the contract enum.
+ */
+@Component
+public class ProfileQueryGrpcMapper {
+
+    public Profile toProfile(InternalProfileView view) {
+        Profile.Builder profile = Profile.newBuilder()
+                .setId(ProtoValues.uuid(view.id()))
+                .setActive(view.active())
+                .setDeleted(view.deleted());
+        if (view.name() != null) {
+            profile.setName(view.name());
+        }
+        if (view.age() != null) {
+            profile.setAge(view.age());
+        }
+        if (view.bio() != null) {
+            profile.setBio(view.bio());
+        }
+        if (view.city() != null) {
+            profile.setCity(view.city());
+        }
+        if (view.location() != null) {
+            profile.setLocation(toLocation(view.location()));
+        }
+        if (view.preferences() != null) {
+            profile.setPreferences(toPreferences(view.preferences()));
+        }
+        for (InternalProfileView.PhotoView photo : view.photos()) {
+            profile.addPhotos(toPhoto(photo));
+        }
+        if (view.hobbies() != null) {
+            view.hobbies().stream().filter(Objects::nonNull).forEach(profile::addHobbies);
+        }
+        return profile.build();
+    }
+
+    private Preferences toPreferences(PreferencesData preferences) {
+        Preferences.Builder builder = Preferences.newBuilder();
+        if (preferences.minAge() != null) {
+            builder.setMinAge(preferences.minAge());
+        }
+        if (preferences.maxAge() != null) {
+            builder.setMaxAge(preferences.maxAge());
+        }
+        if (preferences.gender() != null) {
+            builder.setGender(preferences.gender());
+        }
+        if (preferences.maxRange() != null) {
+            builder.setMaxRange(preferences.maxRange());
+        }
+        return builder.build();
+    }
+
+    private Location toLocation(InternalProfileView.LocationView location) {
+        Location.Builder builder = Location.newBuilder()
+                .setId(ProtoValues.uuid(location.id()))
+                .setCreatedAtEpochMillis(ProtoValues.epochMillis(location.createdAt()))
+                .setUpdatedAtEpochMillis(ProtoValues.epochMillis(location.updatedAt()));
+        if (location.latitude() != null) {
+            builder.setLatitude(location.latitude());
+        }
+        if (location.longitude() != null) {
+            builder.setLongitude(location.longitude());
+        }
+        if (location.city() != null) {
+            builder.setCity(location.city());
+        }
+        return builder.build();
+    }
+
+    private Photo toPhoto(InternalProfileView.PhotoView photo) {
+        Photo.Builder builder = Photo.newBuilder()
+                .setPhotoId(ProtoValues.uuid(photo.photoId()))
+                .setProfileId(ProtoValues.uuid(photo.profileId()))
+                .setPrimary(photo.primary())
+                .setPosition(photo.position())
+                .setSize(photo.size())
+                .setCreatedAtEpochMillis(ProtoValues.epochMillis(photo.createdAt()));
+        if (photo.s3Key() != null) {
+            builder.setS3Key(photo.s3Key());
+        }
+        if (photo.url() != null) {
+            builder.setUrl(photo.url());
+        }
+        if (photo.contentType() != null) {
+            builder.setContentType(photo.contentType());
+        }
+        return builder.build();
+    }
+}
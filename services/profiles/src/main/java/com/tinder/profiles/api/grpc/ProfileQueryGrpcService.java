@@ -0,0 +1,135 @@
+package com.tinder.profiles.api.grpc;
+
+import com.tinder.contracts.grpc.ProtoValues;
+import com.tinder.contracts.grpc.profile.v1.GetManyRequest;
+import com.tinder.contracts.grpc.profile.v1.GetManyResponse;
+import com.tinder.contracts.grpc.profile.v1.Preferences;
+import com.tinder.contracts.grpc.profile.v1.Profile;
+import com.tinder.contracts.grpc.profile.v1.ProfileQueryGrpc;
+import com.tinder.contracts.grpc.profile.v1.SearchRequest;
+import com.tinder.profiles.application.profile.port.in.InternalProfileQuery;
+import com.tinder.profiles.application.profile.query.InternalProfileView;
+import com.google.protobuf.ByteString;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.grpc.server.service.GrpcService;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * gRPC twin of the internal {@code /search} and {@code /by-ids} endpoints for
+ * deck, served on the mTLS gRPC port. Same limits and lookups as the REST
+ * endpoints; only the encoding differs.
+ */
+@GrpcService
+@Slf4j
+@RequiredArgsConstructor
+public class ProfileQueryGrpcService extends ProfileQueryGrpc.ProfileQueryImplBase {
+
+    static final int MAX_SEARCH_LIMIT = 2000;
+    // Not bounded by a URL like /by-ids; one deck scheduler tick asks for up to 1000 viewers.
+    static final int MAX_GET_MANY_IDS = 2000;
+
+    private final InternalProfileQuery profileQuery;
+    private final ProfileQueryGrpcMapper mapper;
+
+    @Override
+    public void search(SearchRequest request, StreamObserver<Profile> responseObserver) {
+        List<InternalProfileView> results;
+        try {
+            if (request.getLimit() < 1 || request.getLimit() > MAX_SEARCH_LIMIT) {
+                throw Status.INVALID_ARGUMENT
+                        .withDescription("limit must be between 1 and " + MAX_SEARCH_LIMIT)
+                        .asRuntimeException();
+            }
+            UUID viewerId = requiredId(request.getViewerId(), "viewer_id");
+            results = profileQuery.search(viewerId, toCriteria(request.getPreferences()), request.getLimit());
+        } catch (StatusRuntimeException e) {
+            responseObserver.onError(e);
+            return;
+        } catch (Exception e) {
+            log.error("gRPC profile search failed: {}", e.getMessage(), e);
+            responseObserver.onError(Status.INTERNAL.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+
+        stream(results.iterator(), (ServerCallStreamObserver<Profile>) responseObserver);
+    }
+
+    @Override
+    public void getMany(GetManyRequest request, StreamObserver<GetManyResponse> responseObserver) {
+        try {
+            if (request.getIdsCount() > MAX_GET_MANY_IDS) {
+                throw Status.INVALID_ARGUMENT
+                        .withDescription("ids exceeds maximum supported size of " + MAX_GET_MANY_IDS)
+                        .asRuntimeException();
+            }
+            List<UUID> ids = new ArrayList<>(request.getIdsCount());
+            for (ByteString id : request.getIdsList()) {
+                ids.add(requiredId(id, "ids"));
+            }
+
+            GetManyResponse.Builder response = GetManyResponse.newBuilder();
+            if (!ids.isEmpty()) {
+                profileQuery.getMany(ids).forEach(view -> response.addProfiles(mapper.toProfile(view)));
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+
+        } catch (StatusRuntimeException e) {
+            responseObserver.onError(e);
+        } catch (Exception e) {
+            log.error("gRPC profile getMany failed (size={}): {}", request.getIdsCount(), e.getMessage(), e);
+            responseObserver.onError(Status.INTERNAL.withDescription(e.getMessage()).asRuntimeException());
+        }
+    }
+
+    /**
+     * Sends search results as the transport has room for them, so a slow deck
+     * holds encoded messages in this iterator rather than in the server's
+     * outbound buffer. Called again on every ready signal; a cancelled call
+     * stops encoding.
+     */
+    private void stream(Iterator<InternalProfileView> results, ServerCallStreamObserver<Profile> observer) {
+        AtomicBoolean completed = new AtomicBoolean();
+        observer.setOnCancelHandler(() -> log.debug("gRPC profile search cancelled by client"));
+        observer.setOnReadyHandler(() -> {
+            while (observer.isReady() && !observer.isCancelled() && results.hasNext()) {
+                observer.onNext(mapper.toProfile(results.next()));
+            }
+            if (!results.hasNext() && !observer.isCancelled() && completed.compareAndSet(false, true)) {
+                observer.onCompleted();
+            }
+        });
+    }
+
+    private static InternalProfileQuery.SearchCriteria toCriteria(Preferences preferences) {
+        return new InternalProfileQuery.SearchCriteria(
+                preferences.hasMinAge() ? preferences.getMinAge() : null,
+                preferences.hasMaxAge() ? preferences.getMaxAge() : null,
+                preferences.hasGender() ? preferences.getGender() : null,
+                preferences.hasMaxRange() ? preferences.getMaxRange() : null);
+    }
+
+    private static UUID requiredId(ByteString bytes, String field) {
+        try {
+            UUID id = ProtoValues.uuid(bytes);
+            if (id == null) {
+                throw new IllegalArgumentException("empty");
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription(field + " must be a 16-byte UUID")
+                    .asRuntimeException();
+        }
+    }
+}
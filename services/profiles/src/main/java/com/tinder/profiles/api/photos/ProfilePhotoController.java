@@ -44,7 +44,10 @@ public class ProfilePhotoController {
     private final CreatePhotoDownloadUrlService createDownloadUrl;
     private final CleanupOrphanedPhotosService cleanupOrphaned;
 
-    /** Uploads a photo into the given slot, creating the four size variants. */
+    /**
+     * Uploads a photo into the given slot. The original is stored before this
+     * returns; the size variants follow asynchronously (status {@code PENDING}).
+     */
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ApiResponse<UploadedPhoto>> uploadProfilePhoto(
             @RequestPart("file") MultipartFile file,
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.UUID;
@@ -24,9 +25,19 @@ public class DeckCardProjectionBackfillController {
 
     private final DeckCardProjectionBackfillService backfill;
 
+    /**
+     * {@code partitioned=true} starts a new run as parallel keyset ranges; an
+     * existing run is resumed in the mode it was started in, except that a
+     * sequential run can be switched to ranges from its cursor.
+     */
     @PostMapping("/{runId}")
-    public ResponseEntity<DeckCardProjectionBackfillRun> startOrResume(@PathVariable UUID runId) {
-        DeckCardProjectionBackfillRun run = backfill.startOrResume(runId);
+    public ResponseEntity<DeckCardProjectionBackfillRun> startOrResume(
+            @PathVariable UUID runId,
+            @RequestParam(defaultValue = "false") boolean partitioned
+    ) {
+        DeckCardProjectionBackfillRun run = partitioned
+                ? backfill.startOrResumePartitioned(runId)
+                : backfill.startOrResume(runId);
         return run.status() == DeckCardProjectionBackfillStatus.ENQUEUED
                 ? ResponseEntity.accepted().body(run)
                 : ResponseEntity.ok(run);
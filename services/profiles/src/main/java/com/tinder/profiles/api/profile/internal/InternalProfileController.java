@@ -4,8 +4,13 @@ import com.tinder.profiles.application.profile.port.in.ProfileQuery;
 import com.tinder.profiles.api.profile.IdsQueryParamParser;
 import com.tinder.profiles.api.profile.mapper.ProfileApiMapper;
 import com.tinder.contracts.dto.SharedProfileDto;
+import com.tinder.profiles.application.profile.query.InternalProfileView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,6 +18,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,10 +34,15 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class InternalProfileController {
 
+    private static final int EXPORT_PAGE_SIZE = 500;
+    // Lower bound for an export without a window; profiles without timestamps sort here.
+    private static final LocalDateTime EXPORT_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final InternalProfileQuery profileQuery;
     private final IdsQueryParamParser idsQueryParamParser;
     private final ProfileQuery identityQuery;
     private final ProfileApiMapper apiMapper;
+    private final ObjectMapper objectMapper;
 
     /**
      * Resolves a Keycloak userId (JWT {@code sub}) to the active profileId.
@@ -95,13 +108,50 @@ public class InternalProfileController {
     }
 
 
-    @GetMapping("/active")
-    public ResponseEntity<List<SharedProfileDto>> getActiveUsers() {
-        List<SharedProfileDto> activeUsers = profileQuery.getActiveUsers().stream()
-                .map(apiMapper::toSharedProfileDto)
-                .toList();
-        log.debug("Fetched {} active users", activeUsers.size());
-        return ResponseEntity.ok(activeUsers);
+    /**
+     * Streams every non-deleted profile as NDJSON, one {@link SharedProfileDto}
+     * per line, for deck's bulk rebuilds. Profiles are read in keyset pages of
+     * {@value #EXPORT_PAGE_SIZE} by id and written as they arrive, so memory stays
+     * flat at any user count and a slow reader throttles the reads through the
+     * socket. Open-in-view is off, so each page borrows a pooled connection only
+     * for its own queries, not while the page is written out. {@code after}
+     * resumes an interrupted export after the last id received;
+     * {@code activeWithinMinutes} keeps profiles modified within that window.
+     */
+    @GetMapping(value = "/active", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamActiveUsers(
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Long activeWithinMinutes,
+            HttpServletResponse response) throws IOException {
+
+        if (activeWithinMinutes != null && activeWithinMinutes < 1) {
+            log.warn("Invalid activeWithinMinutes parameter: {}", activeWithinMinutes);
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        LocalDateTime activeSince = activeWithinMinutes == null
+                ? EXPORT_EPOCH
+                : LocalDateTime.now().minusMinutes(activeWithinMinutes);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        ObjectWriter writer = objectMapper.writerFor(SharedProfileDto.class);
+        UUID cursor = after;
+        long exported = 0;
+        List<InternalProfileView> page;
+        do {
+            page = profileQuery.getActiveUsersPage(cursor, activeSince, EXPORT_PAGE_SIZE);
+            for (InternalProfileView profile : page) {
+                out.write(writer.writeValueAsBytes(apiMapper.toSharedProfileDto(profile)));
+                out.write('\n');
+            }
+            out.flush();
+            exported += page.size();
+            if (!page.isEmpty()) {
+                cursor = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
+        log.debug("Exported {} active users after={} activeWithinMinutes={}", exported, after, activeWithinMinutes);
     }
 
 }
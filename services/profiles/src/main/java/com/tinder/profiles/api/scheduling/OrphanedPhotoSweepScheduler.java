@@ -0,0 +1,47 @@
+package com.tinder.profiles.api.scheduling;
+
+import com.tinder.profiles.application.photos.model.OrphanedPhotoSweepReport;
+import com.tinder.profiles.application.photos.usecase.SweepOrphanedPhotosService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Time-driven inbound adapter that runs the background sweep for orphaned photo
+ * objects and logs what each run reclaimed. Which objects count as orphaned, and
+ * how fast the bucket is walked, is decided by {@link SweepOrphanedPhotosService}
+ * / {@code OrphanedPhotoSweepPolicy}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrphanedPhotoSweepScheduler {
+
+    private final SweepOrphanedPhotosService sweepOrphanedPhotos;
+
+    @Scheduled(fixedDelayString = "${app.photo-orphan-sweep.interval-ms:900000}")
+    public void sweepOrphanedPhotos() {
+        try {
+            Optional<OrphanedPhotoSweepReport> swept = sweepOrphanedPhotos.sweep();
+            if (swept.isEmpty()) {
+                log.debug("Orphaned-photo sweep skipped; another replica is sweeping");
+                return;
+            }
+            OrphanedPhotoSweepReport report = swept.get();
+            if (report.isEmpty()) {
+                log.debug("Orphaned-photo sweep scanned {} object(s), none orphaned", report.scanned());
+                return;
+            }
+            log.info("Orphaned-photo sweep reclaimed {} object(s), {} bytes in {} request(s); "
+                            + "scanned={}, orphaned={}, failed={}, wrapped={} in {} ms",
+                    report.deleted(), report.reclaimedBytes(), report.deleteRequests(),
+                    report.scanned(), report.orphaned(), report.failed(), report.wrapped(),
+                    report.elapsed().toMillis());
+        } catch (Exception e) {
+            log.error("Orphaned-photo sweep failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.tinder.profiles.api.scheduling;
+
+import com.tinder.profiles.application.photos.usecase.RenderPhotoVariantsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Time-driven inbound adapter that resumes photo variant pipelines a stopped node
+ * left pending. Which photos count as abandoned is decided by
+ * {@link RenderPhotoVariantsService} / {@code PhotoRecoveryPolicy}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PhotoVariantsRecoveryScheduler {
+
+    private final RenderPhotoVariantsService renderPhotoVariants;
+
+    @Scheduled(fixedDelayString = "${app.photo-variants.recovery-interval-ms:60000}")
+    public void resumeAbandonedVariantPipelines() {
+        try {
+            int resumed = renderPhotoVariants.resumeStale();
+            if (resumed > 0) {
+                log.info("Resumed variant rendering for {} pending photo(s)", resumed);
+            }
+        } catch (Exception e) {
+            log.error("Failed to resume pending photo variants: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,34 +1,33 @@
 package com.tinder.profiles.api.scheduling;
 
-import com.tinder.profiles.application.profile.usecase.PremiumMembershipService;
-import com.tinder.profiles.application.profile.usecase.PremiumMembershipService.LapsedMembership;
+import com.tinder.profiles.application.profile.model.PremiumExpirationReport;
+import com.tinder.profiles.application.profile.usecase.PremiumExpirationService;
 import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.MDC;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 /**
- * Time-driven inbound adapter: asks the application layer which memberships have
- * lapsed and revokes them one by one.
+ * Time-driven inbound adapter: triggers the batch expiration of lapsed premium
+ * memberships.
  *
  * <p>The adapter owns only scheduling and observability — which profiles count as
- * expired is decided by {@link PremiumMembershipService}.
+ * expired, and how their Keycloak roles are revoked, is decided by
+ * {@link PremiumExpirationService}.
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class PremiumExpirationScheduler {
 
-    private final PremiumMembershipService premiumMembership;
+    private final PremiumExpirationService premiumExpiration;
     private final Tracer tracer;   // injected by Micrometer Tracing auto-configuration
 
     /**
-     * Runs every hour and revokes premium for every lapsed membership.
+     * Runs every hour and expires every lapsed membership, then drains the queue
+     * of Keycloak revocations, including those left over from earlier runs.
      *
      * <p>A root span is created manually because scheduled tasks have no HTTP
      * context, so Micrometer Tracing would not generate a traceId otherwise. All
@@ -40,38 +39,24 @@ public class PremiumExpirationScheduler {
         Span rootSpan = tracer.nextSpan().name("premium-expiration-check").start();
         try (Tracer.SpanInScope ignored = tracer.withSpan(rootSpan)) {
 
-            List<LapsedMembership> lapsed = premiumMembership.findLapsed();
-            if (lapsed.isEmpty()) {
+            PremiumExpirationReport report = premiumExpiration.expireLapsed();
+            if (report.isEmpty()) {
                 log.debug("No expired premium subscriptions found");
                 return;
             }
 
-            log.info("Found {} expired premium subscription(s) — revoking", lapsed.size());
-            lapsed.forEach(this::revoke);
+            rootSpan.tag("premium.expired", Integer.toString(report.expired()));
+            rootSpan.tag("premium.revoked", Integer.toString(report.revoked()));
+            log.info("Premium expiration finished: expired={}, revoked={}, retried={}, deadLettered={} in {} ms ({} revocations/s)",
+                    report.expired(), report.revoked(), report.retried(), report.deadLettered(),
+                    report.elapsed().toMillis(), String.format("%.1f", report.revocationsPerSecond()));
 
-        } finally {
-            rootSpan.end();
-        }
-    }
-
-    /** Each revocation gets its own span so Zipkin shows them separately. */
-    private void revoke(LapsedMembership membership) {
-        Span span = tracer.nextSpan().name("revoke-premium").start();
-        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
-            MDC.put("userId", membership.userId());
-
-            premiumMembership.revoke(membership.userId());
-
-            log.info("Premium revoked for user '{}' (expired at {})",
-                    membership.userId(), membership.expiredAt());
         } catch (Exception e) {
-            // Tag the span as failed and continue — the next run retries this user.
-            span.tag("error", e.getMessage());
-            log.error("Failed to revoke premium for user '{}': {}",
-                    membership.userId(), e.getMessage(), e);
+            // Tag the span as failed — revocations not yet done stay queued for the next run.
+            rootSpan.tag("error", String.valueOf(e.getMessage()));
+            log.error("Premium expiration run failed: {}", e.getMessage(), e);
         } finally {
-            MDC.remove("userId");
-            span.end();
+            rootSpan.end();
         }
     }
 }
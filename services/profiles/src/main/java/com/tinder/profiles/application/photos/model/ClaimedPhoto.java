@@ -0,0 +1,8 @@
+package com.tinder.profiles.application.photos.model;
+
+/**
+ * A pending photo leased to this node by the recovery sweep; {@code attempt} counts
+ * the claims so far, this one included.
+ */
+public record ClaimedPhoto(StoredPhoto photo, int attempt) {
+}
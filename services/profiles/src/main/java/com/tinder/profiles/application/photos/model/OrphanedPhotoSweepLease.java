@@ -0,0 +1,11 @@
+package com.tinder.profiles.application.photos.model;
+
+import java.util.UUID;
+
+/**
+ * The orphaned-photo sweep as claimed by this node: the lease that makes it the
+ * only node sweeping, and the key after which its walk of the bucket resumes
+ * ({@code null} at the start of the bucket).
+ */
+public record OrphanedPhotoSweepLease(UUID leaseId, String resumeAfter) {
+}
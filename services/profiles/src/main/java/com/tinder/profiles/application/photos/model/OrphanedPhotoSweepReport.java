@@ -0,0 +1,25 @@
+package com.tinder.profiles.application.photos.model;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one orphaned-photo sweep: objects listed, those without a catalogue
+ * entry past the grace period, how many of them were deleted and the bytes that
+ * freed, and deletes the store refused. {@code wrapped} is set when the sweep
+ * reached the end of the bucket and the next run starts over.
+ */
+public record OrphanedPhotoSweepReport(
+        int scanned,
+        int orphaned,
+        int deleted,
+        long reclaimedBytes,
+        int failed,
+        int deleteRequests,
+        boolean wrapped,
+        Duration elapsed
+) {
+
+    public boolean isEmpty() {
+        return orphaned == 0;
+    }
+}
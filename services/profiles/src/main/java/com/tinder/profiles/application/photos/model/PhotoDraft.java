@@ -10,6 +10,7 @@ public record PhotoDraft(
         int position,
         String url,
         String contentType,
-        long size
+        long size,
+        PhotoStatus status
 ) {
 }
@@ -0,0 +1,12 @@
+package com.tinder.profiles.application.photos.model;
+
+/**
+ * Where a photo is in the variant pipeline. A {@code PENDING} photo is served from
+ * its original (the upload itself) until the size variants are stored.
+ */
+public enum PhotoStatus {
+    PENDING,
+    READY,
+    /** The upload could not be rendered; only the original exists. */
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.tinder.profiles.application.photos.model;
+
+import java.time.Instant;
+
+/** One object in the photo store as listed: its key, size in bytes and last write. */
+public record StoredObject(String key, long size, Instant lastModified) {
+}
@@ -0,0 +1,14 @@
+package com.tinder.profiles.application.photos.model;
+
+import java.util.List;
+
+/**
+ * One page of a listing in key order. {@code nextStartAfter} is the key the next
+ * page starts after, or {@code null} when the listing is exhausted.
+ */
+public record StoredObjectPage(List<StoredObject> objects, String nextStartAfter) {
+
+    public boolean isLast() {
+        return nextStartAfter == null;
+    }
+}
@@ -3,7 +3,7 @@ package com.tinder.profiles.application.photos.model;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-/** A catalogued photo: its identity, slot and the key of its original object. */
+/** A catalogued photo: its identity, slot, the key of its original object and its pipeline status. */
 public record StoredPhoto(
         UUID photoId,
         UUID profileId,
@@ -13,6 +13,7 @@ public record StoredPhoto(
         String url,
         String contentType,
         long size,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        PhotoStatus status
 ) {
 }
@@ -1,11 +1,15 @@
 package com.tinder.profiles.application.photos.model;
 
-/** Result of a successful upload: the storage id and one URL per variant. */
+/**
+ * Result of a successful upload: the storage id and one URL per variant. While
+ * {@code status} is {@link PhotoStatus#PENDING} only the original URL resolves.
+ */
 public record UploadedPhoto(
         String photoId,
         String originalUrl,
         String largeUrl,
         String mediumUrl,
-        String smallUrl
+        String smallUrl,
+        PhotoStatus status
 ) {
 }
@@ -11,8 +11,12 @@ import java.util.Optional;
  */
 public interface ImageVariantsPort {
 
-    /** Empty when the bytes cannot be decoded as an image. */
+    /**
+     * Reads the dimensions from the image header without decoding pixels, so it is
+     * cheap enough for the request path. Empty when no reader recognises the bytes.
+     */
     Optional<ImageDimensions> probe(byte[] imageBytes);
 
+    /** CPU-heavy; runs in the variant pipeline. Throws {@link IllegalArgumentException} for undecodable bytes. */
     PhotoVariants render(byte[] imageBytes);
 }
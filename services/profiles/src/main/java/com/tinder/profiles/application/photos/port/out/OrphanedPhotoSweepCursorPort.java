@@ -0,0 +1,28 @@
+package com.tinder.profiles.application.photos.port.out;
+
+import com.tinder.profiles.application.photos.model.OrphanedPhotoSweepLease;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/** Outbound port for the orphaned-photo sweep's position, shared by every replica. */
+public interface OrphanedPhotoSweepCursorPort {
+
+    /**
+     * Leases the sweep until {@code leasedUntil} unless another replica holds it.
+     *
+     * @return empty when another replica's lease is still running
+     */
+    Optional<OrphanedPhotoSweepLease> claim(Instant now, Instant leasedUntil);
+
+    /**
+     * Records the position reached and extends the lease.
+     *
+     * @return {@code false} when the lease ran out and another replica took the sweep over
+     */
+    boolean advance(UUID leaseId, String resumeAfter, Instant leasedUntil);
+
+    /** Ends the lease, so the next run on any replica can claim the sweep at once. */
+    void release(UUID leaseId);
+}
@@ -1,8 +1,13 @@
 package com.tinder.profiles.application.photos.port.out;
 
+import com.tinder.profiles.application.photos.model.ClaimedPhoto;
 import com.tinder.profiles.application.photos.model.PhotoDraft;
 import com.tinder.profiles.application.photos.model.StoredPhoto;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,9 +20,28 @@ public interface PhotoCatalogPort {
     /** Photos of a profile ordered by slot position. */
     List<StoredPhoto> findForProfile(UUID profileId);
 
+    /** Photos of several profiles in one query, unordered. */
+    List<StoredPhoto> findForProfiles(Collection<UUID> profileIds);
+
     Optional<StoredPhoto> findById(UUID photoId);
 
     StoredPhoto save(PhotoDraft draft);
 
     void deleteById(UUID photoId);
+
+    /**
+     * Marks a photo's variants as stored and records the normalised original.
+     *
+     * @return {@code false} when the photo was deleted or replaced in the meantime
+     */
+    boolean markReady(UUID photoId, String contentType, long size);
+
+    void markFailed(UUID photoId);
+
+    /**
+     * Claims up to {@code limit} photos pending since before {@code cutoff}, oldest
+     * first, for resuming pipelines a stopped node left behind. Each claim counts as
+     * an attempt and hides the photo from other replicas until {@code now + lease}.
+     */
+    List<ClaimedPhoto> claimPendingCreatedBefore(LocalDateTime cutoff, Instant now, Duration lease, int limit);
 }
@@ -1,6 +1,9 @@
 package com.tinder.profiles.application.photos.port.out;
 
+import com.tinder.profiles.application.photos.model.StoredObjectPage;
+
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Outbound port for the object store holding photo bytes. Keys are built by the
@@ -10,11 +13,30 @@ public interface PhotoStoragePort {
 
     void put(String key, byte[] data, String contentType);
 
+    /** Non-blocking put; the future fails with {@code PhotoStorageException}. */
+    CompletableFuture<Void> putAsync(String key, byte[] data, String contentType);
+
+    byte[] get(String key);
+
     /** Best-effort delete: a missing object is not an error. */
     void delete(String key);
 
     List<String> listKeys(String prefix);
 
+    /**
+     * Up to {@code limit} objects under {@code prefix} in key order, starting after
+     * {@code startAfter} ({@code null} for the first page).
+     */
+    StoredObjectPage listObjects(String prefix, String startAfter, int limit);
+
+    /**
+     * Deletes {@code keys} with multi-object requests of at most 1000 keys each. A
+     * missing object is not an error.
+     *
+     * @return the keys the store refused to delete
+     */
+    List<String> deleteAll(List<String> keys);
+
     /** Publicly reachable URL (CDN or bucket URL) for an object. */
     String publicUrl(String key);
 
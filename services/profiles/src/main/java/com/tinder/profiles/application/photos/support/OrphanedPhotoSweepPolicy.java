@@ -0,0 +1,48 @@
+package com.tinder.profiles.application.photos.support;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * How the orphaned-photo sweep walks the bucket: {@code pageSize} keys per
+ * listing, orphans deleted {@code deleteBatchSize} keys per multi-object request
+ * (S3 accepts at most 1000), at most {@code maxRequestsPerSecond} store requests
+ * and {@code maxPagesPerRun} pages per run. Objects written within
+ * {@code gracePeriod} are left alone, since an upload stores its original before
+ * its catalogue entry commits. One replica sweeps at a time: it holds the sweep
+ * for {@code lease}, renewed with every page, so a lease left by a stopped node
+ * runs out within that time.
+ *
+ * <p>Bound from configuration in {@code config.application.ProfileApplicationConfig}.
+ */
+public record OrphanedPhotoSweepPolicy(
+        int pageSize,
+        int deleteBatchSize,
+        double maxRequestsPerSecond,
+        int maxPagesPerRun,
+        Duration gracePeriod,
+        Duration lease
+) {
+
+    public OrphanedPhotoSweepPolicy {
+        if (pageSize < 1 || pageSize > 1000) {
+            throw new IllegalArgumentException("Orphan sweep page size must be between 1 and 1000");
+        }
+        if (deleteBatchSize < 1 || deleteBatchSize > 1000) {
+            throw new IllegalArgumentException("Orphan sweep delete batch size must be between 1 and 1000");
+        }
+        if (maxPagesPerRun < 1) {
+            throw new IllegalArgumentException("Orphan sweep pages per run must be positive");
+        }
+    }
+
+    /** Objects last written before this instant may be deleted. */
+    public Instant orphanCutoff(Instant now) {
+        return now.minus(gracePeriod);
+    }
+
+    /** The spacing between two store requests; zero when the rate is unlimited. */
+    public Duration requestInterval() {
+        return maxRequestsPerSecond <= 0 ? Duration.ZERO : Duration.ofNanos((long) (1e9 / maxRequestsPerSecond));
+    }
+}
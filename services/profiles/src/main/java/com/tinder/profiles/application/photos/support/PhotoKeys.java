@@ -20,6 +20,9 @@ public final class PhotoKeys {
     /** Variant names, largest first; {@code original} is the catalogued one. */
     public static final List<String> VARIANTS = List.of("original", "large", "medium", "small");
 
+    /** Prefix of every photo object, across all profiles. */
+    public static final String ROOT_PREFIX = "photos/";
+
     private static final String EXTENSION = ".jpg";
 
     private PhotoKeys() {
@@ -66,6 +69,19 @@ public final class PhotoKeys {
         return parts[2];
     }
 
+    /** The owning profile of a stored key ({@code photos/{profileId}/...}). */
+    public static UUID profileIdOf(String key) {
+        String[] parts = key == null ? new String[0] : key.split("/");
+        if (parts.length < 4 || !parts[0].equals("photos")) {
+            throw new PhotoValidationException("Invalid S3 key format: " + key);
+        }
+        try {
+            return UUID.fromString(parts[1]);
+        } catch (IllegalArgumentException e) {
+            throw new PhotoValidationException("Invalid profile id in S3 key: " + key);
+        }
+    }
+
     private static String pathOf(String url) {
         try {
             String path = new URL(url).getPath();
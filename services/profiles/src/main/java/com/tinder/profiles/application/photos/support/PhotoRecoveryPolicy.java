@@ -0,0 +1,31 @@
+package com.tinder.profiles.application.photos.support;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * When a pending photo counts as abandoned: its variant pipeline should have
+ * finished within {@code staleAfter}, so an older pending photo was left behind by
+ * a node that stopped and is rendered again. A claimed photo is hidden from other
+ * replicas for {@code lease}; one still pending after {@code maxAttempts} claims is
+ * marked failed instead of being re-rendered forever. Bound from configuration in
+ * {@code config.application.ProfileApplicationConfig}.
+ */
+public record PhotoRecoveryPolicy(Duration staleAfter, Duration lease, int maxAttempts) {
+
+    public PhotoRecoveryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Photo recovery attempts must be positive");
+        }
+    }
+
+    /** Pending photos created before this instant are abandoned. */
+    public LocalDateTime staleCutoff(LocalDateTime now) {
+        return now.minus(staleAfter);
+    }
+
+    /** Whether the {@code attempt}-th claim (1-based) is past the limit. */
+    public boolean exhausted(int attempt) {
+        return attempt > maxAttempts;
+    }
+}
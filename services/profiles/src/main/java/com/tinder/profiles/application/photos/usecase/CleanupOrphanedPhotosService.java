@@ -9,17 +9,20 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * Deletes stored objects a profile no longer has a catalogue entry for — the
- * residue of interrupted uploads.
+ * residue of interrupted uploads — on the profile owner's request. The bucket as
+ * a whole is swept in the background by {@link SweepOrphanedPhotosService}.
  *
- * <p>Failures are logged and swallowed on purpose: cleanup runs alongside the
- * upload path and must never fail the caller's request.
+ * <p>Failures are logged and swallowed on purpose: cleanup must never fail the
+ * caller's request.
  */
 @Service
 @RequiredArgsConstructor
@@ -41,18 +44,23 @@ public class CleanupOrphanedPhotosService {
                     .map(PhotoKeys::storageIdOf)
                     .collect(Collectors.toSet());
 
-            Set<String> deleted = new HashSet<>();
+            Set<String> orphaned = new HashSet<>();
+            List<String> orphanedKeys = new ArrayList<>();
             for (String key : storage.listKeys(PhotoKeys.profilePrefix(profileId))) {
                 String storageId = PhotoKeys.storageIdOf(key);
-                if (catalogued.contains(storageId) || !deleted.add(storageId)) {
-                    continue;
+                if (!catalogued.contains(storageId)) {
+                    orphaned.add(storageId);
+                    orphanedKeys.add(key);
                 }
-                log.info("Deleting orphaned photo {} of profile {}", storageId, profileId);
-                PhotoKeys.allVariantKeys(profileId, storageId).forEach(storage::delete);
+            }
+            if (orphanedKeys.isEmpty()) {
+                log.debug("No orphaned photos for profile {}", profileId);
+                return;
             }
 
-            log.info("Cleanup completed for profile {}: deleted {} orphaned photo(s)",
-                    profileId, deleted.size());
+            List<String> failed = storage.deleteAll(orphanedKeys);
+            log.info("Cleanup completed for profile {}: deleted {} orphaned photo(s), {} of {} object(s) failed",
+                    profileId, orphaned.size(), failed.size(), orphanedKeys.size());
         } catch (Exception e) {
             log.error("Failed to clean up orphaned photos for profile {}", profileId, e);
         }
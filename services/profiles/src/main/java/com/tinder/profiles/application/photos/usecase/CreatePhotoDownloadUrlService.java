@@ -1,5 +1,7 @@
 package com.tinder.profiles.application.photos.usecase;
 
+import com.tinder.profiles.application.photos.model.PhotoStatus;
+import com.tinder.profiles.application.photos.port.out.PhotoCatalogPort;
 import com.tinder.profiles.application.photos.port.out.PhotoStoragePort;
 import com.tinder.profiles.application.photos.support.PhotoKeys;
 import com.tinder.profiles.application.photos.support.ProfilePhotoOwner;
@@ -8,16 +10,27 @@ import org.springframework.stereotype.Service;
 
 import java.util.UUID;
 
-/** Issues a time-limited download URL for one variant of a caller's photo. */
+/**
+ * Issues a time-limited download URL for one variant of a caller's photo. While
+ * the variants are still being rendered the original is served instead.
+ */
 @Service
 @RequiredArgsConstructor
 public class CreatePhotoDownloadUrlService {
 
     private final ProfilePhotoOwner owner;
+    private final PhotoCatalogPort catalog;
     private final PhotoStoragePort storage;
 
     public String handle(String userId, String storageId, String variant) {
         UUID profileId = owner.profileIdOf(userId);
-        return storage.presignedDownloadUrl(PhotoKeys.variantKey(profileId, storageId, variant));
+        PhotoKeys.requireKnownVariant(variant);
+        boolean variantsStored = catalog.findForProfile(profileId).stream()
+                .filter(photo -> PhotoKeys.storageIdOf(photo.s3Key()).equals(storageId))
+                .findFirst()
+                .map(photo -> photo.status() == PhotoStatus.READY)
+                .orElse(true);
+        return storage.presignedDownloadUrl(
+                PhotoKeys.variantKey(profileId, storageId, variantsStored ? variant : "original"));
     }
 }
@@ -0,0 +1,154 @@
+package com.tinder.profiles.application.photos.usecase;
+
+import com.tinder.profiles.application.photos.exception.PhotoStorageException;
+import com.tinder.profiles.application.photos.model.ClaimedPhoto;
+import com.tinder.profiles.application.photos.model.PhotoStatus;
+import com.tinder.profiles.application.photos.model.PhotoVariants;
+import com.tinder.profiles.application.photos.model.StoredPhoto;
+import com.tinder.profiles.application.photos.port.out.ImageVariantsPort;
+import com.tinder.profiles.application.photos.port.out.PhotoCatalogPort;
+import com.tinder.profiles.application.photos.port.out.PhotoStoragePort;
+import com.tinder.profiles.application.photos.support.PhotoKeys;
+import com.tinder.profiles.application.photos.support.PhotoRecoveryPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * The variant pipeline behind {@link UploadPhotoService}: renders the four JPEG
+ * variants of a catalogued {@link PhotoStatus#PENDING} photo off the request
+ * thread, stores them concurrently and marks the photo ready.
+ *
+ * <p>Rendering runs on the bounded {@code photoVariantsExecutor}; when it is
+ * saturated the submitting thread renders itself, which throttles uploads instead
+ * of queueing unbounded image bytes. A photo deleted or replaced while rendering
+ * has its freshly written variants removed again.
+ */
+@Service
+@Slf4j
+public class RenderPhotoVariantsService {
+
+    private static final String JPEG = "image/jpeg";
+    private static final int RESUME_BATCH = 50;
+
+    private final PhotoCatalogPort catalog;
+    private final PhotoStoragePort storage;
+    private final ImageVariantsPort images;
+    private final PhotoRecoveryPolicy recovery;
+    private final Executor executor;
+
+    public RenderPhotoVariantsService(
+            PhotoCatalogPort catalog,
+            PhotoStoragePort storage,
+            ImageVariantsPort images,
+            PhotoRecoveryPolicy recovery,
+            @Qualifier("photoVariantsExecutor") Executor executor
+    ) {
+        this.catalog = catalog;
+        this.storage = storage;
+        this.images = images;
+        this.recovery = recovery;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts the pipeline once the caller's transaction commits, so the worker
+     * never races the catalogue insert; without a transaction it starts at once.
+     */
+    public void submitAfterCommit(StoredPhoto photo, byte[] source) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(photo, source);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(photo, source);
+            }
+        });
+    }
+
+    /**
+     * Re-runs the pipeline for photos the {@link PhotoRecoveryPolicy} considers
+     * abandoned — left behind by a node that stopped mid-render. The stored
+     * original is the source. Each photo is claimed under a lease, so replicas
+     * resume disjoint photos; one that has used up its attempts is marked failed.
+     *
+     * @return the number of photos resubmitted
+     */
+    public int resumeStale() {
+        List<ClaimedPhoto> stale = catalog.claimPendingCreatedBefore(
+                recovery.staleCutoff(LocalDateTime.now()), Instant.now(), recovery.lease(), RESUME_BATCH);
+        int resumed = 0;
+        for (ClaimedPhoto claim : stale) {
+            StoredPhoto photo = claim.photo();
+            if (recovery.exhausted(claim.attempt())) {
+                log.warn("Photo {} is still pending after {} recovery attempts; marking it failed",
+                        photo.photoId(), claim.attempt() - 1);
+                catalog.markFailed(photo.photoId());
+                continue;
+            }
+            byte[] source;
+            try {
+                source = storage.get(photo.s3Key());
+            } catch (PhotoStorageException e) {
+                log.warn("Original of pending photo {} is unreadable; marking it failed", photo.photoId(), e);
+                catalog.markFailed(photo.photoId());
+                continue;
+            }
+            submit(photo, source);
+            resumed++;
+        }
+        return resumed;
+    }
+
+    private void submit(StoredPhoto photo, byte[] source) {
+        executor.execute(() -> render(photo, source));
+    }
+
+    private void render(StoredPhoto photo, byte[] source) {
+        UUID profileId = photo.profileId();
+        String storageId = PhotoKeys.storageIdOf(photo.s3Key());
+        long start = System.nanoTime();
+
+        PhotoVariants variants;
+        try {
+            variants = images.render(source);
+        } catch (IllegalArgumentException e) {
+            log.warn("Photo {} of profile {} cannot be rendered; keeping the original only",
+                    photo.photoId(), profileId, e);
+            catalog.markFailed(photo.photoId());
+            return;
+        }
+
+        CompletableFuture<?>[] puts = PhotoKeys.VARIANTS.stream()
+                .map(variant -> storage.putAsync(
+                        PhotoKeys.variantKey(profileId, storageId, variant), variants.of(variant), JPEG))
+                .toArray(CompletableFuture[]::new);
+
+        // Back on the pipeline executor: the SDK's completion threads must not run JDBC.
+        CompletableFuture.allOf(puts).whenCompleteAsync((ignored, failure) -> {
+            if (failure != null) {
+                log.warn("Storing variants of photo {} failed; left pending for recovery",
+                        photo.photoId(), failure);
+                return;
+            }
+            if (!catalog.markReady(photo.photoId(), JPEG, variants.original().length)) {
+                log.info("Photo {} was removed while rendering; deleting its variants", photo.photoId());
+                PhotoKeys.allVariantKeys(profileId, storageId).forEach(storage::delete);
+                return;
+            }
+            log.info("Stored {} variants of photo {} for profile {} in {} ms",
+                    PhotoKeys.VARIANTS.size(), storageId, profileId, (System.nanoTime() - start) / 1_000_000);
+        }, executor);
+    }
+}
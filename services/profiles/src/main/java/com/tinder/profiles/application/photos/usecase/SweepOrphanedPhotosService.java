@@ -0,0 +1,195 @@
+package com.tinder.profiles.application.photos.usecase;
+
+import com.tinder.profiles.application.photos.exception.PhotoValidationException;
+import com.tinder.profiles.application.photos.model.OrphanedPhotoSweepLease;
+import com.tinder.profiles.application.photos.model.OrphanedPhotoSweepReport;
+import com.tinder.profiles.application.photos.model.StoredObject;
+import com.tinder.profiles.application.photos.model.StoredObjectPage;
+import com.tinder.profiles.application.photos.model.StoredPhoto;
+import com.tinder.profiles.application.photos.port.out.OrphanedPhotoSweepCursorPort;
+import com.tinder.profiles.application.photos.port.out.PhotoCatalogPort;
+import com.tinder.profiles.application.photos.port.out.PhotoStoragePort;
+import com.tinder.profiles.application.photos.support.OrphanedPhotoSweepPolicy;
+import com.tinder.profiles.application.photos.support.PhotoKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Background sweep for stored objects no catalogue entry refers to: residue of
+ * interrupted uploads and replaced slots, and the photos of purged profiles whose
+ * deletes failed.
+ *
+ * <p>The bucket is walked in key order a page at a time, across all profiles; each
+ * page is checked against the catalogue with one query and its orphans are
+ * deleted with multi-object requests. Store requests are spaced to
+ * {@link OrphanedPhotoSweepPolicy#maxRequestsPerSecond()}, and a run stops after
+ * {@code maxPagesPerRun} pages, so the next run resumes where this one stopped.
+ *
+ * <p>The position is shared through {@link OrphanedPhotoSweepCursorPort}: a run
+ * first leases the sweep, so one replica sweeps at a time and the request rate
+ * holds for the whole deployment. The position is saved and the lease renewed
+ * after every page; a restarted node, or any other replica, carries on from there.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SweepOrphanedPhotosService {
+
+    private final PhotoCatalogPort catalog;
+    private final PhotoStoragePort storage;
+    private final OrphanedPhotoSweepCursorPort cursor;
+    private final OrphanedPhotoSweepPolicy policy;
+
+    /** @return empty when another replica holds the sweep */
+    public Optional<OrphanedPhotoSweepReport> sweep() {
+        Instant now = Instant.now();
+        Optional<OrphanedPhotoSweepLease> claimed = cursor.claim(now, now.plus(policy.lease()));
+        if (claimed.isEmpty()) {
+            return Optional.empty();
+        }
+        OrphanedPhotoSweepLease lease = claimed.get();
+        try {
+            return Optional.of(sweep(lease.leaseId(), lease.resumeAfter(), policy.orphanCutoff(now)));
+        } finally {
+            cursor.release(lease.leaseId());
+        }
+    }
+
+    private OrphanedPhotoSweepReport sweep(UUID leaseId, String resumeAfter, Instant cutoff) {
+        Sweep sweep = new Sweep(cutoff);
+        boolean wrapped = false;
+        for (int page = 0; page < policy.maxPagesPerRun(); page++) {
+            sweep.throttle();
+            StoredObjectPage listed = storage.listObjects(PhotoKeys.ROOT_PREFIX, resumeAfter, policy.pageSize());
+            sweep.scanned += listed.objects().size();
+            for (StoredObject orphan : orphansOf(listed.objects(), sweep.cutoff)) {
+                sweep.add(orphan);
+            }
+            resumeAfter = listed.nextStartAfter();
+            if (!cursor.advance(leaseId, resumeAfter, Instant.now().plus(policy.lease()))) {
+                log.warn("Orphaned-photo sweep lost its lease after {} page(s); another replica carries on",
+                        page + 1);
+                break;
+            }
+            if (listed.isLast()) {
+                wrapped = true;
+                break;
+            }
+        }
+        sweep.flush();
+
+        return new OrphanedPhotoSweepReport(sweep.scanned, sweep.orphaned, sweep.deleted, sweep.reclaimedBytes,
+                sweep.failed, sweep.deleteRequests, wrapped, Duration.ofNanos(System.nanoTime() - sweep.startNanos));
+    }
+
+    /** Objects older than {@code cutoff} whose photo is not in its profile's catalogue; foreign keys are left alone. */
+    private List<StoredObject> orphansOf(List<StoredObject> objects, Instant cutoff) {
+        Map<UUID, List<StoredObject>> byProfile = new HashMap<>();
+        for (StoredObject object : objects) {
+            if (!object.lastModified().isBefore(cutoff)) {
+                continue;
+            }
+            try {
+                byProfile.computeIfAbsent(PhotoKeys.profileIdOf(object.key()), id -> new ArrayList<>()).add(object);
+            } catch (PhotoValidationException e) {
+                log.debug("Skipping foreign object {} in the photo bucket", object.key());
+            }
+        }
+        if (byProfile.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> catalogued = new HashSet<>();
+        for (StoredPhoto photo : catalog.findForProfiles(byProfile.keySet())) {
+            catalogued.add(PhotoKeys.baseKey(photo.profileId(), PhotoKeys.storageIdOf(photo.s3Key())));
+        }
+
+        List<StoredObject> orphans = new ArrayList<>();
+        byProfile.forEach((profileId, stored) -> {
+            for (StoredObject object : stored) {
+                if (!catalogued.contains(PhotoKeys.baseKey(profileId, PhotoKeys.storageIdOf(object.key())))) {
+                    orphans.add(object);
+                }
+            }
+        });
+        return orphans;
+    }
+
+    private void pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while pacing the orphaned-photo sweep", e);
+        }
+    }
+
+    /** One run's pending deletes, request pacing and tallies. */
+    private final class Sweep {
+        private final Instant cutoff;
+        private final long startNanos = System.nanoTime();
+        private final List<StoredObject> pending = new ArrayList<>();
+        private long nextRequestAt = startNanos;
+        private int scanned;
+        private int orphaned;
+        private int deleted;
+        private long reclaimedBytes;
+        private int failed;
+        private int deleteRequests;
+
+        private Sweep(Instant cutoff) {
+            this.cutoff = cutoff;
+        }
+
+        private void add(StoredObject orphan) {
+            orphaned++;
+            pending.add(orphan);
+            if (pending.size() >= policy.deleteBatchSize()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            throttle();
+            List<String> keys = pending.stream().map(StoredObject::key).toList();
+            Set<String> refused = new HashSet<>(storage.deleteAll(keys));
+            deleteRequests++;
+            for (StoredObject object : pending) {
+                if (refused.contains(object.key())) {
+                    failed++;
+                } else {
+                    deleted++;
+                    reclaimedBytes += object.size();
+                }
+            }
+            pending.clear();
+        }
+
+        private void throttle() {
+            Duration interval = policy.requestInterval();
+            if (interval.isZero()) {
+                return;
+            }
+            long wait = nextRequestAt - System.nanoTime();
+            if (wait > 0) {
+                pause(Duration.ofNanos(wait));
+            }
+            nextRequestAt = Math.max(System.nanoTime(), nextRequestAt) + interval.toNanos();
+        }
+    }
+}
@@ -4,7 +4,7 @@ import com.tinder.profiles.application.photos.command.UploadPhotoCommand;
 import com.tinder.profiles.application.photos.exception.PhotoValidationException;
 import com.tinder.profiles.application.photos.model.ImageDimensions;
 import com.tinder.profiles.application.photos.model.PhotoDraft;
-import com.tinder.profiles.application.photos.model.PhotoVariants;
+import com.tinder.profiles.application.photos.model.PhotoStatus;
 import com.tinder.profiles.application.photos.model.StoredPhoto;
 import com.tinder.profiles.application.photos.model.UploadedPhoto;
 import com.tinder.profiles.application.photos.port.out.ImageVariantsPort;
@@ -24,8 +24,12 @@ import java.util.UUID;
 
 /**
  * Puts an image into one of a profile's photo slots: validates it against the
- * {@link PhotoPolicy}, renders the variants, stores them and catalogues the
- * original. Uploading onto an occupied slot replaces what was there.
+ * {@link PhotoPolicy}, stores and catalogues the original, and hands the variants
+ * to {@link RenderPhotoVariantsService}. Uploading onto an occupied slot replaces
+ * what was there.
+ *
+ * <p>Only the image header is read here; decoding and encoding run after commit,
+ * so the request holds its connection and thread for one object write.
  */
 @Service
 @RequiredArgsConstructor
@@ -36,9 +40,9 @@ public class UploadPhotoService {
     private final PhotoCatalogPort catalog;
     private final PhotoStoragePort storage;
     private final ImageVariantsPort images;
-    private final CleanupOrphanedPhotosService cleanupOrphaned;
     private final PhotoPolicy policy;
     private final DomainEventPublisherPort events;
+    private final RenderPhotoVariantsService renderVariants;
 
     @Transactional
     public UploadedPhoto handle(UploadPhotoCommand cmd) {
@@ -59,39 +63,37 @@ public class UploadPhotoService {
             replaceSlot(profileId, existing.get(cmd.position()));
         }
 
-        cleanupOrphaned.forProfile(profileId);
-
         ImageDimensions dimensions = images.probe(cmd.image())
                 .orElseThrow(() -> new PhotoValidationException("Corrupted image"));
         policy.requireWithinDimensionLimits(dimensions);
 
-        PhotoVariants variants = images.render(cmd.image());
+        // The upload itself is the original until the pipeline overwrites it with the normalised JPEG,
+        // so the photo is viewable as soon as this request commits.
         String storageId = UUID.randomUUID().toString();
-        PhotoKeys.VARIANTS.forEach(variant -> storage.put(
-                PhotoKeys.variantKey(profileId, storageId, variant),
-                variants.of(variant),
-                "image/jpeg"));
-        log.info("Stored {} variants of photo {} for profile {}",
-                PhotoKeys.VARIANTS.size(), storageId, profileId);
-
         String originalKey = PhotoKeys.variantKey(profileId, storageId, "original");
-        catalog.save(new PhotoDraft(
+        storage.put(originalKey, cmd.image(), cmd.contentType());
+
+        StoredPhoto photo = catalog.save(new PhotoDraft(
                 profileId,
                 originalKey,
                 cmd.position() == 0,
                 cmd.position(),
                 storage.publicUrl(originalKey),
-                "image/jpeg",
-                variants.original().length));
+                cmd.contentType(),
+                cmd.image().length,
+                PhotoStatus.PENDING));
 
         events.publishCardChanged(profileId);
+        renderVariants.submitAfterCommit(photo, cmd.image());
+        log.info("Stored original of photo {} for profile {}; variants pending", storageId, profileId);
 
         return new UploadedPhoto(
                 storageId,
                 storage.publicUrl(originalKey),
                 storage.publicUrl(PhotoKeys.variantKey(profileId, storageId, "large")),
                 storage.publicUrl(PhotoKeys.variantKey(profileId, storageId, "medium")),
-                storage.publicUrl(PhotoKeys.variantKey(profileId, storageId, "small")));
+                storage.publicUrl(PhotoKeys.variantKey(profileId, storageId, "small")),
+                PhotoStatus.PENDING);
     }
 
     private void replaceSlot(UUID profileId, StoredPhoto occupant) {
@@ -0,0 +1,10 @@
+package com.tinder.profiles.application.profile.model;
+
+/**
+ * Write pressure on the primary as seen by a bulk job: the WAL insert position in
+ * bytes, whose growth between two samples is the WAL rate, and how many WAL bytes
+ * the furthest-behind standby has yet to replay. Zero when there is no standby
+ * or the lag cannot be observed.
+ */
+public record DatabaseLoad(long walPosition, long replicationLagBytes) {
+}
@@ -0,0 +1,18 @@
+package com.tinder.profiles.application.profile.model;
+
+import java.util.UUID;
+
+/**
+ * One keyset slice of a partitioned backfill run: profile ids in
+ * ({@code lowerBound}, {@code upperBound}], where {@code null} is the open end
+ * of the id space. {@code lastProfileId} is the range's durable cursor.
+ */
+public record DeckCardProjectionBackfillRange(
+        int rangeIndex,
+        UUID lowerBound,
+        UUID upperBound,
+        UUID lastProfileId,
+        long processedCount,
+        boolean completed
+) {
+}
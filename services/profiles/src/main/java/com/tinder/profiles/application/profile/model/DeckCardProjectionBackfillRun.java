@@ -1,9 +1,14 @@
 package com.tinder.profiles.application.profile.model;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
-/** Operational state of one explicitly triggered projection rebuild. */
+/**
+ * Operational state of one explicitly triggered projection rebuild. A
+ * partitioned run carries one checkpoint per keyset range; a sequential run
+ * has none and advances {@code lastProfileId} alone.
+ */
 public record DeckCardProjectionBackfillRun(
         UUID runId,
         DeckCardProjectionBackfillStatus status,
@@ -13,6 +18,11 @@ public record DeckCardProjectionBackfillRun(
         Instant startedAt,
         Instant updatedAt,
         Instant completedAt,
-        String lastError
+        String lastError,
+        List<DeckCardProjectionBackfillRange> ranges
 ) {
+
+    public boolean partitioned() {
+        return !ranges.isEmpty();
+    }
 }
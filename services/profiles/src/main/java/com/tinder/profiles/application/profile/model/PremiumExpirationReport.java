@@ -0,0 +1,27 @@
+package com.tinder.profiles.application.profile.model;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one expiration run: memberships expired in the database, and
+ * revocations that reached the identity provider, were put back on the retry
+ * queue, or were dead-lettered after the last attempt.
+ */
+public record PremiumExpirationReport(
+        int expired,
+        int revoked,
+        int retried,
+        int deadLettered,
+        Duration elapsed
+) {
+
+    public static final PremiumExpirationReport EMPTY = new PremiumExpirationReport(0, 0, 0, 0, Duration.ZERO);
+
+    public boolean isEmpty() {
+        return expired == 0 && revoked + retried + deadLettered == 0;
+    }
+
+    public double revocationsPerSecond() {
+        return elapsed.isZero() ? 0 : revoked / (elapsed.toNanos() / 1e9);
+    }
+}
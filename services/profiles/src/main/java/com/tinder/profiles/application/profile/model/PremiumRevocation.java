@@ -0,0 +1,10 @@
+package com.tinder.profiles.application.profile.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A queued identity-provider revocation for a membership whose premium flag has
+ * already been cleared. {@code attempts} counts the earlier claims that failed.
+ */
+public record PremiumRevocation(String userId, LocalDateTime expiredAt, int attempts) {
+}
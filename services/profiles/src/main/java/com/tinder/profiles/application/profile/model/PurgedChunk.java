@@ -0,0 +1,26 @@
+package com.tinder.profiles.application.profile.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One committed purge chunk: the profiles hard-deleted, in id order, and the
+ * user ids they belonged to for cache eviction.
+ */
+public record PurgedChunk(List<UUID> profileIds, List<String> userIds) {
+
+    public static final PurgedChunk EMPTY = new PurgedChunk(List.of(), List.of());
+
+    public int size() {
+        return profileIds.size();
+    }
+
+    public boolean isEmpty() {
+        return profileIds.isEmpty();
+    }
+
+    /** The keyset cursor the next chunk continues after. */
+    public UUID lastProfileId() {
+        return profileIds.isEmpty() ? null : profileIds.get(profileIds.size() - 1);
+    }
+}
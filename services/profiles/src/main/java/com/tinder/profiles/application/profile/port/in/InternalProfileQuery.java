@@ -2,6 +2,7 @@ package com.tinder.profiles.application.profile.port.in;
 
 import com.tinder.profiles.application.profile.query.InternalProfileView;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,7 +13,12 @@ public interface InternalProfileQuery {
 
     List<InternalProfileView> getMany(List<UUID> ids);
 
-    List<InternalProfileView> getActiveUsers();
+    /**
+     * One page of the active-users export: non-deleted profiles modified at or
+     * after {@code activeSince}, ordered by id and starting after
+     * {@code afterId} ({@code null} for the first page).
+     */
+    List<InternalProfileView> getActiveUsersPage(UUID afterId, LocalDateTime activeSince, int limit);
 
     record SearchCriteria(Integer minAge, Integer maxAge, String gender, Integer maxRange) {
     }
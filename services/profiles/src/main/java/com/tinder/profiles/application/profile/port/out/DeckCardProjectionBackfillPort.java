@@ -1,7 +1,9 @@
 package com.tinder.profiles.application.profile.port.out;
 
+import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillRange;
 import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillRun;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,6 +13,22 @@ public interface DeckCardProjectionBackfillPort {
 
     DeckCardProjectionBackfillRun enqueueNextPage(UUID runId, int pageSize);
 
+    /**
+     * Splits a running run into {@code partitions} keyset ranges, continuing from
+     * its sequential cursor if it has one. A run that already has ranges keeps
+     * them, so resuming never re-plans.
+     */
+    List<DeckCardProjectionBackfillRange> planRanges(UUID runId, int partitions);
+
+    /** Enqueues the next page of one range and advances that range's cursor in the same transaction. */
+    DeckCardProjectionBackfillRange enqueueNextRangePage(UUID runId, int rangeIndex, int pageSize);
+
+    /** Marks a partitioned run ENQUEUED once every range is complete. */
+    DeckCardProjectionBackfillRun finishRanges(UUID runId);
+
+    /** Projection events of this run still waiting in the outbox for the Kafka producer. */
+    long pendingOutboxEvents(UUID runId);
+
     Optional<DeckCardProjectionBackfillRun> refreshStatus(UUID runId);
 
     DeckCardProjectionBackfillRun markFailed(UUID runId, String sanitizedError);
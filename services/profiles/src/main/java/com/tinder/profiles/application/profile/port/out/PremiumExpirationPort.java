@@ -0,0 +1,35 @@
+package com.tinder.profiles.application.profile.port.out;
+
+import com.tinder.profiles.application.profile.model.PremiumRevocation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/** Set-based premium expiration and its durable queue of identity-provider revocations. */
+public interface PremiumExpirationPort {
+
+    /**
+     * Claims up to {@code chunkSize} memberships lapsed before {@code asOf}, skipping
+     * rows another replica holds, clears their premium flag and queues their
+     * revocation, all in one transaction.
+     *
+     * @return the number of memberships expired
+     */
+    int expireNextChunk(LocalDateTime asOf, int chunkSize);
+
+    /**
+     * Claims up to {@code limit} revocations due at {@code now} and leases them for
+     * {@code lease}, so another replica does not pick them up while they are in
+     * flight. Revocations of users who have since renewed are dropped instead.
+     */
+    List<PremiumRevocation> claimDueRevocations(Instant now, int limit, Duration lease);
+
+    void markRevoked(Collection<String> userIds);
+
+    void scheduleRetry(String userId, Instant nextAttemptAt, String error);
+
+    void markDeadLettered(String userId, Instant now, String error);
+}
@@ -0,0 +1,21 @@
+package com.tinder.profiles.application.profile.port.out;
+
+import com.tinder.profiles.application.profile.model.DatabaseLoad;
+import com.tinder.profiles.application.profile.model.PurgedChunk;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** Hard-deletes soft-deleted profiles in short keyset chunks. */
+public interface ProfilePurgePort {
+
+    /**
+     * In one transaction, deletes up to {@code chunkSize} profiles soft-deleted
+     * before {@code cutoff} with ids after {@code afterProfileId} ({@code null} for
+     * the start), together with their photo rows and hobbies. Rows another
+     * transaction holds are skipped and picked up by a later run.
+     */
+    PurgedChunk purgeNextChunk(LocalDateTime cutoff, UUID afterProfileId, int chunkSize);
+
+    DatabaseLoad observeLoad();
+}
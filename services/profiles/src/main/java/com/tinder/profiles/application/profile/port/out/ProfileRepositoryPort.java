@@ -28,9 +28,6 @@ public interface ProfileRepositoryPort {
     /** Premium profiles whose paid period ended before {@code asOf}. */
     List<Profile> findExpiredPremium(LocalDateTime asOf);
 
-    /** Ids of profiles soft-deleted before {@code cutoff}, eligible for purging. */
-    List<UUID> findSoftDeletedBefore(LocalDateTime cutoff);
-
     Profile save(Profile profile);
 
     void deleteAllById(Collection<UUID> ids);
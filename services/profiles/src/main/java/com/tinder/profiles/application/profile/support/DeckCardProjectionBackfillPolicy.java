@@ -0,0 +1,34 @@
+package com.tinder.profiles.application.profile.support;
+
+import java.time.Duration;
+
+/**
+ * How a partitioned Deck Card projection backfill runs: the number of keyset
+ * ranges the id space is split into, how many of them are paged concurrently,
+ * and the throttle. Backfill pages go to the outbox, so a run's unpublished
+ * outbox rows are the Kafka producer's backlog; while it is at
+ * {@code maxPendingOutboxEvents} workers pause for {@code backpressurePause}
+ * before the next page. Zero disables the throttle.
+ *
+ * <p>Bound from configuration in {@code config.application.ProfileApplicationConfig}.
+ */
+public record DeckCardProjectionBackfillPolicy(
+        int partitions,
+        int parallelism,
+        long maxPendingOutboxEvents,
+        Duration backpressurePause
+) {
+
+    public DeckCardProjectionBackfillPolicy {
+        if (partitions < 1 || partitions > 256) {
+            throw new IllegalArgumentException("Backfill partitions must be between 1 and 256");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Backfill parallelism must be positive");
+        }
+    }
+
+    public boolean throttled(long pendingOutboxEvents) {
+        return maxPendingOutboxEvents > 0 && pendingOutboxEvents >= maxPendingOutboxEvents;
+    }
+}
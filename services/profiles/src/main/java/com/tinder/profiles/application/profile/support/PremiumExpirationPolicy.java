@@ -0,0 +1,48 @@
+package com.tinder.profiles.application.profile.support;
+
+import java.time.Duration;
+
+/**
+ * How lapsed memberships are expired: {@code chunkSize} profiles per claiming
+ * statement, at most {@code maxChunksPerRun} chunks per scheduled run, and
+ * identity-provider revocations on {@code parallelism} concurrent workers.
+ *
+ * <p>A revocation is tried {@code attempts} times in a row, {@code attemptBackoff}
+ * apart and doubling. If it still fails it goes back on the persisted queue with
+ * an exponential delay from {@code retryBackoff} up to {@code maxRetryBackoff},
+ * and is dead-lettered once it has been claimed {@code maxRetries} times.
+ * Claimed revocations are hidden from other replicas for {@code lease}; the
+ * Keycloak call is idempotent, so a lease that runs out only costs a repeat.
+ *
+ * <p>Bound from configuration in {@code config.application.ProfileApplicationConfig}.
+ */
+public record PremiumExpirationPolicy(
+        int chunkSize,
+        int maxChunksPerRun,
+        int parallelism,
+        int attempts,
+        Duration attemptBackoff,
+        Duration retryBackoff,
+        Duration maxRetryBackoff,
+        int maxRetries,
+        Duration lease
+) {
+
+    public PremiumExpirationPolicy {
+        if (chunkSize < 1 || chunkSize > 5000) {
+            throw new IllegalArgumentException("Premium expiration chunk size must be between 1 and 5000");
+        }
+        if (maxChunksPerRun < 1 || parallelism < 1 || attempts < 1 || maxRetries < 1) {
+            throw new IllegalArgumentException("Premium expiration limits must be positive");
+        }
+    }
+
+    /** Queue delay after a revocation's {@code failedClaims}-th failed claim (1-based). */
+    public Duration retryDelay(int failedClaims) {
+        Duration delay = retryBackoff;
+        for (int i = 1; i < failedClaims && delay.compareTo(maxRetryBackoff) < 0; i++) {
+            delay = delay.multipliedBy(2);
+        }
+        return delay.compareTo(maxRetryBackoff) < 0 ? delay : maxRetryBackoff;
+    }
+}
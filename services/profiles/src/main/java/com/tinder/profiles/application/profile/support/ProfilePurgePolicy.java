@@ -0,0 +1,43 @@
+package com.tinder.profiles.application.profile.support;
+
+import java.time.Duration;
+
+/**
+ * How the purge of soft-deleted profiles paces itself: {@code chunkSize}
+ * profiles per transaction, at most {@code maxChunksPerRun} chunks per run. After
+ * each chunk it waits until the WAL it generated fits {@code maxWalBytesPerSecond}
+ * and the standbys are within {@code maxReplicationLagBytes}, polling every
+ * {@code throttlePause}. Zero disables either limit.
+ *
+ * <p>Bound from configuration in {@code config.application.ProfileApplicationConfig}.
+ */
+public record ProfilePurgePolicy(
+        int chunkSize,
+        int maxChunksPerRun,
+        long maxWalBytesPerSecond,
+        long maxReplicationLagBytes,
+        Duration throttlePause
+) {
+
+    public ProfilePurgePolicy {
+        if (chunkSize < 1 || chunkSize > 10_000) {
+            throw new IllegalArgumentException("Purge chunk size must be between 1 and 10000");
+        }
+        if (maxChunksPerRun < 1) {
+            throw new IllegalArgumentException("Purge chunks per run must be positive");
+        }
+    }
+
+    /** How much longer a chunk that wrote {@code walBytes} in {@code took} must wait to stay within the WAL rate. */
+    public Duration walPacing(long walBytes, Duration took) {
+        if (maxWalBytesPerSecond <= 0 || walBytes <= 0) {
+            return Duration.ZERO;
+        }
+        Duration budget = Duration.ofNanos((long) (walBytes * 1e9 / maxWalBytesPerSecond));
+        return budget.compareTo(took) > 0 ? budget.minus(took) : Duration.ZERO;
+    }
+
+    public boolean lagging(long replicationLagBytes) {
+        return maxReplicationLagBytes > 0 && replicationLagBytes > maxReplicationLagBytes;
+    }
+}
@@ -1,29 +1,58 @@
 package com.tinder.profiles.application.profile.usecase;
 
+import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillRange;
 import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillRun;
 import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillStatus;
 import com.tinder.profiles.application.profile.port.out.DeckCardProjectionBackfillPort;
-import lombok.RequiredArgsConstructor;
+import com.tinder.profiles.application.profile.support.DeckCardProjectionBackfillPolicy;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Explicit, restartable maintenance job. It is never started from application
  * startup. Every page is delegated to a separate transactional adapter call.
+ *
+ * <p>A partitioned run splits the id space into keyset ranges and pages them on
+ * the bounded {@code deckCardProjectionBackfillExecutor}, each range with its own
+ * durable cursor, so a crashed run resumes every range where it stopped. Workers
+ * hold back while the run's outbox backlog is at the {@link DeckCardProjectionBackfillPolicy}
+ * limit. A run keeps the mode it was started in, whichever entry point resumes it.
  */
 @Service
-@RequiredArgsConstructor
 public class DeckCardProjectionBackfillService {
 
     public static final int BACKFILL_PAGE_SIZE = 500;
 
     private final DeckCardProjectionBackfillPort backfill;
+    private final DeckCardProjectionBackfillPolicy policy;
+    private final Executor executor;
+
+    public DeckCardProjectionBackfillService(
+            DeckCardProjectionBackfillPort backfill,
+            DeckCardProjectionBackfillPolicy policy,
+            @Qualifier("deckCardProjectionBackfillExecutor") Executor executor
+    ) {
+        this.backfill = backfill;
+        this.policy = policy;
+        this.executor = executor;
+    }
 
     public DeckCardProjectionBackfillRun startOrResume(UUID runId) {
         DeckCardProjectionBackfillRun run = backfill.startOrResume(runId);
         try {
+            if (run.partitioned()) {
+                return drainRanges(run);
+            }
             while (run.status() == DeckCardProjectionBackfillStatus.RUNNING) {
                 run = backfill.enqueueNextPage(runId, BACKFILL_PAGE_SIZE);
             }
@@ -34,10 +63,71 @@ public class DeckCardProjectionBackfillService {
         }
     }
 
+    public DeckCardProjectionBackfillRun startOrResumePartitioned(UUID runId) {
+        DeckCardProjectionBackfillRun run = backfill.startOrResume(runId);
+        try {
+            return drainRanges(run);
+        } catch (RuntimeException failure) {
+            backfill.markFailed(runId, sanitize(failure));
+            throw failure;
+        }
+    }
+
     public Optional<DeckCardProjectionBackfillRun> status(UUID runId) {
         return backfill.refreshStatus(runId);
     }
 
+    private DeckCardProjectionBackfillRun drainRanges(DeckCardProjectionBackfillRun run) {
+        UUID runId = run.runId();
+        if (run.status() != DeckCardProjectionBackfillStatus.RUNNING) {
+            return backfill.refreshStatus(runId).orElse(run);
+        }
+        List<DeckCardProjectionBackfillRange> open = backfill.planRanges(runId, policy.partitions()).stream()
+                .filter(range -> !range.completed())
+                .toList();
+
+        Queue<DeckCardProjectionBackfillRange> queue = new ConcurrentLinkedQueue<>(open);
+        AtomicBoolean stopped = new AtomicBoolean();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(policy.parallelism(), open.size())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = CompletableFuture.runAsync(() -> drain(runId, queue, stopped), executor);
+        }
+        try {
+            CompletableFuture.allOf(workers).join();
+        } catch (CompletionException failure) {
+            throw failure.getCause() instanceof RuntimeException cause ? cause : failure;
+        }
+        return backfill.finishRanges(runId);
+    }
+
+    /** One worker: takes ranges off the queue and pages each to its end. */
+    private void drain(UUID runId, Queue<DeckCardProjectionBackfillRange> queue, AtomicBoolean stopped) {
+        try {
+            DeckCardProjectionBackfillRange range;
+            while (!stopped.get() && (range = queue.poll()) != null) {
+                while (!range.completed() && !stopped.get()) {
+                    awaitOutboxCapacity(runId, stopped);
+                    range = backfill.enqueueNextRangePage(runId, range.rangeIndex(), BACKFILL_PAGE_SIZE);
+                }
+            }
+        } catch (RuntimeException failure) {
+            // The other workers stop after their current page; the run is failed once.
+            stopped.set(true);
+            throw failure;
+        }
+    }
+
+    private void awaitOutboxCapacity(UUID runId, AtomicBoolean stopped) {
+        while (!stopped.get() && policy.throttled(backfill.pendingOutboxEvents(runId))) {
+            try {
+                Thread.sleep(policy.backpressurePause().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the outbox to drain", e);
+            }
+        }
+    }
+
     private String sanitize(RuntimeException failure) {
         String category = failure.getClass().getSimpleName();
         String message = failure.getMessage();
@@ -0,0 +1,170 @@
+package com.tinder.profiles.application.profile.usecase;
+
+import com.tinder.profiles.application.profile.model.PremiumExpirationReport;
+import com.tinder.profiles.application.profile.model.PremiumRevocation;
+import com.tinder.profiles.application.profile.port.out.PremiumExpirationPort;
+import com.tinder.profiles.application.profile.port.out.PremiumRolePort;
+import com.tinder.profiles.application.profile.support.PremiumExpirationPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Expires lapsed premium memberships in bulk. Profiles are claimed and cleared a
+ * chunk per statement, which also queues each user's identity-provider
+ * revocation in the same transaction; the queue is then drained on the bounded
+ * {@code premiumRevocationExecutor}. A revocation that keeps failing goes back on
+ * the queue with backoff instead of holding a worker, and the next run picks it
+ * up again.
+ *
+ * <p>Single memberships (gRPC cancellations) still go through
+ * {@link PremiumMembershipService#revoke}.
+ */
+@Service
+@Slf4j
+public class PremiumExpirationService {
+
+    private final PremiumExpirationPort expirations;
+    private final PremiumRolePort premiumRoles;
+    private final PremiumExpirationPolicy policy;
+    private final Executor executor;
+
+    public PremiumExpirationService(
+            PremiumExpirationPort expirations,
+            PremiumRolePort premiumRoles,
+            PremiumExpirationPolicy policy,
+            @Qualifier("premiumRevocationExecutor") Executor executor
+    ) {
+        this.expirations = expirations;
+        this.premiumRoles = premiumRoles;
+        this.policy = policy;
+        this.executor = executor;
+    }
+
+    public PremiumExpirationReport expireLapsed() {
+        long startNanos = System.nanoTime();
+        LocalDateTime asOf = LocalDateTime.now();
+
+        int expired = 0;
+        for (int chunk = 0; chunk < policy.maxChunksPerRun(); chunk++) {
+            int claimed = expirations.expireNextChunk(asOf, policy.chunkSize());
+            expired += claimed;
+            if (claimed < policy.chunkSize()) {
+                break;
+            }
+        }
+
+        Outcomes outcomes = new Outcomes();
+        for (int batch = 0; batch < policy.maxChunksPerRun(); batch++) {
+            List<PremiumRevocation> due = expirations.claimDueRevocations(
+                    Instant.now(), policy.chunkSize(), policy.lease());
+            if (!due.isEmpty()) {
+                revokeAll(due, outcomes);
+            }
+            if (due.size() < policy.chunkSize()) {
+                break;
+            }
+        }
+
+        return new PremiumExpirationReport(expired, outcomes.revoked.get(), outcomes.retried.get(),
+                outcomes.deadLettered.get(), Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    /** Revokes one claimed batch on up to {@code parallelism} workers; successes are cleared in one statement. */
+    private void revokeAll(List<PremiumRevocation> due, Outcomes outcomes) {
+        Queue<PremiumRevocation> queue = new ConcurrentLinkedQueue<>(due);
+        Queue<String> revoked = new ConcurrentLinkedQueue<>();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(policy.parallelism(), due.size())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = CompletableFuture.runAsync(() -> {
+                PremiumRevocation revocation;
+                while ((revocation = queue.poll()) != null) {
+                    if (revoke(revocation, outcomes)) {
+                        revoked.add(revocation.userId());
+                    }
+                }
+            }, executor);
+        }
+        try {
+            CompletableFuture.allOf(workers).join();
+        } catch (CompletionException failure) {
+            throw failure.getCause() instanceof RuntimeException cause ? cause : failure;
+        } finally {
+            if (!revoked.isEmpty()) {
+                expirations.markRevoked(List.copyOf(revoked));
+                outcomes.revoked.addAndGet(revoked.size());
+            }
+        }
+    }
+
+    private boolean revoke(PremiumRevocation revocation, Outcomes outcomes) {
+        Duration backoff = policy.attemptBackoff();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                premiumRoles.revokePremium(revocation.userId());
+                return true;
+            } catch (RuntimeException failure) {
+                if (attempt < policy.attempts()) {
+                    pause(backoff);
+                    backoff = backoff.multipliedBy(2);
+                    continue;
+                }
+                requeue(revocation, failure, outcomes);
+                return false;
+            }
+        }
+    }
+
+    private void requeue(PremiumRevocation revocation, RuntimeException failure, Outcomes outcomes) {
+        int failedClaims = revocation.attempts() + 1;
+        String error = describe(failure);
+        if (failedClaims >= policy.maxRetries()) {
+            expirations.markDeadLettered(revocation.userId(), Instant.now(), error);
+            outcomes.deadLettered.incrementAndGet();
+            log.error("Premium revocation for user '{}' dead-lettered after {} claims: {}",
+                    revocation.userId(), failedClaims, error);
+        } else {
+            Instant nextAttemptAt = Instant.now().plus(policy.retryDelay(failedClaims));
+            expirations.scheduleRetry(revocation.userId(), nextAttemptAt, error);
+            outcomes.retried.incrementAndGet();
+            log.warn("Premium revocation for user '{}' failed, retrying at {}: {}",
+                    revocation.userId(), nextAttemptAt, error);
+        }
+    }
+
+    private void pause(Duration backoff) {
+        try {
+            Thread.sleep(backoff.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off a premium revocation", e);
+        }
+    }
+
+    private String describe(RuntimeException failure) {
+        String category = failure.getClass().getSimpleName();
+        String message = failure.getMessage();
+        if (message == null || message.isBlank()) {
+            return category;
+        }
+        String described = category + ": " + message.replaceAll("[\\r\\n\\t]", " ");
+        return described.length() > 1000 ? described.substring(0, 1000) : described;
+    }
+
+    private static final class Outcomes {
+        private final AtomicInteger revoked = new AtomicInteger();
+        private final AtomicInteger retried = new AtomicInteger();
+        private final AtomicInteger deadLettered = new AtomicInteger();
+    }
+}
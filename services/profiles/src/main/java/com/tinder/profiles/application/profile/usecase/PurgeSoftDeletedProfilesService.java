@@ -1,43 +1,142 @@
 package com.tinder.profiles.application.profile.usecase;
 
-import com.tinder.profiles.application.profile.command.DeleteProfilesCommand;
-import com.tinder.profiles.application.profile.port.out.ProfileRepositoryPort;
+import com.tinder.profiles.application.photos.port.out.PhotoStoragePort;
+import com.tinder.profiles.application.photos.support.PhotoKeys;
+import com.tinder.profiles.application.profile.model.DatabaseLoad;
+import com.tinder.profiles.application.profile.model.PurgedChunk;
+import com.tinder.profiles.application.profile.port.out.ProfileCachePort;
+import com.tinder.profiles.application.profile.port.out.ProfilePurgePort;
+import com.tinder.profiles.application.profile.support.ProfilePurgePolicy;
 import com.tinder.profiles.application.profile.support.ProfileRetentionPolicy;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Permanently removes profiles whose soft-delete retention window has passed.
  * Owns the retention rule; the scheduled trigger only decides <em>when</em> to ask.
+ *
+ * <p>The backlog is deleted in keyset chunks, each its own short transaction, so
+ * locks on profiles, photos and hobbies last one chunk and a failed run keeps
+ * what it already purged. Between chunks the run waits for the WAL rate and the
+ * standbys' replay lag to fall within {@link ProfilePurgePolicy}. The purged
+ * profiles' photo objects are deleted afterwards on the bounded
+ * {@code photoPurgeExecutor}; an object that fails to delete is left to the
+ * orphaned-photo cleanup.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PurgeSoftDeletedProfilesService {
 
-    private final ProfileRepositoryPort profiles;
-    private final DeleteProfilesService deleteProfiles;
+    private final ProfilePurgePort purge;
+    private final ProfileCachePort cache;
+    private final PhotoStoragePort storage;
     private final ProfileRetentionPolicy retention;
+    private final ProfilePurgePolicy policy;
+    private final Executor photoPurgeExecutor;
+
+    public PurgeSoftDeletedProfilesService(
+            ProfilePurgePort purge,
+            ProfileCachePort cache,
+            PhotoStoragePort storage,
+            ProfileRetentionPolicy retention,
+            ProfilePurgePolicy policy,
+            @Qualifier("photoPurgeExecutor") Executor photoPurgeExecutor
+    ) {
+        this.purge = purge;
+        this.cache = cache;
+        this.storage = storage;
+        this.retention = retention;
+        this.policy = policy;
+        this.photoPurgeExecutor = photoPurgeExecutor;
+    }
 
     /** @return the number of profiles purged. */
-    @Transactional
     public int handle() {
         LocalDateTime cutoff = retention.cutoffFrom(LocalDateTime.now());
-        List<UUID> stale = profiles.findSoftDeletedBefore(cutoff);
 
-        if (stale.isEmpty()) {
+        int purged = 0;
+        UUID cursor = null;
+        for (int chunk = 0; chunk < policy.maxChunksPerRun(); chunk++) {
+            DatabaseLoad before = purge.observeLoad();
+            long startNanos = System.nanoTime();
+
+            PurgedChunk purgedChunk = purge.purgeNextChunk(cutoff, cursor, policy.chunkSize());
+            if (purgedChunk.isEmpty()) {
+                break;
+            }
+            cache.evictBatch(purgedChunk.profileIds(), purgedChunk.userIds());
+            deletePhotoObjectsLater(purgedChunk.profileIds());
+            purged += purgedChunk.size();
+            cursor = purgedChunk.lastProfileId();
+
+            if (purgedChunk.size() < policy.chunkSize()) {
+                break;
+            }
+            awaitHeadroom(before, Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+
+        if (purged == 0) {
             log.debug("No stale deleted profiles found for purging");
-            return 0;
+        } else {
+            log.info("Purged {} profile(s) soft-deleted before {}", purged, cutoff);
         }
+        return purged;
+    }
 
-        log.info("Purging {} profile(s) soft-deleted before {}", stale.size(), cutoff);
-        deleteProfiles.handle(new DeleteProfilesCommand(stale));
-        return stale.size();
+    /** Paces the next chunk to the WAL budget, then waits out any standby lag. */
+    private void awaitHeadroom(DatabaseLoad before, Duration took) {
+        DatabaseLoad after = purge.observeLoad();
+        Duration pacing = policy.walPacing(after.walPosition() - before.walPosition(), took);
+        if (!pacing.isZero()) {
+            pause(pacing);
+            after = purge.observeLoad();
+        }
+        while (policy.lagging(after.replicationLagBytes())) {
+            log.debug("Purge waiting for standbys: {} WAL bytes behind", after.replicationLagBytes());
+            pause(policy.throttlePause());
+            after = purge.observeLoad();
+        }
+    }
+
+    /** When the executor is saturated the purge thread deletes itself, which slows the purge down. */
+    private void deletePhotoObjectsLater(List<UUID> profileIds) {
+        CompletableFuture.runAsync(() -> deletePhotoObjects(profileIds), photoPurgeExecutor);
+    }
+
+    /** Lists each profile's objects, then deletes the whole chunk's with multi-object requests. */
+    private void deletePhotoObjects(List<UUID> profileIds) {
+        List<String> keys = new ArrayList<>();
+        for (UUID profileId : profileIds) {
+            try {
+                keys.addAll(storage.listKeys(PhotoKeys.profilePrefix(profileId)));
+            } catch (RuntimeException e) {
+                log.warn("Failed to list photo objects of purged profile {}: {}", profileId, e.getMessage());
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> failed = storage.deleteAll(keys);
+        if (!failed.isEmpty()) {
+            log.warn("Failed to delete {} of {} photo object(s) of purged profiles", failed.size(), keys.size());
+        }
+    }
+
+    private void pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while throttling the profile purge", e);
+        }
     }
 }
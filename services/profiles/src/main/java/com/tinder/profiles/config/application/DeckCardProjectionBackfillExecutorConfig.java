@@ -0,0 +1,33 @@
+package com.tinder.profiles.config.application;
+
+import com.tinder.profiles.config.props.DeckCardProjectionBackfillProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * The workers of a partitioned Deck Card projection backfill. One run at a time
+ * holds the backfill slot and submits at most {@code parallelism} workers, so
+ * the pool is that size; the queue only absorbs a thread still finishing the
+ * previous run. Each worker keeps one JDBC connection busy, which is what the
+ * setting bounds.
+ */
+@Configuration
+public class DeckCardProjectionBackfillExecutorConfig {
+
+    /** Injected by qualifier only, so Boot's own task executor is still auto-configured. */
+    @Bean(defaultCandidate = false)
+    public Executor deckCardProjectionBackfillExecutor(DeckCardProjectionBackfillProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.parallelism());
+        executor.setMaxPoolSize(properties.parallelism());
+        executor.setQueueCapacity(properties.parallelism());
+        executor.setThreadNamePrefix("projection-backfill-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.tinder.profiles.config.application;
+
+import com.tinder.profiles.config.props.ProfileCleanupProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Deletes the photo objects of purged profiles off the purge thread. Each task is
+ * one chunk's profiles; when the queue is full the purge thread deletes that
+ * chunk's objects itself, so the purge slows to the object store's pace instead
+ * of queueing without bound.
+ */
+@Configuration
+public class PhotoPurgeExecutorConfig {
+
+    /** Injected by qualifier only, so Boot's own task executor is still auto-configured. */
+    @Bean(defaultCandidate = false)
+    public Executor photoPurgeExecutor(ProfileCleanupProperties properties) {
+        ProfileCleanupProperties.Purge purge = properties.purge();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(purge.photoDeleteThreads());
+        executor.setMaxPoolSize(purge.photoDeleteThreads());
+        executor.setQueueCapacity(purge.photoDeleteQueueCapacity());
+        executor.setThreadNamePrefix("photo-purge-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
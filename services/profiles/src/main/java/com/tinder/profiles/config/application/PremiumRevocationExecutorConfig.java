@@ -0,0 +1,31 @@
+package com.tinder.profiles.config.application;
+
+import com.tinder.profiles.config.props.PremiumExpirationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * The Keycloak revocation workers of the premium expiration. Each run submits at
+ * most {@code parallelism} workers that pull from one claimed batch, so the pool
+ * is that size and bounds the concurrent Keycloak admin calls.
+ */
+@Configuration
+public class PremiumRevocationExecutorConfig {
+
+    /** Injected by qualifier only, so Boot's own task executor is still auto-configured. */
+    @Bean(defaultCandidate = false)
+    public Executor premiumRevocationExecutor(PremiumExpirationProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.parallelism());
+        executor.setMaxPoolSize(properties.parallelism());
+        executor.setQueueCapacity(properties.parallelism());
+        executor.setThreadNamePrefix("premium-revocation-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
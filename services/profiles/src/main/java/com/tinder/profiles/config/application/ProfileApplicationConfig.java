@@ -1,10 +1,17 @@
 package com.tinder.profiles.config.application;
 
+import com.tinder.profiles.application.photos.support.OrphanedPhotoSweepPolicy;
 import com.tinder.profiles.application.photos.support.PhotoPolicy;
+import com.tinder.profiles.application.photos.support.PhotoRecoveryPolicy;
+import com.tinder.profiles.application.profile.support.DeckCardProjectionBackfillPolicy;
 import com.tinder.profiles.application.profile.support.LocationChangePolicy;
+import com.tinder.profiles.application.profile.support.PremiumExpirationPolicy;
+import com.tinder.profiles.application.profile.support.ProfilePurgePolicy;
 import com.tinder.profiles.application.profile.support.ProfileRetentionPolicy;
+import com.tinder.profiles.config.props.DeckCardProjectionBackfillProperties;
 import com.tinder.profiles.config.props.LocationProperties;
 import com.tinder.profiles.config.props.PhotoProperties;
+import com.tinder.profiles.config.props.PremiumExpirationProperties;
 import com.tinder.profiles.config.props.ProfileCleanupProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,6 +36,17 @@ public class ProfileApplicationConfig {
         return new ProfileRetentionPolicy(properties.retentionDays());
     }
 
+    @Bean
+    ProfilePurgePolicy profilePurgePolicy(ProfileCleanupProperties properties) {
+        ProfileCleanupProperties.Purge purge = properties.purge();
+        return new ProfilePurgePolicy(
+                purge.chunkSize(),
+                purge.maxChunksPerRun(),
+                purge.maxWalRate().toBytes(),
+                purge.maxReplicationLag().toBytes(),
+                purge.throttlePause());
+    }
+
     @Bean
     PhotoPolicy photoPolicy(PhotoProperties properties) {
         PhotoProperties.Policy policy = properties.photos();
@@ -39,4 +57,45 @@ public class ProfileApplicationConfig {
                 policy.minDimensionPx(),
                 policy.maxDimensionPx());
     }
+
+    @Bean
+    PhotoRecoveryPolicy photoRecoveryPolicy(PhotoProperties properties) {
+        PhotoProperties.Variants variants = properties.photoVariants();
+        return new PhotoRecoveryPolicy(variants.staleAfter(), variants.recoveryLease(), variants.maxAttempts());
+    }
+
+    @Bean
+    OrphanedPhotoSweepPolicy orphanedPhotoSweepPolicy(PhotoProperties properties) {
+        PhotoProperties.OrphanSweep sweep = properties.photoOrphanSweep();
+        return new OrphanedPhotoSweepPolicy(
+                sweep.pageSize(),
+                sweep.deleteBatchSize(),
+                sweep.maxRequestsPerSecond(),
+                sweep.maxPagesPerRun(),
+                sweep.gracePeriod(),
+                sweep.lease());
+    }
+
+    @Bean
+    DeckCardProjectionBackfillPolicy deckCardProjectionBackfillPolicy(DeckCardProjectionBackfillProperties properties) {
+        return new DeckCardProjectionBackfillPolicy(
+                properties.partitions(),
+                properties.parallelism(),
+                properties.maxPendingOutboxEvents(),
+                properties.backpressurePause());
+    }
+
+    @Bean
+    PremiumExpirationPolicy premiumExpirationPolicy(PremiumExpirationProperties properties) {
+        return new PremiumExpirationPolicy(
+                properties.chunkSize(),
+                properties.maxChunksPerRun(),
+                properties.parallelism(),
+                properties.attempts(),
+                properties.attemptBackoff(),
+                properties.retryBackoff(),
+                properties.maxRetryBackoff(),
+                properties.maxRetries(),
+                properties.lease());
+    }
 }
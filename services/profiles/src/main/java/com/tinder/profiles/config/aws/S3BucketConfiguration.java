@@ -8,6 +8,7 @@ import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
@@ -38,6 +39,28 @@ public class S3BucketConfiguration {
         return builder.build();
     }
 
+    /** Used by the photo variant pipeline to store the variants of one upload concurrently. */
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(
+                awsProperties.credentials().accessKey(),
+                awsProperties.credentials().secretKey()
+        );
+
+        var builder = S3AsyncClient.builder()
+                .region(Region.of(awsProperties.region()))
+                .credentialsProvider(StaticCredentialsProvider.create(awsCredentials));
+
+        // For LocalStack testing
+        String s3Endpoint = awsProperties.s3().endpoint();
+        if (s3Endpoint != null && !s3Endpoint.isEmpty()) {
+            builder.endpointOverride(java.net.URI.create(s3Endpoint))
+                   .forcePathStyle(true);
+        }
+
+        return builder.build();
+    }
+
     @Bean
     public S3Presigner s3Presigner() {
         AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(
@@ -6,6 +6,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.catalina.connector.Connector;
 import org.apache.tomcat.util.net.SSLHostConfig;
 import org.apache.tomcat.util.net.SSLHostConfigCertificate;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
@@ -31,6 +33,9 @@ public class InternalMtlsServerConfig {
 
     private final InternalServerProperties properties;
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean
     public WebServerFactoryCustomizer<TomcatServletWebServerFactory> internalMtlsConnector() {
         return factory -> {
@@ -54,6 +59,10 @@ public class InternalMtlsServerConfig {
         connector.setScheme("https");
         connector.setSecure(true);
         connector.setPort(properties.port());
+        if (virtualThreads) {
+            // Boot's virtual-thread customizer only reaches the primary connector
+            connector.getProtocolHandler().setExecutor(new VirtualThreadExecutor("tomcat-mtls-"));
+        }
 
         // Build SSLHostConfig (Spring Boot 3 / Tomcat 10+ API)
         SSLHostConfig sslHostConfig = new SSLHostConfig();
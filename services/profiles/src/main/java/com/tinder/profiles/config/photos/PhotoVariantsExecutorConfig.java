@@ -0,0 +1,40 @@
+package com.tinder.profiles.config.photos;
+
+import com.tinder.profiles.config.props.PhotoProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * The pool the photo variant pipeline renders on. Rendering is CPU-bound, so the
+ * pool defaults to one thread per core and has platform threads even in the
+ * virtual-thread runtime mode. Its queue is short: each waiting render holds an
+ * upload in memory, and when the queue is full the uploading request thread
+ * renders instead, which slows uploads down rather than exhausting the heap.
+ */
+@Configuration
+public class PhotoVariantsExecutorConfig {
+
+    /** Injected by qualifier only, so Boot's own task executor is still auto-configured. */
+    @Bean(defaultCandidate = false)
+    public Executor photoVariantsExecutor(PhotoProperties properties) {
+        PhotoProperties.Variants variants = properties.photoVariants();
+        int threads = variants.renderThreads() > 0
+                ? variants.renderThreads()
+                : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(variants.queueCapacity());
+        executor.setThreadNamePrefix("photo-variants-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
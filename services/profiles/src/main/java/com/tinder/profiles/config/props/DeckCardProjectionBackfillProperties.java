@@ -0,0 +1,24 @@
+package com.tinder.profiles.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Partitioned Deck Card projection backfill ({@code profile.deck-card-projection.backfill.*}).
+ * {@code maxPendingOutboxEvents} is the throughput knob: workers stop enqueueing
+ * while that many of the run's events wait for the Kafka producer; 0 disables it.
+ */
+@ConfigurationProperties(prefix = "profile.deck-card-projection.backfill")
+public record DeckCardProjectionBackfillProperties(
+
+        @DefaultValue("16") int partitions,
+
+        @DefaultValue("4") int parallelism,
+
+        @DefaultValue("20000") long maxPendingOutboxEvents,
+
+        @DefaultValue("500ms") Duration backpressurePause
+) {
+}
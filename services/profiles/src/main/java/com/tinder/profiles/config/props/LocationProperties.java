@@ -3,13 +3,17 @@ package com.tinder.profiles.config.props;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.time.Duration;
+
 /** Location service client settings and movement policy ({@code location.*}). */
 @ConfigurationProperties(prefix = "location")
 public record LocationProperties(
 
         @DefaultValue Service service,
 
-        @DefaultValue Change change
+        @DefaultValue Change change,
+
+        @DefaultValue Cache cache
 ) {
 
     public record Service(@DefaultValue("http://localhost:8065") String url) {
@@ -18,4 +22,17 @@ public record LocationProperties(
     /** How far a profile must move before the coordinates are re-resolved. */
     public record Change(@DefaultValue("1.0") double thresholdKm) {
     }
+
+    /**
+     * City geocodes cached in front of the location service. {@code negativeTtl}
+     * bounds how long a city the service could not answer skips the network and
+     * goes straight to the local fallback.
+     */
+    public record Cache(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("24h") Duration ttl,
+            @DefaultValue("30s") Duration negativeTtl,
+            @DefaultValue("10000") long maxSize
+    ) {
+    }
 }
@@ -4,13 +4,16 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
  * Photo storage, CDN and upload-policy settings ({@code app.*}).
  *
  * <p>{@link Policy} carries the upload rules the application layer enforces; the
- * rest describes where bytes are written and how they are served.
+ * rest describes where bytes are written and how they are served. {@link Variants}
+ * sizes the asynchronous variant pipeline, {@link OrphanSweep} paces the background
+ * sweep for orphaned objects.
  */
 @ConfigurationProperties(prefix = "app")
 public record PhotoProperties(
@@ -19,7 +22,11 @@ public record PhotoProperties(
 
         @DefaultValue Cloudfront cloudfront,
 
-        @DefaultValue Policy photos
+        @DefaultValue Policy photos,
+
+        @DefaultValue Variants photoVariants,
+
+        @DefaultValue OrphanSweep photoOrphanSweep
 ) {
 
     public record S3(
@@ -46,4 +53,38 @@ public record PhotoProperties(
             @DefaultValue("4096") int maxDimensionPx
     ) {
     }
+
+    /**
+     * @param renderThreads concurrent renders; {@code 0} means one per available core
+     * @param queueCapacity renders waiting for a thread before uploads render on their own thread
+     * @param staleAfter    how long a photo may stay pending before the recovery sweep re-renders it
+     * @param recoveryLease how long a photo claimed by one replica's recovery sweep is hidden from the others
+     * @param maxAttempts   recovery claims before a photo that is still pending is marked failed
+     */
+    public record Variants(
+            @DefaultValue("0") int renderThreads,
+            @DefaultValue("32") int queueCapacity,
+            @DefaultValue("5m") Duration staleAfter,
+            @DefaultValue("5m") Duration recoveryLease,
+            @DefaultValue("3") int maxAttempts
+    ) {
+    }
+
+    /**
+     * @param pageSize             keys listed per request, at most 1000
+     * @param deleteBatchSize      orphans per multi-object delete, at most 1000
+     * @param maxRequestsPerSecond list and delete requests per second; {@code 0} is unlimited
+     * @param maxPagesPerRun       pages one run walks before the next run resumes
+     * @param gracePeriod          how old an uncatalogued object must be to count as orphaned
+     * @param lease                how long the replica sweeping holds the sweep without finishing a page
+     */
+    public record OrphanSweep(
+            @DefaultValue("1000") int pageSize,
+            @DefaultValue("1000") int deleteBatchSize,
+            @DefaultValue("10") double maxRequestsPerSecond,
+            @DefaultValue("500") int maxPagesPerRun,
+            @DefaultValue("1h") Duration gracePeriod,
+            @DefaultValue("5m") Duration lease
+    ) {
+    }
 }
@@ -0,0 +1,36 @@
+package com.tinder.profiles.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Batched premium expiration ({@code premium.expiration.*}). {@code parallelism}
+ * bounds concurrent Keycloak admin calls; {@code chunkSize} is the number of
+ * profiles claimed and cleared per statement.
+ */
+@ConfigurationProperties(prefix = "premium.expiration")
+public record PremiumExpirationProperties(
+
+        @DefaultValue("3600000") long checkIntervalMs,
+
+        @DefaultValue("500") int chunkSize,
+
+        @DefaultValue("200") int maxChunksPerRun,
+
+        @DefaultValue("8") int parallelism,
+
+        @DefaultValue("3") int attempts,
+
+        @DefaultValue("200ms") Duration attemptBackoff,
+
+        @DefaultValue("1m") Duration retryBackoff,
+
+        @DefaultValue("6h") Duration maxRetryBackoff,
+
+        @DefaultValue("10") int maxRetries,
+
+        @DefaultValue("10m") Duration lease
+) {
+}
@@ -16,7 +16,9 @@ public record ProfileCacheProperties(
 
         @DefaultValue CacheSpec jwtToken,
 
-        @DefaultValue CacheSpec sharedProfile
+        @DefaultValue CacheSpec sharedProfile,
+
+        @DefaultValue Invalidation sharedProfileInvalidation
 ) {
 
     public record CacheSpec(
@@ -24,4 +26,17 @@ public record ProfileCacheProperties(
             @DefaultValue("250000") long maxSize
     ) {
     }
+
+    /**
+     * Redis pub/sub bus that evicts shared profile snapshots from every replica's
+     * local tier. {@code tombstoneTtl} applies to the local and the Redis tombstones
+     * alike and must outlast the slowest snapshot load, or a load that raced an
+     * invalidation can still land in the cache.
+     */
+    public record Invalidation(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("profiles:shared:invalidations") String channel,
+            @DefaultValue("30s") Duration tombstoneTtl
+    ) {
+    }
 }
@@ -2,12 +2,33 @@ package com.tinder.profiles.config.props;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 /**
- * Retention of soft-deleted profiles ({@code profile.cleanup.*}). The scan
- * interval itself is read by {@code @Scheduled} from
+ * Retention and purge of soft-deleted profiles ({@code profile.cleanup.*}). The
+ * scan interval itself is read by {@code @Scheduled} from
  * {@code profile.cleanup.check-interval-ms}.
  */
 @ConfigurationProperties(prefix = "profile.cleanup")
-public record ProfileCleanupProperties(@DefaultValue("30") int retentionDays) {
+public record ProfileCleanupProperties(
+        @DefaultValue("30") int retentionDays,
+        @DefaultValue Purge purge
+) {
+
+    /**
+     * Chunked purge pacing: the WAL rate and standby lag it keeps to (0 disables
+     * either), and the pool deleting purged profiles' photo objects.
+     */
+    public record Purge(
+            @DefaultValue("1000") int chunkSize,
+            @DefaultValue("10000") int maxChunksPerRun,
+            @DefaultValue("32MB") DataSize maxWalRate,
+            @DefaultValue("256MB") DataSize maxReplicationLag,
+            @DefaultValue("1s") Duration throttlePause,
+            @DefaultValue("4") int photoDeleteThreads,
+            @DefaultValue("64") int photoDeleteQueueCapacity
+    ) {
+    }
 }
@@ -49,7 +49,7 @@ public class RedisProfileCacheAdapter implements ProfileCachePort {
     @Override
     public void evictBatch(Collection<UUID> profileIds, Collection<String> userIds) {
         profileIds.forEach(this::evict);
-        profileIds.forEach(sharedProfileSnapshotCache::evict);
+        sharedProfileSnapshotCache.evictAll(profileIds);
         userIds.forEach(profileIdentityCacheService::evict);
     }
 
@@ -0,0 +1,162 @@
+package com.tinder.profiles.infrastructure.cache;
+
+import com.tinder.profiles.config.props.ProfileCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Tells every profiles replica which shared profile snapshots were evicted, so
+ * each drops them from its local tier instead of serving them until TTL.
+ *
+ * <p>A message carries the evicted profile ids and a version: the publisher's
+ * eviction time in epoch millis. The snapshots themselves carry no row version,
+ * so receivers use it to measure how long they held the stale entry. Redis
+ * pub/sub is at-most-once; a replica that misses a message (reconnect, Redis
+ * restart) falls back to the local TTL. The publishing replica ignores its own
+ * echo.
+ */
+@Slf4j
+@Component
+public class SharedProfileInvalidationBus implements SmartLifecycle {
+
+    // About 37 KB per frame; a purge batch is split across several messages.
+    private static final int MAX_IDS_PER_MESSAGE = 1_000;
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redis;
+    private final ProfileCacheProperties.Invalidation properties;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final MessageListener redisListener = (message, pattern) -> onMessage(message.getBody());
+
+    private volatile RedisMessageListenerContainer listenerContainer;
+
+    public SharedProfileInvalidationBus(
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate redis,
+            ProfileCacheProperties properties
+    ) {
+        this.connectionFactory = connectionFactory;
+        this.redis = redis;
+        this.properties = properties.sharedProfileInvalidation();
+    }
+
+    /** Profiles evicted on another replica at {@code version} (epoch millis). */
+    public record Invalidation(List<UUID> profileIds, long version) {
+    }
+
+    /** Registers a callback for invalidations published by other replicas. */
+    public void subscribe(Consumer<Invalidation> listener) {
+        listeners.add(listener);
+    }
+
+    public void publish(Collection<UUID> profileIds, long version) {
+        if (!properties.enabled() || profileIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(profileIds);
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_MESSAGE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_MESSAGE, ids.size()));
+            try {
+                redis.convertAndSend(properties.channel(), encode(chunk, version));
+            } catch (RuntimeException e) {
+                // The local tier and Redis are already clean; other replicas fall back to TTL.
+                log.warn("Failed to publish shared profile invalidation for {} profiles", chunk.size(), e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(redisListener, new ChannelTopic(properties.channel()));
+        container.afterPropertiesSet();
+        try {
+            container.start();
+        } catch (RuntimeException e) {
+            // Redis is optional for serving; the container keeps retrying the subscription.
+            log.warn("Shared profile invalidation bus could not subscribe yet channel={}", properties.channel(), e);
+        }
+        listenerContainer = container;
+        log.info("Shared profile invalidation bus started node={} channel={}", nodeId, properties.channel());
+    }
+
+    @Override
+    public void stop() {
+        RedisMessageListenerContainer container = listenerContainer;
+        listenerContainer = null;
+        if (container == null) {
+            return;
+        }
+        try {
+            container.destroy();
+        } catch (Exception e) {
+            log.warn("Shared profile invalidation bus did not stop cleanly", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listenerContainer != null;
+    }
+
+    // Frame: origin node id '\n' version '\n' comma-separated profile ids.
+    private String encode(List<UUID> ids, long version) {
+        StringBuilder frame = new StringBuilder(nodeId.length() + 24 + ids.size() * 37)
+                .append(nodeId).append('\n').append(version).append('\n');
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                frame.append(',');
+            }
+            frame.append(ids.get(i));
+        }
+        return frame.toString();
+    }
+
+    private void onMessage(byte[] body) {
+        String frame = new String(body, StandardCharsets.UTF_8);
+        int originEnd = frame.indexOf('\n');
+        int versionEnd = originEnd < 0 ? -1 : frame.indexOf('\n', originEnd + 1);
+        if (versionEnd < 0) {
+            log.warn("Dropping malformed shared profile invalidation ({} bytes)", body.length);
+            return;
+        }
+        if (frame.startsWith(nodeId) && originEnd == nodeId.length()) {
+            return;
+        }
+
+        Invalidation invalidation;
+        try {
+            long version = Long.parseLong(frame, originEnd + 1, versionEnd, 10);
+            List<UUID> ids = new ArrayList<>();
+            for (String id : frame.substring(versionEnd + 1).split(",")) {
+                if (!id.isEmpty()) {
+                    ids.add(UUID.fromString(id));
+                }
+            }
+            invalidation = new Invalidation(ids, version);
+        } catch (IllegalArgumentException e) {
+            log.warn("Dropping malformed shared profile invalidation ({} bytes)", body.length, e);
+            return;
+        }
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+}
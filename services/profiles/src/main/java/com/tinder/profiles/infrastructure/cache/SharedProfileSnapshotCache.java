@@ -5,10 +5,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tinder.contracts.dto.SharedProfileDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
@@ -16,31 +24,91 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Shared profile snapshots in two tiers: a Caffeine cache per replica in front
+ * of {@code profiles:shared:} JSON in Redis.
+ *
+ * <p>An eviction deletes the Redis keys and is broadcast on the
+ * {@link SharedProfileInvalidationBus}, so every replica drops its local copy
+ * within a pub/sub round trip instead of at TTL. Each eviction also leaves a
+ * short-lived tombstone: a load that started before it may have read the old
+ * row or the old Redis value, and is returned to its caller but not cached.
+ *
+ * <p>Tombstones exist in both tiers. Locally they are stamped with
+ * {@code System.nanoTime()}, which only orders events on this replica. In Redis
+ * every eviction bumps one shared generation counter and stamps its tombstones
+ * with the new value; a load remembers the generation it started at, and its
+ * Redis write is a compare-and-set that skips profiles evicted at a later
+ * generation on any replica, whether or not the broadcast has arrived yet.
+ */
 @Slf4j
 @Component
 public class SharedProfileSnapshotCache {
 
     private static final String KEY_PREFIX = "profiles:shared:";
+    private static final String TOMBSTONE_PREFIX = "profiles:shared:evicted:";
+    private static final String GENERATION_KEY = "profiles:shared:generation";
+
+    /** KEYS: the generation counter, then snapshot/tombstone pairs. ARGV: tombstone TTL in seconds. */
+    private static final RedisScript<Long> EVICT = new DefaultRedisScript<>("""
+            local generation = redis.call('INCR', KEYS[1])
+            for i = 2, #KEYS, 2 do
+                redis.call('DEL', KEYS[i])
+                redis.call('SET', KEYS[i + 1], generation, 'EX', ARGV[1])
+            end
+            return generation
+            """, Long.class);
+
+    /** KEYS: snapshot, tombstone. ARGV: snapshot JSON, load generation, TTL in seconds. */
+    private static final String PUT_UNLESS_EVICTED = """
+            local evicted = redis.call('GET', KEYS[2])
+            if evicted and tonumber(evicted) > tonumber(ARGV[2]) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[3])
+            return 1
+            """;
 
     private final StringRedisTemplate redis;
     private final ObjectMapper objectMapper;
     private final ProfileCacheProperties properties;
+    private final SharedProfileInvalidationBus invalidationBus;
     private final Cache<UUID, SharedProfileDto> localProfiles;
+    // Profile id -> System.nanoTime() of its latest local or remote eviction.
+    private final Cache<UUID, Long> tombstones;
+    private final Timer writeLatency;
+    private final Timer writeFailures;
+    private final Timer stalenessWindow;
 
     public SharedProfileSnapshotCache(
             StringRedisTemplate redis,
             ObjectMapper objectMapper,
-            ProfileCacheProperties properties
+            ProfileCacheProperties properties,
+            SharedProfileInvalidationBus invalidationBus,
+            MeterRegistry meterRegistry
     ) {
         this.redis = redis;
         this.objectMapper = objectMapper;
         this.properties = properties;
+        this.invalidationBus = invalidationBus;
         this.localProfiles = Caffeine.newBuilder()
                 .maximumSize(properties.sharedProfile().maxSize())
                 .expireAfterWrite(properties.sharedProfile().ttl())
                 .build();
+        this.tombstones = Caffeine.newBuilder()
+                .maximumSize(properties.sharedProfile().maxSize())
+                .expireAfterWrite(properties.sharedProfileInvalidation().tombstoneTtl())
+                .build();
+        this.writeLatency = writeTimer(meterRegistry, "success");
+        this.writeFailures = writeTimer(meterRegistry, "failure");
+        this.stalenessWindow = Timer.builder("profiles.shared.snapshot.staleness")
+                .description("Time from an eviction on one replica until another replica dropped its local copy")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        invalidationBus.subscribe(this::onRemoteInvalidation);
     }
 
     public List<SharedProfileDto> getMany(
@@ -51,6 +119,7 @@ public class SharedProfileSnapshotCache {
             return List.of();
         }
 
+        long loadStarted = System.nanoTime();
         Map<UUID, SharedProfileDto> found = new LinkedHashMap<>(requestedIds.size());
         List<UUID> localMisses = new ArrayList<>();
 
@@ -63,10 +132,10 @@ public class SharedProfileSnapshotCache {
             }
         }
 
-        List<UUID> redisMisses = readRedis(localMisses, found);
-        if (!redisMisses.isEmpty()) {
-            List<SharedProfileDto> loaded = databaseLoader.apply(redisMisses);
-            putAll(loaded);
+        RedisRead redisRead = readRedis(localMisses, found, loadStarted);
+        if (!redisRead.misses().isEmpty()) {
+            List<SharedProfileDto> loaded = databaseLoader.apply(redisRead.misses());
+            putAll(loaded, redisRead.loadStarted());
             loaded.forEach(dto -> found.put(dto.id(), dto));
         }
 
@@ -76,32 +145,66 @@ public class SharedProfileSnapshotCache {
                 .toList();
     }
 
-    public void putAll(Collection<SharedProfileDto> profiles) {
+    /**
+     * Where a snapshot load started: this replica's clock for the local tier and
+     * the shared eviction generation for Redis, or {@code -1} when Redis could not
+     * be read, in which case the load is cached locally only.
+     */
+    public record LoadMark(long nanoTime, long generation) {
+    }
+
+    /** Current load mark; take it before reading the database and pass it to {@link #putAll}. */
+    public LoadMark startLoad() {
+        long nanoTime = System.nanoTime();
+        try {
+            String generation = redis.opsForValue().get(GENERATION_KEY);
+            return new LoadMark(nanoTime, generation == null ? 0 : Long.parseLong(generation));
+        } catch (Exception e) {
+            log.debug("Failed to read the shared profile eviction generation", e);
+            return new LoadMark(nanoTime, -1);
+        }
+    }
+
+    /**
+     * Caches snapshots read from the database at or after {@code loadStarted}
+     * ({@link #startLoad()}). Profiles evicted since then are skipped. The Redis
+     * write is one pipelined batch of compare-and-set scripts.
+     */
+    public void putAll(Collection<SharedProfileDto> profiles, LoadMark loadStarted) {
         if (profiles == null || profiles.isEmpty()) {
             return;
         }
 
         Map<String, String> redisValues = new LinkedHashMap<>(profiles.size());
         for (SharedProfileDto profile : profiles) {
-            if (profile == null || profile.id() == null) {
+            if (profile == null || profile.id() == null || evictedSince(profile.id(), loadStarted.nanoTime())) {
                 continue;
             }
             localProfiles.put(profile.id(), profile);
             try {
-                redisValues.put(redisKey(profile.id()), objectMapper.writeValueAsString(profile));
+                redisValues.put(profile.id().toString(), objectMapper.writeValueAsString(profile));
             } catch (Exception e) {
                 log.debug("Failed to serialize shared profile {}", profile.id(), e);
             }
         }
 
-        if (redisValues.isEmpty()) {
+        if (redisValues.isEmpty() || loadStarted.generation() < 0) {
             return;
         }
 
+        String generation = Long.toString(loadStarted.generation());
+        String ttlSeconds = Long.toString(properties.sharedProfile().ttl().toSeconds());
+        long start = System.nanoTime();
         try {
-            redisValues.forEach((key, value) ->
-                    redis.opsForValue().set(key, value, properties.sharedProfile().ttl()));
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection commands = (StringRedisConnection) connection;
+                redisValues.forEach((id, value) -> commands.eval(PUT_UNLESS_EVICTED, ReturnType.INTEGER, 2,
+                        KEY_PREFIX + id, TOMBSTONE_PREFIX + id, value, generation, ttlSeconds));
+                return null;
+            });
+            writeLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         } catch (Exception e) {
+            writeFailures.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             log.debug("Failed to write shared profile snapshots to Redis", e);
         }
     }
@@ -110,50 +213,95 @@ public class SharedProfileSnapshotCache {
         if (profileId == null) {
             return;
         }
+        evictAll(List.of(profileId));
+    }
 
-        localProfiles.invalidate(profileId);
+    /**
+     * Evicts from both tiers with one script that bumps the eviction generation,
+     * deletes the snapshots and tombstones them, then tells the other replicas.
+     */
+    public void evictAll(Collection<UUID> profileIds) {
+        if (profileIds == null || profileIds.isEmpty()) {
+            return;
+        }
+
+        List<UUID> ids = distinctIds(new ArrayList<>(profileIds));
+        evictLocally(ids);
+        List<String> keys = new ArrayList<>(1 + 2 * ids.size());
+        keys.add(GENERATION_KEY);
+        for (UUID id : ids) {
+            keys.add(redisKey(id));
+            keys.add(TOMBSTONE_PREFIX + id);
+        }
         try {
-            redis.delete(redisKey(profileId));
+            redis.execute(EVICT, keys,
+                    Long.toString(properties.sharedProfileInvalidation().tombstoneTtl().toSeconds()));
         } catch (Exception e) {
-            log.debug("Failed to evict shared profile snapshot {}", profileId, e);
+            log.debug("Failed to evict {} shared profile snapshots", ids.size(), e);
         }
+        invalidationBus.publish(ids, System.currentTimeMillis());
     }
 
-    public void evictAll(Collection<UUID> profileIds) {
-        if (profileIds == null || profileIds.isEmpty()) {
-            return;
+    private void onRemoteInvalidation(SharedProfileInvalidationBus.Invalidation invalidation) {
+        evictLocally(invalidation.profileIds());
+        long lagMillis = Math.max(0, System.currentTimeMillis() - invalidation.version());
+        stalenessWindow.record(Duration.ofMillis(lagMillis));
+    }
+
+    private void evictLocally(List<UUID> ids) {
+        long now = System.nanoTime();
+        for (UUID id : ids) {
+            tombstones.put(id, now);
         }
-        profileIds.forEach(this::evict);
+        localProfiles.invalidateAll(ids);
     }
 
-    private List<UUID> readRedis(List<UUID> ids, Map<UUID, SharedProfileDto> found) {
+    private boolean evictedSince(UUID profileId, long loadStarted) {
+        Long evictedAt = tombstones.getIfPresent(profileId);
+        return evictedAt != null && evictedAt - loadStarted >= 0;
+    }
+
+    /** Redis misses, and the load mark to cache their database snapshots under. */
+    private record RedisRead(List<UUID> misses, LoadMark loadStarted) {
+    }
+
+    /** Reads the eviction generation in the same {@code MGET} as the snapshots. */
+    private RedisRead readRedis(List<UUID> ids, Map<UUID, SharedProfileDto> found, long loadStarted) {
+        LoadMark unversioned = new LoadMark(loadStarted, -1);
         if (ids.isEmpty()) {
-            return List.of();
+            return new RedisRead(List.of(), unversioned);
         }
 
         try {
-            List<String> values = redis.opsForValue().multiGet(ids.stream().map(this::redisKey).toList());
+            List<String> keys = new ArrayList<>(1 + ids.size());
+            keys.add(GENERATION_KEY);
+            ids.forEach(id -> keys.add(redisKey(id)));
+            List<String> values = redis.opsForValue().multiGet(keys);
             if (values == null) {
-                return ids;
+                return new RedisRead(ids, unversioned);
             }
 
+            String generation = values.get(0);
+            LoadMark mark = new LoadMark(loadStarted, generation == null ? 0 : Long.parseLong(generation));
             List<UUID> misses = new ArrayList<>();
             for (int i = 0; i < ids.size(); i++) {
                 UUID id = ids.get(i);
-                String value = values.get(i);
+                String value = values.get(i + 1);
                 if (value == null || value.isBlank()) {
                     misses.add(id);
                     continue;
                 }
 
                 SharedProfileDto dto = objectMapper.readValue(value, SharedProfileDto.class);
-                localProfiles.put(id, dto);
+                if (!evictedSince(id, loadStarted)) {
+                    localProfiles.put(id, dto);
+                }
                 found.put(id, dto);
             }
-            return misses;
+            return new RedisRead(misses, mark);
         } catch (Exception e) {
             log.debug("Failed to read shared profile snapshots from Redis", e);
-            return ids;
+            return new RedisRead(ids, unversioned);
         }
     }
 
@@ -164,4 +312,12 @@ public class SharedProfileSnapshotCache {
     private String redisKey(UUID profileId) {
         return KEY_PREFIX + profileId;
     }
+
+    private static Timer writeTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("profiles.shared.snapshot.write")
+                .description("Pipelined conditional Redis write of a batch of shared profile snapshots")
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
 }
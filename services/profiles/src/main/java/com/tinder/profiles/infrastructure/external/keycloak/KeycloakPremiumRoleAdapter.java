@@ -10,20 +10,35 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Premium role changes through the Keycloak Admin REST API. The master-realm admin
+ * token is reused until shortly before it expires and role representations are
+ * looked up once per role, so a revocation is a single role-mapping call; batch
+ * expiration revokes on several threads at once. A rejected call drops both, in
+ * case the token was revoked or the role recreated.
+ */
 @Component
 @Slf4j
 public class KeycloakPremiumRoleAdapter implements PremiumRolePort {
 
     private static final String PREMIUM_ROLE = "USER_PREMIUM";
+    /** Refresh the admin token this long before Keycloak says it expires. */
+    private static final long TOKEN_EXPIRY_SKEW_SECONDS = 30;
 
     private final WebClient keycloakWebClient;
     private final String realm;
     private final String adminUsername;
     private final String adminPassword;
+    private final ConcurrentMap<String, KeycloakRoleRepresentation> roles = new ConcurrentHashMap<>();
+    private volatile AdminToken cachedToken;
 
     public KeycloakPremiumRoleAdapter(
             @Qualifier("selfHostedKeycloakWebClient") WebClient keycloakWebClient,
@@ -45,9 +60,13 @@ public class KeycloakPremiumRoleAdapter implements PremiumRolePort {
     public void assignRealmRole(String userId, String roleName) {
         log.info("Assigning Keycloak role '{}' to user '{}'", roleName, userId);
 
-        String token = fetchAdminToken();
-        KeycloakRoleRepresentation role = fetchRoleRepresentation(token, roleName);
-        postRoleMapping(token, userId, role);
+        try {
+            String token = adminToken();
+            postRoleMapping(token, userId, role(token, roleName));
+        } catch (WebClientResponseException e) {
+            forgetCredentials();
+            throw e;
+        }
 
         log.info("Keycloak role '{}' successfully assigned to user '{}'", roleName, userId);
     }
@@ -62,9 +81,13 @@ public class KeycloakPremiumRoleAdapter implements PremiumRolePort {
     public void removeRealmRole(String userId, String roleName) {
         log.info("Removing Keycloak role '{}' from user '{}'", roleName, userId);
 
-        String token = fetchAdminToken();
-        KeycloakRoleRepresentation role = fetchRoleRepresentation(token, roleName);
-        deleteRoleMapping(token, userId, role);
+        try {
+            String token = adminToken();
+            deleteRoleMapping(token, userId, role(token, roleName));
+        } catch (WebClientResponseException e) {
+            forgetCredentials();
+            throw e;
+        }
 
         log.info("Keycloak role '{}' successfully removed from user '{}'", roleName, userId);
     }
@@ -81,8 +104,32 @@ public class KeycloakPremiumRoleAdapter implements PremiumRolePort {
 
     // ── private helpers ──────────────────────────────────────────────────────
 
+    private String adminToken() {
+        AdminToken current = cachedToken;
+        if (current != null && Instant.now().isBefore(current.refreshAt())) {
+            return current.value();
+        }
+        synchronized (this) {
+            current = cachedToken;
+            if (current == null || !Instant.now().isBefore(current.refreshAt())) {
+                current = fetchAdminToken();
+                cachedToken = current;
+            }
+            return current.value();
+        }
+    }
+
+    private KeycloakRoleRepresentation role(String token, String roleName) {
+        return roles.computeIfAbsent(roleName, name -> fetchRoleRepresentation(token, name));
+    }
+
+    private void forgetCredentials() {
+        cachedToken = null;
+        roles.clear();
+    }
+
     @SuppressWarnings("unchecked")
-    private String fetchAdminToken() {
+    private AdminToken fetchAdminToken() {
         // Admin REST API requires a token from the master realm, not the target realm.
         // admin-cli is the built-in public client in master intended for this.
         MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
@@ -102,7 +149,10 @@ public class KeycloakPremiumRoleAdapter implements PremiumRolePort {
         if (body == null || !body.containsKey("access_token")) {
             throw new IllegalStateException("Keycloak token response missing access_token");
         }
-        return (String) body.get("access_token");
+        long expiresIn = body.get("expires_in") instanceof Number seconds ? seconds.longValue() : 0;
+        // A token without a lifetime, or one too short to outlive the skew, is used once.
+        Instant refreshAt = Instant.now().plusSeconds(Math.max(0, expiresIn - TOKEN_EXPIRY_SKEW_SECONDS));
+        return new AdminToken((String) body.get("access_token"), refreshAt);
     }
 
     private KeycloakRoleRepresentation fetchRoleRepresentation(String token, String roleName) {
@@ -140,4 +190,7 @@ public class KeycloakPremiumRoleAdapter implements PremiumRolePort {
                 .bodyToMono(Void.class)
                 .block();
     }
+
+    private record AdminToken(String value, Instant refreshAt) {
+    }
 }
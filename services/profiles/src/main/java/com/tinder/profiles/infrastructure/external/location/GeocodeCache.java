@@ -0,0 +1,196 @@
+package com.tinder.profiles.infrastructure.external.location;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tinder.profiles.config.props.LocationProperties;
+import com.tinder.profiles.infrastructure.external.location.LocationServiceClient.RemoteLocationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * City geocodes from the location service in two tiers: a Caffeine cache per
+ * replica in front of {@code profiles:geocode:} JSON in Redis, keyed by the
+ * normalized city name. Most profiles share a few cities, so nearly every
+ * city-only resolution is answered without the network.
+ *
+ * <p>A lookup the service could not answer is cached as a negative entry for
+ * {@code location.cache.negative-ttl}: while the service is down, callers go
+ * straight to the local fallback instead of each waiting out the client timeout.
+ * Concurrent misses for one city on a replica share a single remote call.
+ */
+@Slf4j
+@Component
+public class GeocodeCache {
+
+    private static final String KEY_PREFIX = "profiles:geocode:";
+    private static final String NEGATIVE = "-";
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final LocationProperties.Cache properties;
+    private final Cache<String, Optional<RemoteLocationResponse>> localGeocodes;
+    private final ConcurrentMap<String, CompletableFuture<Optional<RemoteLocationResponse>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter collapsed;
+    private final Counter misses;
+
+    public GeocodeCache(
+            StringRedisTemplate redis,
+            ObjectMapper objectMapper,
+            LocationProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.properties = properties.cache();
+        this.localGeocodes = Caffeine.newBuilder()
+                .maximumSize(this.properties.maxSize())
+                .expireAfter(new PerAnswerExpiry(this.properties))
+                .build();
+        this.localHits = lookups(meterRegistry, "local_hit");
+        this.redisHits = lookups(meterRegistry, "redis_hit");
+        this.collapsed = lookups(meterRegistry, "collapsed");
+        this.misses = lookups(meterRegistry, "miss");
+    }
+
+    /**
+     * The cached answer for {@code city}, or {@code remote}'s. {@code remote}
+     * returns empty when the service had no answer; it must not throw.
+     */
+    public Optional<RemoteLocationResponse> get(String city, Supplier<Optional<RemoteLocationResponse>> remote) {
+        String key = normalize(city);
+        if (!properties.enabled() || key == null) {
+            return remote.get();
+        }
+
+        Optional<RemoteLocationResponse> local = localGeocodes.getIfPresent(key);
+        if (local != null) {
+            localHits.increment();
+            return local;
+        }
+
+        CompletableFuture<Optional<RemoteLocationResponse>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<RemoteLocationResponse>> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            collapsed.increment();
+            return leader.join();
+        }
+        try {
+            Optional<RemoteLocationResponse> answer = load(key, remote);
+            mine.complete(answer);
+            return answer;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** Lower-cased, NFKC-normalized, whitespace-collapsed; {@code null} for a blank name. */
+    static String normalize(String city) {
+        if (city == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(city, Normalizer.Form.NFKC)
+                .strip()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private Optional<RemoteLocationResponse> load(String key, Supplier<Optional<RemoteLocationResponse>> remote) {
+        // The previous leader may have filled the local tier after our first look.
+        Optional<RemoteLocationResponse> local = localGeocodes.getIfPresent(key);
+        if (local != null) {
+            localHits.increment();
+            return local;
+        }
+
+        Optional<RemoteLocationResponse> cached = readRedis(key);
+        if (cached != null) {
+            redisHits.increment();
+            localGeocodes.put(key, cached);
+            return cached;
+        }
+
+        misses.increment();
+        Optional<RemoteLocationResponse> answer = remote.get();
+        localGeocodes.put(key, answer);
+        writeRedis(key, answer);
+        return answer;
+    }
+
+    private Optional<RemoteLocationResponse> readRedis(String key) {
+        try {
+            String value = redis.opsForValue().get(KEY_PREFIX + key);
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            return NEGATIVE.equals(value)
+                    ? Optional.empty()
+                    : Optional.of(objectMapper.readValue(value, RemoteLocationResponse.class));
+        } catch (Exception e) {
+            log.debug("Failed to read geocode of '{}' from Redis", key, e);
+            return null;
+        }
+    }
+
+    private void writeRedis(String key, Optional<RemoteLocationResponse> answer) {
+        try {
+            String value = answer.isPresent() ? objectMapper.writeValueAsString(answer.get()) : NEGATIVE;
+            redis.opsForValue().set(KEY_PREFIX + key, value, ttlOf(properties, answer));
+        } catch (Exception e) {
+            log.debug("Failed to write geocode of '{}' to Redis", key, e);
+        }
+    }
+
+    private static Duration ttlOf(LocationProperties.Cache properties, Optional<RemoteLocationResponse> answer) {
+        return answer.isPresent() ? properties.ttl() : properties.negativeTtl();
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("profiles.location.geocode.lookups")
+                .description("City geocode lookups by the tier that answered them; miss went to the location service")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /** Found cities live for {@code ttl}, unanswered ones for {@code negativeTtl}. */
+    private record PerAnswerExpiry(LocationProperties.Cache properties)
+            implements Expiry<String, Optional<RemoteLocationResponse>> {
+
+        @Override
+        public long expireAfterCreate(String key, Optional<RemoteLocationResponse> answer, long currentTime) {
+            return ttlOf(properties, answer).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<RemoteLocationResponse> answer,
+                                      long currentTime, long currentDuration) {
+            return ttlOf(properties, answer).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<RemoteLocationResponse> answer,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
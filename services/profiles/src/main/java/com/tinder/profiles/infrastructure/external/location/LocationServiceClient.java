@@ -16,11 +16,13 @@ import org.springframework.web.reactive.function.client.WebClient;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Primary location resolver. Delegates to the standalone location-go service.
  * Falls back to the local {@link LocationService} when the remote service is
- * unavailable (timeout, 5xx, circuit open).
+ * unavailable (timeout, 5xx, circuit open). City-only lookups go through the
+ * {@link GeocodeCache} first.
  */
 @Component
 @Slf4j
@@ -33,18 +35,33 @@ public class LocationServiceClient {
     private final WebClient locationWebClient;
     private final LocationService locationService;
     private final LocationRepository locationRepository;
+    private final GeocodeCache geocodes;
 
     public LocationServiceClient(
             @Qualifier("locationWebClient") WebClient locationWebClient,
             LocationService locationService,
-            LocationRepository locationRepository
+            LocationRepository locationRepository,
+            GeocodeCache geocodes
     ) {
         this.locationWebClient = locationWebClient;
         this.locationService = locationService;
         this.locationRepository = locationRepository;
+        this.geocodes = geocodes;
     }
 
     public Location resolve(String city) {
+        Optional<RemoteLocationResponse> resolved = geocodes.get(city, () -> geocode(city));
+        if (resolved.isPresent()) {
+            return findOrSaveLocally(resolved.get());
+        }
+
+        // Degraded city-only fallback: we hold no coordinates and must not geocode here
+        // (the location service owns geocoding). Serve a previously-resolved row if one
+        // exists locally; otherwise the city cannot be resolved while the service is down.
+        return locationRepository.findByCity(city).orElse(null);
+    }
+
+    private Optional<RemoteLocationResponse> geocode(String city) {
         try {
             Map<String, Object> body = new HashMap<>();
             body.put("city", city);
@@ -59,16 +76,12 @@ public class LocationServiceClient {
 
             if (resp != null) {
                 log.debug("Location service resolved city '{}' → id={}", city, resp.id());
-                return findOrSaveLocally(resp);
+                return Optional.of(resp);
             }
         } catch (Exception e) {
             log.warn("Location service unavailable for city '{}', falling back to local: {}", city, e.getMessage());
         }
-
-        // Degraded city-only fallback: we hold no coordinates and must not geocode here
-        // (the location service owns geocoding). Serve a previously-resolved row if one
-        // exists locally; otherwise the city cannot be resolved while the service is down.
-        return locationRepository.findByCity(city).orElse(null);
+        return Optional.empty();
     }
 
     public Location resolveFromCoordinates(double latitude, double longitude, String city) {
@@ -0,0 +1,38 @@
+package com.tinder.profiles.infrastructure.external.photos;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk deletes against the photo store: multi-object requests sent, and objects
+ * by outcome. The rate of {@code deleted} is what the orphan sweep reclaims.
+ */
+@Component
+class PhotoStorageMetrics {
+
+    private final Counter requests;
+    private final Counter deleted;
+    private final Counter failed;
+
+    PhotoStorageMetrics(MeterRegistry meterRegistry) {
+        this.requests = Counter.builder("profiles.photos.storage.batch.deletes")
+                .description("Multi-object delete requests sent to the photo store")
+                .register(meterRegistry);
+        this.deleted = objects(meterRegistry, "deleted");
+        this.failed = objects(meterRegistry, "failed");
+    }
+
+    private static Counter objects(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("profiles.photos.storage.batch.deleted.objects")
+                .description("Objects removed by multi-object deletes, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    void batchDeleted(int objects, int failures) {
+        requests.increment();
+        deleted.increment(objects - failures);
+        failed.increment(failures);
+    }
+}
@@ -1,25 +1,38 @@
 package com.tinder.profiles.infrastructure.external.photos;
 
 import com.tinder.profiles.application.photos.exception.PhotoStorageException;
+import com.tinder.profiles.application.photos.model.StoredObject;
+import com.tinder.profiles.application.photos.model.StoredObjectPage;
 import com.tinder.profiles.application.photos.port.out.PhotoStoragePort;
 import com.tinder.profiles.config.props.AwsProperties;
 import com.tinder.profiles.config.props.PhotoProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * S3 implementation of {@link PhotoStoragePort}. Knows buckets, presigning and
@@ -30,45 +43,69 @@ import java.util.Map;
 @Slf4j
 public class S3PhotoStorageAdapter implements PhotoStoragePort {
 
+    /** The DeleteObjects limit. */
+    private static final int MAX_KEYS_PER_DELETE = 1000;
+
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
     private final S3Presigner s3Presigner;
     private final String bucket;
     private final String region;
     private final Duration presignDuration;
     private final PhotoProperties.Cloudfront cloudfront;
+    private final PhotoStorageMetrics metrics;
 
     public S3PhotoStorageAdapter(
             S3Client s3Client,
+            S3AsyncClient s3AsyncClient,
             S3Presigner s3Presigner,
             PhotoProperties photoProperties,
-            AwsProperties awsProperties
+            AwsProperties awsProperties,
+            PhotoStorageMetrics metrics
     ) {
         this.s3Client = s3Client;
+        this.s3AsyncClient = s3AsyncClient;
         this.s3Presigner = s3Presigner;
         this.bucket = photoProperties.s3().bucket();
         this.presignDuration = Duration.ofSeconds(photoProperties.s3().presignExpSeconds());
         this.cloudfront = photoProperties.cloudfront();
         this.region = awsProperties.region();
+        this.metrics = metrics;
     }
 
     @Override
     public void put(String key, byte[] data, String contentType) {
-        PutObjectRequest request = PutObjectRequest.builder()
-                .bucket(bucket)
-                .key(key)
-                .contentType(contentType)
-                .metadata(Map.of(
-                        "x-origin", "spring-boot",
-                        "uploaded-at", LocalDateTime.now().toString()))
-                .build();
         try {
-            s3Client.putObject(request, RequestBody.fromBytes(data));
+            s3Client.putObject(putRequest(key, contentType), RequestBody.fromBytes(data));
         } catch (Exception e) {
             throw new PhotoStorageException("Failed to store object " + key, e);
         }
         log.debug("Uploaded {} bytes to S3: {}", data.length, key);
     }
 
+    @Override
+    public CompletableFuture<Void> putAsync(String key, byte[] data, String contentType) {
+        return s3AsyncClient.putObject(putRequest(key, contentType), AsyncRequestBody.fromBytes(data))
+                .handle((response, failure) -> {
+                    if (failure != null) {
+                        throw new CompletionException(
+                                new PhotoStorageException("Failed to store object " + key, failure));
+                    }
+                    log.debug("Uploaded {} bytes to S3: {}", data.length, key);
+                    return null;
+                });
+    }
+
+    @Override
+    public byte[] get(String key) {
+        try {
+            return s3Client.getObjectAsBytes(GetObjectRequest.builder().bucket(bucket).key(key).build())
+                    .asByteArray();
+        } catch (Exception e) {
+            throw new PhotoStorageException("Failed to read object " + key, e);
+        }
+    }
+
     @Override
     public void delete(String key) {
         try {
@@ -80,13 +117,63 @@ public class S3PhotoStorageAdapter implements PhotoStoragePort {
 
     @Override
     public List<String> listKeys(String prefix) {
-        return s3Client.listObjectsV2(
+        return s3Client.listObjectsV2Paginator(
                         ListObjectsV2Request.builder().bucket(bucket).prefix(prefix).build())
                 .contents().stream()
                 .map(S3Object::key)
                 .toList();
     }
 
+    @Override
+    public StoredObjectPage listObjects(String prefix, String startAfter, int limit) {
+        ListObjectsV2Response response = s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .startAfter(startAfter)
+                .maxKeys(limit)
+                .build());
+        List<StoredObject> objects = response.contents().stream()
+                .map(object -> new StoredObject(
+                        object.key(), object.size() == null ? 0 : object.size(), object.lastModified()))
+                .toList();
+        boolean more = Boolean.TRUE.equals(response.isTruncated()) && !objects.isEmpty();
+        return new StoredObjectPage(objects, more ? objects.get(objects.size() - 1).key() : null);
+    }
+
+    @Override
+    public List<String> deleteAll(List<String> keys) {
+        List<String> failed = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += MAX_KEYS_PER_DELETE) {
+            List<String> batch = keys.subList(from, Math.min(from + MAX_KEYS_PER_DELETE, keys.size()));
+            List<String> refused = deleteBatch(batch);
+            metrics.batchDeleted(batch.size(), refused.size());
+            failed.addAll(refused);
+        }
+        return failed;
+    }
+
+    /** Quiet mode: S3 reports only the keys it could not delete. */
+    private List<String> deleteBatch(List<String> keys) {
+        try {
+            DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(bucket)
+                    .delete(Delete.builder()
+                            .objects(keys.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList())
+                            .quiet(true)
+                            .build())
+                    .build());
+            if (response.hasErrors() && !response.errors().isEmpty()) {
+                log.warn("S3 refused to delete {} of {} object(s), first: {} ({})", response.errors().size(),
+                        keys.size(), response.errors().get(0).key(), response.errors().get(0).code());
+                return response.errors().stream().map(S3Error::key).toList();
+            }
+            return List.of();
+        } catch (Exception e) {
+            log.warn("Failed to delete {} object(s) from S3 starting at {}", keys.size(), keys.get(0), e);
+            return List.copyOf(keys);
+        }
+    }
+
     @Override
     public String publicUrl(String key) {
         if (cloudfront.servesTraffic()) {
@@ -103,4 +190,15 @@ public class S3PhotoStorageAdapter implements PhotoStoragePort {
                 .build();
         return s3Presigner.presignGetObject(request).url().toString();
     }
+
+    private PutObjectRequest putRequest(String key, String contentType) {
+        return PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .metadata(Map.of(
+                        "x-origin", "spring-boot",
+                        "uploaded-at", LocalDateTime.now().toString()))
+                .build();
+    }
 }
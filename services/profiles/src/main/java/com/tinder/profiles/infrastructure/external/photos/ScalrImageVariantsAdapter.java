@@ -4,9 +4,12 @@ import com.tinder.profiles.application.photos.model.ImageDimensions;
 import com.tinder.profiles.application.photos.model.PhotoVariants;
 import com.tinder.profiles.application.photos.port.out.ImageVariantsPort;
 import org.imgscalr.Scalr;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
@@ -14,12 +17,25 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * imgscalr implementation of {@link ImageVariantsPort}: decodes an upload and
+ * imgscalr implementation of {@link ImageVariantsPort}: decodes an upload once and
  * renders the four JPEG variants. Transparency is flattened onto white because
  * JPEG has no alpha channel.
+ *
+ * <p>Each variant is downscaled from the next larger one rather than from the
+ * original, and each is JPEG-encoded on the bounded {@code photoVariantsExecutor}
+ * as soon as it exists, so encoding the full-size original overlaps the resizes.
+ * Renders already run on that pool, so an encode no worker has picked up by the
+ * time its result is needed runs on the rendering thread instead of waiting in
+ * the queue behind other renders.
  */
 @Component
 public class ScalrImageVariantsAdapter implements ImageVariantsPort {
@@ -28,25 +44,55 @@ public class ScalrImageVariantsAdapter implements ImageVariantsPort {
     private static final int MEDIUM_PX = 400;
     private static final int SMALL_PX = 150;
 
+    private final Executor executor;
+
+    public ScalrImageVariantsAdapter(@Qualifier("photoVariantsExecutor") Executor executor) {
+        this.executor = executor;
+    }
+
     @Override
     public Optional<ImageDimensions> probe(byte[] imageBytes) {
-        return decode(imageBytes)
-                .map(image -> new ImageDimensions(image.getWidth(), image.getHeight()));
+        if (imageBytes == null || imageBytes.length == 0) {
+            return Optional.empty();
+        }
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return Optional.of(new ImageDimensions(reader.getWidth(0), reader.getHeight(0)));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
     }
 
     @Override
     public PhotoVariants render(byte[] imageBytes) {
         BufferedImage original = decode(imageBytes)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid image file"));
+        Encode originalJpeg = encodeAsync(original);
 
         BufferedImage large = Scalr.resize(original, Scalr.Method.QUALITY,
                 Scalr.Mode.FIT_TO_WIDTH, LARGE_PX, LARGE_PX, Scalr.OP_ANTIALIAS);
-        BufferedImage medium = Scalr.resize(original, Scalr.Method.BALANCED,
+        Encode largeJpeg = encodeAsync(large);
+        BufferedImage medium = Scalr.resize(large, Scalr.Method.BALANCED,
                 MEDIUM_PX, MEDIUM_PX, Scalr.OP_ANTIALIAS);
-        BufferedImage small = Scalr.resize(original, Scalr.Method.SPEED,
+        Encode mediumJpeg = encodeAsync(medium);
+        BufferedImage small = Scalr.resize(medium, Scalr.Method.SPEED,
                 SMALL_PX, SMALL_PX, Scalr.OP_ANTIALIAS);
+        byte[] smallJpeg = toJpeg(small);
 
-        return new PhotoVariants(toJpeg(original), toJpeg(large), toJpeg(medium), toJpeg(small));
+        try {
+            return new PhotoVariants(originalJpeg.join(), largeJpeg.join(), mediumJpeg.join(), smallJpeg);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
     }
 
     private Optional<BufferedImage> decode(byte[] imageBytes) {
@@ -60,6 +106,16 @@ public class ScalrImageVariantsAdapter implements ImageVariantsPort {
         }
     }
 
+    private Encode encodeAsync(BufferedImage image) {
+        Encode encode = new Encode(image);
+        try {
+            executor.execute(encode);
+        } catch (RejectedExecutionException e) {
+            // Shutting down: join() encodes on the calling thread.
+        }
+        return encode;
+    }
+
     private byte[] toJpeg(BufferedImage image) {
         BufferedImage source = image.getColorModel().hasAlpha() ? flattenOnWhite(image) : image;
         ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -83,4 +139,33 @@ public class ScalrImageVariantsAdapter implements ImageVariantsPort {
         graphics.dispose();
         return rgb;
     }
+
+    /** One JPEG encode, run by whichever of a pool worker or {@link #join()} claims it first. */
+    private final class Encode implements Runnable {
+
+        private final BufferedImage image;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+
+        private Encode(BufferedImage image) {
+            this.image = image;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(toJpeg(image));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        byte[] join() {
+            run();
+            return result.join();
+        }
+    }
 }
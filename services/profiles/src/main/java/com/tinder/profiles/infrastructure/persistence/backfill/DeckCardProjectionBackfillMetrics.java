@@ -0,0 +1,62 @@
+package com.tinder.profiles.infrastructure.persistence.backfill;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress and rate of Deck Card projection backfills: profiles enqueued and
+ * page latency per mode (the counter's rate is the backfill throughput), the
+ * run's outbox backlog the throttle compares against, and per-range progress
+ * of a partitioned run. Range gauges are bounded by the partition limit.
+ */
+@Component
+class DeckCardProjectionBackfillMetrics {
+
+    static final String SEQUENTIAL = "sequential";
+    static final String PARTITIONED = "partitioned";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> enqueued = new ConcurrentHashMap<>();
+    private final Map<String, Timer> pages = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicLong> rangeProcessed = new ConcurrentHashMap<>();
+    private final AtomicLong pendingOutbox;
+
+    DeckCardProjectionBackfillMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.pendingOutbox = meterRegistry.gauge(
+                "profiles.projection.backfill.outbox.pending", new AtomicLong());
+    }
+
+    void pageCommitted(String mode, int profiles, long startNanos) {
+        enqueued.computeIfAbsent(mode, m -> Counter.builder("profiles.projection.backfill.enqueued")
+                        .description("Profiles whose Deck Card projection was enqueued by a backfill")
+                        .tag("mode", m)
+                        .register(meterRegistry))
+                .increment(profiles);
+        pages.computeIfAbsent(mode, m -> Timer.builder("profiles.projection.backfill.page")
+                        .description("Time to read, build and enqueue one backfill page")
+                        .tag("mode", m)
+                        .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void rangeProgress(int rangeIndex, long processed) {
+        rangeProcessed.computeIfAbsent(rangeIndex, index -> meterRegistry.gauge(
+                        "profiles.projection.backfill.range.processed",
+                        Tags.of("range", Integer.toString(index)),
+                        new AtomicLong()))
+                .set(processed);
+    }
+
+    void pendingOutbox(long pending) {
+        pendingOutbox.set(pending);
+    }
+}
@@ -0,0 +1,88 @@
+package com.tinder.profiles.infrastructure.persistence.backfill;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/** Durable cursor of one keyset range of a partitioned backfill run. */
+@Entity
+@Getter
+@NoArgsConstructor
+@IdClass(DeckCardProjectionBackfillRangeJpaEntity.Key.class)
+@Table(name = "deck_card_projection_backfill_range")
+public class DeckCardProjectionBackfillRangeJpaEntity {
+
+    @Id
+    @Column(name = "run_id", nullable = false, updatable = false)
+    private UUID runId;
+
+    @Id
+    @Column(name = "range_index", nullable = false, updatable = false)
+    private int rangeIndex;
+
+    @Column(name = "lower_bound", updatable = false)
+    private UUID lowerBound;
+
+    @Column(name = "upper_bound", updatable = false)
+    private UUID upperBound;
+
+    @Column(name = "last_profile_id")
+    private UUID lastProfileId;
+
+    @Column(name = "processed_count", nullable = false)
+    private long processedCount;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public static DeckCardProjectionBackfillRangeJpaEntity planned(
+            UUID runId,
+            int rangeIndex,
+            UUID lowerBound,
+            UUID upperBound,
+            Instant now
+    ) {
+        DeckCardProjectionBackfillRangeJpaEntity range = new DeckCardProjectionBackfillRangeJpaEntity();
+        range.runId = runId;
+        range.rangeIndex = rangeIndex;
+        range.lowerBound = lowerBound;
+        range.upperBound = upperBound;
+        range.updatedAt = now;
+        return range;
+    }
+
+    /** Where the next page starts: after the cursor, or after the lower bound before the first page. */
+    public UUID pageAfter() {
+        return lastProfileId != null ? lastProfileId : lowerBound;
+    }
+
+    /** Carries a sequential run's cursor into the range that contains it. */
+    public void continueFrom(UUID sequentialCursor) {
+        this.lastProfileId = sequentialCursor;
+    }
+
+    public void pageCommitted(UUID lastProfileId, int pageCount, Instant now) {
+        this.lastProfileId = lastProfileId;
+        this.processedCount += pageCount;
+        this.updatedAt = now;
+    }
+
+    public void markCompleted(Instant now) {
+        this.completed = true;
+        this.updatedAt = now;
+    }
+
+    public record Key(UUID runId, int rangeIndex) implements Serializable {
+    }
+}
@@ -0,0 +1,29 @@
+package com.tinder.profiles.infrastructure.persistence.backfill;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface DeckCardProjectionBackfillRangeRepository
+        extends JpaRepository<DeckCardProjectionBackfillRangeJpaEntity, DeckCardProjectionBackfillRangeJpaEntity.Key> {
+
+    List<DeckCardProjectionBackfillRangeJpaEntity> findByRunIdOrderByRangeIndex(UUID runId);
+
+    boolean existsByRunIdAndCompletedFalse(UUID runId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT r FROM DeckCardProjectionBackfillRangeJpaEntity r
+            WHERE r.runId = :runId AND r.rangeIndex = :rangeIndex
+            """)
+    Optional<DeckCardProjectionBackfillRangeJpaEntity> findByIdForUpdate(
+            @Param("runId") UUID runId,
+            @Param("rangeIndex") int rangeIndex
+    );
+}
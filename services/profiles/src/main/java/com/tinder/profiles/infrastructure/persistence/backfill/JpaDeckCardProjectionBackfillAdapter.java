@@ -1,5 +1,6 @@
 package com.tinder.profiles.infrastructure.persistence.backfill;
 
+import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillRange;
 import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillRun;
 import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillStatus;
 import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillConflictException;
@@ -16,11 +17,16 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-/** PostgreSQL implementation: page outbox rows and cursor share one transaction. */
+/**
+ * PostgreSQL implementation: page outbox rows and cursor share one transaction.
+ * Partitioned runs keep one cursor per range row, so concurrent workers only
+ * contend on the range they page.
+ */
 @Component
 @RequiredArgsConstructor
 public class JpaDeckCardProjectionBackfillAdapter implements DeckCardProjectionBackfillPort {
@@ -28,11 +34,13 @@ public class JpaDeckCardProjectionBackfillAdapter implements DeckCardProjectionB
     private static final long BACKFILL_COORDINATOR_LOCK = 1_145_393_995L;
 
     private final DeckCardProjectionBackfillRunRepository runs;
+    private final DeckCardProjectionBackfillRangeRepository ranges;
     private final ProfileRepository profiles;
     private final ProfileEventOutboxRepository profile_event_outbox;
     private final ProfileOutboxService outbox;
     private final DeckCardProjectionOutboxService projections;
     private final EntityManager entityManager;
+    private final DeckCardProjectionBackfillMetrics metrics;
 
     @Override
     @Transactional
@@ -78,6 +86,7 @@ public class JpaDeckCardProjectionBackfillAdapter implements DeckCardProjectionB
             return toView(refresh(run));
         }
 
+        long startNanos = System.nanoTime();
         List<UUID> ids = profiles.findNextProjectionBackfillIds(
                 run.getLastProfileId(), PageRequest.of(0, pageSize));
         if (ids.isEmpty()) {
@@ -91,9 +100,99 @@ public class JpaDeckCardProjectionBackfillAdapter implements DeckCardProjectionB
         if (ids.size() < pageSize) {
             run.markEnqueued(Instant.now());
         }
+        metrics.pageCommitted(DeckCardProjectionBackfillMetrics.SEQUENTIAL, ids.size(), startNanos);
         return toView(refresh(run));
     }
 
+    @Override
+    @Transactional
+    public List<DeckCardProjectionBackfillRange> planRanges(UUID runId, int partitions) {
+        DeckCardProjectionBackfillRunJpaEntity run = runs.findByIdForUpdate(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown backfill run: " + runId));
+        List<DeckCardProjectionBackfillRangeJpaEntity> planned = ranges.findByRunIdOrderByRangeIndex(runId);
+        if (!planned.isEmpty() || run.getStatus() != DeckCardProjectionBackfillStatus.RUNNING) {
+            return planned.stream().map(this::toRangeView).toList();
+        }
+
+        Instant now = Instant.now();
+        UUID cursor = run.getLastProfileId();
+        List<UUID> bounds = keyspaceBounds(partitions);
+        List<DeckCardProjectionBackfillRangeJpaEntity> created = new ArrayList<>(partitions);
+        for (int index = 0; index < partitions; index++) {
+            UUID lower = bounds.get(index);
+            UUID upper = index + 1 < partitions ? bounds.get(index + 1) : null;
+            DeckCardProjectionBackfillRangeJpaEntity range =
+                    DeckCardProjectionBackfillRangeJpaEntity.planned(runId, index, lower, upper, now);
+            // A run started sequentially keeps what it already enqueued.
+            if (cursor != null && upper != null && compareAsPostgres(cursor, upper) >= 0) {
+                range.continueFrom(upper);
+                range.markCompleted(now);
+            } else if (cursor != null && (lower == null || compareAsPostgres(cursor, lower) > 0)) {
+                range.continueFrom(cursor);
+            }
+            created.add(range);
+        }
+        return ranges.saveAll(created).stream().map(this::toRangeView).toList();
+    }
+
+    @Override
+    @Transactional
+    public DeckCardProjectionBackfillRange enqueueNextRangePage(UUID runId, int rangeIndex, int pageSize) {
+        if (pageSize < 1 || pageSize > 500) {
+            throw new IllegalArgumentException("Backfill page size must be between 1 and 500");
+        }
+
+        // The run row is only read: workers lock their own range, not each other.
+        DeckCardProjectionBackfillRunJpaEntity run = runs.findById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown backfill run: " + runId));
+        if (run.getStatus() != DeckCardProjectionBackfillStatus.RUNNING) {
+            throw new IllegalStateException("Backfill run " + runId + " is " + run.getStatus());
+        }
+        DeckCardProjectionBackfillRangeJpaEntity range = ranges.findByIdForUpdate(runId, rangeIndex)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Unknown range " + rangeIndex + " of backfill run " + runId));
+        if (range.isCompleted()) {
+            return toRangeView(range);
+        }
+
+        long startNanos = System.nanoTime();
+        List<UUID> ids = profiles.findNextProjectionBackfillIdsUpTo(
+                range.pageAfter(), range.getUpperBound(), PageRequest.of(0, pageSize));
+        if (!ids.isEmpty()) {
+            projections.buildBackfillPage(ids, runId).forEach(event ->
+                    outbox.enqueueDeckCardProjection(event, runId));
+            range.pageCommitted(ids.get(ids.size() - 1), ids.size(), Instant.now());
+            metrics.pageCommitted(DeckCardProjectionBackfillMetrics.PARTITIONED, ids.size(), startNanos);
+        }
+        if (ids.size() < pageSize) {
+            range.markCompleted(Instant.now());
+        }
+        metrics.rangeProgress(rangeIndex, range.getProcessedCount());
+        return toRangeView(range);
+    }
+
+    @Override
+    @Transactional
+    public DeckCardProjectionBackfillRun finishRanges(UUID runId) {
+        DeckCardProjectionBackfillRunJpaEntity run = runs.findByIdForUpdate(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown backfill run: " + runId));
+        if (run.getStatus() == DeckCardProjectionBackfillStatus.RUNNING) {
+            if (ranges.existsByRunIdAndCompletedFalse(runId)) {
+                throw new IllegalStateException("Backfill run " + runId + " has unfinished ranges");
+            }
+            run.markEnqueued(Instant.now());
+        }
+        return toView(refresh(run));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long pendingOutboxEvents(UUID runId) {
+        long pending = profile_event_outbox.countByBackfillRunIdAndPublishedAtIsNullAndDeadLetteredAtIsNull(runId);
+        metrics.pendingOutbox(pending);
+        return pending;
+    }
+
     @Override
     @Transactional
     public Optional<DeckCardProjectionBackfillRun> refreshStatus(UUID runId) {
@@ -127,9 +226,47 @@ public class JpaDeckCardProjectionBackfillAdapter implements DeckCardProjectionB
     }
 
     private DeckCardProjectionBackfillRun toView(DeckCardProjectionBackfillRunJpaEntity run) {
+        List<DeckCardProjectionBackfillRange> rangeViews = ranges.findByRunIdOrderByRangeIndex(run.getRunId())
+                .stream()
+                .map(this::toRangeView)
+                .toList();
+        // Ranges count what they enqueued; the run counts any sequential pages before them.
+        long processed = run.getProcessedCount() + rangeViews.stream()
+                .mapToLong(DeckCardProjectionBackfillRange::processedCount)
+                .sum();
         return new DeckCardProjectionBackfillRun(
                 run.getRunId(), run.getStatus(), run.getLastProfileId(),
-                run.getProcessedCount(), run.getExpectedCount(), run.getStartedAt(),
-                run.getUpdatedAt(), run.getCompletedAt(), run.getLastError());
+                processed, run.getExpectedCount(), run.getStartedAt(),
+                run.getUpdatedAt(), run.getCompletedAt(), run.getLastError(), rangeViews);
+    }
+
+    private DeckCardProjectionBackfillRange toRangeView(DeckCardProjectionBackfillRangeJpaEntity range) {
+        return new DeckCardProjectionBackfillRange(
+                range.getRangeIndex(), range.getLowerBound(), range.getUpperBound(),
+                range.getLastProfileId(), range.getProcessedCount(), range.isCompleted());
+    }
+
+    /**
+     * Range boundaries that split the UUID space evenly on its high 64 bits. Profile
+     * ids are random (version 4), so every range holds about the same number of rows
+     * without scanning the table to find quantiles. The first bound is {@code null}:
+     * the open start of the id space.
+     */
+    static List<UUID> keyspaceBounds(int partitions) {
+        long step = Long.divideUnsigned(-1L, partitions);
+        List<UUID> bounds = new ArrayList<>(partitions);
+        bounds.add(null);
+        for (int index = 1; index < partitions; index++) {
+            bounds.add(new UUID(step * index, 0L));
+        }
+        return bounds;
+    }
+
+    /** PostgreSQL orders uuid bytewise, i.e. as unsigned numbers; {@link UUID#compareTo} is signed. */
+    static int compareAsPostgres(UUID left, UUID right) {
+        int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0
+                ? high
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
     }
 }
@@ -0,0 +1,49 @@
+package com.tinder.profiles.infrastructure.persistence.photos;
+
+import com.tinder.profiles.application.photos.model.OrphanedPhotoSweepLease;
+import com.tinder.profiles.application.photos.port.out.OrphanedPhotoSweepCursorPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * PostgreSQL implementation: the sweep's row is claimed with
+ * {@code FOR UPDATE SKIP LOCKED} and then leased, so replicas whose schedules
+ * fire together neither queue behind each other's lock nor sweep side by side.
+ * Every write is one short transaction; none is held while the bucket is listed.
+ */
+@Component
+@RequiredArgsConstructor
+public class JpaOrphanedPhotoSweepCursorAdapter implements OrphanedPhotoSweepCursorPort {
+
+    private static final String SWEEP = "photo-orphans";
+
+    private final OrphanedPhotoSweepCursorRepository cursors;
+
+    @Override
+    @Transactional
+    public Optional<OrphanedPhotoSweepLease> claim(Instant now, Instant leasedUntil) {
+        cursors.insertIfAbsent(SWEEP, now);
+        return cursors.lockUnleased(SWEEP, now).map(row -> {
+            UUID leaseId = UUID.randomUUID();
+            row.lease(leaseId, leasedUntil, now);
+            return new OrphanedPhotoSweepLease(leaseId, row.getResumeAfter());
+        });
+    }
+
+    @Override
+    @Transactional
+    public boolean advance(UUID leaseId, String resumeAfter, Instant leasedUntil) {
+        return cursors.advance(SWEEP, leaseId, resumeAfter, leasedUntil, Instant.now()) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void release(UUID leaseId) {
+        cursors.release(SWEEP, leaseId, Instant.now());
+    }
+}
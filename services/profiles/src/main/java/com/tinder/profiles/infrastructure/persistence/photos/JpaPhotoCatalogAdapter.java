@@ -1,20 +1,28 @@
 package com.tinder.profiles.infrastructure.persistence.photos;
 
+import com.tinder.profiles.application.photos.model.ClaimedPhoto;
 import com.tinder.profiles.application.photos.model.PhotoDraft;
+import com.tinder.profiles.application.photos.model.PhotoStatus;
 import com.tinder.profiles.application.photos.model.StoredPhoto;
 import com.tinder.profiles.application.photos.port.out.PhotoCatalogPort;
 import com.tinder.profiles.infrastructure.persistence.profile.ProfileRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * JPA implementation of {@link PhotoCatalogPort}, mapping the {@link Photo}
- * entity to the application's {@link StoredPhoto} read model.
+ * entity to the application's {@link StoredPhoto} read model. Recovery claims are
+ * one short transaction using {@code FOR UPDATE SKIP LOCKED}, so replicas sweeping
+ * at the same time split the stale photos instead of rendering them twice.
  */
 @Component
 @RequiredArgsConstructor
@@ -35,6 +43,16 @@ public class JpaPhotoCatalogAdapter implements PhotoCatalogPort {
                 .toList();
     }
 
+    @Override
+    public List<StoredPhoto> findForProfiles(Collection<UUID> profileIds) {
+        if (profileIds.isEmpty()) {
+            return List.of();
+        }
+        return photoRepository.findAllByProfile_ProfileIdIn(profileIds).stream()
+                .map(this::toStoredPhoto)
+                .toList();
+    }
+
     @Override
     public Optional<StoredPhoto> findById(UUID photoId) {
         return photoRepository.findById(photoId).map(this::toStoredPhoto);
@@ -52,6 +70,7 @@ public class JpaPhotoCatalogAdapter implements PhotoCatalogPort {
         photo.setContentType(draft.contentType());
         photo.setSize(draft.size());
         photo.setCreatedAt(LocalDateTime.now());
+        photo.setStatus(draft.status());
 
         return toStoredPhoto(photoRepository.save(photo));
     }
@@ -61,6 +80,27 @@ public class JpaPhotoCatalogAdapter implements PhotoCatalogPort {
         photoRepository.deleteById(photoId);
     }
 
+    @Override
+    public boolean markReady(UUID photoId, String contentType, long size) {
+        return photoRepository.updateRendered(photoId, PhotoStatus.READY, contentType, size) > 0;
+    }
+
+    @Override
+    public void markFailed(UUID photoId) {
+        photoRepository.updateStatus(photoId, PhotoStatus.FAILED);
+    }
+
+    @Override
+    @Transactional
+    public List<ClaimedPhoto> claimPendingCreatedBefore(LocalDateTime cutoff, Instant now, Duration lease, int limit) {
+        List<Photo> claimed = photoRepository.lockStalePending(cutoff, now, limit);
+        Instant leasedUntil = now.plus(lease);
+        claimed.forEach(photo -> photo.leaseRender(leasedUntil));
+        return claimed.stream()
+                .map(photo -> new ClaimedPhoto(toStoredPhoto(photo), photo.getRenderAttempts()))
+                .toList();
+    }
+
     private StoredPhoto toStoredPhoto(Photo photo) {
         return new StoredPhoto(
                 photo.getPhotoID(),
@@ -71,6 +111,7 @@ public class JpaPhotoCatalogAdapter implements PhotoCatalogPort {
                 photo.getUrl(),
                 photo.getContentType(),
                 photo.getSize(),
-                photo.getCreatedAt());
+                photo.getCreatedAt(),
+                photo.getStatus());
     }
 }
@@ -0,0 +1,45 @@
+package com.tinder.profiles.infrastructure.persistence.photos;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Position and lease of a background bucket sweep, one row per sweep. The row is
+ * created by the first claim; the replica holding the lease is the only one
+ * sweeping.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "photo_orphan_sweep_cursor")
+public class OrphanedPhotoSweepCursorJpaEntity {
+
+    @Id
+    @Column(name = "sweep", nullable = false, updatable = false, length = 64)
+    private String sweep;
+
+    @Column(name = "resume_after", length = 1024)
+    private String resumeAfter;
+
+    @Column(name = "lease_owner")
+    private UUID leaseOwner;
+
+    @Column(name = "leased_until")
+    private Instant leasedUntil;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public void lease(UUID owner, Instant until, Instant now) {
+        this.leaseOwner = owner;
+        this.leasedUntil = until;
+        this.updatedAt = now;
+    }
+}
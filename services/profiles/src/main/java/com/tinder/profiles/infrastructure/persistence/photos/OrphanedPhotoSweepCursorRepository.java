@@ -0,0 +1,57 @@
+package com.tinder.profiles.infrastructure.persistence.photos;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OrphanedPhotoSweepCursorRepository extends JpaRepository<OrphanedPhotoSweepCursorJpaEntity, String> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO photo_orphan_sweep_cursor (sweep, updated_at)
+            VALUES (:sweep, :now)
+            ON CONFLICT (sweep) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("sweep") String sweep, @Param("now") Instant now);
+
+    /** The sweep's row, unless another transaction holds it or another replica's lease is still running. */
+    @Query(value = """
+            SELECT *
+            FROM photo_orphan_sweep_cursor
+            WHERE sweep = :sweep
+              AND (leased_until IS NULL OR leased_until <= :now)
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<OrphanedPhotoSweepCursorJpaEntity> lockUnleased(@Param("sweep") String sweep, @Param("now") Instant now);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            UPDATE photo_orphan_sweep_cursor
+            SET resume_after = :resumeAfter,
+                leased_until = :leasedUntil,
+                updated_at = :now
+            WHERE sweep = :sweep
+              AND lease_owner = :owner
+            """, nativeQuery = true)
+    int advance(@Param("sweep") String sweep,
+                @Param("owner") UUID owner,
+                @Param("resumeAfter") String resumeAfter,
+                @Param("leasedUntil") Instant leasedUntil,
+                @Param("now") Instant now);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            UPDATE photo_orphan_sweep_cursor
+            SET lease_owner = NULL,
+                leased_until = NULL,
+                updated_at = :now
+            WHERE sweep = :sweep
+              AND lease_owner = :owner
+            """, nativeQuery = true)
+    int release(@Param("sweep") String sweep, @Param("owner") UUID owner, @Param("now") Instant now);
+}
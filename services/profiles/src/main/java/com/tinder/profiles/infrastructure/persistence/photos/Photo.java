@@ -1,12 +1,14 @@
 package com.tinder.profiles.infrastructure.persistence.photos;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.tinder.profiles.application.photos.model.PhotoStatus;
 import com.tinder.profiles.infrastructure.persistence.profile.ProfileJpaEntity;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -49,9 +51,26 @@ public class Photo {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private PhotoStatus status = PhotoStatus.READY;
+
+    /** Recovery-sweep claims of this pending photo so far. */
+    @Column(name = "render_attempts", nullable = false)
+    private int renderAttempts;
+
+    /** Other replicas' recovery sweeps skip the photo until then. */
+    @Column(name = "render_leased_until")
+    private Instant renderLeasedUntil;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonBackReference
     @JoinColumn(name = "profile_id", nullable = false)
     private ProfileJpaEntity profile;
 
+    /** Hides a claimed pending photo from other replicas while its pipeline is re-run. */
+    public void leaseRender(Instant until) {
+        this.renderAttempts += 1;
+        this.renderLeasedUntil = until;
+    }
 }
\ No newline at end of file
@@ -1,7 +1,14 @@
 package com.tinder.profiles.infrastructure.persistence.photos;
 
+import com.tinder.profiles.application.photos.model.PhotoStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -22,4 +29,42 @@ public interface PhotoRepository extends JpaRepository<Photo, UUID> {
     Optional<Photo> findByS3Key(String s3Key);
     Optional<Photo> findByUrl(String url);
     Optional<Photo> findByPhotoIDAndProfile_ProfileId(UUID photoID, UUID profileId);
+
+    /** Runs outside the upload transaction, from the variant pipeline, hence its own. */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE Photo p
+        SET p.status = :status,
+            p.contentType = :contentType,
+            p.size = :size
+        WHERE p.photoID = :photoId
+        """)
+    int updateRendered(@Param("photoId") UUID photoId,
+                       @Param("status") PhotoStatus status,
+                       @Param("contentType") String contentType,
+                       @Param("size") long size);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Photo p SET p.status = :status WHERE p.photoID = :photoId")
+    int updateStatus(@Param("photoId") UUID photoId, @Param("status") PhotoStatus status);
+
+    /**
+     * Oldest pending photos created before {@code cutoff} that no replica holds:
+     * neither row-locked by a concurrent claim nor leased by an earlier one.
+     */
+    @Query(value = """
+            SELECT *
+            FROM photo
+            WHERE status = 'PENDING'
+              AND created_at < :cutoff
+              AND (render_leased_until IS NULL OR render_leased_until <= :now)
+            ORDER BY created_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Photo> lockStalePending(@Param("cutoff") LocalDateTime cutoff,
+                                 @Param("now") Instant now,
+                                 @Param("limit") int limit);
 }
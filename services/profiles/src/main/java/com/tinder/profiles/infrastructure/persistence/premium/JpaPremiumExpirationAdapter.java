@@ -0,0 +1,69 @@
+package com.tinder.profiles.infrastructure.persistence.premium;
+
+import com.tinder.profiles.application.profile.model.PremiumRevocation;
+import com.tinder.profiles.application.profile.port.out.PremiumExpirationPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * PostgreSQL implementation: each chunk and each claim is one short transaction
+ * using {@code FOR UPDATE SKIP LOCKED}, so replicas running the scheduler at the
+ * same time split the work instead of queueing behind each other's locks.
+ * Keycloak is never called inside a transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class JpaPremiumExpirationAdapter implements PremiumExpirationPort {
+
+    private final PremiumRevocationRepository revocations;
+    private final PremiumExpirationMetrics metrics;
+
+    @Override
+    @Transactional
+    public int expireNextChunk(LocalDateTime asOf, int chunkSize) {
+        int expired = revocations.expireLapsedChunk(asOf, chunkSize, Instant.now());
+        metrics.expired(expired);
+        return expired;
+    }
+
+    @Override
+    @Transactional
+    public List<PremiumRevocation> claimDueRevocations(Instant now, int limit, Duration lease) {
+        revocations.deleteSuperseded();
+        List<PremiumRevocationJpaEntity> due = revocations.lockDue(now, limit);
+        Instant leasedUntil = now.plus(lease);
+        due.forEach(row -> row.lease(leasedUntil));
+        metrics.queued(revocations.countByDeadLetteredAtIsNull());
+        return due.stream()
+                .map(row -> new PremiumRevocation(row.getUserId(), row.getExpiredAt(), row.getAttempts()))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void markRevoked(Collection<String> userIds) {
+        revocations.deleteAllByIdInBatch(userIds);
+        metrics.revoked(userIds.size());
+    }
+
+    @Override
+    @Transactional
+    public void scheduleRetry(String userId, Instant nextAttemptAt, String error) {
+        revocations.findById(userId).ifPresent(row -> row.scheduleRetry(nextAttemptAt, error));
+        metrics.retried();
+    }
+
+    @Override
+    @Transactional
+    public void markDeadLettered(String userId, Instant now, String error) {
+        revocations.findById(userId).ifPresent(row -> row.markDeadLettered(now, error));
+        metrics.deadLettered();
+    }
+}
@@ -0,0 +1,59 @@
+package com.tinder.profiles.infrastructure.persistence.premium;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Premium expiration progress: memberships expired in the database, queued
+ * Keycloak revocations by outcome (the rate of {@code revoked} is revocations
+ * per second), and the live queue depth as of the last claim.
+ */
+@Component
+class PremiumExpirationMetrics {
+
+    private final Counter expired;
+    private final Counter revoked;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final AtomicLong queued;
+
+    PremiumExpirationMetrics(MeterRegistry meterRegistry) {
+        this.expired = Counter.builder("profiles.premium.expired")
+                .description("Premium memberships expired by the batch expiration")
+                .register(meterRegistry);
+        this.revoked = revocations(meterRegistry, "revoked");
+        this.retried = revocations(meterRegistry, "retried");
+        this.deadLettered = revocations(meterRegistry, "dead_lettered");
+        this.queued = meterRegistry.gauge("profiles.premium.revocation.queue", new AtomicLong());
+    }
+
+    private static Counter revocations(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("profiles.premium.revocations")
+                .description("Queued Keycloak premium revocations by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    void expired(int memberships) {
+        expired.increment(memberships);
+    }
+
+    void revoked(int revocations) {
+        revoked.increment(revocations);
+    }
+
+    void retried() {
+        retried.increment();
+    }
+
+    void deadLettered() {
+        deadLettered.increment();
+    }
+
+    void queued(long depth) {
+        queued.set(depth);
+    }
+}
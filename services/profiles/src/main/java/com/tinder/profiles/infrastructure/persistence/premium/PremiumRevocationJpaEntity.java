@@ -0,0 +1,66 @@
+package com.tinder.profiles.infrastructure.persistence.premium;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * A queued Keycloak revocation for a membership already expired in the database.
+ * Rows are inserted by the set-based expiration statement and deleted once the
+ * role is gone; a failing row carries its retry schedule like an outbox row.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+        name = "premium_revocation_queue",
+        indexes = @Index(name = "idx_premium_revocation_due", columnList = "dead_lettered_at, next_attempt_at")
+)
+public class PremiumRevocationJpaEntity {
+
+    @Id
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private String userId;
+
+    @Column(name = "expired_at")
+    private LocalDateTime expiredAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "dead_lettered_at")
+    private Instant deadLetteredAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /** Hides a claimed row from other replicas while its revocation is in flight. */
+    public void lease(Instant until) {
+        this.nextAttemptAt = until;
+    }
+
+    public void scheduleRetry(Instant nextAttemptAt, String error) {
+        this.attempts += 1;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = error;
+    }
+
+    public void markDeadLettered(Instant now, String error) {
+        this.attempts += 1;
+        this.deadLetteredAt = now;
+        this.lastError = error;
+    }
+}
@@ -0,0 +1,82 @@
+package com.tinder.profiles.infrastructure.persistence.premium;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PremiumRevocationRepository extends JpaRepository<PremiumRevocationJpaEntity, String> {
+
+    /**
+     * One statement per chunk: claims lapsed premium profiles no other transaction
+     * holds, clears their premium flag (bumping the optimistic-lock version like an
+     * entity save would) and queues each user's revocation. A user already on the
+     * queue, even dead-lettered, is reset to a fresh attempt.
+     *
+     * @return the number of memberships expired
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            WITH lapsed AS (
+                SELECT p.id, p.premium_expires_at
+                FROM profiles p
+                WHERE p.is_premium = TRUE
+                  AND p.premium_expires_at < :asOf
+                ORDER BY p.premium_expires_at
+                LIMIT :chunkSize
+                FOR UPDATE SKIP LOCKED
+            ), expired AS (
+                UPDATE profiles p
+                SET is_premium = FALSE,
+                    premium_expires_at = NULL,
+                    version = p.version + 1,
+                    updated_at = CURRENT_TIMESTAMP
+                FROM lapsed
+                WHERE p.id = lapsed.id
+                RETURNING p.user_id, lapsed.premium_expires_at
+            )
+            INSERT INTO premium_revocation_queue (user_id, expired_at, attempts, next_attempt_at, created_at)
+            SELECT e.user_id, e.premium_expires_at, 0, :now, :now
+            FROM expired e
+            WHERE e.user_id IS NOT NULL
+            ON CONFLICT (user_id) DO UPDATE
+                SET expired_at = EXCLUDED.expired_at,
+                    attempts = 0,
+                    next_attempt_at = EXCLUDED.next_attempt_at,
+                    dead_lettered_at = NULL,
+                    last_error = NULL
+            """, nativeQuery = true)
+    int expireLapsedChunk(
+            @Param("asOf") LocalDateTime asOf,
+            @Param("chunkSize") int chunkSize,
+            @Param("now") Instant now
+    );
+
+    /** Drops queued revocations of users who have renewed since; revoking now would take away the new role. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            DELETE FROM premium_revocation_queue q
+            USING profiles p
+            WHERE p.user_id = q.user_id
+              AND p.is_premium = TRUE
+              AND q.dead_lettered_at IS NULL
+            """, nativeQuery = true)
+    int deleteSuperseded();
+
+    @Query(value = """
+            SELECT *
+            FROM premium_revocation_queue
+            WHERE dead_lettered_at IS NULL
+              AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<PremiumRevocationJpaEntity> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    long countByDeadLetteredAtIsNull();
+}
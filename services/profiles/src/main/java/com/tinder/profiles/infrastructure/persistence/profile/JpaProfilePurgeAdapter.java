@@ -0,0 +1,71 @@
+package com.tinder.profiles.infrastructure.persistence.profile;
+
+import com.tinder.profiles.application.profile.model.DatabaseLoad;
+import com.tinder.profiles.application.profile.model.PurgedChunk;
+import com.tinder.profiles.application.profile.port.out.ProfilePurgePort;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * PostgreSQL implementation of the chunked purge. A chunk locks its profile rows,
+ * then deletes their photo rows, hobbies and the profiles themselves with one
+ * statement each, so a transaction holds at most one chunk of locks.
+ */
+@Component
+@RequiredArgsConstructor
+public class JpaProfilePurgeAdapter implements ProfilePurgePort {
+
+    private final ProfileRepository profiles;
+    private final EntityManager entityManager;
+    private final ProfilePurgeMetrics metrics;
+
+    @Override
+    @Transactional
+    public PurgedChunk purgeNextChunk(LocalDateTime cutoff, UUID afterProfileId, int chunkSize) {
+        long startNanos = System.nanoTime();
+        List<Object[]> rows = profiles.lockPurgeableRows(cutoff, afterProfileId, chunkSize);
+        if (rows.isEmpty()) {
+            return PurgedChunk.EMPTY;
+        }
+
+        List<UUID> ids = new ArrayList<>(rows.size());
+        List<String> userIds = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((UUID) row[0]);
+            userIds.add((String) row[1]);
+        }
+        profiles.deletePhotoRowsOfProfiles(ids);
+        profiles.deleteHobbiesOfProfiles(ids);
+        profiles.deleteProfileRows(ids);
+
+        metrics.chunkCommitted(ids.size(), startNanos);
+        return new PurgedChunk(List.copyOf(ids), userIds.stream().filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * The lag is measured on the primary from {@code pg_stat_replication}, which
+     * only lists standbys to roles with {@code pg_monitor}; without it, or without
+     * standbys, it reads as zero.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public DatabaseLoad observeLoad() {
+        Object[] sample = (Object[]) entityManager.createNativeQuery("""
+                        SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0')::bigint,
+                               COALESCE((SELECT MAX(pg_wal_lsn_diff(pg_current_wal_lsn(), replay_lsn))
+                                         FROM pg_stat_replication), 0)::bigint
+                        """)
+                .getSingleResult();
+        long replicationLag = ((Number) sample[1]).longValue();
+        metrics.replicationLag(replicationLag);
+        return new DatabaseLoad(((Number) sample[0]).longValue(), replicationLag);
+    }
+}
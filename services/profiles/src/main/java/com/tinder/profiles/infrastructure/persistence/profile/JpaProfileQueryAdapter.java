@@ -47,14 +47,14 @@ public class JpaProfileQueryAdapter implements ProfileQuery {
             return toView(p);
         }
 
-        ProfileJpaEntity profile = profileRepository.findById(id)
+        ProfileJpaEntity profile = profileRepository.findWithPhotosByProfileId(id)
                 .orElseThrow(() -> new ProfileNotFoundException(id.toString(), "id"));
         if (profile.isDeleted()) {
             throw new ProfileNotFoundException(id.toString(), "id");
         }
-        // Map before caching: mapping touches the lazy photo/hobby collections, so the
-        // entity is fully initialized when it is serialized into the Redis cache
-        // (an uninitialized proxy poisons the cached JSON for subsequent reads).
+        // Photos are fetched with the profile: open-in-view is off, so nothing may load
+        // lazily here, and the entity is fully initialized when it is serialized into the
+        // Redis cache (an uninitialized proxy poisons the cached JSON for subsequent reads).
         ProfileView view = toView(profile);
         resilientCacheManager.put(PROFILE_CACHE_NAME, id, profile);
         return view;
@@ -70,7 +70,7 @@ public class JpaProfileQueryAdapter implements ProfileQuery {
 
     @Override
     public ProfileView getMyProfile(String userId) {
-        return toView(profileRepository.findByUserId(userId));
+        return toView(profileRepository.findWithPhotosByUserId(userId));
     }
 
     private ProfileView toView(ProfileJpaEntity profile) {
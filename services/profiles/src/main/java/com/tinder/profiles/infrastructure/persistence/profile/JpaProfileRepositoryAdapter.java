@@ -54,13 +54,6 @@ public class JpaProfileRepositoryAdapter implements ProfileRepositoryPort {
                 .toList();
     }
 
-    @Override
-    public List<UUID> findSoftDeletedBefore(LocalDateTime cutoff) {
-        return profileRepository.findAllByIsDeletedTrueAndDeletedAtBefore(cutoff).stream()
-                .map(ProfileJpaEntity::getProfileId)
-                .toList();
-    }
-
     @Override
     public Profile save(Profile profile) {
         com.tinder.profiles.infrastructure.persistence.profile.ProfileJpaEntity entity = profile.getId() != null
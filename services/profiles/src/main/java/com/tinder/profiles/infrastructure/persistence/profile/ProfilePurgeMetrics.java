@@ -0,0 +1,41 @@
+package com.tinder.profiles.infrastructure.persistence.profile;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Purge of soft-deleted profiles: profiles hard-deleted (its rate is the purge
+ * throughput), chunk transaction time, and the standby replay lag the purge
+ * throttles on, as of its last sample.
+ */
+@Component
+class ProfilePurgeMetrics {
+
+    private final Counter purged;
+    private final Timer chunks;
+    private final AtomicLong replicationLag;
+
+    ProfilePurgeMetrics(MeterRegistry meterRegistry) {
+        this.purged = Counter.builder("profiles.purge.deleted")
+                .description("Soft-deleted profiles permanently purged")
+                .register(meterRegistry);
+        this.chunks = Timer.builder("profiles.purge.chunk")
+                .description("Time to lock and delete one purge chunk")
+                .register(meterRegistry);
+        this.replicationLag = meterRegistry.gauge("profiles.purge.replication.lag.bytes", new AtomicLong());
+    }
+
+    void chunkCommitted(int profiles, long startNanos) {
+        purged.increment(profiles);
+        chunks.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void replicationLag(long bytes) {
+        replicationLag.set(bytes);
+    }
+}
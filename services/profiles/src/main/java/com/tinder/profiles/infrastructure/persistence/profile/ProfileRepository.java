@@ -2,6 +2,7 @@ package com.tinder.profiles.infrastructure.persistence.profile;
 import com.tinder.profiles.infrastructure.persistence.profile.ProfileJpaEntity;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,12 +11,20 @@ import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ProfileRepository extends JpaRepository<ProfileJpaEntity, UUID> {
     ProfileJpaEntity findByName(String username);
     ProfileJpaEntity findByUserId(String userId);
 
+    // Read path: photos are mapped after the repository call's transaction has ended.
+    @EntityGraph(attributePaths = "photos")
+    Optional<ProfileJpaEntity> findWithPhotosByProfileId(UUID profileId);
+
+    @EntityGraph(attributePaths = "photos")
+    ProfileJpaEntity findWithPhotosByUserId(String userId);
+
     @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("""
         UPDATE Profile p
@@ -35,6 +44,18 @@ public interface ProfileRepository extends JpaRepository<ProfileJpaEntity, UUID>
             Pageable pageable
     );
 
+    @Query(value = """
+        SELECT p.id FROM profiles p
+        WHERE (:afterProfileId IS NULL OR p.id > :afterProfileId)
+          AND (:upperBound IS NULL OR p.id <= :upperBound)
+        ORDER BY p.id
+        """, nativeQuery = true)
+    List<UUID> findNextProjectionBackfillIdsUpTo(
+            @Param("afterProfileId") UUID afterProfileId,
+            @Param("upperBound") UUID upperBound,
+            Pageable pageable
+    );
+
     @Query("""
         SELECT p.profileId FROM Profile p
         WHERE p.userId = :userId
@@ -42,18 +63,42 @@ public interface ProfileRepository extends JpaRepository<ProfileJpaEntity, UUID>
         """)
     UUID findActiveProfileIdByUserId(@Param("userId") String userId);
 
-    List<ProfileJpaEntity> findAllByIsDeletedFalse();
-
     /**
      * Find all premium profiles whose subscription has expired.
      */
     List<ProfileJpaEntity> findAllByIsPremiumTrueAndPremiumExpiresAtBefore(LocalDateTime now);
 
     /**
-     * Find all soft-deleted profiles that were deleted before the given cutoff date.
-     * Used by the cleanup scheduler to permanently purge stale records.
+     * Keyset chunk of the purge: {@code (id, user_id)} of profiles soft-deleted before
+     * {@code cutoff}, locked for the deleting transaction. Rows another transaction
+     * holds are skipped rather than waited for.
      */
-    List<ProfileJpaEntity> findAllByIsDeletedTrueAndDeletedAtBefore(LocalDateTime cutoff);
+    @Query(value = """
+        SELECT p.id, p.user_id FROM profiles p
+        WHERE p.is_deleted = TRUE
+          AND p.deleted_at < :cutoff
+          AND (:afterProfileId IS NULL OR p.id > :afterProfileId)
+        ORDER BY p.id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<Object[]> lockPurgeableRows(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterProfileId") UUID afterProfileId,
+            @Param("limit") int limit
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM photo WHERE profile_id IN (:ids)", nativeQuery = true)
+    int deletePhotoRowsOfProfiles(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM profile_hobbies WHERE profile_id IN (:ids)", nativeQuery = true)
+    int deleteHobbiesOfProfiles(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM profiles WHERE id IN (:ids)", nativeQuery = true)
+    int deleteProfileRows(@Param("ids") Collection<UUID> ids);
 
     /**
      * Search profiles by age and gender preferences.
@@ -105,6 +150,45 @@ public interface ProfileRepository extends JpaRepository<ProfileJpaEntity, UUID>
         """, nativeQuery = true)
     List<Object[]> findSharedProfileRowsByIds(@Param("ids") Collection<UUID> ids);
 
+    /**
+     * Keyset page of the active-users export: shared-profile rows after
+     * {@code afterProfileId} in id order, so each page is an index range scan on
+     * the primary key however deep the export is. A profile counts as active
+     * since its last modification.
+     */
+    @Query(value = """
+        SELECT
+            p.id,
+            p.name,
+            p.age,
+            p.bio,
+            p.city,
+            p.is_active,
+            p.is_deleted,
+            l.id,
+            ST_Y(l.geo::geometry),
+            ST_X(l.geo::geometry),
+            l.city,
+            l.created_at,
+            l.updated_at,
+            pref.min_age,
+            pref.max_age,
+            pref.gender,
+            pref.max_range
+        FROM profiles p
+        JOIN location l ON l.id = p.location_id
+        JOIN preferences pref ON pref.id = p.preferences_id
+        WHERE p.is_deleted = false
+          AND (:afterProfileId IS NULL OR p.id > :afterProfileId)
+          AND COALESCE(p.updated_at, p.created_at, TIMESTAMP '1970-01-01') >= :activeSince
+        ORDER BY p.id
+        """, nativeQuery = true)
+    List<Object[]> findSharedProfileRowsPage(
+            @Param("afterProfileId") UUID afterProfileId,
+            @Param("activeSince") LocalDateTime activeSince,
+            Pageable pageable
+    );
+
     @Query(value = """
         SELECT
             p.id,
@@ -10,11 +10,12 @@ import com.tinder.profiles.application.profile.model.PreferencesData;
 import com.tinder.profiles.application.profile.query.InternalProfileView;
 import com.tinder.profiles.infrastructure.persistence.photos.PhotoRepository;
 import com.tinder.profiles.infrastructure.persistence.photos.SharedPhotoMapper;
-import com.tinder.profiles.infrastructure.persistence.profile.mapper.SharedProfileMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -30,7 +31,6 @@ public class JpaInternalProfileQueryAdapter implements InternalProfileQuery {
 
     private final ProfileRepository repo;
     private final PhotoRepository photoRepository;
-    private final SharedProfileMapper sharedMapper;
     private final SharedPhotoMapper sharedPhotoMapper;
     private final SharedProfileRowMapper sharedProfileRowMapper;
     private final SharedProfileSnapshotCache sharedProfileSnapshotCache;
@@ -45,6 +45,7 @@ public class JpaInternalProfileQueryAdapter implements InternalProfileQuery {
             throw new NoSuchElementException("Viewer not found: " + viewerId);
         }
 
+        SharedProfileSnapshotCache.LoadMark loadStarted = sharedProfileSnapshotCache.startLoad();
         List<Object[]> matchingProfiles = repo.searchSharedProfileRowsByPreferences(
                 viewerId,
                 criteria.minAge(),
@@ -56,7 +57,7 @@ public class JpaInternalProfileQueryAdapter implements InternalProfileQuery {
         log.debug("searchByViewerPrefs: viewer {} found {} matching profiles", viewerId, matchingProfiles.size());
 
         List<SharedProfileDto> results = toSharedProfiles(matchingProfiles);
-        sharedProfileSnapshotCache.putAll(results);
+        sharedProfileSnapshotCache.putAll(results, loadStarted);
         return toViews(results);
     }
 
@@ -96,15 +97,9 @@ public class JpaInternalProfileQueryAdapter implements InternalProfileQuery {
     }
 
     @Override
-    public List<InternalProfileView> getActiveUsers() {
-        log.debug("Fetching all active users");
-
-        List<SharedProfileDto> results = repo.findAllByIsDeletedFalse().stream()
-                .map(sharedMapper::toSharedProfileDto)
-                .toList();
-
-        log.info("Found {} active users", results.size());
-        return toViews(results);
+    public List<InternalProfileView> getActiveUsersPage(UUID afterId, LocalDateTime activeSince, int limit) {
+        List<Object[]> rows = repo.findSharedProfileRowsPage(afterId, activeSince, PageRequest.of(0, limit));
+        return toViews(toSharedProfiles(rows));
     }
 
     /**
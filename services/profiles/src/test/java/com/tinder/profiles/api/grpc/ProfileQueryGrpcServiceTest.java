@@ -0,0 +1,162 @@
+package com.tinder.profiles.api.grpc;
+
+import com.google.protobuf.ByteString;
+import com.tinder.contracts.grpc.ProtoValues;
+import com.tinder.contracts.grpc.profile.v1.GetManyRequest;
+import com.tinder.contracts.grpc.profile.v1.GetManyResponse;
+import com.tinder.contracts.grpc.profile.v1.Preferences;
+import com.tinder.contracts.grpc.profile.v1.Profile;
+import com.tinder.contracts.grpc.profile.v1.SearchRequest;
+import com.tinder.profiles.application.profile.model.PreferencesData;
+import com.tinder.profiles.application.profile.port.in.InternalProfileQuery;
+import com.tinder.profiles.application.profile.query.InternalProfileView;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ProfileQueryGrpcServiceTest {
+
+    @Mock private InternalProfileQuery profileQuery;
+    @Mock private ServerCallStreamObserver<Profile> searchObserver;
+    @Mock private StreamObserver<GetManyResponse> getManyObserver;
+
+    private ProfileQueryGrpcService grpcService;
+
+    @BeforeEach
+    void setUp() {
+        grpcService = new ProfileQueryGrpcService(profileQuery, new ProfileQueryGrpcMapper());
+    }
+
+    @Test
+    void searchStreamsResultsWhileTransportIsReadyAndCompletesAfterTheLast() {
+        UUID viewerId = UUID.randomUUID();
+        List<InternalProfileView> results = List.of(view(UUID.randomUUID()), view(UUID.randomUUID()), view(UUID.randomUUID()));
+        given(profileQuery.search(eq(viewerId), any(), eq(3))).willReturn(results);
+        ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+
+        grpcService.search(SearchRequest.newBuilder()
+                .setViewerId(ProtoValues.uuid(viewerId))
+                .setPreferences(Preferences.newBuilder().setMinAge(21).setGender("FEMALE"))
+                .setLimit(3)
+                .build(), searchObserver);
+        verify(searchObserver).setOnReadyHandler(onReady.capture());
+
+        // The transport takes one message, then fills up.
+        given(searchObserver.isReady()).willReturn(true, false);
+        onReady.getValue().run();
+        verify(searchObserver, times(1)).onNext(any());
+        verify(searchObserver, never()).onCompleted();
+
+        given(searchObserver.isReady()).willReturn(true);
+        onReady.getValue().run();
+        ArgumentCaptor<Profile> sent = ArgumentCaptor.forClass(Profile.class);
+        verify(searchObserver, times(3)).onNext(sent.capture());
+        assertThat(sent.getAllValues()).extracting(profile -> ProtoValues.uuid(profile.getId()))
+                .containsExactlyElementsOf(results.stream().map(InternalProfileView::id).toList());
+        verify(searchObserver).onCompleted();
+
+        ArgumentCaptor<InternalProfileQuery.SearchCriteria> criteria =
+                ArgumentCaptor.forClass(InternalProfileQuery.SearchCriteria.class);
+        verify(profileQuery).search(eq(viewerId), criteria.capture(), eq(3));
+        assertThat(criteria.getValue())
+                .isEqualTo(new InternalProfileQuery.SearchCriteria(21, null, "FEMALE", null));
+    }
+
+    @Test
+    void searchWithLimitAboveMaximumReturnsInvalidArgument() {
+        grpcService.search(SearchRequest.newBuilder()
+                .setViewerId(ProtoValues.uuid(UUID.randomUUID()))
+                .setLimit(ProfileQueryGrpcService.MAX_SEARCH_LIMIT + 1)
+                .build(), searchObserver);
+
+        assertThat(capturedStatus(searchObserver).getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+        verifyNoInteractions(profileQuery);
+    }
+
+    @Test
+    void searchWithMalformedViewerIdReturnsInvalidArgument() {
+        grpcService.search(SearchRequest.newBuilder()
+                .setViewerId(ByteString.copyFromUtf8("not-a-uuid"))
+                .setLimit(10)
+                .build(), searchObserver);
+
+        assertThat(capturedStatus(searchObserver).getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+        verify(profileQuery, never()).search(any(), any(), anyInt());
+    }
+
+    @Test
+    void getManyMapsEveryFoundProfile() {
+        UUID id = UUID.randomUUID();
+        given(profileQuery.getMany(List.of(id))).willReturn(List.of(view(id)));
+
+        grpcService.getMany(GetManyRequest.newBuilder().addIds(ProtoValues.uuid(id)).build(), getManyObserver);
+
+        ArgumentCaptor<GetManyResponse> response = ArgumentCaptor.forClass(GetManyResponse.class);
+        verify(getManyObserver).onNext(response.capture());
+        verify(getManyObserver).onCompleted();
+        Profile profile = response.getValue().getProfiles(0);
+        assertThat(ProtoValues.uuid(profile.getId())).isEqualTo(id);
+        assertThat(profile.getName()).isEqualTo("Alice");
+        assertThat(profile.hasBio()).isFalse();
+        assertThat(profile.getLocation().getLatitude()).isEqualTo(48.2);
+        assertThat(profile.getPreferences().getMaxRange()).isEqualTo(50);
+        assertThat(profile.getPhotos(0).getS3Key()).isEqualTo("photos/" + id + "/1.jpg");
+        assertThat(profile.getHobbiesList()).containsExactly("HIKING");
+    }
+
+    @Test
+    void getManyAboveMaximumReturnsInvalidArgument() {
+        GetManyRequest.Builder request = GetManyRequest.newBuilder();
+        for (int i = 0; i <= ProfileQueryGrpcService.MAX_GET_MANY_IDS; i++) {
+            request.addIds(ProtoValues.uuid(UUID.randomUUID()));
+        }
+
+        grpcService.getMany(request.build(), getManyObserver);
+
+        assertThat(capturedStatus(getManyObserver).getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+        verifyNoInteractions(profileQuery);
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static Status capturedStatus(StreamObserver<?> observer) {
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(observer).onError(error.capture());
+        assertThat(error.getValue()).isInstanceOf(StatusRuntimeException.class);
+        return ((StatusRuntimeException) error.getValue()).getStatus();
+    }
+
+    private static InternalProfileView view(UUID id) {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+        return new InternalProfileView(
+                id, "Alice", 29, null, "Vienna", true,
+                new InternalProfileView.LocationView(UUID.randomUUID(), 48.2, 16.37, "Vienna", createdAt, createdAt),
+                new PreferencesData(25, 35, "MALE", 50),
+                false,
+                List.of(new InternalProfileView.PhotoView(UUID.randomUUID(), id, "photos/" + id + "/1.jpg",
+                        true, 0, null, "image/jpeg", 1024L, createdAt)),
+                List.of("HIKING"));
+    }
+}
@@ -0,0 +1,201 @@
+package com.tinder.profiles.api.profile;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.tinder.platform.benchmark.BenchmarkReport;
+import com.tinder.profiles.AbstractPostgresIntegrationTest;
+import com.tinder.profiles.TestJwtSecurityConfig;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Create-profile latency with the geocode cache off and on. Every create names a city
+ * only, drawn from a skewed set of {@value #CITIES} cities, and location-go is a local
+ * stub that answers after {@code -Dprofiles.benchmarks.locationLatencyMs} (default 20)
+ * to stand in for its network hop and geocoding. Reports p50, p99 and the number of
+ * location-go calls as one {@link BenchmarkReport} line per mode.
+ *
+ * <p>Opt-in: {@code ./mvnw test -Dtest=CreateProfileGeocodeBenchmarkTest -Dprofiles.benchmarks=true}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestJwtSecurityConfig.class)
+@EnabledIfSystemProperty(named = "profiles.benchmarks", matches = "true")
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+class CreateProfileGeocodeBenchmarkTest extends AbstractPostgresIntegrationTest {
+
+    private static final int CITIES = 40;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = Integer.getInteger("profiles.benchmarks.creates", 2_000);
+    private static final long LOCATION_LATENCY_MS = Long.getLong("profiles.benchmarks.locationLatencyMs", 20);
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final AtomicInteger locationCalls = new AtomicInteger();
+    private static final HttpServer locationService = startLocationStub();
+
+    @DynamicPropertySource
+    static void locationServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("location.service.url",
+                () -> "http://localhost:" + locationService.getAddress().getPort());
+    }
+
+    @Nested
+    @Order(1)
+    @TestPropertySource(properties = "location.cache.enabled=false")
+    class WithoutCache {
+
+        @Autowired
+        MockMvc mockMvc;
+
+        @Test
+        void reportCreateLatency() throws Exception {
+            report("no_cache", mockMvc);
+        }
+    }
+
+    @Nested
+    @Order(2)
+    @TestPropertySource(properties = "location.cache.enabled=true")
+    class WithCache {
+
+        @Autowired
+        MockMvc mockMvc;
+
+        @Autowired
+        StringRedisTemplate redis;
+
+        @Test
+        void reportCreateLatency() throws Exception {
+            Set<String> geocodes = redis.keys("profiles:geocode:*");
+            if (geocodes != null && !geocodes.isEmpty()) {
+                redis.delete(geocodes);
+            }
+            report("caffeine_redis_cache", mockMvc);
+        }
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static void report(String mode, MockMvc mockMvc) throws Exception {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < WARMUP; i++) {
+            create(mockMvc, city(random));
+        }
+        int callsBefore = locationCalls.get();
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            String city = city(random);
+            long start = System.nanoTime();
+            create(mockMvc, city);
+            nanos[i] = System.nanoTime() - start;
+        }
+        BenchmarkReport.of("create-profile-geocode")
+                .with("mode", mode)
+                .with("creates", ITERATIONS)
+                .with("location_latency_ms", LOCATION_LATENCY_MS)
+                .percentiles("create_ms", nanos, TimeUnit.MILLISECONDS, 0.50, 0.99)
+                .with("location_calls", locationCalls.get() - callsBefore)
+                .emit();
+    }
+
+    private static void create(MockMvc mockMvc, String city) throws Exception {
+        String body = """
+                {
+                    "name": "Bench",
+                    "age": 29,
+                    "gender": "female",
+                    "bio": "benchmark profile",
+                    "city": "%s",
+                    "preferences": {"minAge": 21, "maxAge": 35, "gender": "male", "maxRange": 50}
+                }""".formatted(city);
+        mockMvc.perform(post("/api/v1/profiles")
+                        .header("Authorization", TestJwtSecurityConfig.bearer("bench-" + UUID.randomUUID() + "@example.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+    }
+
+    /** Skewed like real sign-ups: city k is drawn with weight 1/(k+1). */
+    private static String city(SplittableRandom random) {
+        double total = 0;
+        for (int k = 0; k < CITIES; k++) {
+            total += 1.0 / (k + 1);
+        }
+        double pick = random.nextDouble(total);
+        for (int k = 0; k < CITIES; k++) {
+            pick -= 1.0 / (k + 1);
+            if (pick <= 0) {
+                return cityName(k);
+            }
+        }
+        return cityName(CITIES - 1);
+    }
+
+    /** Letters only, as the create DTO requires. */
+    private static String cityName(int k) {
+        return "Benchtown " + (char) ('a' + k / 26) + (char) ('a' + k % 26);
+    }
+
+    private static HttpServer startLocationStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/api/v1/locations/resolve", exchange -> {
+                locationCalls.incrementAndGet();
+                JsonNode request = JSON.readTree(exchange.getRequestBody());
+                try {
+                    Thread.sleep(LOCATION_LATENCY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                String city = request.path("city").asText();
+                int k = Math.abs(city.hashCode() % 1000);
+                byte[] response = JSON.writeValueAsBytes(JSON.createObjectNode()
+                        .put("id", UUID.nameUUIDFromBytes(city.getBytes(StandardCharsets.UTF_8)).toString())
+                        .put("city", city)
+                        .put("latitude", 47.0 + k / 1000.0)
+                        .put("longitude", 14.0 + k / 1000.0));
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            });
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start the location-go stub", e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.tinder.profiles.api.profile.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tinder.platform.benchmark.BenchmarkReport;
+import com.tinder.profiles.AbstractPostgresIntegrationTest;
+import com.tinder.profiles.api.profile.mapper.ProfileApiMapper;
+import com.tinder.profiles.application.profile.query.InternalProfileView;
+import com.tinder.profiles.application.profile.port.in.InternalProfileQuery;
+import com.tinder.profiles.infrastructure.persistence.profile.ProfileJpaEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Active-users export over a synthetic profiles table: the former full load of every non-deleted
+ * entity next to the keyset-paged NDJSON export. Reports wall time and peak heap as one
+ * {@link BenchmarkReport} line per path. The full load holds every row at once, so it runs over at most
+ * {@value #LEGACY_ROWS} rows; the export runs over the whole table.
+ *
+ * <p>Opt-in: {@code ./mvnw test -Dtest=ActiveUsersExportBenchmarkTest -Dprofiles.benchmarks=true}
+ * with {@code -Dprofiles.benchmarks.rows=5000000} for the full-size run (default 500000).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "profiles.benchmarks", matches = "true")
+class ActiveUsersExportBenchmarkTest extends AbstractPostgresIntegrationTest {
+
+    private static final int LEGACY_ROWS = 500_000;
+    private static final int PAGE_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @Autowired
+    private InternalProfileQuery internalProfileQuery;
+
+    @Autowired
+    private ProfileApiMapper apiMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void reportTimeAndPeakHeapPerExport() throws Exception {
+        int rows = Integer.getInteger("profiles.benchmarks.rows", 500_000);
+        seed(rows);
+
+        report("legacy_full_load", Math.min(rows, LEGACY_ROWS), () -> transactions.execute(status -> {
+            List<ProfileJpaEntity> all = entityManager
+                    .createQuery("select p from ProfileJpaEntity p where p.isDeleted = false", ProfileJpaEntity.class)
+                    .setMaxResults(LEGACY_ROWS)
+                    .getResultList();
+            return all.size();
+        }));
+        report("keyset_ndjson_export", rows, this::export);
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    /** The controller loop, writing into a discarding stream. */
+    private long export() throws Exception {
+        OutputStream out = OutputStream.nullOutputStream();
+        LocalDateTime since = LocalDateTime.of(1970, 1, 1, 0, 0);
+        UUID cursor = null;
+        long exported = 0;
+        while (true) {
+            List<InternalProfileView> page = internalProfileQuery.getActiveUsersPage(cursor, since, PAGE_SIZE);
+            for (InternalProfileView view : page) {
+                out.write(objectMapper.writeValueAsBytes(apiMapper.toSharedProfileDto(view)));
+                out.write('\n');
+            }
+            exported += page.size();
+            if (page.size() < PAGE_SIZE) {
+                return exported;
+            }
+            cursor = page.get(page.size() - 1).id();
+        }
+    }
+
+    private void seed(int rows) {
+        jdbc.execute("TRUNCATE profiles CASCADE");
+        UUID locationId = jdbc.queryForObject(
+                "INSERT INTO location (id, city, geo, created_at, updated_at) "
+                        + "VALUES (gen_random_uuid(), 'Vienna', ST_SetSRID(ST_MakePoint(16.37, 48.21), 4326), now(), now()) "
+                        + "RETURNING id", UUID.class);
+        UUID preferencesId = jdbc.queryForObject(
+                "INSERT INTO preferences (id, min_age, max_age, gender, max_range) "
+                        + "VALUES (gen_random_uuid(), 18, 99, 'all', 250) "
+                        + "ON CONFLICT ON CONSTRAINT uk_preferences_combination DO UPDATE SET max_range = EXCLUDED.max_range "
+                        + "RETURNING id", UUID.class);
+        jdbc.update("""
+                INSERT INTO profiles (id, user_id, version, name, age, gender, bio, city, is_active,
+                                      location_id, is_premium, preferences_id, is_deleted, created_at, updated_at)
+                SELECT gen_random_uuid(), 'bench-' || n, 1, 'User ' || n, 18 + n % 40,
+                       CASE WHEN n % 2 = 0 THEN 'MALE' ELSE 'FEMALE' END, 'Synthetic profile ' || n, 'Vienna',
+                       true, ?, false, ?, false, now() - (n % 10000) * interval '1 minute', now()
+                FROM generate_series(1, ?) AS n
+                """, locationId, preferencesId, rows);
+        jdbc.execute("ANALYZE profiles");
+    }
+
+    private void report(String operation, int rows, Export export) throws Exception {
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long start = System.nanoTime();
+        long exported = export.run();
+        long nanos = System.nanoTime() - start;
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+        assertThat(exported).isEqualTo(rows);
+        BenchmarkReport.of("active-users-export")
+                .with("op", operation)
+                .with("rows", rows)
+                .with("seconds", nanos / 1e9)
+                .with("peak_heap_mb", peakHeap / 1048576.0)
+                .emit();
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        long run() throws Exception;
+    }
+}
@@ -50,6 +50,9 @@ class InternalProfileControllerTest extends AbstractPostgresIntegrationTest {
     @Autowired
     private SharedProfileMapper sharedMapper;
 
+    @Autowired
+    private com.fasterxml.jackson.databind.ObjectMapper objectMapper;
+
     private final List<UUID> testProfileIds = new ArrayList<>();
 
     @BeforeEach
@@ -203,4 +206,40 @@ class InternalProfileControllerTest extends AbstractPostgresIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("Should stream active profiles as NDJSON in id order and resume after a given id")
+    void testStreamActiveUsersResumesAfterCursor() throws Exception {
+        List<UUID> ordered = testProfileIds.stream().sorted().toList();
+
+        MvcResult full = mockMvc.perform(get("/api/v1/profiles/internal/active").with(org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user("deck-service").roles("INTERNAL_CLIENT")))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult resumed = mockMvc.perform(get("/api/v1/profiles/internal/active").with(org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user("deck-service").roles("INTERNAL_CLIENT"))
+                        .param("after", ordered.get(1).toString()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(full.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(streamedIds(full)).containsExactlyElementsOf(ordered);
+        assertThat(streamedIds(resumed)).containsExactlyElementsOf(ordered.subList(2, ordered.size()));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive activity window")
+    void testStreamActiveUsersRejectsEmptyWindow() throws Exception {
+        mockMvc.perform(get("/api/v1/profiles/internal/active").with(org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user("deck-service").roles("INTERNAL_CLIENT"))
+                        .param("activeWithinMinutes", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<UUID> streamedIds(MvcResult result) throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            if (!line.isBlank()) {
+                ids.add(objectMapper.readValue(line, SharedProfileDto.class).id());
+            }
+        }
+        return ids;
+    }
 }
@@ -0,0 +1,64 @@
+package com.tinder.profiles.api.scheduling;
+
+import com.tinder.profiles.application.photos.model.OrphanedPhotoSweepReport;
+import com.tinder.profiles.application.photos.usecase.SweepOrphanedPhotosService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.verify;
+
+/**
+ * What counts as orphaned, and how fast the bucket is walked, lives in
+ * {@link SweepOrphanedPhotosService}; this trigger only has to be resilient.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrphanedPhotoSweepScheduler")
+class OrphanedPhotoSweepSchedulerTest {
+
+    @Mock private SweepOrphanedPhotosService sweepOrphanedPhotos;
+
+    private OrphanedPhotoSweepScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new OrphanedPhotoSweepScheduler(sweepOrphanedPhotos);
+    }
+
+    @Test
+    @DisplayName("delegates the sweep to the use case")
+    void delegatesToUseCase() {
+        given(sweepOrphanedPhotos.sweep()).willReturn(Optional.of(
+                new OrphanedPhotoSweepReport(1000, 8, 8, 4096, 0, 1, false, Duration.ofMillis(120))));
+
+        scheduler.sweepOrphanedPhotos();
+
+        verify(sweepOrphanedPhotos).sweep();
+    }
+
+    @Test
+    @DisplayName("skips quietly while another replica holds the sweep")
+    void skipsWhileAnotherReplicaSweeps() {
+        given(sweepOrphanedPhotos.sweep()).willReturn(Optional.empty());
+
+        scheduler.sweepOrphanedPhotos();
+
+        verify(sweepOrphanedPhotos).sweep();
+    }
+
+    @Test
+    @DisplayName("swallows failures so the next run can retry")
+    void sweepFailureDoesNotPropagate() {
+        willThrow(new RuntimeException("S3 unavailable")).given(sweepOrphanedPhotos).sweep();
+
+        scheduler.sweepOrphanedPhotos();
+    }
+}
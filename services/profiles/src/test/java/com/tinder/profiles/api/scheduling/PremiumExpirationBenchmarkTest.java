@@ -0,0 +1,122 @@
+package com.tinder.profiles.api.scheduling;
+
+import com.tinder.platform.benchmark.BenchmarkReport;
+import com.tinder.profiles.AbstractPostgresIntegrationTest;
+import com.tinder.profiles.application.profile.model.PremiumExpirationReport;
+import com.tinder.profiles.application.profile.usecase.PremiumExpirationService;
+import com.tinder.profiles.application.profile.usecase.PremiumMembershipService;
+import com.tinder.profiles.application.profile.usecase.PremiumMembershipService.LapsedMembership;
+import com.tinder.profiles.infrastructure.external.keycloak.StubKeycloak;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An end-of-month expiration wave against a local stub Keycloak that answers every
+ * admin call after {@code -Dprofiles.benchmarks.keycloakLatencyMs} (default 15):
+ * the former one-by-one loop over {@link PremiumMembershipService#revoke} next to
+ * the batch {@link PremiumExpirationService}. Both share the adapter's cached admin
+ * token, so the difference is chunked expiration and concurrent revocation. Reports
+ * revocations per second and Keycloak's peak concurrency as one {@link BenchmarkReport} line per mode.
+ *
+ * <p>Opt-in: {@code ./mvnw test -Dtest=PremiumExpirationBenchmarkTest -Dprofiles.benchmarks=true}
+ * with {@code -Dprofiles.benchmarks.memberships=50000} for a larger wave (default 5000).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "profiles.benchmarks", matches = "true")
+class PremiumExpirationBenchmarkTest extends AbstractPostgresIntegrationTest {
+
+    private static final int MEMBERSHIPS = Integer.getInteger("profiles.benchmarks.memberships", 5_000);
+    private static final StubKeycloak keycloak = startKeycloak();
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PremiumMembershipService premiumMembership;
+
+    @Autowired
+    private PremiumExpirationService premiumExpiration;
+
+    @DynamicPropertySource
+    static void keycloakUrl(DynamicPropertyRegistry registry) {
+        registry.add("keycloak.keycloak-url", keycloak::url);
+    }
+
+    @AfterAll
+    static void stopKeycloak() {
+        keycloak.close();
+    }
+
+    @Test
+    void reportRevocationsPerSecond() {
+        seed(MEMBERSHIPS);
+        int removedBefore = keycloak.mappingsRemoved();
+        long start = System.nanoTime();
+        List<LapsedMembership> lapsed = premiumMembership.findLapsed();
+        lapsed.forEach(membership -> premiumMembership.revoke(membership.userId()));
+        report("one_by_one", keycloak.mappingsRemoved() - removedBefore, System.nanoTime() - start);
+
+        seed(MEMBERSHIPS);
+        removedBefore = keycloak.mappingsRemoved();
+        PremiumExpirationReport report = premiumExpiration.expireLapsed();
+        assertThat(report.expired()).isEqualTo(MEMBERSHIPS);
+        report("batched", keycloak.mappingsRemoved() - removedBefore, report.elapsed().toNanos());
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private void report(String mode, int revoked, long nanos) {
+        assertThat(revoked).isEqualTo(MEMBERSHIPS);
+        BenchmarkReport.of("premium-expiration")
+                .with("mode", mode)
+                .with("memberships", revoked)
+                .with("seconds", nanos / 1e9)
+                .with("revocations_per_second", revoked / (nanos / 1e9))
+                .with("keycloak_max_concurrency", keycloak.maxConcurrentMappings())
+                .emit();
+    }
+
+    private void seed(int memberships) {
+        jdbc.update("DELETE FROM premium_revocation_queue");
+        jdbc.update("DELETE FROM profiles WHERE user_id LIKE 'bench-premium-%'");
+        UUID locationId = jdbc.queryForObject("SELECT id FROM location WHERE city = 'Vienna'", UUID.class);
+        UUID preferencesId = jdbc.queryForObject(
+                "INSERT INTO preferences (id, min_age, max_age, gender, max_range) "
+                        + "VALUES (gen_random_uuid(), 18, 99, 'all', 250) "
+                        + "ON CONFLICT ON CONSTRAINT uk_preferences_combination DO UPDATE SET max_range = EXCLUDED.max_range "
+                        + "RETURNING id", UUID.class);
+        jdbc.update("""
+                INSERT INTO profiles (id, user_id, version, name, age, gender, bio, city, is_active,
+                                      location_id, is_premium, premium_expires_at, preferences_id, is_deleted,
+                                      created_at, updated_at)
+                SELECT gen_random_uuid(), 'bench-premium-' || n, 1, 'User ' || n, 18 + n % 40,
+                       CASE WHEN n % 2 = 0 THEN 'male' ELSE 'female' END, 'Synthetic profile ' || n, 'Vienna',
+                       true, ?, true, now() - interval '1 day' - (n % 1440) * interval '1 minute', ?, false, now(), now()
+                FROM generate_series(1, ?) AS n
+                """, locationId, preferencesId, memberships);
+        jdbc.execute("ANALYZE profiles");
+    }
+
+    private static StubKeycloak startKeycloak() {
+        try {
+            return new StubKeycloak(Long.getLong("profiles.benchmarks.keycloakLatencyMs", 15));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start the stub Keycloak", e);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.tinder.profiles.api.scheduling;
 
-import com.tinder.profiles.application.profile.usecase.PremiumMembershipService;
-import com.tinder.profiles.application.profile.usecase.PremiumMembershipService.LapsedMembership;
+import com.tinder.profiles.application.profile.model.PremiumExpirationReport;
+import com.tinder.profiles.application.profile.usecase.PremiumExpirationService;
 import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,25 +11,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalDateTime;
-import java.util.List;
+import java.time.Duration;
 
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 /**
  * The scheduled trigger only drives the use case: which memberships have lapsed
- * is decided by {@link PremiumMembershipService} (see its own test).
+ * and how they are revoked is decided by {@link PremiumExpirationService} (see
+ * its own test).
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("PremiumExpirationScheduler")
 class PremiumExpirationSchedulerTest {
 
-    @Mock private PremiumMembershipService premiumMembership;
+    @Mock private PremiumExpirationService premiumExpiration;
     @Mock(lenient = true) private Tracer tracer;
     @Mock(lenient = true) private Span span;
     @Mock(lenient = true) private Tracer.SpanInScope spanInScope;
@@ -43,43 +43,42 @@ class PremiumExpirationSchedulerTest {
         when(span.start()).thenReturn(span);
         when(span.tag(anyString(), anyString())).thenReturn(span);
         when(tracer.withSpan(any())).thenReturn(spanInScope);
-        scheduler = new PremiumExpirationScheduler(premiumMembership, tracer);
+        scheduler = new PremiumExpirationScheduler(premiumExpiration, tracer);
     }
 
     @Test
     @DisplayName("nothing lapsed means nothing revoked")
     void noExpiredSubscriptionsSkipsProcessing() {
-        when(premiumMembership.findLapsed()).thenReturn(List.of());
+        when(premiumExpiration.expireLapsed()).thenReturn(PremiumExpirationReport.EMPTY);
 
         scheduler.revokeExpiredPremiumSubscriptions();
 
-        verify(premiumMembership).findLapsed();
-        verifyNoMoreInteractions(premiumMembership);
+        verify(premiumExpiration).expireLapsed();
+        verifyNoMoreInteractions(premiumExpiration);
+        verify(span).end();
     }
 
     @Test
-    @DisplayName("revokes every lapsed membership")
-    void expiredProfilesAreRevoked() {
-        when(premiumMembership.findLapsed()).thenReturn(List.of(
-                new LapsedMembership("user-a", LocalDateTime.now().minusDays(1)),
-                new LapsedMembership("user-b", LocalDateTime.now().minusHours(2))));
+    @DisplayName("tags the run span with what was expired and revoked")
+    void expiredMembershipsAreReported() {
+        when(premiumExpiration.expireLapsed())
+                .thenReturn(new PremiumExpirationReport(2, 2, 0, 0, Duration.ofMillis(40)));
 
         scheduler.revokeExpiredPremiumSubscriptions();
 
-        verify(premiumMembership).revoke("user-a");
-        verify(premiumMembership).revoke("user-b");
+        verify(span).tag("premium.expired", "2");
+        verify(span).tag("premium.revoked", "2");
+        verify(span).end();
     }
 
     @Test
-    @DisplayName("one failing revocation does not stop the batch")
-    void failureForOneProfileDoesNotStopTheBatch() {
-        when(premiumMembership.findLapsed()).thenReturn(List.of(
-                new LapsedMembership("user-fail", LocalDateTime.now().minusDays(1)),
-                new LapsedMembership("user-ok", LocalDateTime.now().minusDays(1))));
-        doThrow(new RuntimeException("failed")).when(premiumMembership).revoke("user-fail");
+    @DisplayName("a failing run is logged and does not escape the scheduler")
+    void failingRunDoesNotEscape() {
+        when(premiumExpiration.expireLapsed()).thenThrow(new IllegalStateException("database unavailable"));
 
-        scheduler.revokeExpiredPremiumSubscriptions();
+        assertThatCode(scheduler::revokeExpiredPremiumSubscriptions).doesNotThrowAnyException();
 
-        verify(premiumMembership).revoke("user-ok");
+        verify(span).tag("error", "database unavailable");
+        verify(span).end();
     }
 }
@@ -0,0 +1,194 @@
+package com.tinder.profiles.api.scheduling;
+
+import com.tinder.platform.benchmark.BenchmarkReport;
+import com.tinder.profiles.AbstractPostgresIntegrationTest;
+import com.tinder.profiles.application.photos.port.out.PhotoStoragePort;
+import com.tinder.profiles.application.profile.port.out.ProfileCachePort;
+import com.tinder.profiles.application.profile.port.out.ProfilePurgePort;
+import com.tinder.profiles.application.profile.support.ProfilePurgePolicy;
+import com.tinder.profiles.application.profile.support.ProfileRetentionPolicy;
+import com.tinder.profiles.application.profile.usecase.PurgeSoftDeletedProfilesService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Soak test for the retention purge: a synthetic backlog of soft-deleted profiles, each
+ * with a photo row and a hobby, purged while {@value #READERS} threads keep reading live
+ * profiles by id. Runs the former single-transaction delete next to the chunked,
+ * WAL-paced purge and reports profile-read p50/p99 for an idle baseline and for each
+ * purge as one {@link BenchmarkReport} line each. Photo objects go to a mock store, so only the database
+ * is measured.
+ *
+ * <p>Opt-in: {@code ./mvnw test -Dtest=ProfilePurgeSoakBenchmarkTest -Dprofiles.benchmarks=true}
+ * with {@code -Dprofiles.benchmarks.purgeRows=100000} for a quicker run (default 1000000).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "profiles.benchmarks", matches = "true")
+class ProfilePurgeSoakBenchmarkTest extends AbstractPostgresIntegrationTest {
+
+    private static final int ROWS = Integer.getInteger("profiles.benchmarks.purgeRows", 1_000_000);
+    private static final int LIVE_ROWS = 10_000;
+    private static final int READERS = 8;
+    private static final Duration BASELINE = Duration.ofSeconds(10);
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ProfilePurgePort purgePort;
+
+    @Autowired
+    private ProfileCachePort cache;
+
+    @Autowired
+    private ProfilePurgePolicy policy;
+
+    @Test
+    void reportReadLatencyDuringPurge() throws Exception {
+        seedLive();
+        List<UUID> live = jdbc.queryForList("SELECT id FROM profiles WHERE user_id LIKE 'bench-live-%'", UUID.class);
+
+        measure("idle", live, () -> {
+            pause(BASELINE);
+            return 0;
+        });
+
+        seedBacklog();
+        measure("single_transaction", live, () -> jdbc.execute((ConnectionCallback<Integer>) connection -> {
+            connection.setAutoCommit(false);
+            try (var statement = connection.createStatement()) {
+                String stale = "SELECT id FROM profiles WHERE user_id LIKE 'bench-purge-%'";
+                statement.executeUpdate("DELETE FROM photo WHERE profile_id IN (" + stale + ")");
+                statement.executeUpdate("DELETE FROM profile_hobbies WHERE profile_id IN (" + stale + ")");
+                int deleted = statement.executeUpdate("DELETE FROM profiles WHERE user_id LIKE 'bench-purge-%'");
+                connection.commit();
+                return deleted;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }));
+
+        seedBacklog();
+        PurgeSoftDeletedProfilesService purge = new PurgeSoftDeletedProfilesService(
+                purgePort, cache, mock(PhotoStoragePort.class), new ProfileRetentionPolicy(30), policy, Runnable::run);
+        measure("chunked", live, purge::handle);
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private void measure(String mode, List<UUID> live, IntSupplier purge) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<long[]> samples = new ConcurrentLinkedQueue<>();
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            int seed = r;
+            futures.add(readers.submit(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                long[] nanos = new long[1 << 20];
+                int n = 0;
+                while (running.get() && n < nanos.length) {
+                    UUID id = live.get(random.nextInt(live.size()));
+                    long start = System.nanoTime();
+                    jdbc.queryForList("""
+                            SELECT p.id, p.name, ph.s3_key, h.hobby FROM profiles p
+                            LEFT JOIN photo ph ON ph.profile_id = p.id
+                            LEFT JOIN profile_hobbies h ON h.profile_id = p.id
+                            WHERE p.id = ?
+                            """, id);
+                    nanos[n++] = System.nanoTime() - start;
+                }
+                samples.add(Arrays.copyOf(nanos, n));
+            }));
+        }
+
+        long start = System.nanoTime();
+        int purged = purge.getAsInt();
+        long purgeNanos = System.nanoTime() - start;
+        running.set(false);
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        readers.shutdown();
+        readers.awaitTermination(10, TimeUnit.SECONDS);
+
+        long[] all = samples.stream().flatMapToLong(Arrays::stream).toArray();
+        if (!mode.equals("idle")) {
+            assertThat(purged).isGreaterThanOrEqualTo(ROWS);
+        }
+        BenchmarkReport.of("profile-purge-soak")
+                .with("mode", mode)
+                .with("purged", purged)
+                .with("seconds", purgeNanos / 1e9)
+                .with("reads", all.length)
+                .percentiles("read_ms", all, TimeUnit.MILLISECONDS, 0.50, 0.99)
+                .emit();
+    }
+
+    private void seedLive() {
+        jdbc.update("DELETE FROM profiles WHERE user_id LIKE 'bench-live-%'");
+        insertProfiles("bench-live-", LIVE_ROWS, false);
+    }
+
+    private void seedBacklog() {
+        insertProfiles("bench-purge-", ROWS, true);
+        String stale = "SELECT id FROM profiles WHERE user_id LIKE 'bench-purge-%'";
+        jdbc.update("INSERT INTO photo (photo_id, profile_id, s3_key, url, is_primary, position, status) "
+                + "SELECT gen_random_uuid(), id, 'profiles/' || id || '/bench.jpg', 'http://photos/bench', true, 0, 'READY' "
+                + "FROM (" + stale + ") stale");
+        jdbc.update("INSERT INTO profile_hobbies (profile_id, hobby) SELECT id, 'HIKING' FROM (" + stale + ") stale");
+        jdbc.execute("ANALYZE profiles");
+        jdbc.execute("ANALYZE photo");
+        jdbc.execute("ANALYZE profile_hobbies");
+    }
+
+    private void insertProfiles(String userPrefix, int rows, boolean deleted) {
+        UUID locationId = jdbc.queryForObject("SELECT id FROM location WHERE city = 'Vienna'", UUID.class);
+        UUID preferencesId = jdbc.queryForObject(
+                "INSERT INTO preferences (id, min_age, max_age, gender, max_range) "
+                        + "VALUES (gen_random_uuid(), 18, 99, 'all', 250) "
+                        + "ON CONFLICT ON CONSTRAINT uk_preferences_combination DO UPDATE SET max_range = EXCLUDED.max_range "
+                        + "RETURNING id", UUID.class);
+        jdbc.update("""
+                INSERT INTO profiles (id, user_id, version, name, age, gender, bio, city, is_active,
+                                      location_id, is_premium, preferences_id, is_deleted, deleted_at,
+                                      created_at, updated_at)
+                SELECT gen_random_uuid(), ? || n, 1, 'User ' || n, 18 + n % 40,
+                       CASE WHEN n % 2 = 0 THEN 'male' ELSE 'female' END, 'Synthetic profile ' || n, 'Vienna',
+                       NOT ?, ?, false, ?, ?, CASE WHEN ? THEN now() - interval '60 days' END, now(), now()
+                FROM generate_series(1, ?) AS n
+                """, userPrefix, deleted, locationId, preferencesId, deleted, deleted, rows);
+    }
+
+    private static void pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.tinder.profiles.application.photos.usecase;
+
+import com.tinder.profiles.application.photos.exception.PhotoStorageException;
+import com.tinder.profiles.application.photos.model.ClaimedPhoto;
+import com.tinder.profiles.application.photos.model.PhotoStatus;
+import com.tinder.profiles.application.photos.model.PhotoVariants;
+import com.tinder.profiles.application.photos.model.StoredPhoto;
+import com.tinder.profiles.application.photos.port.out.ImageVariantsPort;
+import com.tinder.profiles.application.photos.port.out.PhotoCatalogPort;
+import com.tinder.profiles.application.photos.port.out.PhotoStoragePort;
+import com.tinder.profiles.application.photos.support.PhotoKeys;
+import com.tinder.profiles.application.photos.support.PhotoRecoveryPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The pipeline runs on a same-thread executor here, so every assertion sees its
+ * final state; the S3 futures are completed up front.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RenderPhotoVariantsService")
+class RenderPhotoVariantsServiceTest {
+
+    private static final UUID PROFILE_ID = UUID.randomUUID();
+    private static final String STORAGE_ID = UUID.randomUUID().toString();
+    private static final byte[] SOURCE = "upload".getBytes();
+    private static final PhotoVariants VARIANTS = new PhotoVariants(
+            "original-jpeg".getBytes(), "large".getBytes(), "medium".getBytes(), "small".getBytes());
+
+    @Mock private PhotoCatalogPort catalog;
+    @Mock private PhotoStoragePort storage;
+    @Mock private ImageVariantsPort images;
+
+    private RenderPhotoVariantsService service;
+    private StoredPhoto photo;
+
+    @BeforeEach
+    void setUp() {
+        service = new RenderPhotoVariantsService(
+                catalog, storage, images, new PhotoRecoveryPolicy(Duration.ofMinutes(5), Duration.ofMinutes(5), 3),
+                Runnable::run);
+        photo = pendingPhoto(STORAGE_ID);
+    }
+
+    @Test
+    @DisplayName("stores all four variants, then marks the photo ready with the normalised original")
+    void storesVariantsAndMarksReady() {
+        given(images.render(SOURCE)).willReturn(VARIANTS);
+        given(storage.putAsync(anyString(), any(), eq("image/jpeg"))).willReturn(CompletableFuture.completedFuture(null));
+        given(catalog.markReady(photo.photoId(), "image/jpeg", VARIANTS.original().length)).willReturn(true);
+
+        service.submitAfterCommit(photo, SOURCE);
+
+        for (String variant : PhotoKeys.VARIANTS) {
+            verify(storage).putAsync(
+                    PhotoKeys.variantKey(PROFILE_ID, STORAGE_ID, variant), VARIANTS.of(variant), "image/jpeg");
+        }
+        verify(catalog).markReady(photo.photoId(), "image/jpeg", VARIANTS.original().length);
+        verify(storage, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("waits for the surrounding transaction to commit before rendering")
+    void rendersOnlyAfterCommit() {
+        given(images.render(SOURCE)).willReturn(VARIANTS);
+        given(storage.putAsync(anyString(), any(), anyString())).willReturn(CompletableFuture.completedFuture(null));
+        given(catalog.markReady(any(), anyString(), anyLong())).willReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.submitAfterCommit(photo, SOURCE);
+            verify(images, never()).render(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(images).render(SOURCE);
+    }
+
+    @Test
+    @DisplayName("deletes the variants again when the photo was removed while rendering")
+    void cleansUpAfterConcurrentDelete() {
+        given(images.render(SOURCE)).willReturn(VARIANTS);
+        given(storage.putAsync(anyString(), any(), anyString())).willReturn(CompletableFuture.completedFuture(null));
+        given(catalog.markReady(any(), anyString(), anyLong())).willReturn(false);
+
+        service.submitAfterCommit(photo, SOURCE);
+
+        PhotoKeys.allVariantKeys(PROFILE_ID, STORAGE_ID).forEach(key -> verify(storage).delete(key));
+    }
+
+    @Test
+    @DisplayName("leaves the photo pending when a variant cannot be stored")
+    void leavesPendingOnStorageFailure() {
+        given(images.render(SOURCE)).willReturn(VARIANTS);
+        given(storage.putAsync(anyString(), any(), anyString()))
+                .willReturn(CompletableFuture.completedFuture(null))
+                .willReturn(CompletableFuture.failedFuture(new PhotoStorageException("down", null)));
+
+        service.submitAfterCommit(photo, SOURCE);
+
+        verify(catalog, never()).markReady(any(), anyString(), anyLong());
+        verify(catalog, never()).markFailed(any());
+    }
+
+    @Test
+    @DisplayName("marks an undecodable upload failed without storing anything")
+    void marksUndecodableUploadFailed() {
+        given(images.render(SOURCE)).willThrow(new IllegalArgumentException("Invalid image file"));
+
+        service.submitAfterCommit(photo, SOURCE);
+
+        verify(catalog).markFailed(photo.photoId());
+        verify(storage, never()).putAsync(anyString(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("re-renders abandoned pending photos from their stored original")
+    void resumesStalePhotosFromStoredOriginal() {
+        StoredPhoto unreadable = pendingPhoto(UUID.randomUUID().toString());
+        given(catalog.claimPendingCreatedBefore(any(), any(), eq(Duration.ofMinutes(5)), eq(50)))
+                .willReturn(List.of(new ClaimedPhoto(photo, 1), new ClaimedPhoto(unreadable, 2)));
+        given(storage.get(photo.s3Key())).willReturn(SOURCE);
+        given(storage.get(unreadable.s3Key())).willThrow(new PhotoStorageException("missing", null));
+        given(images.render(SOURCE)).willReturn(VARIANTS);
+        given(storage.putAsync(anyString(), any(), anyString())).willReturn(CompletableFuture.completedFuture(null));
+        given(catalog.markReady(any(), anyString(), anyLong())).willReturn(true);
+
+        int resumed = service.resumeStale();
+
+        then(resumed).isEqualTo(1);
+        verify(catalog).markReady(photo.photoId(), "image/jpeg", VARIANTS.original().length);
+        verify(catalog).markFailed(unreadable.photoId());
+    }
+
+    @Test
+    @DisplayName("marks a photo failed once its recovery attempts are used up")
+    void marksPhotoFailedAfterMaxAttempts() {
+        given(catalog.claimPendingCreatedBefore(any(), any(), any(), eq(50)))
+                .willReturn(List.of(new ClaimedPhoto(photo, 4)));
+
+        int resumed = service.resumeStale();
+
+        then(resumed).isZero();
+        verify(catalog).markFailed(photo.photoId());
+        verify(storage, never()).get(anyString());
+    }
+
+    private StoredPhoto pendingPhoto(String storageId) {
+        return new StoredPhoto(
+                UUID.randomUUID(),
+                PROFILE_ID,
+                PhotoKeys.variantKey(PROFILE_ID, storageId, "original"),
+                true,
+                0,
+                "https://cdn/original.jpg",
+                "image/png",
+                SOURCE.length,
+                LocalDateTime.now().minusMinutes(10),
+                PhotoStatus.PENDING);
+    }
+}
@@ -0,0 +1,244 @@
+package com.tinder.profiles.application.photos.usecase;
+
+import com.tinder.profiles.application.photos.model.OrphanedPhotoSweepLease;
+import com.tinder.profiles.application.photos.model.OrphanedPhotoSweepReport;
+import com.tinder.profiles.application.photos.model.PhotoStatus;
+import com.tinder.profiles.application.photos.model.StoredObject;
+import com.tinder.profiles.application.photos.model.StoredObjectPage;
+import com.tinder.profiles.application.photos.model.StoredPhoto;
+import com.tinder.profiles.application.photos.port.out.OrphanedPhotoSweepCursorPort;
+import com.tinder.profiles.application.photos.port.out.PhotoCatalogPort;
+import com.tinder.profiles.application.photos.port.out.PhotoStoragePort;
+import com.tinder.profiles.application.photos.support.OrphanedPhotoSweepPolicy;
+import com.tinder.profiles.application.photos.support.PhotoKeys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SweepOrphanedPhotosService")
+class SweepOrphanedPhotosServiceTest {
+
+    private static final Duration GRACE = Duration.ofHours(1);
+    private static final Instant OLD = Instant.now().minus(Duration.ofDays(2));
+
+    @Mock private PhotoCatalogPort catalog;
+    @Mock private PhotoStoragePort storage;
+
+    private final InMemoryCursor cursor = new InMemoryCursor();
+
+    @Test
+    @DisplayName("deletes only old objects without a catalogue entry and records what they freed")
+    void deletesOnlyOldUncataloguedObjects() {
+        UUID profileId = UUID.randomUUID();
+        List<StoredObject> kept = variants(profileId, "kept", OLD, 100);
+        List<StoredObject> orphaned = variants(profileId, "orphaned", OLD, 10);
+        List<StoredObject> uploading = variants(profileId, "uploading", Instant.now(), 1);
+        StoredObject foreign = new StoredObject("photos/readme.txt", 5, OLD);
+        given(storage.listObjects(PhotoKeys.ROOT_PREFIX, null, 1000))
+                .willReturn(new StoredObjectPage(concat(List.of(foreign), kept, orphaned, uploading), null));
+        given(catalog.findForProfiles(Set.of(profileId))).willReturn(List.of(catalogued(profileId, "kept")));
+        given(storage.deleteAll(anyList())).willReturn(List.of());
+
+        OrphanedPhotoSweepReport report = service(policy(1000, 1000, 0, 10)).sweep().orElseThrow();
+
+        verify(storage).deleteAll(orphaned.stream().map(StoredObject::key).toList());
+        then(report.scanned()).isEqualTo(13);
+        then(report.orphaned()).isEqualTo(4);
+        then(report.deleted()).isEqualTo(4);
+        then(report.reclaimedBytes()).isEqualTo(40);
+        then(report.deleteRequests()).isEqualTo(1);
+        then(report.wrapped()).isTrue();
+    }
+
+    @Test
+    @DisplayName("batches orphans across pages into multi-object deletes of the configured size")
+    void batchesOrphansAcrossPages() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<StoredObject> firstPage = variants(first, "a", OLD, 1);
+        List<StoredObject> secondPage = variants(second, "b", OLD, 1);
+        given(storage.listObjects(eq(PhotoKeys.ROOT_PREFIX), isNull(), anyInt()))
+                .willReturn(new StoredObjectPage(firstPage, firstPage.get(firstPage.size() - 1).key()));
+        given(storage.listObjects(eq(PhotoKeys.ROOT_PREFIX), eq(firstPage.get(firstPage.size() - 1).key()), anyInt()))
+                .willReturn(new StoredObjectPage(secondPage, null));
+        given(storage.deleteAll(anyList())).willReturn(List.of());
+
+        OrphanedPhotoSweepReport report = service(policy(4, 6, 0, 10)).sweep().orElseThrow();
+
+        verify(storage).deleteAll(keys(concat(firstPage, secondPage.subList(0, 2))));
+        verify(storage).deleteAll(keys(secondPage.subList(2, 4)));
+        verify(catalog, times(2)).findForProfiles(anyCollection());
+        then(report.deleted()).isEqualTo(8);
+        then(report.deleteRequests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("stops at the page limit and resumes after the last listed key on the next run, on any replica")
+    void resumesWhereTheLastRunStopped() {
+        List<StoredObject> firstPage = variants(UUID.randomUUID(), "a", Instant.now(), 1);
+        List<StoredObject> secondPage = variants(UUID.randomUUID(), "b", Instant.now(), 1);
+        String firstCursor = firstPage.get(firstPage.size() - 1).key();
+        given(storage.listObjects(eq(PhotoKeys.ROOT_PREFIX), isNull(), anyInt()))
+                .willReturn(new StoredObjectPage(firstPage, firstCursor));
+        given(storage.listObjects(eq(PhotoKeys.ROOT_PREFIX), eq(firstCursor), anyInt()))
+                .willReturn(new StoredObjectPage(secondPage, null));
+        SweepOrphanedPhotosService replicaA = service(policy(4, 1000, 0, 1));
+        SweepOrphanedPhotosService replicaB = service(policy(4, 1000, 0, 1));
+
+        OrphanedPhotoSweepReport first = replicaA.sweep().orElseThrow();
+        OrphanedPhotoSweepReport second = replicaB.sweep().orElseThrow();
+        replicaA.sweep();
+
+        then(first.wrapped()).isFalse();
+        then(second.wrapped()).isTrue();
+        verify(storage, times(2)).listObjects(eq(PhotoKeys.ROOT_PREFIX), isNull(), anyInt());
+        verify(storage, never()).deleteAll(anyList());
+    }
+
+    @Test
+    @DisplayName("skips the run while another replica holds the sweep")
+    void skipsWhileAnotherReplicaSweeps() {
+        cursor.claim(Instant.now(), Instant.now().plus(Duration.ofMinutes(5)));
+
+        then(service(policy(1000, 1000, 0, 10)).sweep()).isEmpty();
+        verify(storage, never()).listObjects(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("stops after the page on which its lease was taken over, leaving the new holder's lease alone")
+    void stopsWhenTheLeaseIsLost() {
+        List<StoredObject> page = variants(UUID.randomUUID(), "a", Instant.now(), 1);
+        given(storage.listObjects(any(), any(), anyInt()))
+                .willReturn(new StoredObjectPage(page, page.get(page.size() - 1).key()));
+        cursor.takeOverOnAdvance = true;
+
+        OrphanedPhotoSweepReport report = service(policy(4, 1000, 0, 10)).sweep().orElseThrow();
+
+        verify(storage, times(1)).listObjects(any(), any(), anyInt());
+        then(report.wrapped()).isFalse();
+        then(cursor.leaseId).isNotNull();
+    }
+
+    @Test
+    @DisplayName("counts objects the store refused as failed, not reclaimed")
+    void refusedDeletesAreNotReclaimed() {
+        List<StoredObject> orphaned = variants(UUID.randomUUID(), "a", OLD, 10);
+        given(storage.listObjects(any(), any(), anyInt())).willReturn(new StoredObjectPage(orphaned, null));
+        given(storage.deleteAll(anyList())).willReturn(List.of(orphaned.get(0).key()));
+
+        OrphanedPhotoSweepReport report = service(policy(1000, 1000, 0, 10)).sweep().orElseThrow();
+
+        then(report.deleted()).isEqualTo(3);
+        then(report.failed()).isEqualTo(1);
+        then(report.reclaimedBytes()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("spaces list and delete requests to the configured rate")
+    void pacesStoreRequests() {
+        List<StoredObject> page = variants(UUID.randomUUID(), "a", OLD, 1);
+        given(storage.listObjects(any(), any(), anyInt()))
+                .willReturn(new StoredObjectPage(page, page.get(page.size() - 1).key()));
+        given(storage.deleteAll(anyList())).willReturn(List.of());
+
+        long start = System.nanoTime();
+        service(policy(4, 1000, 50, 3)).sweep().orElseThrow();
+
+        // three listings and one delete at 50/s: the last request goes out 60 ms after the first
+        then(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(55));
+        verify(storage, times(3)).listObjects(any(), any(), anyInt());
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private SweepOrphanedPhotosService service(OrphanedPhotoSweepPolicy policy) {
+        return new SweepOrphanedPhotosService(catalog, storage, cursor, policy);
+    }
+
+    private static OrphanedPhotoSweepPolicy policy(int pageSize, int deleteBatchSize, double rate, int pages) {
+        return new OrphanedPhotoSweepPolicy(pageSize, deleteBatchSize, rate, pages, GRACE, Duration.ofMinutes(5));
+    }
+
+    /** The shared cursor row of all replicas; {@code takeOverOnAdvance} hands the sweep to another replica. */
+    private static final class InMemoryCursor implements OrphanedPhotoSweepCursorPort {
+        private String resumeAfter;
+        private UUID leaseId;
+        private boolean takeOverOnAdvance;
+
+        @Override
+        public Optional<OrphanedPhotoSweepLease> claim(Instant now, Instant leasedUntil) {
+            if (leaseId != null) {
+                return Optional.empty();
+            }
+            leaseId = UUID.randomUUID();
+            return Optional.of(new OrphanedPhotoSweepLease(leaseId, resumeAfter));
+        }
+
+        @Override
+        public boolean advance(UUID leaseId, String resumeAfter, Instant leasedUntil) {
+            if (takeOverOnAdvance) {
+                this.leaseId = UUID.randomUUID();
+            }
+            if (!leaseId.equals(this.leaseId)) {
+                return false;
+            }
+            this.resumeAfter = resumeAfter;
+            return true;
+        }
+
+        @Override
+        public void release(UUID leaseId) {
+            if (leaseId.equals(this.leaseId)) {
+                this.leaseId = null;
+            }
+        }
+    }
+
+    private static List<StoredObject> variants(UUID profileId, String storageId, Instant written, long size) {
+        return PhotoKeys.allVariantKeys(profileId, storageId).stream()
+                .map(key -> new StoredObject(key, size, written))
+                .toList();
+    }
+
+    private static StoredPhoto catalogued(UUID profileId, String storageId) {
+        return new StoredPhoto(UUID.randomUUID(), profileId, PhotoKeys.variantKey(profileId, storageId, "original"),
+                true, 0, "https://cdn/photo", "image/jpeg", 100, LocalDateTime.now(), PhotoStatus.READY);
+    }
+
+    @SafeVarargs
+    private static List<StoredObject> concat(List<StoredObject>... lists) {
+        List<StoredObject> all = new ArrayList<>();
+        for (List<StoredObject> list : lists) {
+            all.addAll(list);
+        }
+        return all;
+    }
+
+    private static List<String> keys(List<StoredObject> objects) {
+        return objects.stream().map(StoredObject::key).toList();
+    }
+}
@@ -4,7 +4,7 @@ import com.tinder.profiles.application.photos.command.UploadPhotoCommand;
 import com.tinder.profiles.application.photos.exception.PhotoValidationException;
 import com.tinder.profiles.application.photos.model.ImageDimensions;
 import com.tinder.profiles.application.photos.model.PhotoDraft;
-import com.tinder.profiles.application.photos.model.PhotoVariants;
+import com.tinder.profiles.application.photos.model.PhotoStatus;
 import com.tinder.profiles.application.photos.model.StoredPhoto;
 import com.tinder.profiles.application.photos.port.out.ImageVariantsPort;
 import com.tinder.profiles.application.photos.port.out.PhotoCatalogPort;
@@ -39,7 +39,8 @@ import static org.mockito.Mockito.verify;
 
 /**
  * Covers the upload orchestration that used to be entangled with the S3 client:
- * slot rules, variant fan-out and replacement of an occupied slot.
+ * slot rules, the hand-off to the variant pipeline and replacement of an
+ * occupied slot.
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UploadPhotoService")
@@ -53,8 +54,8 @@ class UploadPhotoServiceTest {
     @Mock private PhotoCatalogPort catalog;
     @Mock private PhotoStoragePort storage;
     @Mock private ImageVariantsPort images;
-    @Mock private CleanupOrphanedPhotosService cleanupOrphaned;
     @Mock private DomainEventPublisherPort events;
+    @Mock private RenderPhotoVariantsService renderVariants;
 
     private UploadPhotoService service;
 
@@ -62,27 +63,35 @@ class UploadPhotoServiceTest {
     void setUp() {
         PhotoPolicy policy = new PhotoPolicy(
                 5, 5L * 1024 * 1024, List.of("image/jpeg", "image/png"), 300, 4096);
-        service = new UploadPhotoService(owner, catalog, storage, images, cleanupOrphaned, policy, events);
+        service = new UploadPhotoService(
+                owner, catalog, storage, images, policy, events, renderVariants);
     }
 
     @Test
-    @DisplayName("stores four variants and catalogues the original")
-    void storesVariantsAndCataloguesOriginal() {
+    @DisplayName("stores the upload as the original, catalogues it pending and queues the variants")
+    void storesOriginalAndQueuesVariants() {
         givenProfileWithPhotos();
         givenRenderableImage();
         given(storage.publicUrl(anyString())).willAnswer(call -> "https://cdn/" + call.getArgument(0));
+        StoredPhoto saved = storedPhoto(UUID.randomUUID().toString(), 0);
+        given(catalog.save(any())).willReturn(saved);
 
         var uploaded = service.handle(command(0));
 
-        verify(storage, times(4)).put(anyString(), any(), eq("image/jpeg"));
+        String originalKey = PhotoKeys.variantKey(PROFILE_ID, uploaded.photoId(), "original");
+        verify(storage).put(originalKey, IMAGE, "image/png");
+        verify(storage, times(1)).put(anyString(), any(), anyString());
+        verify(images, never()).render(any());
         ArgumentCaptor<PhotoDraft> draft = ArgumentCaptor.forClass(PhotoDraft.class);
         verify(catalog).save(draft.capture());
         then(draft.getValue().profileId()).isEqualTo(PROFILE_ID);
         then(draft.getValue().position()).isZero();
         then(draft.getValue().primary()).isTrue();
-        then(draft.getValue().s3Key())
-                .isEqualTo(PhotoKeys.variantKey(PROFILE_ID, uploaded.photoId(), "original"));
+        then(draft.getValue().s3Key()).isEqualTo(originalKey);
+        then(draft.getValue().status()).isEqualTo(PhotoStatus.PENDING);
+        then(uploaded.status()).isEqualTo(PhotoStatus.PENDING);
         then(uploaded.smallUrl()).contains("/small.jpg");
+        verify(renderVariants).submitAfterCommit(saved, IMAGE);
         verify(events).publishCardChanged(PROFILE_ID);
     }
 
@@ -163,8 +172,6 @@ class UploadPhotoServiceTest {
 
     private void givenRenderableImage() {
         given(images.probe(IMAGE)).willReturn(Optional.of(new ImageDimensions(1024, 768)));
-        given(images.render(IMAGE)).willReturn(new PhotoVariants(
-                "original".getBytes(), "large".getBytes(), "medium".getBytes(), "small".getBytes()));
     }
 
     private StoredPhoto storedPhoto(String storageId, int position) {
@@ -177,6 +184,7 @@ class UploadPhotoServiceTest {
                 "https://cdn/old.jpg",
                 "image/jpeg",
                 1234L,
-                LocalDateTime.now());
+                LocalDateTime.now(),
+                PhotoStatus.READY);
     }
 }
@@ -1,8 +1,11 @@
 package com.tinder.profiles.application.profile.usecase;
 
+import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillRange;
 import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillRun;
 import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillStatus;
 import com.tinder.profiles.application.profile.port.out.DeckCardProjectionBackfillPort;
+import com.tinder.profiles.application.profile.support.DeckCardProjectionBackfillPolicy;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -11,12 +14,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,9 +39,18 @@ class DeckCardProjectionBackfillServiceTest {
 
     DeckCardProjectionBackfillService service;
 
+    ExecutorService workers;
+
     @BeforeEach
     void setUp() {
-        service = new DeckCardProjectionBackfillService(port);
+        workers = Executors.newFixedThreadPool(2);
+        service = new DeckCardProjectionBackfillService(
+                port, new DeckCardProjectionBackfillPolicy(4, 2, 1_000, Duration.ofMillis(1)), workers);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
     }
 
     @Test
@@ -58,7 +76,7 @@ class DeckCardProjectionBackfillServiceTest {
 
         // Then
         verify(port).startOrResume(runId);
-        verify(port, org.mockito.Mockito.times(2)).enqueueNextPage(runId, 500);
+        verify(port, times(2)).enqueueNextPage(runId, 500);
         verify(port).refreshStatus(runId);
     }
 
@@ -78,6 +96,68 @@ class DeckCardProjectionBackfillServiceTest {
         verify(port).markFailed(runId, "IllegalStateException: database connection failed");
     }
 
+    @Test
+    @DisplayName("Scenario: Given a partitioned run resumed after a crash, when workers drain it, then only unfinished ranges are paged before the run is enqueued")
+    void partitionedRunPagesOnlyUnfinishedRangesThenFinishes() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        DeckCardProjectionBackfillRun enqueued = run(runId, DeckCardProjectionBackfillStatus.ENQUEUED, null, 1_200);
+        when(port.startOrResume(runId)).thenReturn(run(runId, DeckCardProjectionBackfillStatus.RUNNING, null, 700));
+        when(port.planRanges(runId, 4)).thenReturn(List.of(
+                range(0, 500, true),
+                range(1, 0, false),
+                range(2, 200, false),
+                range(3, 0, true)));
+        when(port.enqueueNextRangePage(runId, 1, 500)).thenReturn(range(1, 500, false), range(1, 800, true));
+        when(port.enqueueNextRangePage(runId, 2, 500)).thenReturn(range(2, 400, true));
+        when(port.finishRanges(runId)).thenReturn(enqueued);
+
+        // When
+        assertThat(service.startOrResumePartitioned(runId)).isEqualTo(enqueued);
+
+        // Then
+        verify(port, never()).enqueueNextRangePage(runId, 0, 500);
+        verify(port, never()).enqueueNextRangePage(runId, 3, 500);
+        verify(port, times(2)).enqueueNextRangePage(runId, 1, 500);
+        verify(port).enqueueNextRangePage(runId, 2, 500);
+        verify(port).finishRanges(runId);
+    }
+
+    @Test
+    @DisplayName("Scenario: Given the run's outbox backlog is at the limit, when a worker is about to page, then it waits for the Kafka producer to drain it")
+    void workersPauseWhileTheOutboxBacklogIsAtTheLimit() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        when(port.startOrResume(runId)).thenReturn(run(runId, DeckCardProjectionBackfillStatus.RUNNING, null, 0));
+        when(port.planRanges(runId, 4)).thenReturn(List.of(range(0, 0, false)));
+        when(port.pendingOutboxEvents(runId)).thenReturn(1_000L, 1_500L, 999L);
+        when(port.enqueueNextRangePage(runId, 0, 500)).thenReturn(range(0, 300, true));
+        when(port.finishRanges(runId)).thenReturn(run(runId, DeckCardProjectionBackfillStatus.ENQUEUED, null, 300));
+
+        // When
+        service.startOrResumePartitioned(runId);
+
+        // Then
+        verify(port, times(3)).pendingOutboxEvents(runId);
+        verify(port).enqueueNextRangePage(runId, 0, 500);
+    }
+
+    @Test
+    @DisplayName("Scenario: Given a failing range page, when the partitioned run stops, then the run is failed and not enqueued")
+    void failingRangeFailsThePartitionedRun() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        when(port.startOrResume(runId)).thenReturn(run(runId, DeckCardProjectionBackfillStatus.RUNNING, null, 0));
+        when(port.planRanges(runId, 4)).thenReturn(List.of(range(0, 0, false)));
+        when(port.enqueueNextRangePage(runId, 0, 500)).thenThrow(new IllegalStateException("lock timeout"));
+
+        // When / Then
+        assertThatThrownBy(() -> service.startOrResumePartitioned(runId))
+                .isInstanceOf(IllegalStateException.class);
+        verify(port).markFailed(runId, "IllegalStateException: lock timeout");
+        verify(port, never()).finishRanges(runId);
+    }
+
     private DeckCardProjectionBackfillRun run(
             UUID runId,
             DeckCardProjectionBackfillStatus status,
@@ -87,6 +167,10 @@ class DeckCardProjectionBackfillServiceTest {
         Instant now = Instant.parse("2026-08-11T12:00:00Z");
         return new DeckCardProjectionBackfillRun(
                 runId, status, cursor, processed, 700, now, now,
-                status == DeckCardProjectionBackfillStatus.COMPLETED ? now : null, null);
+                status == DeckCardProjectionBackfillStatus.COMPLETED ? now : null, null, List.of());
+    }
+
+    private DeckCardProjectionBackfillRange range(int index, long processed, boolean completed) {
+        return new DeckCardProjectionBackfillRange(index, null, null, null, processed, completed);
     }
 }
@@ -0,0 +1,181 @@
+package com.tinder.profiles.application.profile.usecase;
+
+import com.tinder.profiles.application.profile.model.PremiumExpirationReport;
+import com.tinder.profiles.application.profile.model.PremiumRevocation;
+import com.tinder.profiles.application.profile.port.out.PremiumExpirationPort;
+import com.tinder.profiles.application.profile.port.out.PremiumRolePort;
+import com.tinder.profiles.application.profile.support.PremiumExpirationPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("acceptance")
+@DisplayName("Feature: Lapsed premium memberships are expired in batches")
+class PremiumExpirationServiceTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Mock
+    PremiumExpirationPort port;
+
+    @Mock
+    PremiumRolePort premiumRoles;
+
+    PremiumExpirationService service;
+
+    ExecutorService workers;
+
+    @BeforeEach
+    void setUp() {
+        workers = Executors.newFixedThreadPool(2);
+        service = new PremiumExpirationService(port, premiumRoles, new PremiumExpirationPolicy(
+                2, 10, 2, 2, Duration.ofMillis(1), Duration.ofMinutes(1), Duration.ofMinutes(4), 3, LEASE), workers);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Scenario: Given an expiration wave, when the run starts, then chunks are expired until one comes back short and every queued revocation is sent")
+    void expiresChunksUntilShortAndRevokesEveryQueuedUser() {
+        // Given
+        when(port.expireNextChunk(any(LocalDateTime.class), eq(2))).thenReturn(2, 2, 1);
+        when(port.claimDueRevocations(any(Instant.class), eq(2), eq(LEASE))).thenReturn(
+                List.of(revocation("user-a", 0), revocation("user-b", 0)),
+                List.of(revocation("user-c", 0)));
+
+        // When
+        PremiumExpirationReport report = service.expireLapsed();
+
+        // Then
+        assertThat(report.expired()).isEqualTo(5);
+        assertThat(report.revoked()).isEqualTo(3);
+        assertThat(report.retried()).isZero();
+        verify(port, times(3)).expireNextChunk(any(LocalDateTime.class), eq(2));
+        verify(premiumRoles).revokePremium("user-a");
+        verify(premiumRoles).revokePremium("user-b");
+        verify(premiumRoles).revokePremium("user-c");
+        ArgumentCaptor<Collection<String>> cleared = collectionCaptor();
+        verify(port, times(2)).markRevoked(cleared.capture());
+        assertThat(cleared.getAllValues()).flatExtracting(users -> List.copyOf(users))
+                .containsExactlyInAnyOrder("user-a", "user-b", "user-c");
+    }
+
+    @Test
+    @DisplayName("Scenario: Given a transient Keycloak error, when the revocation is retried in a row, then it succeeds without touching the queue schedule")
+    void transientFailureIsRetriedInRow() {
+        // Given
+        when(port.expireNextChunk(any(LocalDateTime.class), anyInt())).thenReturn(1);
+        when(port.claimDueRevocations(any(Instant.class), anyInt(), eq(LEASE)))
+                .thenReturn(List.of(revocation("user-a", 0)));
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("502 Bad Gateway");
+            }
+            return null;
+        }).when(premiumRoles).revokePremium("user-a");
+
+        // When
+        PremiumExpirationReport report = service.expireLapsed();
+
+        // Then
+        assertThat(report.revoked()).isEqualTo(1);
+        verify(premiumRoles, times(2)).revokePremium("user-a");
+        verify(port, never()).scheduleRetry(anyString(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Scenario: Given Keycloak keeps failing, when the attempts run out, then the revocation is re-queued with backoff and the others still go through")
+    void persistentFailureIsRequeuedWithBackoff() {
+        // Given
+        when(port.expireNextChunk(any(LocalDateTime.class), anyInt())).thenReturn(0);
+        when(port.claimDueRevocations(any(Instant.class), anyInt(), eq(LEASE)))
+                .thenReturn(List.of(revocation("user-down", 1), revocation("user-ok", 0)), List.of());
+        doThrow(new IllegalStateException("503 Service Unavailable")).when(premiumRoles).revokePremium("user-down");
+        Instant before = Instant.now();
+
+        // When
+        PremiumExpirationReport report = service.expireLapsed();
+
+        // Then
+        assertThat(report.revoked()).isEqualTo(1);
+        assertThat(report.retried()).isEqualTo(1);
+        verify(premiumRoles, times(2)).revokePremium("user-down");
+        verify(port).markRevoked(List.of("user-ok"));
+        ArgumentCaptor<Instant> nextAttemptAt = ArgumentCaptor.forClass(Instant.class);
+        verify(port).scheduleRetry(eq("user-down"), nextAttemptAt.capture(),
+                eq("IllegalStateException: 503 Service Unavailable"));
+        // Second failed claim: twice the one-minute base delay.
+        assertThat(nextAttemptAt.getValue()).isAfterOrEqualTo(before.plus(Duration.ofMinutes(2)));
+    }
+
+    @Test
+    @DisplayName("Scenario: Given a revocation on its last claim, when it fails again, then it is dead-lettered instead of re-queued")
+    void lastClaimIsDeadLettered() {
+        // Given
+        when(port.expireNextChunk(any(LocalDateTime.class), anyInt())).thenReturn(0);
+        when(port.claimDueRevocations(any(Instant.class), anyInt(), eq(LEASE)))
+                .thenReturn(List.of(revocation("user-gone", 2)));
+        doThrow(new IllegalStateException("404 Not Found")).when(premiumRoles).revokePremium("user-gone");
+
+        // When
+        PremiumExpirationReport report = service.expireLapsed();
+
+        // Then
+        assertThat(report.deadLettered()).isEqualTo(1);
+        verify(port).markDeadLettered(eq("user-gone"), any(Instant.class), eq("IllegalStateException: 404 Not Found"));
+        verify(port, never()).scheduleRetry(anyString(), any(), anyString());
+        verify(port, never()).markRevoked(any());
+    }
+
+    @Test
+    @DisplayName("Scenario: Given a growing retry count, when the delay is computed, then it doubles up to the cap")
+    void retryDelayDoublesUpToTheCap() {
+        PremiumExpirationPolicy policy = new PremiumExpirationPolicy(
+                500, 10, 4, 3, Duration.ofMillis(200), Duration.ofMinutes(1), Duration.ofMinutes(5), 10, LEASE);
+
+        assertThat(policy.retryDelay(1)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(policy.retryDelay(3)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(policy.retryDelay(9)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    private static PremiumRevocation revocation(String userId, int attempts) {
+        return new PremiumRevocation(userId, LocalDateTime.now().minusDays(1), attempts);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<String>> collectionCaptor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+}
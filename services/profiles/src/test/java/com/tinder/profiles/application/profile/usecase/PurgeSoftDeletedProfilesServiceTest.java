@@ -1,7 +1,12 @@
 package com.tinder.profiles.application.profile.usecase;
 
-import com.tinder.profiles.application.profile.command.DeleteProfilesCommand;
-import com.tinder.profiles.application.profile.port.out.ProfileRepositoryPort;
+import com.tinder.profiles.application.photos.port.out.PhotoStoragePort;
+import com.tinder.profiles.application.photos.support.PhotoKeys;
+import com.tinder.profiles.application.profile.model.DatabaseLoad;
+import com.tinder.profiles.application.profile.model.PurgedChunk;
+import com.tinder.profiles.application.profile.port.out.ProfileCachePort;
+import com.tinder.profiles.application.profile.port.out.ProfilePurgePort;
+import com.tinder.profiles.application.profile.support.ProfilePurgePolicy;
 import com.tinder.profiles.application.profile.support.ProfileRetentionPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,14 +15,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -26,47 +38,136 @@ import static org.mockito.Mockito.verifyNoInteractions;
 class PurgeSoftDeletedProfilesServiceTest {
 
     private static final int RETENTION_DAYS = 30;
+    private static final int CHUNK_SIZE = 2;
 
-    @Mock private ProfileRepositoryPort profiles;
-    @Mock private DeleteProfilesService deleteProfiles;
+    @Mock private ProfilePurgePort purge;
+    @Mock private ProfileCachePort cache;
+    @Mock private PhotoStoragePort storage;
 
     private PurgeSoftDeletedProfilesService service;
 
     @BeforeEach
     void setUp() {
-        service = new PurgeSoftDeletedProfilesService(
-                profiles, deleteProfiles, new ProfileRetentionPolicy(RETENTION_DAYS));
+        lenient().when(purge.observeLoad()).thenReturn(new DatabaseLoad(0, 0));
+        service = service(new ProfilePurgePolicy(CHUNK_SIZE, 10, 0, 0, Duration.ofMillis(1)));
     }
 
     @Test
-    @DisplayName("nothing stale means no delete call")
+    @DisplayName("nothing stale means no eviction and no photo deletes")
     void noStaleProfilesSkipsProcessing() {
-        given(profiles.findSoftDeletedBefore(any())).willReturn(List.of());
+        given(purge.purgeNextChunk(any(), isNull(), eq(CHUNK_SIZE))).willReturn(PurgedChunk.EMPTY);
 
         then(service.handle()).isZero();
-        verifyNoInteractions(deleteProfiles);
+        verifyNoInteractions(cache, storage);
     }
 
     @Test
-    @DisplayName("purges all stale ids in a single batch")
-    void purgesAllStaleIdsInOneCall() {
-        List<UUID> stale = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
-        given(profiles.findSoftDeletedBefore(any())).willReturn(stale);
+    @DisplayName("purges chunk after chunk from the last purged id until a short chunk")
+    void walksTheBacklogByKeyset() {
+        PurgedChunk first = chunk(2);
+        PurgedChunk second = chunk(1);
+        given(purge.purgeNextChunk(any(), isNull(), eq(CHUNK_SIZE))).willReturn(first);
+        given(purge.purgeNextChunk(any(), eq(first.lastProfileId()), eq(CHUNK_SIZE))).willReturn(second);
 
         then(service.handle()).isEqualTo(3);
-        verify(deleteProfiles).handle(new DeleteProfilesCommand(stale));
+        verify(purge, times(2)).purgeNextChunk(any(), any(), anyInt());
+        verify(cache).evictBatch(first.profileIds(), first.userIds());
+        verify(cache).evictBatch(second.profileIds(), second.userIds());
+    }
+
+    @Test
+    @DisplayName("stops at the chunk limit and leaves the rest for the next run")
+    void stopsAtTheChunkLimit() {
+        service = service(new ProfilePurgePolicy(CHUNK_SIZE, 2, 0, 0, Duration.ofMillis(1)));
+        given(purge.purgeNextChunk(any(), any(), eq(CHUNK_SIZE))).willReturn(chunk(2), chunk(2), chunk(2));
+
+        then(service.handle()).isEqualTo(4);
+        verify(purge, times(2)).purgeNextChunk(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("deletes every photo object of a chunk's profiles in one bulk delete")
+    void deletesPhotoObjectsOfPurgedProfiles() {
+        PurgedChunk purged = chunk(1);
+        UUID profileId = purged.profileIds().get(0);
+        String prefix = PhotoKeys.profilePrefix(profileId);
+        given(purge.purgeNextChunk(any(), any(), anyInt())).willReturn(purged);
+        given(storage.listKeys(prefix)).willReturn(List.of(prefix + "a/original.jpg", prefix + "a/small.jpg"));
+
+        service.handle();
+
+        verify(storage).deleteAll(List.of(prefix + "a/original.jpg", prefix + "a/small.jpg"));
+    }
+
+    @Test
+    @DisplayName("a failing photo listing does not fail the purge or skip the other profiles")
+    void photoDeleteFailureIsBestEffort() {
+        PurgedChunk purged = chunk(2);
+        UUID failing = purged.profileIds().get(0);
+        UUID healthy = purged.profileIds().get(1);
+        given(purge.purgeNextChunk(any(), any(), anyInt())).willReturn(purged, PurgedChunk.EMPTY);
+        given(storage.listKeys(PhotoKeys.profilePrefix(failing))).willThrow(new IllegalStateException("s3 down"));
+        given(storage.listKeys(PhotoKeys.profilePrefix(healthy))).willReturn(List.of("k"));
+
+        then(service.handle()).isEqualTo(2);
+        verify(storage).deleteAll(List.of("k"));
+    }
+
+    @Test
+    @DisplayName("waits for standbys to catch up before the next chunk")
+    void waitsOutReplicationLag() {
+        service = service(new ProfilePurgePolicy(CHUNK_SIZE, 10, 0, 1_000, Duration.ofMillis(1)));
+        given(purge.observeLoad()).willReturn(
+                new DatabaseLoad(0, 0),
+                new DatabaseLoad(10, 5_000),
+                new DatabaseLoad(10, 2_000),
+                new DatabaseLoad(10, 0),
+                new DatabaseLoad(10, 0));
+        given(purge.purgeNextChunk(any(), any(), anyInt())).willReturn(chunk(2), PurgedChunk.EMPTY);
+
+        then(service.handle()).isEqualTo(2);
+        verify(purge, times(5)).observeLoad();
+    }
+
+    @Test
+    @DisplayName("paces chunks to the configured WAL rate")
+    void pacesChunksToTheWalRate() {
+        service = service(new ProfilePurgePolicy(CHUNK_SIZE, 10, 1_000_000, 0, Duration.ofMillis(1)));
+        given(purge.observeLoad()).willReturn(
+                new DatabaseLoad(0, 0),
+                new DatabaseLoad(50_000, 0),
+                new DatabaseLoad(50_000, 0),
+                new DatabaseLoad(50_000, 0));
+        given(purge.purgeNextChunk(any(), any(), anyInt())).willReturn(chunk(2), PurgedChunk.EMPTY);
+
+        long start = System.nanoTime();
+        service.handle();
+
+        then(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(40));
     }
 
     @Test
     @DisplayName("asks for profiles deleted before the retention cutoff")
     void appliesTheRetentionWindow() {
-        given(profiles.findSoftDeletedBefore(any())).willReturn(List.of());
+        given(purge.purgeNextChunk(any(), any(), anyInt())).willReturn(PurgedChunk.EMPTY);
 
         LocalDateTime before = LocalDateTime.now().minusDays(RETENTION_DAYS).minusSeconds(5);
         service.handle();
         LocalDateTime after = LocalDateTime.now().minusDays(RETENTION_DAYS).plusSeconds(5);
 
-        verify(profiles).findSoftDeletedBefore(
-                argThat(cutoff -> !cutoff.isBefore(before) && !cutoff.isAfter(after)));
+        verify(purge).purgeNextChunk(
+                argThat(cutoff -> !cutoff.isBefore(before) && !cutoff.isAfter(after)), isNull(), eq(CHUNK_SIZE));
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private PurgeSoftDeletedProfilesService service(ProfilePurgePolicy policy) {
+        return new PurgeSoftDeletedProfilesService(
+                purge, cache, storage, new ProfileRetentionPolicy(RETENTION_DAYS), policy, Runnable::run);
+    }
+
+    private static PurgedChunk chunk(int size) {
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(size).sorted().toList();
+        return new PurgedChunk(ids, ids.stream().map(id -> "user-" + id).toList());
     }
 }
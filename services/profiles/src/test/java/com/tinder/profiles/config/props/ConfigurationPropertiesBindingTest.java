@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
 
@@ -50,6 +51,9 @@ class ConfigurationPropertiesBindingTest {
             LocationProperties location = context.getBean(LocationProperties.class);
             then(location.service().url()).startsWith("http");
             then(location.change().thresholdKm()).isEqualTo(1.0);
+            then(location.cache().enabled()).isTrue();
+            then(location.cache().ttl()).isEqualTo(Duration.ofHours(24));
+            then(location.cache().negativeTtl()).isEqualTo(Duration.ofSeconds(30));
 
             OutboxPublisherProperties outbox = context.getBean(OutboxPublisherProperties.class);
             then(outbox.enabled()).isTrue();
@@ -70,8 +74,23 @@ class ConfigurationPropertiesBindingTest {
                     .containsExactly("image/jpeg", "image/png", "image/webp");
             then(photos.photos().minDimensionPx()).isEqualTo(300);
             then(photos.photos().maxDimensionPx()).isEqualTo(4096);
-
-            then(context.getBean(ProfileCleanupProperties.class).retentionDays()).isEqualTo(30);
+            then(photos.photoOrphanSweep().deleteBatchSize()).isEqualTo(1000);
+            then(photos.photoOrphanSweep().maxRequestsPerSecond()).isEqualTo(10.0);
+            then(photos.photoOrphanSweep().gracePeriod()).isEqualTo(Duration.ofHours(1));
+            then(photos.photoOrphanSweep().lease()).isEqualTo(Duration.ofMinutes(5));
+
+            PremiumExpirationProperties premium = context.getBean(PremiumExpirationProperties.class);
+            then(premium.checkIntervalMs()).isEqualTo(3_600_000);
+            then(premium.chunkSize()).isEqualTo(500);
+            then(premium.parallelism()).isEqualTo(8);
+            then(premium.maxRetryBackoff()).isEqualTo(Duration.ofHours(6));
+
+            ProfileCleanupProperties cleanup = context.getBean(ProfileCleanupProperties.class);
+            then(cleanup.retentionDays()).isEqualTo(30);
+            then(cleanup.purge().chunkSize()).isEqualTo(1000);
+            then(cleanup.purge().maxWalRate()).isEqualTo(DataSize.ofMegabytes(32));
+            then(cleanup.purge().maxReplicationLag()).isEqualTo(DataSize.ofMegabytes(256));
+            then(cleanup.purge().throttlePause()).isEqualTo(Duration.ofSeconds(1));
         });
     }
 
@@ -84,6 +103,7 @@ class ConfigurationPropertiesBindingTest {
             LocationProperties.class,
             OutboxPublisherProperties.class,
             PhotoProperties.class,
+            PremiumExpirationProperties.class,
             ProfileCacheProperties.class,
             ProfileCleanupProperties.class
     })
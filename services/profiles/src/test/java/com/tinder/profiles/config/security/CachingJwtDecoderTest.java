@@ -52,7 +52,8 @@ class CachingJwtDecoderTest {
         ProfileCacheProperties.CacheSpec tokenCache =
                 new ProfileCacheProperties.CacheSpec(Duration.ofMinutes(5), 100);
         ProfileCacheProperties properties =
-                new ProfileCacheProperties(tokenCache, tokenCache, tokenCache);
+                new ProfileCacheProperties(tokenCache, tokenCache, tokenCache,
+                        new ProfileCacheProperties.Invalidation(false, "unused", Duration.ofSeconds(30)));
         return new CachingJwtDecoder(delegate, properties, Clock.fixed(now, ZoneOffset.UTC));
     }
 
@@ -71,8 +71,7 @@ class RedisProfileCacheAdapterTest {
 
         verify(resilientCacheManager).evict(RedisProfileCacheAdapter.PROFILE_CACHE_NAME, a);
         verify(resilientCacheManager).evict(RedisProfileCacheAdapter.PROFILE_CACHE_NAME, b);
-        verify(sharedProfileSnapshotCache).evict(a);
-        verify(sharedProfileSnapshotCache).evict(b);
+        verify(sharedProfileSnapshotCache).evictAll(ids);
         verify(profileIdentityCacheService).evict("user-1");
     }
 }
@@ -0,0 +1,197 @@
+package com.tinder.profiles.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tinder.contracts.dto.SharedProfileDto;
+import com.tinder.profiles.config.props.ProfileCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * Two profiles replicas sharing one Redis, each with its own local tier and
+ * invalidation bus subscription.
+ */
+@Testcontainers
+@DisplayName("SharedProfileSnapshotCache across replicas")
+class SharedProfileSnapshotCacheClusterTest {
+
+    private static final String CHANNEL = "profiles:shared:invalidations";
+
+    @Container
+    static GenericContainer<?> redisContainer = new GenericContainer<>("redis:8.2.1-alpine").withExposedPorts(6379);
+
+    private final ProfileCacheProperties properties = new ProfileCacheProperties(
+            new ProfileCacheProperties.CacheSpec(Duration.ofMinutes(30), 1_000),
+            new ProfileCacheProperties.CacheSpec(Duration.ofMinutes(30), 1_000),
+            new ProfileCacheProperties.CacheSpec(Duration.ofMinutes(30), 1_000),
+            new ProfileCacheProperties.Invalidation(true, CHANNEL, Duration.ofSeconds(30)));
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redis;
+    private Replica replicaA;
+    private Replica replicaB;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redisContainer.getHost(), redisContainer.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+        redis.afterPropertiesSet();
+        redis.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        replicaA = new Replica();
+        replicaB = new Replica();
+        await(() -> subscribers() == 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicaA.bus.stop();
+        replicaB.bus.stop();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("an eviction on one replica drops the other replica's local copy")
+    void evictionReachesOtherReplica() {
+        UUID id = UUID.randomUUID();
+        SharedProfileDto original = profile(id, "Alice");
+        replicaB.cache.getMany(List.of(id), ids -> List.of(original));
+
+        // The profile changes: replica A writes the row and evicts, then the row is read again.
+        replicaA.cache.evict(id);
+        await(() -> replicaB.meters.timer("profiles.shared.snapshot.staleness").count() == 1);
+        AtomicInteger databaseReads = new AtomicInteger();
+        List<SharedProfileDto> reread = replicaB.cache.getMany(List.of(id), ids -> {
+            databaseReads.incrementAndGet();
+            return List.of(profile(id, "Alicia"));
+        });
+
+        then(databaseReads).hasValue(1);
+        then(reread).extracting(SharedProfileDto::name).containsExactly("Alicia");
+        // The publisher ignores its own echo.
+        then(replicaA.meters.timer("profiles.shared.snapshot.staleness").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("a load that raced a remote eviction is returned but cached in neither tier")
+    void racingLoadIsNotCached() {
+        UUID id = UUID.randomUUID();
+        Function<List<UUID>, List<SharedProfileDto>> staleLoad = ids -> {
+            // The row was read; before it is cached, replica A changes the profile.
+            replicaA.cache.evict(id);
+            await(() -> replicaB.meters.timer("profiles.shared.snapshot.staleness").count() == 1);
+            return List.of(profile(id, "Alice"));
+        };
+
+        List<SharedProfileDto> served = replicaB.cache.getMany(List.of(id), staleLoad);
+
+        then(served).extracting(SharedProfileDto::name).containsExactly("Alice");
+        then(redis.hasKey("profiles:shared:" + id)).isFalse();
+        AtomicInteger databaseReads = new AtomicInteger();
+        replicaB.cache.getMany(List.of(id), ids -> {
+            databaseReads.incrementAndGet();
+            return List.of(profile(id, "Alicia"));
+        });
+        then(databaseReads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("a load that started before an eviction on another replica never reaches Redis, broadcast or not")
+    void racingLoadIsNotWrittenWithoutTheBroadcast() {
+        UUID id = UUID.randomUUID();
+        // Never subscribed: the eviction below reaches this replica through Redis only.
+        Replica unsubscribed = new Replica(false);
+        SharedProfileSnapshotCache.LoadMark loadStarted = unsubscribed.cache.startLoad();
+
+        replicaA.cache.evict(id);
+        unsubscribed.cache.putAll(List.of(profile(id, "Alice")), loadStarted);
+
+        then(redis.hasKey("profiles:shared:" + id)).isFalse();
+        unsubscribed.cache.putAll(List.of(profile(id, "Alicia")), unsubscribed.cache.startLoad());
+        then(redis.opsForValue().get("profiles:shared:" + id)).contains("Alicia");
+    }
+
+    @Test
+    @DisplayName("writes a batch in one pipeline with the snapshot TTL on every key")
+    void pipelinedWriteSetsTtl() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        replicaA.cache.putAll(ids.stream().map(id -> profile(id, "Alice")).toList(), replicaA.cache.startLoad());
+
+        for (UUID id : ids) {
+            then(redis.getExpire("profiles:shared:" + id)).isBetween(1L, Duration.ofMinutes(30).toSeconds());
+        }
+        then(replicaA.meters.timer("profiles.shared.snapshot.write", "result", "success").count()).isEqualTo(1);
+        AtomicInteger databaseReads = new AtomicInteger();
+        then(replicaB.cache.getMany(ids, missing -> {
+            databaseReads.incrementAndGet();
+            return List.of();
+        })).hasSize(3);
+        then(databaseReads).hasValue(0);
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private final class Replica {
+        final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        final SharedProfileInvalidationBus bus = new SharedProfileInvalidationBus(connectionFactory, redis, properties);
+        final SharedProfileSnapshotCache cache =
+                new SharedProfileSnapshotCache(redis, new ObjectMapper(), properties, bus, meters);
+
+        Replica() {
+            this(true);
+        }
+
+        Replica(boolean subscribed) {
+            if (subscribed) {
+                bus.start();
+            }
+        }
+    }
+
+    private static SharedProfileDto profile(UUID id, String name) {
+        return new SharedProfileDto(id, name, 30, null, "Vienna", true, null, null, false, List.of(), List.of());
+    }
+
+    private static int subscribers() {
+        try {
+            String[] reply = redisContainer.execInContainer("redis-cli", "PUBSUB", "NUMSUB", CHANNEL)
+                    .getStdout().trim().split("\n");
+            return Integer.parseInt(reply[reply.length - 1].trim());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5s");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.tinder.profiles.infrastructure.external.keycloak;
+
+import com.tinder.profiles.config.props.KeycloakProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.BDDAssertions.then;
+
+@DisplayName("KeycloakPremiumRoleAdapter")
+class KeycloakPremiumRoleAdapterTest {
+
+    private StubKeycloak keycloak;
+    private KeycloakPremiumRoleAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keycloak = new StubKeycloak(0);
+        adapter = new KeycloakPremiumRoleAdapter(
+                WebClient.create(keycloak.url()),
+                new KeycloakProperties(keycloak.url(), "spring", "spring-app", "admin", "admin"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        keycloak.close();
+    }
+
+    @Test
+    @DisplayName("reuses the admin token and role lookup across revocations")
+    void revocationsShareTokenAndRole() {
+        adapter.revokePremium("user-a");
+        adapter.revokePremium("user-b");
+        adapter.revokePremium("user-c");
+
+        then(keycloak.mappingsRemoved()).isEqualTo(3);
+        then(keycloak.tokensIssued()).isEqualTo(1);
+        then(keycloak.roleLookups()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("fetches a new token after Keycloak rejects the cached one")
+    void rejectedTokenIsReplacedOnTheNextCall() {
+        adapter.revokePremium("user-a");
+        keycloak.revokeTokens();
+
+        assertThatThrownBy(() -> adapter.revokePremium("user-b"))
+                .isInstanceOf(WebClientResponseException.Unauthorized.class);
+        adapter.revokePremium("user-b");
+
+        then(keycloak.tokensIssued()).isEqualTo(2);
+        then(keycloak.mappingsRemoved()).isEqualTo(2);
+    }
+}
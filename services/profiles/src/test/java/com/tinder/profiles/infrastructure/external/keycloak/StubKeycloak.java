@@ -0,0 +1,141 @@
+package com.tinder.profiles.infrastructure.external.keycloak;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The slice of the Keycloak Admin REST API the premium role adapter uses, served
+ * by the JDK HTTP server. Every call waits {@code latencyMillis}; role-mapping
+ * calls for users in {@link #failingUsers()} answer 503, and tokens issued
+ * before {@link #revokeTokens()} answer 401.
+ */
+public final class StubKeycloak implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+    private final long latencyMillis;
+    private final Set<String> failingUsers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger tokensIssued = new AtomicInteger();
+    private final AtomicInteger roleLookups = new AtomicInteger();
+    private final AtomicInteger mappingsRemoved = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile int validFromToken = 1;
+
+    public StubKeycloak(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(threads);
+        server.start();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public Set<String> failingUsers() {
+        return failingUsers;
+    }
+
+    public void revokeTokens() {
+        validFromToken = tokensIssued.get() + 1;
+    }
+
+    public int tokensIssued() {
+        return tokensIssued.get();
+    }
+
+    public int roleLookups() {
+        return roleLookups.get();
+    }
+
+    public int mappingsRemoved() {
+        return mappingsRemoved.get();
+    }
+
+    /** Most role-mapping calls Keycloak was serving at once. */
+    public int maxConcurrentMappings() {
+        return maxInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        threads.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        String path = exchange.getRequestURI().getPath();
+        pause();
+        if (path.equals("/realms/master/protocol/openid-connect/token")) {
+            int token = tokensIssued.incrementAndGet();
+            respond(exchange, 200, "{\"access_token\":\"token-" + token + "\",\"expires_in\":60}");
+        } else if (path.matches("/admin/realms/[^/]+/roles/[^/]+")) {
+            roleLookups.incrementAndGet();
+            String name = path.substring(path.lastIndexOf('/') + 1);
+            respond(exchange, authorized(exchange) ? 200 : 401, "{\"id\":\"role-" + name + "\",\"name\":\"" + name + "\"}");
+        } else if (path.matches("/admin/realms/[^/]+/users/[^/]+/role-mappings/realm")) {
+            String userId = path.split("/")[5];
+            int concurrent = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(concurrent, Math::max);
+            try {
+                if (!authorized(exchange)) {
+                    respond(exchange, 401, "");
+                } else if (failingUsers.contains(userId)) {
+                    respond(exchange, 503, "");
+                } else {
+                    if (exchange.getRequestMethod().equals("DELETE")) {
+                        mappingsRemoved.incrementAndGet();
+                    }
+                    respond(exchange, 204, null);
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        } else {
+            respond(exchange, 404, "");
+        }
+    }
+
+    private boolean authorized(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer token-")) {
+            return false;
+        }
+        return Integer.parseInt(header.substring("Bearer token-".length())) >= validFromToken;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
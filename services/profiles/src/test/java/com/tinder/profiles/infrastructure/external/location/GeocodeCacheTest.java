@@ -0,0 +1,178 @@
+package com.tinder.profiles.infrastructure.external.location;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tinder.profiles.config.props.LocationProperties;
+import com.tinder.profiles.infrastructure.external.location.LocationServiceClient.RemoteLocationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GeocodeCache")
+class GeocodeCacheTest {
+
+    private static final RemoteLocationResponse VIENNA =
+            new RemoteLocationResponse(UUID.randomUUID(), "Vienna", 48.2082, 16.3738);
+
+    @Mock private StringRedisTemplate redis;
+    @Mock private ValueOperations<String, String> values;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GeocodeCache cache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redis.opsForValue()).thenReturn(values);
+        cache = cache(true);
+    }
+
+    @Test
+    @DisplayName("answers repeated lookups of one city from the local tier, whatever its spelling")
+    void localTierAnswersNormalizedRepeats() {
+        CountingRemote remote = new CountingRemote(Optional.of(VIENNA));
+
+        then(cache.get("Vienna", remote)).contains(VIENNA);
+        then(cache.get("  VIENNA ", remote)).contains(VIENNA);
+
+        then(remote.calls.get()).isEqualTo(1);
+        then(lookups("miss")).isEqualTo(1);
+        then(lookups("local_hit")).isEqualTo(1);
+        verify(values).set("profiles:geocode:vienna", "{\"id\":\"" + VIENNA.id()
+                + "\",\"city\":\"Vienna\",\"latitude\":48.2082,\"longitude\":16.3738}", Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("serves another replica's answer from Redis without calling the location service")
+    void redisTierAnswersLocalMisses() throws Exception {
+        given(values.get("profiles:geocode:vienna")).willReturn(objectMapper.writeValueAsString(VIENNA));
+        CountingRemote remote = new CountingRemote(Optional.empty());
+
+        then(cache.get("Vienna", remote)).contains(VIENNA);
+        then(cache.get("Vienna", remote)).contains(VIENNA);
+
+        then(remote.calls.get()).isZero();
+        then(lookups("redis_hit")).isEqualTo(1);
+        then(lookups("local_hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("caches an unanswered city for the negative TTL in both tiers")
+    void unansweredCityIsCachedNegatively() {
+        CountingRemote remote = new CountingRemote(Optional.empty());
+
+        then(cache.get("Atlantis", remote)).isEmpty();
+        then(cache.get("Atlantis", remote)).isEmpty();
+
+        then(remote.calls.get()).isEqualTo(1);
+        verify(values).set("profiles:geocode:atlantis", "-", Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("collapses concurrent misses for one city into a single remote call")
+    void concurrentMissesShareOneRemoteCall() throws Exception {
+        CountDownLatch remoteEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Optional<RemoteLocationResponse>> slowRemote = () -> {
+            calls.incrementAndGet();
+            remoteEntered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of(VIENNA);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Optional<RemoteLocationResponse>> leader = executor.submit(() -> cache.get("Vienna", slowRemote));
+            then(remoteEntered.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<?>[] followers = new Future<?>[3];
+            for (int i = 0; i < followers.length; i++) {
+                followers[i] = executor.submit(() -> cache.get("vienna", slowRemote));
+            }
+            while (lookups("collapsed") < followers.length) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            then(leader.get(5, TimeUnit.SECONDS)).contains(VIENNA);
+            for (Future<?> follower : followers) {
+                then(follower.get(5, TimeUnit.SECONDS)).isEqualTo(Optional.of(VIENNA));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        then(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("goes straight to the location service when disabled or the city is blank")
+    void bypassesTheCacheWhenDisabledOrBlank() {
+        CountingRemote remote = new CountingRemote(Optional.of(VIENNA));
+        GeocodeCache disabled = cache(false);
+
+        disabled.get("Vienna", remote);
+        disabled.get("Vienna", remote);
+        cache.get("  ", remote);
+
+        then(remote.calls.get()).isEqualTo(3);
+        verify(values, never()).get(anyString());
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private GeocodeCache cache(boolean enabled) {
+        LocationProperties properties = new LocationProperties(
+                new LocationProperties.Service("http://localhost:8065"),
+                new LocationProperties.Change(1.0),
+                new LocationProperties.Cache(enabled, Duration.ofHours(24), Duration.ofSeconds(30), 100));
+        return new GeocodeCache(redis, objectMapper, properties, meterRegistry);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("profiles.location.geocode.lookups").tag("result", result).counter().count();
+    }
+
+    private static final class CountingRemote implements Supplier<Optional<RemoteLocationResponse>> {
+        private final Optional<RemoteLocationResponse> answer;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingRemote(Optional<RemoteLocationResponse> answer) {
+            this.answer = answer;
+        }
+
+        @Override
+        public Optional<RemoteLocationResponse> get() {
+            calls.incrementAndGet();
+            return answer;
+        }
+    }
+}
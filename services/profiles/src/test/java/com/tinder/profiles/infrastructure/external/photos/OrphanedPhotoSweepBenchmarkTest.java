@@ -0,0 +1,185 @@
+package com.tinder.profiles.infrastructure.external.photos;
+
+import com.tinder.platform.benchmark.BenchmarkReport;
+import com.tinder.profiles.application.photos.model.OrphanedPhotoSweepLease;
+import com.tinder.profiles.application.photos.model.OrphanedPhotoSweepReport;
+import com.tinder.profiles.application.photos.model.PhotoStatus;
+import com.tinder.profiles.application.photos.model.StoredPhoto;
+import com.tinder.profiles.application.photos.port.out.OrphanedPhotoSweepCursorPort;
+import com.tinder.profiles.application.photos.port.out.PhotoCatalogPort;
+import com.tinder.profiles.application.photos.support.OrphanedPhotoSweepPolicy;
+import com.tinder.profiles.application.photos.support.PhotoKeys;
+import com.tinder.profiles.application.photos.usecase.SweepOrphanedPhotosService;
+import com.tinder.profiles.config.aws.S3BucketConfiguration;
+import com.tinder.profiles.config.props.AwsProperties;
+import com.tinder.profiles.config.props.PhotoProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Orphaned-photo cleanup against LocalStack S3: the former per-profile cleanup, which
+ * listed a profile's keys and deleted every variant of every orphan with its own request,
+ * next to the background sweep with multi-object deletes. Each profile keeps one
+ * catalogued photo and has {@value #ORPHANS_PER_PROFILE} orphaned ones, four objects
+ * each. Reports wall time, objects deleted per second and store requests as one
+ * {@link BenchmarkReport} line per mode.
+ *
+ * <p>Opt-in: {@code ./mvnw test -Dtest=OrphanedPhotoSweepBenchmarkTest -Dprofiles.benchmarks=true}
+ * with {@code -Dprofiles.benchmarks.orphanObjects=20000} for a quicker run (default 100000).
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "profiles.benchmarks", matches = "true")
+class OrphanedPhotoSweepBenchmarkTest {
+
+    private static final int ORPHAN_OBJECTS = Integer.getInteger("profiles.benchmarks.orphanObjects", 100_000);
+    private static final int ORPHANS_PER_PROFILE = 5;
+    private static final int PROFILES = ORPHAN_OBJECTS / (ORPHANS_PER_PROFILE * PhotoKeys.VARIANTS.size());
+    private static final int SEEDED_ORPHANS = PROFILES * ORPHANS_PER_PROFILE * PhotoKeys.VARIANTS.size();
+    private static final String BUCKET = "photos-orphan-benchmark";
+    private static final byte[] BODY = new byte[256];
+
+    @Container
+    static LocalStackContainer localstack = new LocalStackContainer(DockerImageName.parse("localstack/localstack:3.8"))
+            .withServices(LocalStackContainer.Service.S3);
+
+    @Test
+    void reportOrphanCleanupCost() throws Exception {
+        AwsProperties aws = new AwsProperties(localstack.getRegion(),
+                new AwsProperties.Credentials(localstack.getAccessKey(), localstack.getSecretKey()),
+                new AwsProperties.S3(localstack.getEndpoint().toString()));
+        PhotoProperties properties = new PhotoProperties(
+                new PhotoProperties.S3(BUCKET, 300),
+                new PhotoProperties.Cloudfront("", false),
+                new PhotoProperties.Policy(5, null, List.of("image/jpeg"), 300, 4096),
+                new PhotoProperties.Variants(0, 32, Duration.ofMinutes(5), Duration.ofMinutes(5), 3),
+                new PhotoProperties.OrphanSweep(1000, 1000, 0, Integer.MAX_VALUE, Duration.ZERO,
+                        Duration.ofMinutes(5)));
+        S3BucketConfiguration s3 = new S3BucketConfiguration(aws);
+        try (S3Client client = s3.s3Client(); S3AsyncClient asyncClient = s3.s3AsyncClient()) {
+            client.createBucket(request -> request.bucket(BUCKET));
+            S3PhotoStorageAdapter storage = new S3PhotoStorageAdapter(client, asyncClient, s3.s3Presigner(),
+                    properties, aws, new PhotoStorageMetrics(new SimpleMeterRegistry()));
+
+            List<UUID> profiles = seed(storage);
+            long start = System.nanoTime();
+            int requests = 0;
+            for (UUID profileId : profiles) {
+                requests += legacyCleanup(storage, profileId);
+            }
+            report("per_object_inline", SEEDED_ORPHANS, requests, System.nanoTime() - start);
+            assertThat(storage.listKeys(PhotoKeys.ROOT_PREFIX)).hasSize(PROFILES * PhotoKeys.VARIANTS.size());
+
+            seed(storage);
+            PhotoProperties.OrphanSweep sweep = properties.photoOrphanSweep();
+            SweepOrphanedPhotosService sweeper = new SweepOrphanedPhotosService(catalogue(), storage, cursor(),
+                    new OrphanedPhotoSweepPolicy(sweep.pageSize(), sweep.deleteBatchSize(),
+                            sweep.maxRequestsPerSecond(), sweep.maxPagesPerRun(), sweep.gracePeriod(), sweep.lease()));
+            OrphanedPhotoSweepReport result = sweeper.sweep().orElseThrow();
+            assertThat(result.deleted()).isEqualTo(SEEDED_ORPHANS);
+            int pages = (result.scanned() + sweep.pageSize() - 1) / sweep.pageSize();
+            report("bulk_sweep", result.deleted(), pages + result.deleteRequests(), result.elapsed().toNanos());
+        }
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static void report(String mode, int deleted, int requests, long nanos) {
+        BenchmarkReport.of("orphaned-photo-sweep")
+                .with("mode", mode)
+                .with("orphan_objects", deleted)
+                .with("seconds", nanos / 1e9)
+                .with("objects_per_second", deleted / (nanos / 1e9))
+                .with("store_requests", requests)
+                .emit();
+    }
+
+    /** The pre-sweep {@code CleanupOrphanedPhotosService.forProfile}; returns the store requests it made. */
+    private static int legacyCleanup(S3PhotoStorageAdapter storage, UUID profileId) {
+        int requests = 1;
+        Set<String> deleted = new HashSet<>();
+        for (String key : storage.listKeys(PhotoKeys.profilePrefix(profileId))) {
+            String storageId = PhotoKeys.storageIdOf(key);
+            if (storageId.equals("kept") || !deleted.add(storageId)) {
+                continue;
+            }
+            for (String variant : PhotoKeys.allVariantKeys(profileId, storageId)) {
+                storage.delete(variant);
+                requests++;
+            }
+        }
+        return requests;
+    }
+
+    /** Every profile owns its {@code kept} photo and nothing else. */
+    private static PhotoCatalogPort catalogue() {
+        PhotoCatalogPort catalog = mock(PhotoCatalogPort.class);
+        given(catalog.findForProfiles(any())).willAnswer(call -> {
+            List<StoredPhoto> photos = new ArrayList<>();
+            for (UUID profileId : call.<Collection<UUID>>getArgument(0)) {
+                photos.add(new StoredPhoto(UUID.randomUUID(), profileId,
+                        PhotoKeys.variantKey(profileId, "kept", "original"), true, 0, "", "image/jpeg",
+                        BODY.length, LocalDateTime.now(), PhotoStatus.READY));
+            }
+            return photos;
+        });
+        return catalog;
+    }
+
+    /** A sweep no other replica holds, starting at the beginning of the bucket. */
+    private static OrphanedPhotoSweepCursorPort cursor() {
+        OrphanedPhotoSweepCursorPort cursor = mock(OrphanedPhotoSweepCursorPort.class);
+        given(cursor.claim(any(), any()))
+                .willReturn(Optional.of(new OrphanedPhotoSweepLease(UUID.randomUUID(), null)));
+        given(cursor.advance(any(), any(), any())).willReturn(true);
+        return cursor;
+    }
+
+    /** One kept and {@value #ORPHANS_PER_PROFILE} orphaned photos per profile, written 64 at a time. */
+    private static List<UUID> seed(S3PhotoStorageAdapter storage) throws InterruptedException {
+        List<UUID> profiles = new ArrayList<>(PROFILES);
+        Semaphore inFlight = new Semaphore(64);
+        List<CompletableFuture<Void>> puts = new ArrayList<>();
+        for (int p = 0; p < PROFILES; p++) {
+            UUID profileId = UUID.randomUUID();
+            profiles.add(profileId);
+            List<String> storageIds = new ArrayList<>(List.of("kept"));
+            for (int o = 0; o < ORPHANS_PER_PROFILE; o++) {
+                storageIds.add(UUID.randomUUID().toString());
+            }
+            for (String storageId : storageIds) {
+                for (String key : PhotoKeys.allVariantKeys(profileId, storageId)) {
+                    inFlight.acquire();
+                    puts.add(storage.putAsync(key, BODY, "image/jpeg").whenComplete((ok, failure) -> inFlight.release()));
+                }
+            }
+        }
+        CompletableFuture.allOf(puts.toArray(CompletableFuture[]::new)).join();
+        // LocalStack stamps whole seconds; step past them so every object is older than the sweep's cutoff.
+        Thread.sleep(1_100);
+        return profiles;
+    }
+}
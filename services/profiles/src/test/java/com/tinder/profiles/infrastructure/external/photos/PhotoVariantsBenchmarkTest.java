@@ -0,0 +1,245 @@
+package com.tinder.profiles.infrastructure.external.photos;
+
+import com.tinder.platform.benchmark.BenchmarkReport;
+import com.tinder.profiles.application.photos.model.PhotoStatus;
+import com.tinder.profiles.application.photos.model.StoredPhoto;
+import com.tinder.profiles.application.photos.port.out.PhotoCatalogPort;
+import com.tinder.profiles.application.photos.support.PhotoKeys;
+import com.tinder.profiles.application.photos.support.PhotoRecoveryPolicy;
+import com.tinder.profiles.application.photos.usecase.RenderPhotoVariantsService;
+import com.tinder.profiles.config.aws.S3BucketConfiguration;
+import com.tinder.profiles.config.photos.PhotoVariantsExecutorConfig;
+import com.tinder.profiles.config.props.AwsProperties;
+import com.tinder.profiles.config.props.PhotoProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.imgscalr.Scalr;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Cost of the photo variant pipeline next to the synchronous path it replaced, which probed by
+ * decoding, resized every variant from the full-size original and stored the four variants one
+ * after another inside the request. Reports one {@link BenchmarkReport} line per operation.
+ *
+ * <ul>
+ *   <li>{@code render_*}: one thread rendering a 2048x1536 photo-like JPEG, ms/op after warm-up.</li>
+ *   <li>{@code upload_*}: {@value #UPLOADS} uploads from {@value #CLIENTS} concurrent request threads
+ *       against LocalStack S3. {@code request_ms} is what the caller waits for; for the pipeline,
+ *       {@code variants_ms} is upload start until all four variants are stored.</li>
+ * </ul>
+ *
+ * <p>The repo has no JMH harness; this follows the other opt-in benchmarks instead.
+ * Opt-in: {@code ./mvnw test -Dtest=PhotoVariantsBenchmarkTest -Dprofiles.benchmarks=true}.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "profiles.benchmarks", matches = "true")
+class PhotoVariantsBenchmarkTest {
+
+    private static final int WARMUP_RENDERS = 20;
+    private static final int MEASURED_RENDERS = 50;
+    private static final int UPLOADS = 200;
+    private static final int CLIENTS = 16;
+    private static final String BUCKET = "photos-benchmark";
+
+    @Container
+    static LocalStackContainer localstack = new LocalStackContainer(DockerImageName.parse("localstack/localstack:3.8"))
+            .withServices(LocalStackContainer.Service.S3);
+
+    private ScalrImageVariantsAdapter adapter;
+
+    @Test
+    void reportRenderAndUploadCost() throws Exception {
+        byte[] photo = syntheticPhoto(2048, 1536);
+
+        AwsProperties aws = new AwsProperties(localstack.getRegion(),
+                new AwsProperties.Credentials(localstack.getAccessKey(), localstack.getSecretKey()),
+                new AwsProperties.S3(localstack.getEndpoint().toString()));
+        PhotoProperties properties = new PhotoProperties(
+                new PhotoProperties.S3(BUCKET, 300),
+                new PhotoProperties.Cloudfront("", false),
+                new PhotoProperties.Policy(5, null, List.of("image/jpeg"), 300, 4096),
+                new PhotoProperties.Variants(0, 32, Duration.ofMinutes(5), Duration.ofMinutes(5), 3),
+                new PhotoProperties.OrphanSweep(1000, 1000, 0, 500, Duration.ofHours(1), Duration.ofMinutes(5)));
+        ThreadPoolTaskExecutor executor =
+                (ThreadPoolTaskExecutor) new PhotoVariantsExecutorConfig().photoVariantsExecutor(properties);
+        adapter = new ScalrImageVariantsAdapter(executor);
+        try {
+            reportRender("render_sequential_baseline", () -> legacyRender(photo));
+            reportRender("render_progressive_parallel", () -> adapter.render(photo).small());
+
+            S3BucketConfiguration s3 = new S3BucketConfiguration(aws);
+            try (S3Client client = s3.s3Client(); S3AsyncClient asyncClient = s3.s3AsyncClient()) {
+                client.createBucket(request -> request.bucket(BUCKET));
+                S3PhotoStorageAdapter storage = new S3PhotoStorageAdapter(client, asyncClient, s3.s3Presigner(),
+                        properties, aws, new PhotoStorageMetrics(new SimpleMeterRegistry()));
+
+                runUploads("upload_sync_baseline", storage, photo, null);
+                runUploads("upload_async_pipeline", storage, photo, executor);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private void reportRender(String operation, Supplier<byte[]> render) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_RENDERS; i++) {
+            sink += render.get().length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_RENDERS; i++) {
+            sink += render.get().length;
+        }
+        double msPerOp = (System.nanoTime() - start) / 1e6 / MEASURED_RENDERS;
+        BenchmarkReport.of("photo-variants")
+                .with("op", operation)
+                .with("ms_per_op", msPerOp)
+                .with("sink", sink)
+                .emit();
+    }
+
+    /**
+     * One upload per task. With {@code executor == null} the request path is the old one: full decode,
+     * render, four blocking puts. Otherwise it is the new one: header probe, one put, then the pipeline.
+     */
+    private void runUploads(String operation, S3PhotoStorageAdapter storage, byte[] photo,
+                            ThreadPoolTaskExecutor executor) throws Exception {
+        Map<UUID, Long> startedAt = new ConcurrentHashMap<>();
+        CountDownLatch stored = new CountDownLatch(UPLOADS);
+        List<Long> completions = Collections.synchronizedList(new ArrayList<>());
+
+        RenderPhotoVariantsService pipeline = null;
+        if (executor != null) {
+            PhotoCatalogPort catalog = mock(PhotoCatalogPort.class);
+            given(catalog.markReady(any(), anyString(), anyLong())).willAnswer(call -> {
+                completions.add(System.nanoTime() - startedAt.get(call.<UUID>getArgument(0)));
+                stored.countDown();
+                return true;
+            });
+            pipeline = new RenderPhotoVariantsService(catalog, storage, adapter,
+                    new PhotoRecoveryPolicy(Duration.ofMinutes(5), Duration.ofMinutes(5), 3), executor);
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<Long>> requests = new ArrayList<>(UPLOADS);
+        for (int i = 0; i < UPLOADS; i++) {
+            RenderPhotoVariantsService service = pipeline;
+            requests.add(clients.submit(() -> {
+                UUID profileId = UUID.randomUUID();
+                String storageId = UUID.randomUUID().toString();
+                UUID photoId = UUID.randomUUID();
+                long start = System.nanoTime();
+                startedAt.put(photoId, start);
+                if (service == null) {
+                    ImageIO.read(new ByteArrayInputStream(photo));
+                    byte[][] variants = legacyVariants(photo);
+                    for (int v = 0; v < PhotoKeys.VARIANTS.size(); v++) {
+                        storage.put(PhotoKeys.variantKey(profileId, storageId, PhotoKeys.VARIANTS.get(v)),
+                                variants[v], "image/jpeg");
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    completions.add(elapsed);
+                    stored.countDown();
+                    return elapsed;
+                }
+                adapter.probe(photo).orElseThrow();
+                String originalKey = PhotoKeys.variantKey(profileId, storageId, "original");
+                storage.put(originalKey, photo, "image/jpeg");
+                service.submitAfterCommit(new StoredPhoto(photoId, profileId, originalKey, true, 0, "",
+                        "image/jpeg", photo.length, LocalDateTime.now(), PhotoStatus.PENDING), photo);
+                return System.nanoTime() - start;
+            }));
+        }
+        long[] requestNanos = new long[UPLOADS];
+        for (int i = 0; i < UPLOADS; i++) {
+            requestNanos[i] = requests.get(i).get();
+        }
+        assertThat(stored.await(5, TimeUnit.MINUTES)).isTrue();
+        clients.shutdown();
+        long[] variantsNanos = completions.stream().mapToLong(Long::longValue).toArray();
+
+        BenchmarkReport.of("photo-variants")
+                .with("op", operation)
+                .with("uploads", UPLOADS)
+                .with("clients", CLIENTS)
+                .percentiles("request_ms", requestNanos, TimeUnit.MILLISECONDS, 0.50, 0.99)
+                .percentiles("variants_ms", variantsNanos, TimeUnit.MILLISECONDS, 0.50, 0.99)
+                .emit();
+    }
+
+    /** The pre-pipeline adapter: every variant resized from the original, encoded one after another. */
+    private static byte[][] legacyVariants(byte[] imageBytes) throws IOException {
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(imageBytes));
+        BufferedImage large = Scalr.resize(original, Scalr.Method.QUALITY,
+                Scalr.Mode.FIT_TO_WIDTH, 800, 800, Scalr.OP_ANTIALIAS);
+        BufferedImage medium = Scalr.resize(original, Scalr.Method.BALANCED, 400, 400, Scalr.OP_ANTIALIAS);
+        BufferedImage small = Scalr.resize(original, Scalr.Method.SPEED, 150, 150, Scalr.OP_ANTIALIAS);
+        return new byte[][]{jpeg(original), jpeg(large), jpeg(medium), jpeg(small)};
+    }
+
+    private static byte[] legacyRender(byte[] imageBytes) {
+        try {
+            return legacyVariants(imageBytes)[3];
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Smooth gradients plus noise, so JPEG sizes and encode times resemble a camera photo. */
+    private static byte[] syntheticPhoto(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int r = (x * 255 / width + random.nextInt(24)) & 0xFF;
+                int g = (y * 255 / height + random.nextInt(24)) & 0xFF;
+                int b = ((x + y) * 127 / (width + height) + random.nextInt(24)) & 0xFF;
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return jpeg(image);
+    }
+
+    private static byte[] jpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+}
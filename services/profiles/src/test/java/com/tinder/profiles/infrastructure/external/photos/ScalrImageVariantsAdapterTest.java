@@ -12,8 +12,10 @@ import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.nio.file.Files;
+import java.util.Arrays;
 
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
 
 /**
  * The adapter decodes and resizes; it never decides whether an image is
@@ -29,7 +31,7 @@ class ScalrImageVariantsAdapterTest {
 
     @BeforeEach
     void setUp() throws Exception {
-        adapter = new ScalrImageVariantsAdapter();
+        adapter = new ScalrImageVariantsAdapter(Runnable::run);
         pngBytes = Files.readAllBytes(new ClassPathResource("static/test2.png").getFile().toPath());
     }
 
@@ -42,6 +44,18 @@ class ScalrImageVariantsAdapterTest {
         then(dimensions.height()).isPositive();
     }
 
+    @Test
+    @DisplayName("probes from the header alone, so a truncated upload passes the probe but not rendering")
+    void probeReadsOnlyTheHeader() throws Exception {
+        BufferedImage decoded = read(pngBytes);
+        byte[] header = Arrays.copyOf(pngBytes, 64);
+
+        ImageDimensions dimensions = adapter.probe(header).orElseThrow();
+
+        then(dimensions).isEqualTo(new ImageDimensions(decoded.getWidth(), decoded.getHeight()));
+        thenThrownBy(() -> adapter.render(header)).isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     @DisplayName("reports undecodable bytes as absent rather than throwing")
     void probeReturnsEmptyForNonImages() {
@@ -67,6 +81,18 @@ class ScalrImageVariantsAdapterTest {
         then(medium.getWidth()).isLessThanOrEqualTo(large.getWidth());
     }
 
+    @Test
+    @DisplayName("downscales each variant within its bounding box")
+    void variantsFitTheirBoxes() throws Exception {
+        PhotoVariants variants = adapter.render(pngBytes);
+
+        then(read(variants.large()).getWidth()).isEqualTo(800);
+        BufferedImage medium = read(variants.medium());
+        then(Math.max(medium.getWidth(), medium.getHeight())).isEqualTo(400);
+        BufferedImage small = read(variants.small());
+        then(Math.max(small.getWidth(), small.getHeight())).isEqualTo(150);
+    }
+
     @Test
     @DisplayName("renders the same bytes repeatedly without corruption")
     void renderIsRepeatable() {
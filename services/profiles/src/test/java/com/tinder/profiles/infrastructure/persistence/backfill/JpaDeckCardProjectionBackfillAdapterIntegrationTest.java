@@ -2,6 +2,7 @@ package com.tinder.profiles.infrastructure.persistence.backfill;
 
 import com.tinder.profiles.AbstractPostgresIntegrationTest;
 import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillConflictException;
+import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillRange;
 import com.tinder.profiles.application.profile.model.DeckCardProjectionBackfillStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -29,11 +30,15 @@ class JpaDeckCardProjectionBackfillAdapterIntegrationTest extends AbstractPostgr
     @Autowired
     DeckCardProjectionBackfillRunRepository runs;
 
+    @Autowired
+    DeckCardProjectionBackfillRangeRepository ranges;
+
     @Autowired
     JpaDeckCardProjectionBackfillAdapter adapter;
 
     @BeforeEach
     void clearRuns() {
+        ranges.deleteAll();
         runs.deleteAll();
     }
 
@@ -88,6 +93,70 @@ class JpaDeckCardProjectionBackfillAdapterIntegrationTest extends AbstractPostgr
         assertThat(runs.existsByStatus(DeckCardProjectionBackfillStatus.RUNNING)).isTrue();
     }
 
+    @Test
+    @DisplayName("Scenario: Given a sequential run with a committed page, when it is split into ranges, then ranges below its cursor are complete and resuming keeps the plan")
+    void partitioningContinuesFromTheSequentialCursorAndIsPlannedOnce() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        Instant startedAt = Instant.parse("2026-08-12T10:00:00Z");
+        // Past the first two of four bounds, 0x3fff… and 0x7fff…
+        UUID cursor = UUID.fromString("90000000-0000-4000-8000-000000000000");
+        var running = DeckCardProjectionBackfillRunJpaEntity.running(runId, 800, startedAt);
+        running.pageCommitted(cursor, 500, startedAt.plusSeconds(1));
+        runs.saveAndFlush(running);
+
+        // When
+        var planned = adapter.planRanges(runId, 4);
+        var replanned = adapter.planRanges(runId, 8);
+
+        // Then
+        assertThat(planned).extracting(DeckCardProjectionBackfillRange::completed)
+                .containsExactly(true, true, false, false);
+        assertThat(planned.get(0).lowerBound()).isNull();
+        assertThat(planned.get(3).upperBound()).isNull();
+        assertThat(planned.get(2).lastProfileId()).isEqualTo(cursor);
+        assertThat(planned.get(3).lastProfileId()).isNull();
+        assertThat(replanned).isEqualTo(planned);
+        assertThat(adapter.refreshStatus(runId)).get()
+                .satisfies(run -> {
+                    assertThat(run.partitioned()).isTrue();
+                    assertThat(run.processedCount()).isEqualTo(500);
+                });
+    }
+
+    @Test
+    @DisplayName("Scenario: Given a partitioned run with one short range, when it is paged, then the range completes and the run is enqueued")
+    void shortRangeCompletesAndTheRunIsEnqueued() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        runs.saveAndFlush(DeckCardProjectionBackfillRunJpaEntity.running(runId, 0, Instant.now()));
+        // The last 1/256 of the id space holds far fewer than one page of fixture profiles.
+        UUID lower = UUID.fromString("ff000000-0000-0000-0000-000000000000");
+        ranges.saveAndFlush(DeckCardProjectionBackfillRangeJpaEntity.planned(runId, 0, lower, null, Instant.now()));
+
+        // When
+        var range = adapter.enqueueNextRangePage(runId, 0, 500);
+        var run = adapter.finishRanges(runId);
+
+        // Then
+        assertThat(range.completed()).isTrue();
+        assertThat(run.status()).isIn(DeckCardProjectionBackfillStatus.ENQUEUED, DeckCardProjectionBackfillStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Scenario: Given N partitions, when bounds are computed, then they split the id space evenly in PostgreSQL uuid order")
+    void keyspaceBoundsAscendInPostgresOrder() {
+        var bounds = JpaDeckCardProjectionBackfillAdapter.keyspaceBounds(4);
+
+        assertThat(bounds).hasSize(4);
+        assertThat(bounds.get(0)).isNull();
+        assertThat(bounds.subList(1, 4)).extracting(UUID::toString).containsExactly(
+                "3fffffff-ffff-ffff-0000-000000000000",
+                "7fffffff-ffff-fffe-0000-000000000000",
+                "bfffffff-ffff-fffd-0000-000000000000");
+        assertThat(JpaDeckCardProjectionBackfillAdapter.compareAsPostgres(bounds.get(2), bounds.get(3))).isNegative();
+    }
+
     private Callable<String> startAttempt(UUID runId, CountDownLatch ready, CountDownLatch start) {
         return () -> {
             ready.countDown();
@@ -0,0 +1,182 @@
+package com.tinder.profiles.infrastructure.persistence.premium;
+
+import com.tinder.profiles.AbstractPostgresIntegrationTest;
+import com.tinder.profiles.application.profile.model.PremiumRevocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("acceptance")
+@DisplayName("Feature: Lapsed premium memberships are expired in chunks and their revocations queued")
+class JpaPremiumExpirationAdapterIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    // Fixtures lapse in 2001 so no profile written by another test is ever claimed.
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2001, 6, 1, 0, 0);
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    PremiumRevocationRepository revocations;
+
+    @Autowired
+    JpaPremiumExpirationAdapter adapter;
+
+    @BeforeEach
+    void clearFixtures() {
+        revocations.deleteAllInBatch();
+        jdbc.update("DELETE FROM profiles WHERE user_id LIKE 'premium-it-%'");
+    }
+
+    @Test
+    @DisplayName("Scenario: Given lapsed and current memberships, when a chunk is expired, then only lapsed flags are cleared and their revocations queued")
+    void expiresOnlyLapsedMembershipsAndQueuesTheirRevocations() {
+        // Given
+        premiumProfile("premium-it-lapsed-1", AS_OF.minusDays(3));
+        premiumProfile("premium-it-lapsed-2", AS_OF.minusDays(1));
+        premiumProfile("premium-it-current", AS_OF.plusDays(1));
+
+        // When
+        int expired = adapter.expireNextChunk(AS_OF, 10);
+
+        // Then
+        assertThat(expired).isEqualTo(2);
+        assertThat(premiumUsers()).containsExactly("premium-it-current");
+        assertThat(jdbc.queryForObject(
+                "SELECT version FROM profiles WHERE user_id = 'premium-it-lapsed-1'", Long.class)).isEqualTo(2L);
+        assertThat(revocations.findAll()).extracting(PremiumRevocationJpaEntity::getUserId)
+                .containsExactlyInAnyOrder("premium-it-lapsed-1", "premium-it-lapsed-2");
+        assertThat(revocations.findById("premium-it-lapsed-1")).get()
+                .extracting(PremiumRevocationJpaEntity::getExpiredAt)
+                .isEqualTo(AS_OF.minusDays(3));
+    }
+
+    @Test
+    @DisplayName("Scenario: Given more lapsed memberships than one chunk, when two replicas expire chunks concurrently, then each membership is expired exactly once")
+    void concurrentChunksSkipEachOthersRows() throws Exception {
+        // Given
+        for (int i = 0; i < 6; i++) {
+            premiumProfile("premium-it-wave-" + i, AS_OF.minusHours(i + 1));
+        }
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executor.submit(() -> {
+                start.await();
+                return adapter.expireNextChunk(AS_OF, 3);
+            });
+            Future<Integer> second = executor.submit(() -> {
+                start.await();
+                return adapter.expireNextChunk(AS_OF, 3);
+            });
+            start.countDown();
+            int claimed = first.get() + second.get();
+            claimed += adapter.expireNextChunk(AS_OF, 3);
+
+            // Then
+            assertThat(claimed).isEqualTo(6);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(premiumUsers()).isEmpty();
+        assertThat(revocations.count()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Scenario: Given queued revocations, when they are claimed, then renewed users are dropped and claimed rows stay hidden for the lease")
+    void claimDropsRenewedUsersAndLeasesTheRest() {
+        // Given
+        premiumProfile("premium-it-lapsed", AS_OF.minusDays(1));
+        premiumProfile("premium-it-renewed", AS_OF.minusDays(1));
+        adapter.expireNextChunk(AS_OF, 10);
+        jdbc.update("UPDATE profiles SET is_premium = TRUE, premium_expires_at = ? WHERE user_id = 'premium-it-renewed'",
+                AS_OF.plusDays(30));
+        Instant now = Instant.now();
+
+        // When
+        List<PremiumRevocation> claimed = adapter.claimDueRevocations(now, 10, LEASE);
+        List<PremiumRevocation> reclaimed = adapter.claimDueRevocations(now.plusSeconds(1), 10, LEASE);
+
+        // Then
+        assertThat(claimed).extracting(PremiumRevocation::userId).containsExactly("premium-it-lapsed");
+        assertThat(claimed.get(0).attempts()).isZero();
+        assertThat(reclaimed).isEmpty();
+        assertThat(revocations.findById("premium-it-renewed")).isEmpty();
+        assertThat(adapter.claimDueRevocations(now.plus(LEASE).plusSeconds(1), 10, LEASE))
+                .extracting(PremiumRevocation::userId).containsExactly("premium-it-lapsed");
+    }
+
+    @Test
+    @DisplayName("Scenario: Given failed revocations, when they are retried or dead-lettered, then only due retries are claimed again and revoked rows leave the queue")
+    void retriesComeBackWhenDueAndDeadLettersDoNot() {
+        // Given
+        premiumProfile("premium-it-retry", AS_OF.minusDays(1));
+        premiumProfile("premium-it-dead", AS_OF.minusDays(1));
+        premiumProfile("premium-it-done", AS_OF.minusDays(1));
+        adapter.expireNextChunk(AS_OF, 10);
+        Instant now = Instant.now();
+        adapter.claimDueRevocations(now, 10, LEASE);
+
+        // When
+        adapter.scheduleRetry("premium-it-retry", now.plusSeconds(60), "503 Service Unavailable");
+        adapter.markDeadLettered("premium-it-dead", now, "404 Not Found");
+        adapter.markRevoked(List.of("premium-it-done"));
+
+        // Then
+        assertThat(adapter.claimDueRevocations(now.plusSeconds(30), 10, LEASE)).isEmpty();
+        assertThat(adapter.claimDueRevocations(now.plusSeconds(61), 10, LEASE))
+                .singleElement()
+                .satisfies(revocation -> {
+                    assertThat(revocation.userId()).isEqualTo("premium-it-retry");
+                    assertThat(revocation.attempts()).isEqualTo(1);
+                });
+        assertThat(revocations.findById("premium-it-dead")).get()
+                .extracting(PremiumRevocationJpaEntity::getLastError).isEqualTo("404 Not Found");
+        assertThat(revocations.findById("premium-it-done")).isEmpty();
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private void premiumProfile(String userId, LocalDateTime expiresAt) {
+        UUID locationId = jdbc.queryForObject("SELECT id FROM location WHERE city = 'Vienna'", UUID.class);
+        UUID preferencesId = jdbc.queryForObject(
+                "INSERT INTO preferences (id, min_age, max_age, gender, max_range) "
+                        + "VALUES (gen_random_uuid(), 18, 99, 'all', 250) "
+                        + "ON CONFLICT ON CONSTRAINT uk_preferences_combination DO UPDATE SET max_range = EXCLUDED.max_range "
+                        + "RETURNING id", UUID.class);
+        jdbc.update("""
+                INSERT INTO profiles (id, user_id, version, name, age, gender, bio, city, is_active,
+                                      location_id, is_premium, premium_expires_at, preferences_id, is_deleted,
+                                      created_at, updated_at)
+                VALUES (gen_random_uuid(), ?, 1, 'Premium', 30, 'female', 'fixture', 'Vienna', true,
+                        ?, true, ?, ?, false, now(), now())
+                """, userId, locationId, expiresAt, preferencesId);
+    }
+
+    private List<String> premiumUsers() {
+        return jdbc.queryForList(
+                "SELECT user_id FROM profiles WHERE user_id LIKE 'premium-it-%' AND is_premium ORDER BY user_id",
+                String.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.tinder.profiles.infrastructure.persistence.profile;
+
+import com.tinder.profiles.AbstractPostgresIntegrationTest;
+import com.tinder.profiles.application.profile.model.DatabaseLoad;
+import com.tinder.profiles.application.profile.model.PurgedChunk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("acceptance")
+@DisplayName("Feature: Soft-deleted profiles past retention are purged in keyset chunks")
+class JpaProfilePurgeAdapterIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    // Fixtures are deleted in 2001 so no profile written by another test is ever purged.
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2001, 6, 1, 0, 0);
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    JpaProfilePurgeAdapter adapter;
+
+    @BeforeEach
+    void clearFixtures() {
+        String fixtures = "SELECT id FROM profiles WHERE user_id LIKE 'purge-it-%'";
+        jdbc.update("DELETE FROM photo WHERE profile_id IN (" + fixtures + ")");
+        jdbc.update("DELETE FROM profile_hobbies WHERE profile_id IN (" + fixtures + ")");
+        jdbc.update("DELETE FROM profiles WHERE user_id LIKE 'purge-it-%'");
+    }
+
+    @Test
+    @DisplayName("Scenario: Given stale, recent and live profiles, when a chunk is purged, then only stale profiles go, with their photos and hobbies")
+    void purgesOnlyStaleProfilesWithTheirRows() {
+        // Given
+        UUID stale = profile("purge-it-stale", true, CUTOFF.minusDays(1));
+        UUID recent = profile("purge-it-recent", true, CUTOFF.plusDays(1));
+        UUID live = profile("purge-it-live", false, null);
+
+        // When
+        PurgedChunk chunk = adapter.purgeNextChunk(CUTOFF, null, 10);
+
+        // Then
+        assertThat(chunk.profileIds()).containsExactly(stale);
+        assertThat(chunk.userIds()).containsExactly("purge-it-stale");
+        assertThat(fixtureProfiles()).containsExactlyInAnyOrder(recent, live);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM photo WHERE profile_id = ?", Long.class, stale)).isZero();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM profile_hobbies WHERE profile_id = ?", Long.class, stale)).isZero();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM photo WHERE profile_id = ?", Long.class, recent)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Scenario: Given more stale profiles than one chunk, when chunks are purged from the returned cursor, then each profile is purged exactly once")
+    void chunksFollowTheKeysetCursor() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            profile("purge-it-wave-" + i, true, CUTOFF.minusHours(i + 1));
+        }
+
+        // When
+        PurgedChunk first = adapter.purgeNextChunk(CUTOFF, null, 2);
+        PurgedChunk second = adapter.purgeNextChunk(CUTOFF, first.lastProfileId(), 2);
+        PurgedChunk third = adapter.purgeNextChunk(CUTOFF, second.lastProfileId(), 2);
+        PurgedChunk done = adapter.purgeNextChunk(CUTOFF, third.lastProfileId(), 2);
+
+        // Then
+        assertThat(List.of(first.size(), second.size(), third.size())).containsExactly(2, 2, 1);
+        assertThat(done.isEmpty()).isTrue();
+        assertThat(fixtureProfiles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Scenario: Given a primary without standbys, when the load is observed, then the WAL position advances and the lag reads zero")
+    void observesWalPositionAndLag() {
+        // Given
+        DatabaseLoad before = adapter.observeLoad();
+        profile("purge-it-wal", true, CUTOFF.minusDays(1));
+
+        // When
+        DatabaseLoad after = adapter.observeLoad();
+
+        // Then
+        assertThat(after.walPosition()).isGreaterThan(before.walPosition());
+        assertThat(after.replicationLagBytes()).isZero();
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private UUID profile(String userId, boolean deleted, LocalDateTime deletedAt) {
+        UUID locationId = jdbc.queryForObject("SELECT id FROM location WHERE city = 'Vienna'", UUID.class);
+        UUID preferencesId = jdbc.queryForObject(
+                "INSERT INTO preferences (id, min_age, max_age, gender, max_range) "
+                        + "VALUES (gen_random_uuid(), 18, 99, 'all', 250) "
+                        + "ON CONFLICT ON CONSTRAINT uk_preferences_combination DO UPDATE SET max_range = EXCLUDED.max_range "
+                        + "RETURNING id", UUID.class);
+        UUID id = jdbc.queryForObject("""
+                INSERT INTO profiles (id, user_id, version, name, age, gender, bio, city, is_active,
+                                      location_id, is_premium, preferences_id, is_deleted, deleted_at,
+                                      created_at, updated_at)
+                VALUES (gen_random_uuid(), ?, 1, 'Purge', 30, 'female', 'fixture', 'Vienna', ?,
+                        ?, false, ?, ?, ?, now(), now())
+                RETURNING id
+                """, UUID.class, userId, !deleted, locationId, preferencesId, deleted, deletedAt);
+        jdbc.update("""
+                INSERT INTO photo (photo_id, profile_id, s3_key, url, is_primary, position, status)
+                VALUES (gen_random_uuid(), ?, ?, 'http://photos/fixture', true, 0, 'READY')
+                """, id, "profiles/" + id + "/fixture.jpg");
+        jdbc.update("INSERT INTO profile_hobbies (profile_id, hobby) VALUES (?, 'HIKING')", id);
+        return id;
+    }
+
+    private List<UUID> fixtureProfiles() {
+        return jdbc.queryForList("SELECT id FROM profiles WHERE user_id LIKE 'purge-it-%'", UUID.class);
+    }
+}
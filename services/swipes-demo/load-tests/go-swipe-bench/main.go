@@ -1,6 +1,7 @@
 package main
 
 import (
+	"bytes"
 	"crypto/tls"
 	"fmt"
 	"net"
@@ -24,10 +25,14 @@ type config struct {
 	ExpectedStatus    int
 	Decision          bool
 	IsSuper           bool
+	BatchSize         int
+	ServerCores       int
 }
 
 type workerResult struct {
 	Requests   uint64
+	Swipes     uint64
+	Accepted   uint64
 	Failures   uint64
 	BytesSent  uint64
 	Status     map[int]uint64
@@ -67,15 +72,15 @@ func main() {
 		}).Dial,
 	}
 
-	fmt.Printf("go-swipe-bench url=%s duration=%s workers=%d maxConns=%d payloadsPerWorker=%d expectedStatus=%d gomaxprocs=%d\n",
-		cfg.URL, cfg.Duration, cfg.Workers, cfg.MaxConns, cfg.PayloadsPerWorker, cfg.ExpectedStatus, runtime.GOMAXPROCS(0))
+	fmt.Printf("go-swipe-bench url=%s duration=%s workers=%d maxConns=%d payloadsPerWorker=%d batchSize=%d expectedStatus=%d gomaxprocs=%d\n",
+		cfg.URL, cfg.Duration, cfg.Workers, cfg.MaxConns, cfg.PayloadsPerWorker, cfg.BatchSize, cfg.ExpectedStatus, runtime.GOMAXPROCS(0))
 
 	done := make(chan struct{})
 	results := make(chan workerResult, cfg.Workers)
 	requestURI := requestURI(parsedURL)
 	hostHeader := parsedURL.Host
 	for workerID := 0; workerID < cfg.Workers; workerID++ {
-		payloads := buildPayloads(workerID, cfg.PayloadsPerWorker, cfg.Decision, cfg.IsSuper)
+		payloads := buildPayloads(workerID, cfg.PayloadsPerWorker, cfg.BatchSize, cfg.Decision, cfg.IsSuper)
 		go runWorker(workerID, client, requestURI, hostHeader, cfg, payloads, done, results)
 	}
 
@@ -87,6 +92,8 @@ func main() {
 	for i := 0; i < cfg.Workers; i++ {
 		result := <-results
 		total.Requests += result.Requests
+		total.Swipes += result.Swipes
+		total.Accepted += result.Accepted
 		total.Failures += result.Failures
 		total.BytesSent += result.BytesSent
 		for status, count := range result.Status {
@@ -100,6 +107,12 @@ func main() {
 
 	fmt.Printf("requests=%d\n", total.Requests)
 	fmt.Printf("rps=%.2f\n", float64(total.Requests)/elapsed)
+	fmt.Printf("swipes=%d\n", total.Swipes)
+	fmt.Printf("swipes_per_s=%.2f\n", float64(total.Swipes)/elapsed)
+	fmt.Printf("accepted_swipes=%d\n", total.Accepted)
+	if cfg.ServerCores > 0 {
+		fmt.Printf("accepted_swipes_per_s_per_core=%.2f\n", float64(total.Accepted)/elapsed/float64(cfg.ServerCores))
+	}
 	fmt.Printf("failures=%d\n", total.Failures)
 	fmt.Printf("bytes_sent=%d\n", total.BytesSent)
 	fmt.Printf("elapsed_seconds=%.3f\n", elapsed)
@@ -124,6 +137,10 @@ func runWorker(workerID int, client *fasthttp.HostClient, requestURI, hostHeader
 
 	result := workerResult{Status: make(map[int]uint64, 4)}
 	payloadIndex := workerID % len(payloads)
+	swipesPerRequest := uint64(1)
+	if cfg.BatchSize > 0 {
+		swipesPerRequest = uint64(cfg.BatchSize)
+	}
 
 	for {
 		for i := 0; i < 64; i++ {
@@ -148,7 +165,11 @@ func runWorker(workerID int, client *fasthttp.HostClient, requestURI, hostHeader
 				result.Failures++
 			}
 			result.Requests++
+			result.Swipes += swipesPerRequest
 			result.BytesSent += uint64(len(payload))
+			if status == cfg.ExpectedStatus {
+				result.Accepted += acceptedSwipes(cfg, resp.Body())
+			}
 		}
 
 		select {
@@ -165,16 +186,25 @@ func loadConfig() (config, error) {
 	if err != nil {
 		return config{}, fmt.Errorf("invalid DURATION: %w", err)
 	}
+	batchSize := envInt("BATCH_SIZE", 0)
+	defaultURL := "http://127.0.0.1:8040/api/v1/swipes"
+	defaultStatus := 202
+	if batchSize > 0 {
+		defaultURL += "/batch"
+		defaultStatus = 200
+	}
 	cfg := config{
-		URL:               envString("URL", "http://127.0.0.1:8040/api/v1/swipes"),
+		URL:               envString("URL", defaultURL),
 		AuthSecret:        strings.TrimSpace(os.Getenv("INTERNAL_SWIPES_AUTH_SECRET")),
 		Duration:          duration,
 		Workers:           envInt("WORKERS", runtime.NumCPU()*128),
 		MaxConns:          envInt("MAX_CONNS", runtime.NumCPU()*512),
 		PayloadsPerWorker: envInt("PAYLOADS_PER_WORKER", 1),
-		ExpectedStatus:    envInt("EXPECTED_STATUS", 202),
+		ExpectedStatus:    envInt("EXPECTED_STATUS", defaultStatus),
 		Decision:          envBool("SWIPE_DECISION", true),
 		IsSuper:           envBool("SWIPE_IS_SUPER", false),
+		BatchSize:         batchSize,
+		ServerCores:       envInt("SERVER_CORES", 0),
 	}
 	if cfg.AuthSecret == "" {
 		return config{}, fmt.Errorf("INTERNAL_SWIPES_AUTH_SECRET is required")
@@ -191,21 +221,48 @@ func loadConfig() (config, error) {
 	if cfg.PayloadsPerWorker <= 0 {
 		return config{}, fmt.Errorf("PAYLOADS_PER_WORKER must be > 0")
 	}
+	if cfg.BatchSize < 0 {
+		return config{}, fmt.Errorf("BATCH_SIZE must be >= 0")
+	}
 	return cfg, nil
 }
 
-func buildPayloads(workerID, count int, decision, isSuper bool) [][]byte {
+// buildPayloads returns single swipe objects, or JSON arrays of batchSize swipes when batchSize > 0.
+func buildPayloads(workerID, count, batchSize int, decision, isSuper bool) [][]byte {
 	payloads := make([][]byte, count)
 	for i := 0; i < count; i++ {
-		base := uint32((workerID << 16) + (i * 2))
-		profile1ID := incrementalUUID(base)
-		profile2ID := incrementalUUID(base + 1)
-		payloads[i] = []byte(fmt.Sprintf(`{"profile1Id":"%s","profile2Id":"%s","decision":%t,"isSuper":%t}`,
-			profile1ID, profile2ID, decision, isSuper))
+		if batchSize == 0 {
+			payloads[i] = swipeJSON(uint32((workerID<<16)+(i*2)), decision, isSuper)
+			continue
+		}
+		var body bytes.Buffer
+		body.WriteByte('[')
+		for j := 0; j < batchSize; j++ {
+			if j > 0 {
+				body.WriteByte(',')
+			}
+			body.Write(swipeJSON(uint32((workerID<<16)+((i*batchSize+j)*2)), decision, isSuper))
+		}
+		body.WriteByte(']')
+		payloads[i] = body.Bytes()
 	}
 	return payloads
 }
 
+func swipeJSON(base uint32, decision, isSuper bool) []byte {
+	return []byte(fmt.Sprintf(`{"profile1Id":"%s","profile2Id":"%s","decision":%t,"isSuper":%t}`,
+		incrementalUUID(base), incrementalUUID(base+1), decision, isSuper))
+}
+
+// acceptedSwipes counts swipes the service accepted: 1 for a single swipe, or the
+// per-item 202 results of a batch response.
+func acceptedSwipes(cfg config, body []byte) uint64 {
+	if cfg.BatchSize == 0 {
+		return 1
+	}
+	return uint64(bytes.Count(body, []byte(`"status":202`)))
+}
+
 func incrementalUUID(value uint32) string {
 	part1 := fmt.Sprintf("%08x", value)
 	part2 := fmt.Sprintf("%04x", (value>>16)&0xffff)
@@ -0,0 +1,64 @@
+package com.example.swipes_loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measured-window results for one {@link SwipeKind}, recorded from HTTP client threads.
+ *
+ * <p>{@code latency} is measured from the request's <em>intended</em> start on the constant-rate
+ * schedule, so time spent queued behind a stalled server or a late scheduler counts (the
+ * coordinated-omission correction). {@code serviceTime} is measured from the actual send and is
+ * what a closed-loop tool such as wrk reports; a large gap between the two means the target fell
+ * behind the offered rate.
+ */
+final class KindStats {
+
+    /** Microseconds; one hour is far beyond any request timeout. */
+    private static final long HIGHEST_TRACKABLE_MICROS = 3_600_000_000L;
+
+    private final Recorder latency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder acceptedSwipes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile String firstError;
+
+    void recordResponse(long intendedStartNanos, long sentNanos, long completedNanos, int status, int accepted) {
+        latency.recordValue(micros(completedNanos - intendedStartNanos));
+        serviceTime.recordValue(micros(completedNanos - sentNanos));
+        statuses.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+        acceptedSwipes.add(accepted);
+    }
+
+    void recordError(Throwable error) {
+        errors.increment();
+        if (firstError == null) {
+            firstError = error.getClass().getSimpleName() + ": " + error.getMessage();
+        }
+    }
+
+    Snapshot snapshot() {
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new Snapshot(latency.getIntervalHistogram(), serviceTime.getIntervalHistogram(),
+                statusCounts, acceptedSwipes.sum(), errors.sum(), firstError);
+    }
+
+    private static long micros(long nanos) {
+        return Math.max(1, Math.min(HIGHEST_TRACKABLE_MICROS, nanos / 1_000));
+    }
+
+    record Snapshot(Histogram latency, Histogram serviceTime, Map<Integer, Long> statuses,
+                    long acceptedSwipes, long errors, String firstError) {
+
+        long responses() {
+            return latency.getTotalCount();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.swipes_loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Entry point.
+ *
+ * <pre>
+ * java -jar target/swipes-load-gen.jar seed scenarios/jwt-single.properties [key=value ...]
+ * java -jar target/swipes-load-gen.jar run  scenarios/jwt-single.properties [key=value ...]
+ * </pre>
+ *
+ * {@code seed} writes the stand-in Postgres/Redis seed files and the token signing key into
+ * {@code seed.dir}; {@code run} mints tokens with that key, drives the target and writes
+ * {@code <label>.json} plus one {@code <label>-<kind>.hgrm} per request kind into
+ * {@code report.dir}. The JSON summary is also the last line on stdout.
+ */
+public final class LoadGen {
+
+    private LoadGen() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || !("run".equals(args[0]) || "seed".equals(args[0]))) {
+            System.err.println("usage: (run|seed) <scenario.properties> [key=value ...]");
+            System.exit(2);
+        }
+        String[] overrides = Arrays.copyOfRange(args, 2, args.length);
+        Scenario scenario = Scenario.load(Path.of(args[1]), overrides);
+        StandInData data = new StandInData(scenario.seed());
+
+        if ("seed".equals(args[0])) {
+            data.writeSeedFiles(scenario.profiles(), scenario.seedDirectory());
+            TokenIssuer.writeKeyPair(scenario.seedDirectory());
+            System.out.printf("wrote %d profiles for seed %d and a signing key to %s%n",
+                    scenario.profiles(), scenario.seed(), scenario.seedDirectory());
+            return;
+        }
+
+        scenario.requireInternalAuthSecret();
+        System.out.printf("swipes-load-gen label=%s target=%s rate=%.0f/s warmup=%s duration=%s mix=%s%n",
+                scenario.label(), scenario.target(), scenario.rate(), scenario.warmup(), scenario.duration(),
+                scenario.mix());
+        Duration tokenLifetime = scenario.warmup().plus(scenario.duration()).plusMinutes(10);
+        String[] tokens = TokenIssuer.load(scenario.seedDirectory(), scenario.jwtIssuer(), scenario.jwtAudience())
+                .mint(data, scenario.users(), tokenLifetime);
+        OpenModelRunner.RunResult result = new OpenModelRunner(scenario, new SwipeRequests(scenario, data, tokens)).run();
+        writeReports(scenario, result);
+        // The HTTP client's selector thread is not a daemon.
+        System.exit(0);
+    }
+
+    private static void writeReports(Scenario scenario, OpenModelRunner.RunResult result) throws IOException {
+        Files.createDirectories(scenario.reportDirectory());
+        for (Map.Entry<SwipeKind, KindStats.Snapshot> entry : result.kinds().entrySet()) {
+            Path file = scenario.reportDirectory().resolve(scenario.label() + '-' + entry.getKey().key() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                // Recorded in microseconds; the .hgrm is in milliseconds for the HdrHistogram plotter.
+                entry.getValue().latency().outputPercentileDistribution(out, 1_000.0);
+            }
+        }
+        String summary = summary(scenario, result);
+        Files.writeString(scenario.reportDirectory().resolve(scenario.label() + ".json"), summary + '\n');
+        System.out.println(summary);
+    }
+
+    private static String summary(Scenario scenario, OpenModelRunner.RunResult result) {
+        double seconds = result.elapsedNanos() / 1e9;
+        long responses = result.kinds().values().stream().mapToLong(KindStats.Snapshot::responses).sum();
+        long accepted = result.kinds().values().stream().mapToLong(KindStats.Snapshot::acceptedSwipes).sum();
+        long errors = result.kinds().values().stream().mapToLong(KindStats.Snapshot::errors).sum();
+        String kinds = result.kinds().entrySet().stream()
+                .map(entry -> '"' + entry.getKey().key() + "\":" + kind(entry.getValue(), seconds))
+                .collect(Collectors.joining(",", "{", "}"));
+        return String.format(
+                "{\"label\":\"%s\",\"target\":\"%s\",\"offered_rps\":%.1f,\"achieved_rps\":%.1f,"
+                        + "\"accepted_swipes_per_s\":%.1f,\"responses\":%d,\"errors\":%d,\"dropped\":%d,\"kinds\":%s}",
+                scenario.label(), scenario.target(), scenario.rate(), responses / seconds,
+                accepted / seconds, responses, errors, result.dropped(), kinds);
+    }
+
+    private static String kind(KindStats.Snapshot snapshot, double seconds) {
+        String statuses = snapshot.statuses().entrySet().stream()
+                .map(entry -> "\"" + entry.getKey() + "\":" + entry.getValue())
+                .collect(Collectors.joining(",", "{", "}"));
+        return String.format(
+                "{\"responses\":%d,\"rps\":%.1f,\"accepted_swipes\":%d,\"errors\":%d,\"statuses\":%s,"
+                        + "\"latency_us\":%s,\"service_time_us\":%s%s}",
+                snapshot.responses(), snapshot.responses() / seconds, snapshot.acceptedSwipes(), snapshot.errors(),
+                statuses, percentiles(snapshot.latency()), percentiles(snapshot.serviceTime()),
+                snapshot.firstError() == null ? "" : ",\"first_error\":\"" + snapshot.firstError().replace("\"", "'") + '"');
+    }
+
+    private static String percentiles(Histogram histogram) {
+        return String.format("{\"p50\":%d,\"p90\":%d,\"p99\":%d,\"p999\":%d,\"max\":%d}",
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMaxValue());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.swipes_loadgen;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Constant-arrival-rate (open model) driver: request {@code i} is due at
+ * {@code start + i / rate} whether or not earlier requests have completed. A slow target therefore
+ * builds up in-flight requests instead of silently lowering the offered load, which is what
+ * happens to users and what closed-loop tools hide.
+ *
+ * <p>A single scheduler thread issues requests asynchronously; when it wakes late it sends the
+ * overdue requests immediately and their latency still counts from the due time. Requests due
+ * while {@code max-in-flight} are outstanding are not sent and are reported as {@code dropped};
+ * any drop means the target could not sustain the rate and the run's latencies understate it.
+ */
+final class OpenModelRunner {
+
+    private final Scenario scenario;
+    private final SwipeRequests requests;
+    private final HttpClient client;
+    private final Map<SwipeKind, KindStats> stats = new EnumMap<>(SwipeKind.class);
+    private final LongAdder dropped = new LongAdder();
+    private final Semaphore inFlight;
+
+    OpenModelRunner(Scenario scenario, SwipeRequests requests) {
+        this.scenario = scenario;
+        this.requests = requests;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(scenario.requestTimeout())
+                .build();
+        this.inFlight = new Semaphore(scenario.maxInFlight());
+        for (SwipeKind kind : scenario.mix().keySet()) {
+            stats.put(kind, new KindStats());
+        }
+    }
+
+    /** Runs warmup plus the measured window and returns per-kind results of the measured window. */
+    RunResult run() throws InterruptedException {
+        long intervalNanos = Math.max(1, Math.round(1_000_000_000d / scenario.rate()));
+        long start = System.nanoTime();
+        long measureFrom = start + scenario.warmup().toNanos();
+        long end = measureFrom + scenario.duration().toNanos();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due >= end) {
+                break;
+            }
+            waitUntil(due);
+            boolean measured = due >= measureFrom;
+            SwipeKind kind = requests.nextKind();
+            HttpRequest request = requests.build(kind);
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            send(kind, request, due, measured);
+        }
+
+        // Let the tail of the measured window complete before snapshotting.
+        long drainMillis = scenario.requestTimeout().toMillis() + 1_000;
+        inFlight.tryAcquire(scenario.maxInFlight(), drainMillis, TimeUnit.MILLISECONDS);
+        long elapsedNanos = Math.max(end, System.nanoTime()) - measureFrom;
+
+        Map<SwipeKind, KindStats.Snapshot> snapshots = new EnumMap<>(SwipeKind.class);
+        stats.forEach((kind, kindStats) -> snapshots.put(kind, kindStats.snapshot()));
+        return new RunResult(snapshots, dropped.sum(), elapsedNanos);
+    }
+
+    private void send(SwipeKind kind, HttpRequest request, long due, boolean measured) {
+        KindStats kindStats = stats.get(kind);
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    long completed = System.nanoTime();
+                    inFlight.release();
+                    if (!measured) {
+                        return;
+                    }
+                    if (error != null) {
+                        kindStats.recordError(error);
+                    } else {
+                        kindStats.recordResponse(due, sent, completed, response.statusCode(),
+                                acceptedSwipes(kind, response));
+                    }
+                });
+    }
+
+    /** Single swipes count when answered {@code 202}; batch items carry their own status. */
+    private static int acceptedSwipes(SwipeKind kind, HttpResponse<String> response) {
+        if (!kind.batch()) {
+            return response.statusCode() == 202 ? 1 : 0;
+        }
+        if (response.statusCode() != 200) {
+            return 0;
+        }
+        String body = response.body();
+        int accepted = 0;
+        for (int at = body.indexOf("\"status\":202"); at >= 0; at = body.indexOf("\"status\":202", at + 1)) {
+            accepted++;
+        }
+        return accepted;
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            // parkNanos overshoots by tens of microseconds; the last stretch is spun.
+            if (remaining > 100_000) {
+                LockSupport.parkNanos(remaining - 50_000);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    record RunResult(Map<SwipeKind, KindStats.Snapshot> kinds, long dropped, long elapsedNanos) {
+    }
+}
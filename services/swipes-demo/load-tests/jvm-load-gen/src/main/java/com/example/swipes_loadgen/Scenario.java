@@ -0,0 +1,118 @@
+package com.example.swipes_loadgen;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * One load run, read from a {@code .properties} scenario file. Any {@code key=value} given on the
+ * command line after the file overrides the file, so the same scenario can be pointed at
+ * swipes-demo and swipes-go by changing only {@code target.url} and {@code label}.
+ *
+ * <p>The internal auth secret is never stored in scenario files; it comes from
+ * {@code INTERNAL_SWIPES_AUTH_SECRET}, as for go-swipe-bench.
+ */
+record Scenario(
+        String label,
+        URI target,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        Duration requestTimeout,
+        int maxInFlight,
+        Map<SwipeKind, Double> mix,
+        int batchSize,
+        int profiles,
+        int users,
+        long seed,
+        String internalAuthSecret,
+        String jwtIssuer,
+        String jwtAudience,
+        Path seedDirectory,
+        Path reportDirectory
+) {
+
+    static Scenario load(Path file, String[] overrides) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        for (String override : overrides) {
+            int separator = override.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Override must be key=value: " + override);
+            }
+            properties.setProperty(override.substring(0, separator).trim(), override.substring(separator + 1).trim());
+        }
+        return from(properties);
+    }
+
+    static Scenario from(Properties properties) {
+        Map<SwipeKind, Double> mix = new EnumMap<>(SwipeKind.class);
+        for (SwipeKind kind : SwipeKind.values()) {
+            double weight = Double.parseDouble(properties.getProperty("mix." + kind.key(), "0"));
+            if (weight < 0) {
+                throw new IllegalArgumentException("mix." + kind.key() + " must not be negative");
+            }
+            if (weight > 0) {
+                mix.put(kind, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("At least one mix.* weight must be positive");
+        }
+
+        int profiles = Integer.parseInt(properties.getProperty("profiles", "100000"));
+        Scenario scenario = new Scenario(
+                properties.getProperty("label", "swipes"),
+                URI.create(properties.getProperty("target.url", "http://127.0.0.1:8040")),
+                Double.parseDouble(properties.getProperty("rate", "1000")),
+                Duration.parse(properties.getProperty("duration", "PT60S")),
+                Duration.parse(properties.getProperty("warmup", "PT10S")),
+                Duration.parse(properties.getProperty("request-timeout", "PT5S")),
+                Integer.parseInt(properties.getProperty("max-in-flight", "20000")),
+                mix,
+                Integer.parseInt(properties.getProperty("batch.size", "50")),
+                profiles,
+                Integer.parseInt(properties.getProperty("users", String.valueOf(Math.min(profiles, 10_000)))),
+                Long.parseLong(properties.getProperty("seed", "42")),
+                System.getenv().getOrDefault("INTERNAL_SWIPES_AUTH_SECRET", "").trim(),
+                properties.getProperty("jwt.issuer", "http://loadgen.local/realms/loadgen"),
+                properties.getProperty("jwt.audience", "tinder-client"),
+                Path.of(properties.getProperty("seed.dir", "target/seed")),
+                Path.of(properties.getProperty("report.dir", "target/reports")));
+        scenario.validate();
+        return scenario;
+    }
+
+    private void validate() {
+        if (rate <= 0 || duration.isNegative() || duration.isZero() || warmup.isNegative()) {
+            throw new IllegalArgumentException("rate and duration must be positive, warmup must not be negative");
+        }
+        if (maxInFlight < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("max-in-flight and batch.size must be positive");
+        }
+        if (profiles < 2 || users < 1 || users > profiles) {
+            throw new IllegalArgumentException("profiles must be at least 2 and users between 1 and profiles");
+        }
+    }
+
+    /** Checked before a run only; seeding needs no secret. */
+    void requireInternalAuthSecret() {
+        boolean internalSwipes = mix.keySet().stream().anyMatch(SwipeKind::internal);
+        if (internalSwipes && internalAuthSecret.isEmpty()) {
+            throw new IllegalArgumentException("INTERNAL_SWIPES_AUTH_SECRET is required for internal swipes");
+        }
+    }
+
+    double totalWeight() {
+        return mix.values().stream().mapToDouble(Double::doubleValue).sum();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.swipes_loadgen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Deterministic profile and user ids for a scenario seed, and the seed files that load them into
+ * the stand-in Postgres ({@code profile_cache}) and Redis ({@code profiles:exists}).
+ *
+ * <p>Profile {@code i} is owned by user {@code i}; the load generator mints tokens for the first
+ * {@code users} of them, so JWT swipes pass both the existence check and swipes-go's ownership check.
+ */
+final class StandInData {
+
+    static final String PROFILE_EXISTS_SET_KEY = "profiles:exists";
+    private static final int CHUNK = 1_000;
+
+    private final long seed;
+
+    StandInData(long seed) {
+        this.seed = seed;
+    }
+
+    UUID profileId(int index) {
+        return id("profile", index);
+    }
+
+    String userId(int index) {
+        return id("user", index).toString();
+    }
+
+    /** Writes {@code profile_cache.sql} (Postgres init script) and {@code profiles-exists.resp} ({@code redis-cli --pipe}). */
+    void writeSeedFiles(int profiles, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        writeSql(profiles, directory.resolve("profile_cache.sql"));
+        writeRedisCommands(profiles, directory.resolve("profiles-exists.resp"));
+    }
+
+    private void writeSql(int profiles, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            // Same shape Hibernate creates for ProfileCache; swipes-go never creates schema itself.
+            writer.write("""
+                    CREATE TABLE IF NOT EXISTS profile_cache (
+                        profile_id uuid PRIMARY KEY,
+                        user_id varchar(255) NOT NULL,
+                        created_at timestamp(6) with time zone NOT NULL
+                    );
+                    CREATE UNIQUE INDEX IF NOT EXISTS profile_cache_user_id_unique
+                        ON profile_cache (user_id)
+                        WHERE user_id <> 'unknown';
+                    """);
+            for (int from = 0; from < profiles; from += CHUNK) {
+                int to = Math.min(profiles, from + CHUNK);
+                writer.write("INSERT INTO profile_cache (profile_id, user_id, created_at) VALUES\n");
+                for (int i = from; i < to; i++) {
+                    writer.write("('" + profileId(i) + "','" + userId(i) + "',now())");
+                    writer.write(i + 1 < to ? ",\n" : "\nON CONFLICT DO NOTHING;\n");
+                }
+            }
+        }
+    }
+
+    private void writeRedisCommands(int profiles, Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int from = 0; from < profiles; from += CHUNK) {
+                int to = Math.min(profiles, from + CHUNK);
+                StringBuilder command = new StringBuilder()
+                        .append('*').append(to - from + 2).append("\r\n");
+                bulk(command, "SADD");
+                bulk(command, PROFILE_EXISTS_SET_KEY);
+                for (int i = from; i < to; i++) {
+                    bulk(command, profileId(i).toString());
+                }
+                out.write(command.toString().getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    private static void bulk(StringBuilder command, String value) {
+        command.append('$').append(value.length()).append("\r\n").append(value).append("\r\n");
+    }
+
+    private UUID id(String namespace, int index) {
+        return UUID.nameUUIDFromBytes(("swipes-loadgen:" + seed + ':' + namespace + ':' + index)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.swipes_loadgen;
+
+/**
+ * Request shapes the generator can mix. Each kind gets its own latency histograms, so a mixed run
+ * still reports the internal fast path and the JWT path separately.
+ */
+enum SwipeKind {
+
+    /** {@code POST /api/v1/swipes} with {@code X-Internal-Auth}: the trusted fast path. */
+    INTERNAL("internal", "/api/v1/swipes", false, true),
+
+    /** {@code POST /api/v1/swipes} with a bearer token: JWT validation plus the profile existence check. */
+    JWT("jwt", "/api/v1/swipes", false, false),
+
+    /** {@code POST /api/v1/swipes/batch} with {@code X-Internal-Auth}. */
+    BATCH_INTERNAL("batch-internal", "/api/v1/swipes/batch", true, true),
+
+    /** {@code POST /api/v1/swipes/batch} with a bearer token. */
+    BATCH_JWT("batch-jwt", "/api/v1/swipes/batch", true, false);
+
+    private final String key;
+    private final String path;
+    private final boolean batch;
+    private final boolean internal;
+
+    SwipeKind(String key, String path, boolean batch, boolean internal) {
+        this.key = key;
+        this.path = path;
+        this.batch = batch;
+        this.internal = internal;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String path() {
+        return path;
+    }
+
+    boolean batch() {
+        return batch;
+    }
+
+    boolean internal() {
+        return internal;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.swipes_loadgen;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+
+/**
+ * Builds one request per arrival. Swipes use the scenario's stand-in profiles: JWT swipes are sent
+ * by the owner of {@code profile1Id}, internal swipes pick any pair. Only called from the
+ * scheduler thread.
+ */
+final class SwipeRequests {
+
+    private final Scenario scenario;
+    private final StandInData data;
+    private final String[] tokens;
+    private final SplittableRandom random;
+    private final SwipeKind[] kinds;
+    private final double[] cumulativeWeights;
+
+    SwipeRequests(Scenario scenario, StandInData data, String[] tokens) {
+        this.scenario = scenario;
+        this.data = data;
+        this.tokens = tokens;
+        this.random = new SplittableRandom(scenario.seed());
+        this.kinds = scenario.mix().keySet().toArray(SwipeKind[]::new);
+        this.cumulativeWeights = new double[kinds.length];
+        double total = scenario.totalWeight();
+        double cumulative = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            cumulative += scenario.mix().get(kinds[i]) / total;
+            cumulativeWeights[i] = cumulative;
+        }
+    }
+
+    SwipeKind nextKind() {
+        double draw = random.nextDouble();
+        for (int i = 0; i < kinds.length - 1; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return kinds[i];
+            }
+        }
+        return kinds[kinds.length - 1];
+    }
+
+    HttpRequest build(SwipeKind kind) {
+        int swiper = kind.internal() ? random.nextInt(scenario.profiles()) : random.nextInt(scenario.users());
+        String body = kind.batch() ? batch(swiper) : swipe(swiper);
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(scenario.target() + kind.path()))
+                .timeout(scenario.requestTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (kind.internal()) {
+            request.header("X-Internal-Auth", scenario.internalAuthSecret());
+        } else {
+            request.header("Authorization", "Bearer " + tokens[swiper]);
+        }
+        return request.build();
+    }
+
+    private String batch(int swiper) {
+        StringBuilder body = new StringBuilder(scenario.batchSize() * 128).append('[');
+        for (int i = 0; i < scenario.batchSize(); i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(swipe(swiper));
+        }
+        return body.append(']').toString();
+    }
+
+    private String swipe(int swiper) {
+        int target = random.nextInt(scenario.profiles() - 1);
+        if (target >= swiper) {
+            target++;
+        }
+        return "{\"profile1Id\":\"" + data.profileId(swiper) + "\",\"profile2Id\":\"" + data.profileId(target)
+                + "\",\"decision\":" + random.nextBoolean() + ",\"isSuper\":false}";
+    }
+}
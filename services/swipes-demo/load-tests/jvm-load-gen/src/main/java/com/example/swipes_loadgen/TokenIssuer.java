@@ -0,0 +1,129 @@
+package com.example.swipes_loadgen;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Stand-in for Keycloak: signs RS256 access tokens so swipes-demo and swipes-go validate real
+ * signatures without an identity provider in the loop.
+ *
+ * <p>{@code seed} generates the key pair into the seed directory: {@value #PRIVATE_KEY_FILE} for
+ * the load generator and {@value #JWKS_FILE}, which the stand-in stack serves as the services'
+ * JWK set (swipes-go fetches it at startup, before any load runs). Tokens are minted before a
+ * run starts; signing is never on the request path.
+ */
+final class TokenIssuer {
+
+    static final String PRIVATE_KEY_FILE = "jwt-signing.pk8";
+    static final String JWKS_FILE = "jwks.json";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final PrivateKey privateKey;
+    private final String keyId;
+    private final String issuer;
+    private final String audience;
+
+    private TokenIssuer(PrivateKey privateKey, RSAPublicKey publicKey, String issuer, String audience) {
+        this.privateKey = privateKey;
+        this.keyId = keyId(publicKey);
+        this.issuer = issuer;
+        this.audience = audience;
+    }
+
+    static void writeKeyPair(Path directory) throws IOException {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            Files.write(directory.resolve(PRIVATE_KEY_FILE), keyPair.getPrivate().getEncoded());
+            Files.writeString(directory.resolve(JWKS_FILE), jwks((RSAPublicKey) keyPair.getPublic()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("RSA is not available", e);
+        }
+    }
+
+    static TokenIssuer load(Path directory, String issuer, String audience) throws IOException {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            RSAPrivateCrtKey privateKey = (RSAPrivateCrtKey) keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(Files.readAllBytes(directory.resolve(PRIVATE_KEY_FILE))));
+            RSAPublicKey publicKey = (RSAPublicKey) keyFactory.generatePublic(
+                    new RSAPublicKeySpec(privateKey.getModulus(), privateKey.getPublicExponent()));
+            return new TokenIssuer(privateKey, publicKey, issuer, audience);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid signing key in " + directory, e);
+        }
+    }
+
+    /** Mints one token per user, valid for {@code lifetime}. */
+    String[] mint(StandInData data, int users, Duration lifetime) {
+        Instant now = Instant.now();
+        String header = encode("{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"" + keyId + "\"}");
+        String[] tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            String claims = "{\"iss\":\"" + issuer + "\",\"aud\":\"" + audience + "\",\"sub\":\"" + data.userId(i)
+                    + "\",\"iat\":" + now.getEpochSecond() + ",\"exp\":" + now.plus(lifetime).getEpochSecond()
+                    + ",\"realm_access\":{\"roles\":[\"USER\"]}}";
+            String signingInput = header + '.' + encode(claims);
+            tokens[i] = signingInput + '.' + BASE64_URL.encodeToString(sign(signingInput));
+        }
+        return tokens;
+    }
+
+    private byte[] sign(String signingInput) {
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(privateKey);
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signature.sign();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign token", e);
+        }
+    }
+
+    private static String jwks(RSAPublicKey publicKey) {
+        return "{\"keys\":[{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"" + keyId(publicKey)
+                + "\",\"n\":\"" + unsigned(publicKey.getModulus())
+                + "\",\"e\":\"" + unsigned(publicKey.getPublicExponent()) + "\"}]}";
+    }
+
+    /** Derived from the modulus, so re-seeding with a new key also changes the kid services cache by. */
+    private static String keyId(RSAPublicKey publicKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(publicKey.getModulus().toByteArray());
+            return "swipes-loadgen-" + BASE64_URL.encodeToString(Arrays.copyOf(digest, 9));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    private static String encode(String json) {
+        return BASE64_URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
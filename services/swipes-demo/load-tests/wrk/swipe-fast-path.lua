@@ -0,0 +1,71 @@
+-- POSTs random swipes to the internal fast path and reports status counts plus
+-- p50/p90/p99/p99.9 as one JSON line, so runs before and after a producer
+-- change can be diffed directly.
+--
+-- Requires the X-Internal-Auth header to be passed with -H (see README.md).
+
+math.randomseed(os.time())
+
+local profile_ids = {}
+for i = 1, 1000 do
+    profile_ids[i] = string.format(
+        "%08x-%04x-4%03x-%04x-%012x",
+        math.random(0, 0xffffffff),
+        math.random(0, 0xffff),
+        math.random(0, 0xfff),
+        math.random(0x8000, 0xbfff),
+        math.random(0, 0xffffffffffff)
+    )
+end
+
+local threads = {}
+
+setup = function(thread)
+    table.insert(threads, thread)
+end
+
+init = function(args)
+    statuses = {}
+end
+
+request = function()
+    local idx1 = math.random(1, #profile_ids)
+    local idx2 = idx1 % #profile_ids + 1
+    local body = string.format(
+        '{"profile1Id":"%s","profile2Id":"%s","decision":%s}',
+        profile_ids[idx1],
+        profile_ids[idx2],
+        tostring(math.random() > 0.3)
+    )
+    return wrk.format("POST", nil, {["Content-Type"] = "application/json"}, body)
+end
+
+response = function(status, headers, body)
+    statuses[status] = (statuses[status] or 0) + 1
+end
+
+done = function(summary, latency, requests)
+    local totals = {}
+    for _, thread in ipairs(threads) do
+        for status, count in pairs(thread:get("statuses")) do
+            totals[status] = (totals[status] or 0) + count
+        end
+    end
+
+    local parts = {}
+    for status, count in pairs(totals) do
+        table.insert(parts, string.format('"%d":%d', status, count))
+    end
+    table.sort(parts)
+
+    io.write(string.format(
+        '{"requests":%d,"rps":%.1f,"statuses":{%s},"latency_us":{"p50":%d,"p90":%d,"p99":%d,"p999":%d}}\n',
+        summary.requests,
+        summary.requests / (summary.duration / 1e6),
+        table.concat(parts, ","),
+        latency:percentile(50),
+        latency:percentile(90),
+        latency:percentile(99),
+        latency:percentile(99.9)
+    ))
+end
@@ -11,8 +11,6 @@ import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
-
 @Component
 @RequiredArgsConstructor
 public class InternalSwipeFastPathFilter implements WebFilter, Ordered {
@@ -35,9 +33,11 @@ public class InternalSwipeFastPathFilter implements WebFilter, Ordered {
 
         return DataBufferUtils.join(exchange.getRequest().getBody())
                 .flatMap(buffer -> {
-                    String body = buffer.toString(StandardCharsets.UTF_8);
-                    DataBufferUtils.release(buffer);
-                    return swipeService.sendTrustedInternalSwipe(body, false);
+                    try {
+                        return swipeService.sendTrustedInternalSwipe(buffer, false);
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
                 })
                 .then(Mono.defer(() -> {
                     exchange.getResponse().setStatusCode(HttpStatus.ACCEPTED);
@@ -21,10 +21,11 @@ import java.util.Map;
 public class KafkaConfig {
 
     @Bean
-    public KafkaSender<String, String> reactiveKafkaProducerTemplate(
+    public KafkaSender<String, SwipeCreatedEvent> reactiveKafkaProducerTemplate(
             KafkaProperties properties) {
         return KafkaSender.create(
-                SenderOptions.create(properties.buildProducerProperties())
+                SenderOptions.<String, SwipeCreatedEvent>create(properties.buildProducerProperties())
+                        .withValueSerializer(new SwipeCreatedEventSerializer())
         );
     }
 
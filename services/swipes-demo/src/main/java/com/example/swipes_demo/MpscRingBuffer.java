@@ -0,0 +1,122 @@
+package com.example.swipes_demo;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer / single-consumer ring buffer with preallocated slots.
+ *
+ * <p>Each slot carries a sequence number (Vyukov's bounded queue): producers claim a
+ * position with one CAS on {@code tail} and publish the element by advancing the slot
+ * sequence; the single consumer owns {@code head} and needs no atomic read-modify-write.
+ * Offering never allocates, and a full buffer is reported instead of blocking.
+ *
+ * <p>{@link #poll()} and {@link #isEmpty()} must only be called from the consumer thread.
+ */
+final class MpscRingBuffer<E> {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int capacity;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    MpscRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** Returns {@code false} when the buffer is full. Safe to call from any thread. */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = index(position);
+            long sequence = sequences.get(index);
+            long lag = sequence - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    // Volatile write: publishes the slot and pairs with the consumer's wakeup check.
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (lag < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Offers all {@code elements} as one contiguous run, or none of them when the buffer lacks
+     * room for the whole run. Safe to call from any thread.
+     *
+     * <p>The consumer frees slots in order, so the run fits exactly when the slot of its last
+     * position is free; one CAS on {@code tail} then claims every position in between.
+     */
+    boolean offerAll(List<? extends E> elements) {
+        int count = elements.size();
+        if (count == 0) {
+            return true;
+        }
+        if (count > capacity) {
+            return false;
+        }
+
+        long position = tail.get();
+        while (true) {
+            long last = position + count - 1;
+            long lag = sequences.get(index(last)) - last;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + count)) {
+                    for (int i = 0; i < count; i++) {
+                        int index = index(position + i);
+                        slots[index] = elements.get(i);
+                        sequences.set(index, position + i + 1);
+                    }
+                    return true;
+                }
+                position = tail.get();
+            } else if (lag < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    E poll() {
+        int index = index(head);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = (E) slots[index];
+        slots[index] = null;
+        sequences.lazySet(index, head + capacity);
+        head++;
+        return element;
+    }
+
+    boolean isEmpty() {
+        return sequences.get(index(head)) != head + 1;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private int index(long position) {
+        return (int) (position % capacity);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.swipes_demo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Outcome of one swipe in a batch request, in request order. {@code status} carries the code
+ * the single-swipe endpoint would have answered with ({@code 202} once Kafka acknowledged it).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SwipeBatchItemResult(int index, int status, String reason) {
+
+    static SwipeBatchItemResult accepted(int index) {
+        return new SwipeBatchItemResult(index, HttpStatus.ACCEPTED.value(), null);
+    }
+
+    static SwipeBatchItemResult rejected(int index, HttpStatus status, String reason) {
+        return new SwipeBatchItemResult(index, status.value(), reason);
+    }
+}
@@ -15,6 +15,8 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/swipes")
 @RequiredArgsConstructor
@@ -69,6 +71,29 @@ public class SwipeController {
                 .thenReturn(ACCEPTED);
     }
 
+    /**
+     * Accepts a JSON array of swipes (e.g. offline-queued swipes replayed on reconnect) and answers
+     * {@code 200} with one result per swipe once Kafka acknowledged the whole batch.
+     */
+    @PostMapping(value = "/batch", headers = InternalAuthVerifier.HEADER_NAME)
+    public Mono<List<SwipeBatchItemResult>> swipeBatchInternal(@RequestBody List<SwipeDto> swipes,
+                                                               @AuthenticationPrincipal Jwt jwt,
+                                                               @RequestHeader(name = InternalAuthVerifier.HEADER_NAME)
+                                                               String internalAuth,
+                                                               ServerWebExchange exchange) {
+        boolean internalRequest = isInternalRequest(exchange, internalAuth);
+        if (!internalRequest && jwt == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Invalid internal auth"));
+        }
+        return swipeService.sendSwipes(swipes, false, jwt, internalRequest);
+    }
+
+    @PostMapping("/batch")
+    public Mono<List<SwipeBatchItemResult>> swipeBatch(@RequestBody List<SwipeDto> swipes,
+                                                       @AuthenticationPrincipal Jwt jwt) {
+        return swipeService.sendSwipes(swipes, false, jwt, false);
+    }
+
     private boolean isInternalRequest(ServerWebExchange exchange, String internalAuth) {
         return Boolean.TRUE.equals(exchange.getAttribute(InternalAuthVerifier.ATTRIBUTE_AUTHENTICATED))
                 || internalAuthVerifier.isValid(internalAuth);
@@ -0,0 +1,32 @@
+package com.example.swipes_demo;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Arrays;
+
+/**
+ * Kafka value serializer for {@link SwipeCreatedEvent}. Encodes through {@link SwipeJsonCodec}
+ * into a per-thread scratch buffer that is reused across records, so the only allocation per
+ * event is the exact-length array the {@link Serializer} contract hands to the producer.
+ */
+public class SwipeCreatedEventSerializer implements Serializer<SwipeCreatedEvent> {
+
+    private static final int INITIAL_SCRATCH_BYTES = 512;
+
+    private final ThreadLocal<byte[]> scratch = ThreadLocal.withInitial(() -> new byte[INITIAL_SCRATCH_BYTES]);
+
+    @Override
+    public byte[] serialize(String topic, SwipeCreatedEvent event) {
+        if (event == null) {
+            return null;
+        }
+        int maxLength = SwipeJsonCodec.maxEncodedLength(event);
+        byte[] buffer = scratch.get();
+        if (buffer.length < maxLength) {
+            buffer = new byte[Math.max(maxLength, buffer.length * 2)];
+            scratch.set(buffer);
+        }
+        int length = SwipeJsonCodec.encode(event, buffer, 0);
+        return Arrays.copyOf(buffer, length);
+    }
+}
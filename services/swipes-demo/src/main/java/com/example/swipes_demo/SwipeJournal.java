@@ -0,0 +1,373 @@
+package com.example.swipes_demo;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of accepted swipes on local disk, split into fixed-size memory-mapped
+ * segment files.
+ *
+ * <p>Each record is {@code [int length][int crc32c][payload]}, the payload being the event's
+ * flags, timestamp and three length-prefixed UTF-8 strings. A zero length marks the end of the
+ * written part of a segment (new segment files are zero-filled). Positions are
+ * {@code segmentId << 32 | offset}, so they grow monotonically across segments.
+ *
+ * <p>One thread appends and {@linkplain #flush() flushes}; records become readable only once
+ * flushed. One other thread {@linkplain #read reads} from the delivered position and
+ * {@linkplain #release releases} what Kafka confirmed, which checkpoints the position and
+ * deletes fully delivered segments. On open, the last segment is scanned and anything after
+ * the first torn or corrupt record is discarded.
+ */
+@Slf4j
+final class SwipeJournal implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "delivered.checkpoint";
+    private static final int HEADER_BYTES = 8;
+    private static final int FIXED_PAYLOAD_BYTES = 1 + Long.BYTES + 3 * Short.BYTES;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+    private static final int FLAG_DECISION = 1;
+    private static final int FLAG_SUPER = 2;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final FileChannel checkpointChannel;
+    private final ByteBuffer checkpointBuffer = ByteBuffer.allocate(Long.BYTES);
+
+    // Appender state
+    private final CRC32C appendCrc = new CRC32C();
+    private Segment head;
+    private int writeOffset;
+    private int flushedOffset;
+
+    // Reader state
+    private final CRC32C readCrc = new CRC32C();
+
+    private volatile long committedPosition;
+    private volatile long deliveredPosition;
+
+    SwipeJournal(Path directory, int segmentSize, int maxSegments) {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("segmentSize must be at least 4096 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(2, maxSegments);
+        try {
+            Files.createDirectories(directory);
+            this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open swipe journal in " + directory, e);
+        }
+    }
+
+    /** Position up to which records have been confirmed delivered. */
+    long deliveredPosition() {
+        return deliveredPosition;
+    }
+
+    /** Position up to which records are flushed and readable. */
+    long committedPosition() {
+        return committedPosition;
+    }
+
+    /**
+     * Appends {@code event}; it becomes durable and readable with the next {@link #flush()}.
+     * Returns {@code false} when the journal already holds {@code maxSegments} segments.
+     */
+    boolean append(SwipeCreatedEvent event) {
+        byte[] eventId = utf8(event.getEventId());
+        byte[] profile1Id = utf8(event.getProfile1Id());
+        byte[] profile2Id = utf8(event.getProfile2Id());
+        int length = FIXED_PAYLOAD_BYTES + eventId.length + profile1Id.length + profile2Id.length;
+        int recordBytes = HEADER_BYTES + length;
+        // Keep room for the zero length that terminates the segment.
+        if (recordBytes + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Swipe event is too large for the journal");
+        }
+        if (writeOffset + recordBytes + Integer.BYTES > head.buffer().capacity()) {
+            if (segments.size() >= maxSegments) {
+                return false;
+            }
+            roll();
+        }
+
+        MappedByteBuffer buffer = head.buffer();
+        int payload = writeOffset + HEADER_BYTES;
+        int cursor = payload;
+        buffer.put(cursor, (byte) ((event.isDecision() ? FLAG_DECISION : 0) | (event.isSuper() ? FLAG_SUPER : 0)));
+        buffer.putLong(cursor + 1, event.getTimestamp());
+        cursor += 1 + Long.BYTES;
+        cursor = putString(buffer, cursor, eventId);
+        cursor = putString(buffer, cursor, profile1Id);
+        putString(buffer, cursor, profile2Id);
+
+        appendCrc.reset();
+        appendCrc.update(buffer.slice(payload, length));
+        buffer.putInt(writeOffset + Integer.BYTES, (int) appendCrc.getValue());
+        buffer.putInt(writeOffset, length);
+        writeOffset += recordBytes;
+        return true;
+    }
+
+    /** Forces everything appended since the last flush to disk and makes it readable. */
+    void flush() {
+        if (writeOffset > flushedOffset) {
+            head.buffer().force(flushedOffset, writeOffset - flushedOffset);
+            flushedOffset = writeOffset;
+        }
+        committedPosition = position(head.id(), writeOffset);
+    }
+
+    /**
+     * Passes up to {@code maxRecords} flushed records starting at {@code from} to {@code sink}
+     * and returns the position after the last one read.
+     */
+    long read(long from, int maxRecords, Consumer<SwipeCreatedEvent> sink) {
+        long committed = committedPosition;
+        long position = from;
+        int records = 0;
+        while (records < maxRecords && position < committed) {
+            long segmentId = segmentId(position);
+            Segment segment = segments.get(segmentId);
+            if (segment == null) {
+                Long next = segments.higherKey(segmentId);
+                if (next == null) {
+                    break;
+                }
+                position = position(next, 0);
+                continue;
+            }
+
+            int offset = offset(position);
+            int length = offset + Integer.BYTES <= segment.buffer().capacity() ? segment.buffer().getInt(offset) : 0;
+            if (length == 0) {
+                position = position(segmentId + 1, 0);
+                continue;
+            }
+            sink.accept(decode(segment.buffer(), offset + HEADER_BYTES));
+            position = position(segmentId, offset + HEADER_BYTES + length);
+            records++;
+        }
+        return position;
+    }
+
+    /** Records everything before {@code delivered} as delivered and deletes segments it covers. */
+    void release(long delivered) {
+        if (delivered <= deliveredPosition) {
+            return;
+        }
+        deliveredPosition = delivered;
+        writeCheckpoint(delivered);
+        for (Segment segment : segments.headMap(segmentId(delivered)).values()) {
+            segments.remove(segment.id());
+            try {
+                Files.deleteIfExists(segment.path());
+            } catch (IOException e) {
+                log.warn("Failed to delete delivered swipe journal segment {}", segment.path(), e);
+            }
+        }
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+            checkpointChannel.force(true);
+            checkpointChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close swipe journal", e);
+        }
+    }
+
+    // ─── Recovery ─────────────────────────────────────────────────────────────
+
+    private void recover() throws IOException {
+        long checkpoint = readCheckpoint();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            segments.put(id, map(file, false));
+        }
+
+        if (segments.isEmpty()) {
+            head = map(segmentPath(segmentId(checkpoint) + 1), true);
+            segments.put(head.id(), head);
+            writeOffset = 0;
+        } else {
+            head = segments.lastEntry().getValue();
+            writeOffset = scanValidPrefix(head);
+        }
+        flushedOffset = writeOffset;
+        committedPosition = position(head.id(), writeOffset);
+        deliveredPosition = Math.min(checkpoint, committedPosition);
+        for (Map.Entry<Long, Segment> entry : segments.headMap(segmentId(deliveredPosition)).entrySet()) {
+            segments.remove(entry.getKey());
+            Files.deleteIfExists(entry.getValue().path());
+        }
+        log.info("Opened swipe journal in {}: {} segment(s), replaying from segment {} offset {}",
+                directory, segments.size(), segmentId(deliveredPosition), offset(deliveredPosition));
+    }
+
+    /** Returns the end of the last intact record, zeroing whatever follows it. */
+    private int scanValidPrefix(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer();
+        int capacity = buffer.capacity();
+        int offset = 0;
+        while (offset + HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(offset);
+            if (length == 0) {
+                break;
+            }
+            if (length < FIXED_PAYLOAD_BYTES || offset + HEADER_BYTES + length + Integer.BYTES > capacity
+                    || !checksumMatches(buffer, offset, length)) {
+                log.warn("Discarding torn swipe journal record in {} at offset {}", segment.path(), offset);
+                for (int i = offset; i < capacity; i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                buffer.force();
+                break;
+            }
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    private boolean checksumMatches(MappedByteBuffer buffer, int offset, int length) {
+        readCrc.reset();
+        readCrc.update(buffer.slice(offset + HEADER_BYTES, length));
+        return (int) readCrc.getValue() == buffer.getInt(offset + Integer.BYTES);
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private void roll() {
+        // Force the finished segment now so a later flush only has to cover the new head.
+        if (writeOffset > flushedOffset) {
+            head.buffer().force(flushedOffset, writeOffset - flushedOffset);
+        }
+        try {
+            head = map(segmentPath(head.id() + 1), true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create swipe journal segment", e);
+        }
+        segments.put(head.id(), head);
+        writeOffset = 0;
+        flushedOffset = 0;
+    }
+
+    private Segment map(Path path, boolean create) throws IOException {
+        StandardOpenOption[] options = create
+                ? new StandardOpenOption[]{StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            long size = create ? segmentSize : channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            String name = path.getFileName().toString();
+            long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            return new Segment(id, path, buffer);
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (checkpointChannel.size() < Long.BYTES) {
+            return 0L;
+        }
+        checkpointBuffer.clear();
+        checkpointChannel.read(checkpointBuffer, 0);
+        return checkpointBuffer.getLong(0);
+    }
+
+    /** Not forced: a stale checkpoint after a crash only means re-delivering records. */
+    private void writeCheckpoint(long position) {
+        checkpointBuffer.clear();
+        checkpointBuffer.putLong(0, position);
+        try {
+            checkpointChannel.write(checkpointBuffer, 0);
+        } catch (IOException e) {
+            log.warn("Failed to write swipe journal checkpoint", e);
+        }
+    }
+
+    private static SwipeCreatedEvent decode(MappedByteBuffer buffer, int payload) {
+        int flags = buffer.get(payload);
+        long timestamp = buffer.getLong(payload + 1);
+        int cursor = payload + 1 + Long.BYTES;
+        String eventId = getString(buffer, cursor);
+        cursor += Short.BYTES + (buffer.getShort(cursor) & 0xFFFF);
+        String profile1Id = getString(buffer, cursor);
+        cursor += Short.BYTES + (buffer.getShort(cursor) & 0xFFFF);
+        String profile2Id = getString(buffer, cursor);
+        return new SwipeCreatedEvent(eventId, profile1Id, profile2Id,
+                (flags & FLAG_DECISION) != 0, (flags & FLAG_SUPER) != 0, timestamp);
+    }
+
+    private static int putString(MappedByteBuffer buffer, int cursor, byte[] value) {
+        buffer.putShort(cursor, (short) value.length);
+        buffer.put(cursor + Short.BYTES, value);
+        return cursor + Short.BYTES + value.length;
+    }
+
+    private static String getString(MappedByteBuffer buffer, int cursor) {
+        byte[] value = new byte[buffer.getShort(cursor) & 0xFFFF];
+        buffer.get(cursor + Short.BYTES, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Swipe event field is too large for the journal");
+        }
+        return bytes;
+    }
+
+    static long position(long segmentId, int offset) {
+        return (segmentId << 32) | offset;
+    }
+
+    static long segmentId(long position) {
+        return position >>> 32;
+    }
+
+    static int offset(long position) {
+        return (int) position;
+    }
+
+    private record Segment(long id, Path path, MappedByteBuffer buffer) {
+    }
+}
@@ -0,0 +1,432 @@
+package com.example.swipes_demo;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte-level JSON for the swipe hot path.
+ *
+ * <p>{@link #parseTrustedSwipe} reads the fast-path request body straight from the
+ * {@link DataBuffer}: no body String, no field-marker Strings, and each profile id is validated
+ * as canonical UUID text in place and materialised as one Latin-1 String. Unknown fields are
+ * skipped; anything that is not a single JSON object is rejected with {@code 400}.
+ *
+ * <p>{@link #encode} writes a {@link SwipeCreatedEvent} into a caller-supplied buffer in the same
+ * field order and shape the consumer has always received.
+ */
+final class SwipeJsonCodec {
+
+    static final String PROFILE1_ID = "profile1Id";
+    static final String PROFILE2_ID = "profile2Id";
+    static final String DECISION = "decision";
+    static final String IS_SUPER = "isSuper";
+
+    private static final int UUID_LENGTH = 36;
+    private static final int MAX_DEPTH = 32;
+
+    private static final byte[] EVENT_ID_FIELD = ascii("{\"eventId\":");
+    private static final byte[] PROFILE1_ID_FIELD = ascii(",\"profile1Id\":");
+    private static final byte[] PROFILE2_ID_FIELD = ascii(",\"profile2Id\":");
+    private static final byte[] DECISION_FIELD = ascii(",\"decision\":");
+    private static final byte[] IS_SUPER_FIELD = ascii(",\"isSuper\":");
+    private static final byte[] TIMESTAMP_FIELD = ascii(",\"timestamp\":");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] LONG_MIN = ascii(Long.toString(Long.MIN_VALUE));
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    /** Bytes outside the variable-length strings, with headroom for two 20-character longs. */
+    private static final int FIXED_OVERHEAD = 160;
+
+    private SwipeJsonCodec() {
+    }
+
+    record TrustedSwipe(String profile1Id, String profile2Id, boolean decision, boolean isSuper) {
+    }
+
+    // ─── Parsing ──────────────────────────────────────────────────────────────
+
+    static TrustedSwipe parseTrustedSwipe(DataBuffer body) {
+        if (body == null) {
+            throw badRequest("Swipe body is required");
+        }
+        Reader reader = new Reader(body);
+        reader.skipWhitespace();
+        if (reader.atEnd()) {
+            throw badRequest("Swipe body is required");
+        }
+
+        String profile1Id = null;
+        String profile2Id = null;
+        boolean decision = false;
+        boolean isSuper = false;
+
+        reader.expect('{');
+        reader.skipWhitespace();
+        if (reader.peek() == '}') {
+            reader.advance();
+        } else {
+            while (true) {
+                reader.skipWhitespace();
+                int keyStart = reader.position() + 1;
+                int keyLength = reader.skipString();
+                reader.skipWhitespace();
+                reader.expect(':');
+                reader.skipWhitespace();
+
+                if (reader.keyEquals(keyStart, keyLength, PROFILE1_ID)) {
+                    profile1Id = reader.readUuid(PROFILE1_ID);
+                } else if (reader.keyEquals(keyStart, keyLength, PROFILE2_ID)) {
+                    profile2Id = reader.readUuid(PROFILE2_ID);
+                } else if (reader.keyEquals(keyStart, keyLength, DECISION)) {
+                    decision = reader.readBoolean(DECISION);
+                } else if (reader.keyEquals(keyStart, keyLength, IS_SUPER)) {
+                    isSuper = reader.readBoolean(IS_SUPER);
+                } else {
+                    reader.skipValue(1);
+                }
+
+                reader.skipWhitespace();
+                int next = reader.next();
+                if (next == '}') {
+                    break;
+                }
+                if (next != ',') {
+                    throw malformed();
+                }
+            }
+        }
+
+        reader.skipWhitespace();
+        if (!reader.atEnd()) {
+            throw malformed();
+        }
+        if (profile1Id == null) {
+            throw badRequest("Missing field: " + PROFILE1_ID);
+        }
+        if (profile2Id == null) {
+            throw badRequest("Missing field: " + PROFILE2_ID);
+        }
+        return new TrustedSwipe(profile1Id, profile2Id, decision, isSuper);
+    }
+
+    private static final class Reader {
+
+        private final DataBuffer buffer;
+        private final int end;
+        private int position;
+
+        Reader(DataBuffer buffer) {
+            this.buffer = buffer;
+            this.position = buffer.readPosition();
+            this.end = position + buffer.readableByteCount();
+        }
+
+        int position() {
+            return position;
+        }
+
+        boolean atEnd() {
+            return position >= end;
+        }
+
+        int peek() {
+            return position < end ? buffer.getByte(position) & 0xff : -1;
+        }
+
+        int next() {
+            if (position >= end) {
+                throw malformed();
+            }
+            return buffer.getByte(position++) & 0xff;
+        }
+
+        void advance() {
+            position++;
+        }
+
+        void expect(char expected) {
+            if (next() != expected) {
+                throw malformed();
+            }
+        }
+
+        void skipWhitespace() {
+            while (position < end) {
+                byte current = buffer.getByte(position);
+                if (current != ' ' && current != '\n' && current != '\r' && current != '\t') {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        /** Skips a JSON string starting at the opening quote; returns its raw (escaped) length. */
+        int skipString() {
+            expect('"');
+            int start = position;
+            while (true) {
+                int current = next();
+                if (current == '"') {
+                    return position - start - 1;
+                }
+                if (current == '\\') {
+                    next();
+                } else if (current < 0x20) {
+                    throw malformed();
+                }
+            }
+        }
+
+        boolean keyEquals(int start, int length, String name) {
+            if (length != name.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer.getByte(start + i) != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String readUuid(String field) {
+            if (peek() != '"') {
+                throw badRequest("Invalid field: " + field);
+            }
+            int start = position + 1;
+            int length = skipString();
+            if (length == 0) {
+                throw badRequest("Missing field: " + field);
+            }
+            if (length != UUID_LENGTH) {
+                throw invalidUuid(field);
+            }
+            for (int i = 0; i < UUID_LENGTH; i++) {
+                byte current = buffer.getByte(start + i);
+                boolean valid = i == 8 || i == 13 || i == 18 || i == 23
+                        ? current == '-'
+                        : isHex(current);
+                if (!valid) {
+                    throw invalidUuid(field);
+                }
+            }
+            return buffer.toString(start, UUID_LENGTH, StandardCharsets.ISO_8859_1);
+        }
+
+        boolean readBoolean(String field) {
+            if (matchLiteral(TRUE)) {
+                return true;
+            }
+            if (matchLiteral(FALSE)) {
+                return false;
+            }
+            throw badRequest("Invalid field: " + field);
+        }
+
+        void skipValue(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw malformed();
+            }
+            int current = peek();
+            switch (current) {
+                case '"' -> skipString();
+                case '{' -> skipContainer('}', true, depth);
+                case '[' -> skipContainer(']', false, depth);
+                case 't' -> requireLiteral(TRUE);
+                case 'f' -> requireLiteral(FALSE);
+                case 'n' -> requireLiteral(NULL);
+                default -> skipNumber();
+            }
+        }
+
+        private void skipContainer(char close, boolean object, int depth) {
+            advance();
+            skipWhitespace();
+            if (peek() == close) {
+                advance();
+                return;
+            }
+            while (true) {
+                skipWhitespace();
+                if (object) {
+                    skipString();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                }
+                skipValue(depth + 1);
+                skipWhitespace();
+                int next = next();
+                if (next == close) {
+                    return;
+                }
+                if (next != ',') {
+                    throw malformed();
+                }
+            }
+        }
+
+        private void skipNumber() {
+            int start = position;
+            while (position < end) {
+                byte current = buffer.getByte(position);
+                if ((current >= '0' && current <= '9') || current == '-' || current == '+'
+                        || current == '.' || current == 'e' || current == 'E') {
+                    position++;
+                } else {
+                    break;
+                }
+            }
+            if (position == start) {
+                throw malformed();
+            }
+        }
+
+        private void requireLiteral(byte[] literal) {
+            if (!matchLiteral(literal)) {
+                throw malformed();
+            }
+        }
+
+        private boolean matchLiteral(byte[] literal) {
+            if (end - position < literal.length) {
+                return false;
+            }
+            for (int i = 0; i < literal.length; i++) {
+                if (buffer.getByte(position + i) != literal[i]) {
+                    return false;
+                }
+            }
+            position += literal.length;
+            return true;
+        }
+
+        private static boolean isHex(byte value) {
+            return (value >= '0' && value <= '9') || (value >= 'a' && value <= 'f') || (value >= 'A' && value <= 'F');
+        }
+    }
+
+    // ─── Encoding ─────────────────────────────────────────────────────────────
+
+    /** Upper bound of {@link #encode}'s output, for sizing the target buffer. */
+    static int maxEncodedLength(SwipeCreatedEvent event) {
+        // Worst case per char is a six-byte backslash-u00XX escape.
+        return FIXED_OVERHEAD + 6 * (length(event.getEventId())
+                + length(event.getProfile1Id())
+                + length(event.getProfile2Id()));
+    }
+
+    /**
+     * Writes {@code event} as JSON at {@code offset} and returns the end position. {@code out}
+     * must have at least {@link #maxEncodedLength} bytes available from {@code offset}.
+     */
+    static int encode(SwipeCreatedEvent event, byte[] out, int offset) {
+        int position = put(out, offset, EVENT_ID_FIELD);
+        position = putString(out, position, event.getEventId());
+        position = put(out, position, PROFILE1_ID_FIELD);
+        position = putString(out, position, event.getProfile1Id());
+        position = put(out, position, PROFILE2_ID_FIELD);
+        position = putString(out, position, event.getProfile2Id());
+        position = put(out, position, DECISION_FIELD);
+        position = put(out, position, event.isDecision() ? TRUE : FALSE);
+        position = put(out, position, IS_SUPER_FIELD);
+        position = put(out, position, event.isSuper() ? TRUE : FALSE);
+        position = put(out, position, TIMESTAMP_FIELD);
+        position = putLong(out, position, event.getTimestamp());
+        out[position++] = '}';
+        return position;
+    }
+
+    private static int put(byte[] out, int position, byte[] bytes) {
+        System.arraycopy(bytes, 0, out, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    private static int putString(byte[] out, int position, String value) {
+        if (value == null) {
+            return put(out, position, NULL);
+        }
+        out[position++] = '"';
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char current = value.charAt(i);
+            if (current >= 0x20 && current < 0x80 && current != '"' && current != '\\') {
+                out[position++] = (byte) current;
+            } else if (current == '"' || current == '\\') {
+                out[position++] = '\\';
+                out[position++] = (byte) current;
+            } else if (current < 0x20) {
+                out[position++] = '\\';
+                out[position++] = 'u';
+                out[position++] = '0';
+                out[position++] = '0';
+                out[position++] = HEX[current >> 4];
+                out[position++] = HEX[current & 0xf];
+            } else if (current < 0x800) {
+                out[position++] = (byte) (0xc0 | (current >> 6));
+                out[position++] = (byte) (0x80 | (current & 0x3f));
+            } else if (Character.isHighSurrogate(current) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(current, value.charAt(++i));
+                out[position++] = (byte) (0xf0 | (codePoint >> 18));
+                out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                out[position++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(current)) {
+                // Unpaired surrogate: same replacement String.getBytes(UTF_8) would emit.
+                out[position++] = '?';
+            } else {
+                out[position++] = (byte) (0xe0 | (current >> 12));
+                out[position++] = (byte) (0x80 | ((current >> 6) & 0x3f));
+                out[position++] = (byte) (0x80 | (current & 0x3f));
+            }
+        }
+        out[position++] = '"';
+        return position;
+    }
+
+    private static int putLong(byte[] out, int position, long value) {
+        if (value == Long.MIN_VALUE) {
+            return put(out, position, LONG_MIN);
+        }
+        if (value < 0) {
+            out[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            out[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        return end;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static ResponseStatusException invalidUuid(String field) {
+        return badRequest("Invalid UUID in field: " + field);
+    }
+
+    private static ResponseStatusException malformed() {
+        return badRequest("Malformed swipe body");
+    }
+
+    private static ResponseStatusException badRequest(String reason) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, reason);
+    }
+}
@@ -4,6 +4,8 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -15,67 +17,162 @@ import reactor.core.publisher.Sinks;
 import reactor.kafka.sender.KafkaSender;
 import reactor.kafka.sender.SenderRecord;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Publishes swipes to {@code swipe-created} and completes each request once the broker acks it.
+ *
+ * <p>Request threads enqueue into a preallocated {@link MpscRingBuffer}; a single drain thread
+ * parks while the buffer is empty and is unparked by the first enqueue that finds it parked, so
+ * an idle producer costs no CPU and a swipe arriving at an idle producer is picked up immediately.
+ * Drained swipes are grouped by their target partition (Kafka's key hash) before being handed to
+ * reactor-kafka, keeping each partition's records contiguous for the producer's per-partition
+ * batches. At most {@code concurrency} batches are in flight; when all are, the drain thread
+ * waits, the ring buffer fills and requests are rejected with {@code 429}.
+ *
+ * <p>{@link #sendAll} enqueues a group of swipes as one contiguous run of the ring buffer and
+ * completes once with the outcome of every record, instead of one acknowledgment per swipe.
+ *
+ * <p>With {@code swipes.producer.journal.enabled} the producer is durable instead: the drain
+ * thread appends each drained batch to a {@link SwipeJournal} on local disk, forces it once for
+ * the whole batch and only then completes the requests, so a slow or unavailable broker no
+ * longer holds requests open. A separate replay thread publishes the journal to Kafka in order
+ * with up to {@code concurrency} batches in flight, releases confirmed segments, and after a
+ * failure backs off and resends from the last confirmed position. Delivery is at-least-once;
+ * duplicates carry the same {@code eventId} and are dropped by the consumer.
+ */
 @Service
 @Slf4j
 public class SwipeProducer {
 
     private static final String TOPIC = "swipe-created";
+    private static final long REPLAY_IDLE_PARK_NANOS = Duration.ofMillis(50).toNanos();
+    private static final long REPLAY_MAX_BACKOFF_MILLIS = 5_000;
 
-    private final KafkaSender<String, String> kafkaSender;
-    private final Queue<PendingSwipe> queue;
-    private final Set<PendingSwipe> pendingRequests = ConcurrentHashMap.newKeySet();
-    private final AtomicInteger queueSize = new AtomicInteger();
-    private final int queueCapacity;
+    private final KafkaSender<String, SwipeCreatedEvent> kafkaSender;
+    private final MpscRingBuffer<PendingSwipe> ringBuffer;
+    private final BlockingQueue<Batch> freeBatches;
+    private final Set<Batch> inFlightBatches = ConcurrentHashMap.newKeySet();
     private final int concurrency;
     private final int batchSize;
-    private final Duration drainInterval;
     private final boolean warmupEnabled;
-    private Disposable senderSubscription;
+    private final Path journalDirectory;
+    private final int journalSegmentSize;
+    private final int journalMaxSegments;
 
-    public SwipeProducer(KafkaSender<String, String> kafkaSender,
+    private volatile boolean running;
+    private volatile boolean drainerParked;
+    private volatile int partitionCount;
+    private Thread drainThread;
+    private SwipeJournal journal;
+    private Batch journalBatch;
+    private Thread replayThread;
+
+    SwipeProducer(KafkaSender<String, SwipeCreatedEvent> kafkaSender,
+                  int queueCapacity,
+                  int concurrency,
+                  int batchSize,
+                  boolean warmupEnabled) {
+        this(kafkaSender, queueCapacity, concurrency, batchSize, warmupEnabled, false, null, 0, 0);
+    }
+
+    @Autowired
+    public SwipeProducer(KafkaSender<String, SwipeCreatedEvent> kafkaSender,
                          @Value("${swipes.producer.queue-capacity:200000}") int queueCapacity,
                          @Value("${swipes.producer.concurrency:${swipes.producer.worker-count:4}}") int concurrency,
                          @Value("${swipes.producer.batch-size:500}") int batchSize,
-                         @Value("${swipes.producer.buffer-timeout:1ms}") Duration drainInterval,
-                         @Value("${swipes.producer.warmup-enabled:true}") boolean warmupEnabled) {
+                         @Value("${swipes.producer.warmup-enabled:true}") boolean warmupEnabled,
+                         @Value("${swipes.producer.journal.enabled:false}") boolean journalEnabled,
+                         @Value("${swipes.producer.journal.directory:swipes-journal}") String journalDirectory,
+                         @Value("${swipes.producer.journal.segment-size:67108864}") int journalSegmentSize,
+                         @Value("${swipes.producer.journal.max-segments:64}") int journalMaxSegments) {
         this.kafkaSender = kafkaSender;
-        this.queueCapacity = Math.max(1, queueCapacity);
-        this.queue = new ConcurrentLinkedQueue<>();
+        this.ringBuffer = new MpscRingBuffer<>(Math.max(1, queueCapacity));
         this.concurrency = Math.max(1, concurrency);
         this.batchSize = Math.max(1, batchSize);
-        this.drainInterval = drainInterval.isNegative() || drainInterval.isZero()
-                ? Duration.ofMillis(1)
-                : drainInterval;
         this.warmupEnabled = warmupEnabled;
+        this.freeBatches = new ArrayBlockingQueue<>(this.concurrency);
+        for (int i = 0; i < this.concurrency; i++) {
+            freeBatches.add(new Batch(this.batchSize));
+        }
+        this.journalDirectory = journalEnabled ? Path.of(journalDirectory) : null;
+        this.journalSegmentSize = journalSegmentSize;
+        this.journalMaxSegments = journalMaxSegments;
     }
 
     @PostConstruct
     void startSender() {
         warmProducer();
-        senderSubscription = Flux.range(0, concurrency)
-                .flatMap(worker -> Mono.defer(this::drainOnce).repeat(), concurrency)
-                .doOnError(error -> log.error("Swipe producer pipeline stopped", error))
-                .subscribe();
-        log.info("Started swipe producer pipeline: concurrency={}, batchSize={}, drainInterval={}, capacity={}",
-                concurrency, batchSize, drainInterval, queueCapacity);
+        if (journalDirectory != null) {
+            journal = new SwipeJournal(journalDirectory, journalSegmentSize, journalMaxSegments);
+            journalBatch = new Batch(batchSize);
+            replayThread = Thread.ofPlatform()
+                    .name("swipe-journal-replay")
+                    .daemon()
+                    .unstarted(this::replayLoop);
+        }
+        drainThread = Thread.ofPlatform()
+                .name("swipe-producer-drain")
+                .daemon()
+                .unstarted(this::drainLoop);
+        running = true;
+        drainThread.start();
+        if (replayThread != null) {
+            replayThread.start();
+        }
+        log.info("Started swipe producer pipeline: concurrency={}, batchSize={}, capacity={}, partitions={}, journal={}",
+                concurrency, batchSize, ringBuffer.capacity(), partitionCount,
+                journalDirectory == null ? "disabled" : journalDirectory);
     }
 
     @PreDestroy
     void stopSender() {
-        if (senderSubscription != null) {
-            senderSubscription.dispose();
-        }
+        running = false;
+        Thread drainer = drainThread;
+        join(drainer);
+        join(replayThread);
+
         IllegalStateException shutdown = new IllegalStateException("Swipe producer is shutting down");
-        pendingRequests.forEach(pending -> pending.acknowledgment().tryEmitError(shutdown));
+        inFlightBatches.forEach(batch -> {
+            Disposable subscription = batch.subscription;
+            if (subscription != null) {
+                subscription.dispose();
+            }
+            failBatch(batch, shutdown);
+        });
+        if (drainer == null || !drainer.isAlive()) {
+            PendingSwipe pending;
+            while ((pending = ringBuffer.poll()) != null) {
+                pending.failed(shutdown);
+            }
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+
+    private static void join(Thread thread) {
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(Duration.ofSeconds(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     private void warmProducer() {
@@ -87,6 +184,7 @@ public class SwipeProducer {
             Integer partitions = kafkaSender
                     .doOnProducer(producer -> producer.partitionsFor(TOPIC).size())
                     .block(Duration.ofSeconds(15));
+            partitionCount = partitions == null ? 0 : partitions;
             log.info("Warmed Kafka producer for topic {} with {} partition(s)", TOPIC, partitions);
         } catch (Exception ex) {
             log.warn("Kafka producer warmup failed; first swipe may pay producer initialization cost", ex);
@@ -95,100 +193,462 @@ public class SwipeProducer {
 
     public Mono<Void> send(SwipeCreatedEvent event) {
         return Mono.defer(() -> {
-            PendingSwipe pending = new PendingSwipe(event, Sinks.one());
-            pendingRequests.add(pending);
-            if (tryEnqueue(pending)) {
-                return pending.acknowledgment().asMono()
-                        .onErrorMap(error -> new ResponseStatusException(
-                                HttpStatus.SERVICE_UNAVAILABLE,
-                                "Swipe producer is unavailable",
-                                error
-                        ))
-                        .doFinally(ignored -> pendingRequests.remove(pending));
-            }
-
-            pendingRequests.remove(pending);
-
-            return Mono.error(new ResponseStatusException(
-                    HttpStatus.TOO_MANY_REQUESTS,
-                    "Swipe producer queue is full"
-            ));
+            if (!running) {
+                return Mono.error(new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        "Swipe producer is unavailable"
+                ));
+            }
+
+            PendingSwipe pending = new PendingSwipe(event, Sinks.one(), null, 0);
+            if (!ringBuffer.offer(pending)) {
+                return Mono.error(new ResponseStatusException(
+                        HttpStatus.TOO_MANY_REQUESTS,
+                        "Swipe producer queue is full"
+                ));
+            }
+            if (drainerParked) {
+                LockSupport.unpark(drainThread);
+            }
+
+            return pending.acknowledgment().asMono()
+                    .onErrorMap(error -> new ResponseStatusException(
+                            HttpStatus.SERVICE_UNAVAILABLE,
+                            "Swipe producer is unavailable",
+                            error
+                    ));
+        });
+    }
+
+    /**
+     * Enqueues {@code events} as a single unit: either all of them enter the buffer or the call
+     * is rejected with {@code 429}. Completes once every record has been acknowledged or has
+     * failed, with the indexes of the failed ones.
+     */
+    public Mono<BitSet> sendAll(List<SwipeCreatedEvent> events) {
+        return Mono.defer(() -> {
+            if (!running) {
+                return Mono.error(new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        "Swipe producer is unavailable"
+                ));
+            }
+            if (events.isEmpty()) {
+                return Mono.just(new BitSet());
+            }
+
+            GroupAcknowledgment group = new GroupAcknowledgment(events.size());
+            List<PendingSwipe> pending = new ArrayList<>(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                pending.add(new PendingSwipe(events.get(i), null, group, i));
+            }
+            if (!ringBuffer.offerAll(pending)) {
+                return Mono.error(new ResponseStatusException(
+                        HttpStatus.TOO_MANY_REQUESTS,
+                        "Swipe producer queue is full"
+                ));
+            }
+            if (drainerParked) {
+                LockSupport.unpark(drainThread);
+            }
+
+            return group.completion.asMono();
         });
     }
 
-    private List<PendingSwipe> drainBatch() {
-        List<PendingSwipe> batch = new ArrayList<>(batchSize);
-        for (int i = 0; i < batchSize; i++) {
-            PendingSwipe pending = queue.poll();
-            if (pending == null) {
-                break;
+    private void drainLoop() {
+        while (running) {
+            if (ringBuffer.isEmpty()) {
+                awaitSwipes();
+                continue;
+            }
+            if (journal != null) {
+                journalDrainedSwipes();
+                continue;
+            }
+
+            Batch batch;
+            try {
+                batch = freeBatches.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            fillBatch(batch);
+            try {
+                publishBatch(batch);
+            } catch (RuntimeException error) {
+                log.error("Failed to drain swipe producer queue", error);
+                failBatch(batch, error);
+                releaseBatch(batch);
             }
-            queueSize.decrementAndGet();
-            batch.add(pending);
         }
-        return batch;
     }
 
-    private boolean tryEnqueue(PendingSwipe pending) {
-        while (true) {
-            int currentSize = queueSize.get();
-            if (currentSize >= queueCapacity) {
-                return false;
+    private void awaitSwipes() {
+        drainerParked = true;
+        // Re-check after announcing the park: an offer that missed the flag is visible here.
+        if (running && ringBuffer.isEmpty()) {
+            LockSupport.park(this);
+        }
+        drainerParked = false;
+    }
+
+    /**
+     * Durable mode: appends a drained batch to the journal and forces it once, then completes
+     * the requests. A swipe that cannot be journaled fails with {@code 503}.
+     */
+    private void journalDrainedSwipes() {
+        Batch batch = journalBatch;
+        fillBatch(batch);
+        for (int i = 0; i < batch.size; i++) {
+            PendingSwipe pending = batch.drained[i];
+            try {
+                if (!journal.append(pending.event())) {
+                    pending.failed(new IllegalStateException("Swipe journal is full"));
+                    batch.drained[i] = null;
+                }
+            } catch (RuntimeException error) {
+                log.error("Failed to append swipe to journal", error);
+                pending.failed(error);
+                batch.drained[i] = null;
             }
-            if (queueSize.compareAndSet(currentSize, currentSize + 1)) {
-                queue.offer(pending);
-                return true;
+        }
+
+        try {
+            journal.flush();
+        } catch (RuntimeException error) {
+            log.error("Failed to flush swipe journal", error);
+            failBatch(batch, error);
+            batch.clear();
+            return;
+        }
+        for (int i = 0; i < batch.size; i++) {
+            PendingSwipe pending = batch.drained[i];
+            if (pending != null) {
+                pending.acked();
             }
         }
+        batch.clear();
+        LockSupport.unpark(replayThread);
     }
 
-    private Mono<Void> drainOnce() {
-        return Mono.defer(() -> {
-            List<PendingSwipe> batch = drainBatch();
-            if (batch.isEmpty()) {
-                return Mono.delay(drainInterval).then();
+    /**
+     * Durable mode: publishes flushed journal records in order. Batches complete in order of
+     * publication; the delivered position only advances past a batch once every batch before
+     * it succeeded, and any failure rewinds to that position after a backoff.
+     */
+    private void replayLoop() {
+        ArrayDeque<ReplayBatch> inFlight = new ArrayDeque<>();
+        long readPosition = journal.deliveredPosition();
+        long backoffMillis = 0;
+        while (running) {
+            ReplayBatch oldest;
+            boolean failed = false;
+            while ((oldest = inFlight.peekFirst()) != null && oldest.state != ReplayBatch.PENDING) {
+                if (oldest.state == ReplayBatch.FAILED) {
+                    failed = true;
+                    break;
+                }
+                inFlight.removeFirst();
+                journal.release(oldest.endPosition);
+                backoffMillis = 0;
+            }
+            if (failed) {
+                inFlight.forEach(ReplayBatch::dispose);
+                inFlight.clear();
+                readPosition = journal.deliveredPosition();
+                backoffMillis = Math.min(Math.max(100, backoffMillis * 2), REPLAY_MAX_BACKOFF_MILLIS);
+                log.warn("Swipe journal replay failed; retrying from the last delivered position in {} ms",
+                        backoffMillis);
+                LockSupport.parkNanos(this, Duration.ofMillis(backoffMillis).toNanos());
+                continue;
             }
 
-            return publishBatch(batch);
-        }).onErrorResume(error -> {
-            log.error("Failed to drain swipe producer queue", error);
-            return Mono.delay(drainInterval).then();
-        });
+            if (inFlight.size() < concurrency) {
+                List<SwipeCreatedEvent> events = new ArrayList<>(batchSize);
+                long next = journal.read(readPosition, batchSize, events::add);
+                readPosition = next;
+                if (!events.isEmpty()) {
+                    inFlight.addLast(publishReplay(events, next));
+                    continue;
+                }
+            }
+            LockSupport.parkNanos(this, REPLAY_IDLE_PARK_NANOS);
+        }
+        inFlight.forEach(ReplayBatch::dispose);
     }
 
-    private Mono<Void> publishBatch(List<PendingSwipe> batch) {
-        Flux<SenderRecord<String, String, PendingSwipe>> records = Flux.fromIterable(batch)
-                .map(pending -> SenderRecord.create(
-                        new ProducerRecord<>(TOPIC, pending.event().getProfile1Id(), serialize(pending.event())),
-                        pending
-                ));
+    private ReplayBatch publishReplay(List<SwipeCreatedEvent> events, long endPosition) {
+        ReplayBatch batch = new ReplayBatch(endPosition);
+        Thread replayer = Thread.currentThread();
+        Flux<SenderRecord<String, SwipeCreatedEvent, Void>> records = Flux.fromIterable(events)
+                .map(event -> SenderRecord.<String, SwipeCreatedEvent, Void>create(
+                        new ProducerRecord<>(TOPIC, event.getProfile1Id(), event), null));
+        batch.subscription = kafkaSender.send(records).subscribe(
+                result -> {
+                    if (result.exception() != null) {
+                        batch.recordFailed = true;
+                    }
+                },
+                error -> {
+                    log.error("Failed to replay swipe journal batch", error);
+                    batch.state = ReplayBatch.FAILED;
+                    LockSupport.unpark(replayer);
+                },
+                () -> {
+                    batch.state = batch.recordFailed ? ReplayBatch.FAILED : ReplayBatch.DELIVERED;
+                    LockSupport.unpark(replayer);
+                }
+        );
+        return batch;
+    }
+
+    private void fillBatch(Batch batch) {
+        int size = 0;
+        PendingSwipe pending;
+        while (size < batchSize && (pending = ringBuffer.poll()) != null) {
+            batch.drained[size++] = pending;
+        }
+        batch.size = size;
+    }
 
-        return kafkaSender.send(records)
-                .doOnNext(result -> {
+    private void publishBatch(Batch batch) {
+        inFlightBatches.add(batch);
+        PendingSwipe[] ordered = groupByPartition(batch);
+        Flux<SenderRecord<String, SwipeCreatedEvent, PendingSwipe>> records = Flux.range(0, batch.size)
+                .map(index -> {
+                    PendingSwipe pending = ordered[index];
+                    return SenderRecord.create(
+                            new ProducerRecord<>(TOPIC, pending.event().getProfile1Id(), pending.event()),
+                            pending
+                    );
+                });
+
+        batch.subscription = kafkaSender.send(records).subscribe(
+                result -> {
                     PendingSwipe pending = result.correlationMetadata();
                     if (result.exception() == null) {
-                        pending.acknowledgment().tryEmitEmpty();
+                        pending.acked();
                     } else {
-                        pending.acknowledgment().tryEmitError(result.exception());
+                        pending.failed(result.exception());
                     }
-                })
-                .doOnError(error -> {
-                    batch.forEach(pending -> pending.acknowledgment().tryEmitError(error));
+                },
+                error -> {
                     log.error("Failed to send swipe event batch", error);
-                })
-                .then();
+                    failBatch(batch, error);
+                    releaseBatch(batch);
+                },
+                () -> releaseBatch(batch)
+        );
+    }
+
+    /**
+     * Stable counting sort of the drained swipes by the partition Kafka's default partitioner
+     * assigns their key, so per-key order is preserved. Partition assignment itself stays with
+     * the producer; without a known partition count the drain order is kept.
+     */
+    private PendingSwipe[] groupByPartition(Batch batch) {
+        int partitions = partitionCount;
+        if (partitions <= 1 || batch.size <= 1) {
+            return batch.drained;
+        }
+
+        int[] offsets = batch.offsets(partitions + 1);
+        for (int i = 0; i < batch.size; i++) {
+            int partition = partitionFor(batch.drained[i].event().getProfile1Id(), partitions);
+            batch.partitions[i] = partition;
+            offsets[partition + 1]++;
+        }
+        for (int partition = 0; partition < partitions; partition++) {
+            offsets[partition + 1] += offsets[partition];
+        }
+        for (int i = 0; i < batch.size; i++) {
+            batch.grouped[offsets[batch.partitions[i]]++] = batch.drained[i];
+        }
+        return batch.grouped;
+    }
+
+    private static int partitionFor(String key, int partitions) {
+        if (key == null) {
+            return 0;
+        }
+        return Utils.toPositive(murmur2(key)) % partitions;
+    }
+
+    /**
+     * Kafka's {@link Utils#murmur2(byte[])} over the key's UTF-8 bytes, reading ASCII keys
+     * (every UUID key) straight from the String instead of encoding them first.
+     */
+    static int murmur2(String key) {
+        int length = key.length();
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) >= 0x80) {
+                return Utils.murmur2(key.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        final int seed = 0x9747b28c;
+        final int m = 0x5bd1e995;
+        final int r = 24;
+        int h = seed ^ length;
+        int length4 = length / 4;
+        for (int i = 0; i < length4; i++) {
+            int i4 = i * 4;
+            int k = key.charAt(i4)
+                    | (key.charAt(i4 + 1) << 8)
+                    | (key.charAt(i4 + 2) << 16)
+                    | (key.charAt(i4 + 3) << 24);
+            k *= m;
+            k ^= k >>> r;
+            k *= m;
+            h *= m;
+            h ^= k;
+        }
+        int tail = length & ~3;
+        switch (length % 4) {
+            case 3:
+                h ^= key.charAt(tail + 2) << 16;
+            case 2:
+                h ^= key.charAt(tail + 1) << 8;
+            case 1:
+                h ^= key.charAt(tail);
+                h *= m;
+        }
+        h ^= h >>> 13;
+        h *= m;
+        h ^= h >>> 15;
+        return h;
+    }
+
+    private void failBatch(Batch batch, Throwable error) {
+        for (int i = 0; i < batch.size; i++) {
+            PendingSwipe pending = batch.drained[i];
+            if (pending != null) {
+                pending.failed(error);
+            }
+        }
+    }
+
+    private void releaseBatch(Batch batch) {
+        // Only the first of completion, error or a failed publish hands the batch back.
+        if (inFlightBatches.remove(batch)) {
+            batch.clear();
+            freeBatches.offer(batch);
+        }
+    }
+
+    /** A queued swipe; completes either its own {@code acknowledgment} or its slot in {@code group}. */
+    private record PendingSwipe(SwipeCreatedEvent event,
+                                Sinks.One<Void> acknowledgment,
+                                GroupAcknowledgment group,
+                                int index) {
+
+        void acked() {
+            if (group == null) {
+                acknowledgment.tryEmitEmpty();
+            } else {
+                group.settle(index, null);
+            }
+        }
+
+        void failed(Throwable error) {
+            if (group == null) {
+                acknowledgment.tryEmitError(error);
+            } else {
+                group.settle(index, error);
+            }
+        }
+    }
+
+    /**
+     * Collects the per-record outcomes of a {@link #sendAll} unit. A record may be settled twice
+     * (a broker result followed by a batch failure on shutdown); only its first outcome counts.
+     */
+    private static final class GroupAcknowledgment {
+
+        final Sinks.One<BitSet> completion = Sinks.one();
+        private final BitSet settled = new BitSet();
+        private final BitSet failed = new BitSet();
+        private final int size;
+        private int settledCount;
+
+        GroupAcknowledgment(int size) {
+            this.size = size;
+        }
+
+        void settle(int index, Throwable error) {
+            BitSet outcome;
+            synchronized (this) {
+                if (settled.get(index)) {
+                    return;
+                }
+                settled.set(index);
+                if (error != null) {
+                    failed.set(index);
+                }
+                if (++settledCount < size) {
+                    return;
+                }
+                outcome = (BitSet) failed.clone();
+            }
+            completion.tryEmitValue(outcome);
+        }
     }
 
-    private String serialize(SwipeCreatedEvent event) {
-        return "{\"eventId\":\"" + event.getEventId()
-                + "\",\"profile1Id\":\"" + event.getProfile1Id()
-                + "\",\"profile2Id\":\"" + event.getProfile2Id()
-                + "\",\"decision\":" + event.isDecision()
-                + ",\"isSuper\":" + event.isSuper()
-                + ",\"timestamp\":" + event.getTimestamp()
-                + "}";
+    /** A journal range handed to Kafka by the replay thread. */
+    private static final class ReplayBatch {
+
+        static final int PENDING = 0;
+        static final int DELIVERED = 1;
+        static final int FAILED = 2;
+
+        final long endPosition;
+        volatile int state = PENDING;
+        volatile boolean recordFailed;
+        volatile Disposable subscription;
+
+        ReplayBatch(long endPosition) {
+            this.endPosition = endPosition;
+        }
+
+        void dispose() {
+            Disposable current = subscription;
+            if (current != null) {
+                current.dispose();
+            }
+        }
     }
 
-    private record PendingSwipe(SwipeCreatedEvent event, Sinks.One<Void> acknowledgment) {
+    /** Preallocated drain buffers, recycled through {@link #freeBatches}. */
+    private static final class Batch {
+
+        final PendingSwipe[] drained;
+        final PendingSwipe[] grouped;
+        final int[] partitions;
+        private int[] offsets = new int[0];
+        int size;
+        volatile Disposable subscription;
+
+        Batch(int capacity) {
+            this.drained = new PendingSwipe[capacity];
+            this.grouped = new PendingSwipe[capacity];
+            this.partitions = new int[capacity];
+        }
+
+        int[] offsets(int length) {
+            if (offsets.length != length) {
+                offsets = new int[length];
+            } else {
+                Arrays.fill(offsets, 0);
+            }
+            return offsets;
+        }
+
+        void clear() {
+            Arrays.fill(drained, 0, size, null);
+            Arrays.fill(grouped, 0, size, null);
+            size = 0;
+            subscription = null;
+        }
     }
 }
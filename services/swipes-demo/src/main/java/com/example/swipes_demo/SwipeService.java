@@ -3,14 +3,18 @@ package com.example.swipes_demo;
 import com.example.swipes_demo.profileCache.ProfileCacheService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -18,11 +22,13 @@ public class SwipeService {
 
     private final SwipeProducer swipeProducer;
     private final ProfileCacheService profileCacheService;
-    private final AtomicLong eventSequence = new AtomicLong(System.nanoTime());
 
     @Value("${swipes.internal-bypass-profile-check:false}")
     private boolean internalBypassProfileCheck;
 
+    @Value("${swipes.batch.max-size:500}")
+    private int batchMaxSize;
+
     public Mono<Void> sendSwipe(SwipeDto dto, boolean isPremiumOrAdmin, Jwt jwt) {
         return sendSwipe(dto, isPremiumOrAdmin, jwt, false);
     }
@@ -65,8 +71,8 @@ public class SwipeService {
                 });
     }
 
-    public Mono<Void> sendTrustedInternalSwipe(String body, boolean isPremiumOrAdmin) {
-        ParsedSwipe parsedSwipe = parseTrustedInternalSwipe(body);
+    public Mono<Void> sendTrustedInternalSwipe(DataBuffer body, boolean isPremiumOrAdmin) {
+        SwipeJsonCodec.TrustedSwipe parsedSwipe = SwipeJsonCodec.parseTrustedSwipe(body);
         if (parsedSwipe.isSuper() && !isPremiumOrAdmin) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Super like requires a premium or admin account");
         }
@@ -83,17 +89,120 @@ public class SwipeService {
         );
     }
 
+    /**
+     * Validates every swipe of a batch, checks existence of all referenced profiles in one pass
+     * and publishes the valid swipes through {@link SwipeProducer#sendAll} as one unit.
+     * Per-swipe failures are reported in the result list; only a malformed batch, a missing JWT
+     * or a full/unavailable producer fail the whole request.
+     */
+    public Mono<List<SwipeBatchItemResult>> sendSwipes(List<SwipeDto> swipes, boolean isPremiumOrAdmin,
+                                                      Jwt jwt, boolean internalRequest) {
+        if (swipes == null || swipes.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Swipe batch must not be empty");
+        }
+        if (swipes.size() > batchMaxSize) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Swipe batch must not exceed " + batchMaxSize + " swipes"
+            );
+        }
+
+        boolean trustedBenchmarkRequest = internalRequest && internalBypassProfileCheck;
+        String bearerToken = trustedBenchmarkRequest ? null : extractBearerToken(jwt, internalRequest);
+
+        SwipeBatchItemResult[] results = new SwipeBatchItemResult[swipes.size()];
+        UUID[][] profileIds = new UUID[swipes.size()][];
+        Set<UUID> referencedProfiles = new HashSet<>();
+        for (int i = 0; i < swipes.size(); i++) {
+            SwipeDto dto = swipes.get(i);
+            try {
+                profileIds[i] = validateBatchItem(dto, isPremiumOrAdmin, trustedBenchmarkRequest);
+            } catch (ResponseStatusException ex) {
+                results[i] = SwipeBatchItemResult.rejected(i, HttpStatus.valueOf(ex.getStatusCode().value()),
+                        ex.getReason());
+                continue;
+            }
+            if (profileIds[i] != null) {
+                referencedProfiles.add(profileIds[i][0]);
+                referencedProfiles.add(profileIds[i][1]);
+            }
+        }
+
+        Mono<Set<UUID>> existingProfiles = trustedBenchmarkRequest
+                ? Mono.just(Set.of())
+                : profileCacheService.findExisting(referencedProfiles, bearerToken);
+
+        return existingProfiles.flatMap(existing -> {
+            List<SwipeCreatedEvent> events = new ArrayList<>();
+            int[] eventIndexes = new int[swipes.size()];
+            for (int i = 0; i < swipes.size(); i++) {
+                if (results[i] != null) {
+                    continue;
+                }
+                if (!trustedBenchmarkRequest
+                        && !(existing.contains(profileIds[i][0]) && existing.contains(profileIds[i][1]))) {
+                    results[i] = SwipeBatchItemResult.rejected(i, HttpStatus.NOT_FOUND,
+                            "One or both profiles were not found");
+                    continue;
+                }
+                eventIndexes[events.size()] = i;
+                events.add(newEvent(swipes.get(i)));
+            }
+            if (events.isEmpty()) {
+                return Mono.just(List.of(results));
+            }
+
+            return swipeProducer.sendAll(events)
+                    .map(failed -> {
+                        for (int e = 0; e < events.size(); e++) {
+                            int index = eventIndexes[e];
+                            results[index] = failed.get(e)
+                                    ? SwipeBatchItemResult.rejected(index, HttpStatus.SERVICE_UNAVAILABLE,
+                                    "Swipe producer is unavailable")
+                                    : SwipeBatchItemResult.accepted(index);
+                        }
+                        return List.of(results);
+                    });
+        });
+    }
+
+    /** Applies the single-swipe checks to one batch item; returns its parsed ids, or null when trusted. */
+    private UUID[] validateBatchItem(SwipeDto dto, boolean isPremiumOrAdmin, boolean trustedBenchmarkRequest) {
+        if (dto == null || dto.profile1Id() == null || dto.profile2Id() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "profile1Id and profile2Id are required");
+        }
+        if (Boolean.TRUE.equals(dto.isSuper()) && !isPremiumOrAdmin) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Super like requires a premium or admin account");
+        }
+        if (dto.profile1Id().equals(dto.profile2Id())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "profile1Id and profile2Id must be different");
+        }
+        if (trustedBenchmarkRequest) {
+            return null;
+        }
+
+        UUID profile1Id = parseProfileId(dto.profile1Id(), "profile1Id");
+        UUID profile2Id = parseProfileId(dto.profile2Id(), "profile2Id");
+        if (profile1Id.equals(profile2Id)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "profile1Id and profile2Id must be different");
+        }
+        return new UUID[]{profile1Id, profile2Id};
+    }
+
     private Mono<Void> enqueueSwipe(SwipeDto dto) {
-        return enqueueSwipe(
-                dto.profile1Id(),
-                dto.profile2Id(),
-                dto.decision(),
-                Boolean.TRUE.equals(dto.isSuper())
-        );
+        return swipeProducer.send(newEvent(dto));
     }
 
     private Mono<Void> enqueueSwipe(String profile1Id, String profile2Id, boolean decision, boolean isSuper) {
-        SwipeCreatedEvent event = new SwipeCreatedEvent(
+        return swipeProducer.send(newEvent(profile1Id, profile2Id, decision, isSuper));
+    }
+
+    private SwipeCreatedEvent newEvent(SwipeDto dto) {
+        return newEvent(dto.profile1Id(), dto.profile2Id(), dto.decision(), Boolean.TRUE.equals(dto.isSuper()));
+    }
+
+    private SwipeCreatedEvent newEvent(String profile1Id, String profile2Id, boolean decision, boolean isSuper) {
+        return new SwipeCreatedEvent(
                 nextEventId(),
                 profile1Id,
                 profile2Id,
@@ -101,12 +210,11 @@ public class SwipeService {
                 isSuper,
                 System.currentTimeMillis()
         );
-
-        return swipeProducer.send(event);
     }
 
+    /** Random, so two replicas never mint the same id: the consumer drops an event whose id it has seen. */
     private String nextEventId() {
-        return new UUID(System.currentTimeMillis(), eventSequence.incrementAndGet()).toString();
+        return UUID.randomUUID().toString();
     }
 
     private String extractBearerToken(Jwt jwt, boolean internalRequest) {
@@ -130,80 +238,4 @@ public class SwipeService {
             );
         }
     }
-
-    private ParsedSwipe parseTrustedInternalSwipe(String body) {
-        if (body == null || body.isBlank()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Swipe body is required");
-        }
-
-        return new ParsedSwipe(
-                extractString(body, "profile1Id"),
-                extractString(body, "profile2Id"),
-                extractBoolean(body, "decision", false),
-                extractBoolean(body, "isSuper", false)
-        );
-    }
-
-    private String extractString(String body, String fieldName) {
-        String marker = "\"" + fieldName + "\"";
-        int fieldStart = body.indexOf(marker);
-        if (fieldStart < 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing field: " + fieldName);
-        }
-
-        int colon = body.indexOf(':', fieldStart + marker.length());
-        if (colon < 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid field: " + fieldName);
-        }
-
-        int valueStart = skipWhitespace(body, colon + 1);
-        if (valueStart >= body.length() || body.charAt(valueStart) != '"') {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid field: " + fieldName);
-        }
-
-        int valueEnd = body.indexOf('"', valueStart + 1);
-        if (valueEnd < 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid field: " + fieldName);
-        }
-
-        String value = body.substring(valueStart + 1, valueEnd);
-        if (value.isBlank()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing field: " + fieldName);
-        }
-        return value;
-    }
-
-    private boolean extractBoolean(String body, String fieldName, boolean defaultValue) {
-        String marker = "\"" + fieldName + "\"";
-        int fieldStart = body.indexOf(marker);
-        if (fieldStart < 0) {
-            return defaultValue;
-        }
-
-        int colon = body.indexOf(':', fieldStart + marker.length());
-        if (colon < 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid field: " + fieldName);
-        }
-
-        int valueStart = skipWhitespace(body, colon + 1);
-        if (body.startsWith("true", valueStart)) {
-            return true;
-        }
-        if (body.startsWith("false", valueStart)) {
-            return false;
-        }
-
-        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid field: " + fieldName);
-    }
-
-    private int skipWhitespace(String value, int index) {
-        int current = index;
-        while (current < value.length() && Character.isWhitespace(value.charAt(current))) {
-            current++;
-        }
-        return current;
-    }
-
-    private record ParsedSwipe(String profile1Id, String profile2Id, boolean decision, boolean isSuper) {
-    }
 }
@@ -2,8 +2,10 @@ package com.example.swipes_demo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SwipesDemoApplication {
 
 	public static void main(String[] args) {
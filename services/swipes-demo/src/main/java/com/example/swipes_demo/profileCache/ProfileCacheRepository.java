@@ -1,12 +1,20 @@
 package com.example.swipes_demo.profileCache;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ProfileCacheRepository extends JpaRepository<ProfileCache, UUID> {
     long countByProfileIdIn(Collection<UUID> profileIds);
+
+    /** Keyset page of profile ids, used to load the in-process existence index. */
+    @Query("select p.profileId from ProfileCache p where p.profileId > :after order by p.profileId")
+    List<UUID> findProfileIdsAfter(@Param("after") UUID after, Pageable pageable);
 }
@@ -28,6 +28,7 @@ public class ProfileCacheService {
     private final ProfileCacheRepository profileCacheRepository;
     private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
     private final ProfileServiceClient profileServiceClient;
+    private final ProfileExistenceIndex profileExistenceIndex;
 
     @Transactional
     public void saveProfileCache(ProfileCreateEvent event) {
@@ -83,8 +84,9 @@ public class ProfileCacheService {
     }
 
     /**
-     * Checks that both profiles exist, going through three layers:
+     * Checks that both profiles exist, going through four layers:
      * <ol>
+     *   <li>{@link ProfileExistenceIndex} (in-process, no I/O)</li>
      *   <li>Redis set (fast, in-memory)</li>
      *   <li>Local PostgreSQL cache (populated by Kafka events)</li>
      *   <li>Profiles service via HTTP (sync fallback for the Kafka lag window)</li>
@@ -102,6 +104,13 @@ public class ProfileCacheService {
             return Mono.just(false);
         }
 
+        // Layer 0: in-process index; a miss is not authoritative and falls through
+        if (profileExistenceIndex.isReady()
+                && profileExistenceIndex.contains(firstProfileId)
+                && profileExistenceIndex.contains(secondProfileId)) {
+            return Mono.just(true);
+        }
+
         return Mono.zip(
                         isInRedis(firstProfileId.toString()),
                         isInRedis(secondProfileId.toString())
@@ -112,6 +121,7 @@ public class ProfileCacheService {
 
                     // Layer 1: both hit Redis — no further I/O needed
                     if (p1InRedis && p2InRedis) {
+                        indexConfirmed(List.of(firstProfileId, secondProfileId));
                         return Mono.just(true);
                     }
 
@@ -131,6 +141,7 @@ public class ProfileCacheService {
 
                                 // All accounted for via Redis + DB
                                 if (notInDb.isEmpty()) {
+                                    indexConfirmed(List.of(firstProfileId, secondProfileId));
                                     return warmRedis.thenReturn(true);
                                 }
 
@@ -150,7 +161,8 @@ public class ProfileCacheService {
                                                         return Mono.just(false);
                                                     }
                                                     // Confirmed — populate local cache so the next
-                                                    // request is served from Redis/DB directly
+                                                    // request is served from the index directly
+                                                    indexConfirmed(List.of(firstProfileId, secondProfileId));
                                                     return populateCache(notInDb).thenReturn(true);
                                                 })
                                 );
@@ -158,10 +170,82 @@ public class ProfileCacheService {
                 });
     }
 
+    /**
+     * Returns the subset of {@code profileIds} that exist, resolving the whole set through the
+     * same layers as {@link #existsAll} with a single lookup per layer: one index pass, one
+     * {@code SMISMEMBER}, one {@code findAllById} and at most one profiles-service call.
+     */
+    public Mono<Set<UUID>> findExisting(Set<UUID> profileIds, String bearerToken) {
+        if (profileIds.isEmpty()) {
+            return Mono.just(Set.of());
+        }
+
+        Set<UUID> found = new HashSet<>();
+        List<UUID> notIndexed = new ArrayList<>();
+        boolean indexReady = profileExistenceIndex.isReady();
+        for (UUID profileId : profileIds) {
+            if (indexReady && profileExistenceIndex.contains(profileId)) {
+                found.add(profileId);
+            } else {
+                notIndexed.add(profileId);
+            }
+        }
+        if (notIndexed.isEmpty()) {
+            return Mono.just(found);
+        }
+
+        return findInRedis(notIndexed)
+                .flatMap(inRedis -> {
+                    found.addAll(inRedis);
+                    List<UUID> notInRedis = notIndexed.stream()
+                            .filter(id -> !inRedis.contains(id))
+                            .toList();
+                    if (notInRedis.isEmpty()) {
+                        return Mono.just(found);
+                    }
+
+                    return checkInDb(notInRedis)
+                            .flatMap(foundInDb -> {
+                                found.addAll(foundInDb);
+                                Mono<Void> warmRedis = warmUpRedis(foundInDb);
+                                List<UUID> notInDb = notInRedis.stream()
+                                        .filter(id -> !foundInDb.contains(id))
+                                        .toList();
+                                if (notInDb.isEmpty()) {
+                                    return warmRedis.thenReturn(found);
+                                }
+
+                                return warmRedis.then(
+                                        profileServiceClient.findExisting(notInDb, bearerToken)
+                                                .flatMap(confirmedIds -> {
+                                                    List<UUID> confirmed = notInDb.stream()
+                                                            .filter(confirmedIds::contains)
+                                                            .toList();
+                                                    found.addAll(confirmed);
+                                                    return confirmed.isEmpty()
+                                                            ? Mono.just(found)
+                                                            : populateCache(confirmed).thenReturn(found);
+                                                })
+                                );
+                            });
+                })
+                .doOnNext(existing -> indexConfirmed(notIndexed.stream().filter(existing::contains).toList()));
+    }
+
     // -------------------------------------------------------------------------
     // Private helpers
     // -------------------------------------------------------------------------
 
+    /**
+     * Lets ids confirmed by a slower layer be answered in-process next time. The index itself
+     * follows profile events through {@code ProfileIndexEventHandler}.
+     */
+    private void indexConfirmed(List<UUID> profileIds) {
+        if (profileExistenceIndex.isReady()) {
+            profileExistenceIndex.addConfirmed(profileIds);
+        }
+    }
+
     private Mono<Boolean> isInRedis(String profileId) {
         return reactiveStringRedisTemplate.opsForSet()
                 .isMember(PROFILE_EXISTS_SET_KEY, profileId)
@@ -170,6 +254,18 @@ public class ProfileCacheService {
                 .onErrorReturn(false);
     }
 
+    /** Returns the subset of {@code ids} that are members of the Redis set. Redis errors count as misses. */
+    private Mono<Set<UUID>> findInRedis(List<UUID> ids) {
+        Object[] members = ids.stream().map(UUID::toString).toArray();
+        return reactiveStringRedisTemplate.opsForSet()
+                .isMember(PROFILE_EXISTS_SET_KEY, members)
+                .map(membership -> ids.stream()
+                        .filter(id -> Boolean.TRUE.equals(membership.get(id.toString())))
+                        .collect(Collectors.toSet()))
+                .defaultIfEmpty(Set.of())
+                .onErrorReturn(Set.of());
+    }
+
     /** Returns the subset of {@code ids} that are present in the local DB cache. */
     private Mono<Set<UUID>> checkInDb(List<UUID> ids) {
         return Mono.fromCallable(() ->
@@ -0,0 +1,356 @@
+package com.example.swipes_demo.profileCache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-process set of every profile id known to exist, so {@code existsAll} can answer the
+ * common case without a Redis round trip.
+ *
+ * <p>Ids are stored as raw {@code (msb, lsb)} pairs in an open-addressing table (17 bytes per slot,
+ * roughly 30 to 60 bytes per profile, versus about 100 for a {@code ConcurrentHashMap} of
+ * {@link UUID}). Lookups use an optimistic {@link StampedLock} read and never block on
+ * the occasional profile event.
+ *
+ * <p>Every instance reads all create and delete events itself ({@code ProfileIndexEventHandler}),
+ * so each index sees every event. The first load from {@code profile_cache} waits for
+ * {@link #eventsPositioned()}: the snapshot only starts once those readers are fixed at offsets
+ * taken before it, so an event that missed the snapshot is always read afterwards. The index is
+ * then rebuilt every {@code swipes.profile-index.refresh-interval}, and events arriving during a
+ * rebuild are replayed onto the new table before it is swapped in. Until the first load completes
+ * the index is not {@linkplain #isReady() ready} and callers must use the Redis/Postgres layers.
+ * A miss is never authoritative: a brand-new profile may not have reached this instance yet.
+ *
+ * <p>A delete leaves a tombstone for {@code swipes.profile-index.tombstone-ttl}. Ids confirmed by
+ * a slower layer go through {@link #addConfirmed}, which skips tombstoned ids, so a lookup that
+ * read Redis or Postgres just before the delete cannot put the profile back.
+ */
+@Slf4j
+@Component
+public class ProfileExistenceIndex {
+
+    private static final UUID LOAD_START = new UUID(0L, 0L);
+
+    private final ProfileCacheRepository profileCacheRepository;
+    private final boolean enabled;
+    private final int loadPageSize;
+    private final long tombstoneTtlNanos;
+    private final StampedLock lock = new StampedLock();
+
+    // Guarded by lock
+    private UuidTable table = new UuidTable(1024);
+    private List<Mutation> rebuildJournal;
+    private final Map<UUID, Long> tombstones = new HashMap<>();
+
+    private volatile boolean ready;
+    private volatile boolean followingEvents;
+
+    public ProfileExistenceIndex(ProfileCacheRepository profileCacheRepository,
+                                 @Value("${swipes.profile-index.enabled:true}") boolean enabled,
+                                 @Value("${swipes.profile-index.load-page-size:10000}") int loadPageSize,
+                                 @Value("${swipes.profile-index.tombstone-ttl:PT5M}") Duration tombstoneTtl) {
+        this.profileCacheRepository = profileCacheRepository;
+        this.enabled = enabled;
+        this.loadPageSize = Math.max(1, loadPageSize);
+        this.tombstoneTtlNanos = tombstoneTtl.toNanos();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean contains(UUID profileId) {
+        long msb = profileId.getMostSignificantBits();
+        long lsb = profileId.getLeastSignificantBits();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                boolean found = table.contains(msb, lsb);
+                if (lock.validate(stamp)) {
+                    return found;
+                }
+            } catch (RuntimeException ignored) {
+                // Torn read during a resize; retry under the read lock.
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return table.contains(msb, lsb);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** A profile-created event: clears any tombstone for the id. */
+    public void add(UUID profileId) {
+        long stamp = lock.writeLock();
+        try {
+            tombstones.remove(profileId);
+            apply(new Mutation(profileId, true));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Ids a slower layer confirmed; recently deleted ids are left out. */
+    public void addConfirmed(Collection<UUID> profileIds) {
+        long stamp = lock.writeLock();
+        try {
+            long now = System.nanoTime();
+            for (UUID profileId : profileIds) {
+                Long expiresAt = tombstones.get(profileId);
+                if (expiresAt != null && expiresAt - now > 0) {
+                    continue;
+                }
+                apply(new Mutation(profileId, true));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** A profile-deleted event: removes the id and tombstones it. */
+    public void remove(UUID profileId) {
+        long stamp = lock.writeLock();
+        try {
+            tombstones.put(profileId, System.nanoTime() + tombstoneTtlNanos);
+            apply(new Mutation(profileId, false));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return table.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * The event readers are positioned; loads the index. Called again whenever a reader had to
+     * reposition, since events published while it was down were skipped.
+     */
+    public void eventsPositioned() {
+        followingEvents = true;
+        rebuild();
+    }
+
+    @Scheduled(
+            initialDelayString = "${swipes.profile-index.refresh-interval:PT10M}",
+            fixedDelayString = "${swipes.profile-index.refresh-interval:PT10M}"
+    )
+    public void refresh() {
+        if (followingEvents) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        long stamp = lock.writeLock();
+        try {
+            rebuildJournal = new ArrayList<>();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        UuidTable fresh;
+        try {
+            fresh = load();
+        } catch (RuntimeException e) {
+            stamp = lock.writeLock();
+            try {
+                rebuildJournal = null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            log.warn("Profile existence index rebuild failed, keeping {} index: {}",
+                    ready ? "current" : "Redis-only", e.getMessage());
+            return;
+        }
+
+        stamp = lock.writeLock();
+        try {
+            rebuildJournal.forEach(mutation -> mutation.applyTo(fresh));
+            rebuildJournal = null;
+            // The snapshot may predate a delete this index has already seen.
+            long now = System.nanoTime();
+            tombstones.values().removeIf(expiresAt -> expiresAt - now <= 0);
+            tombstones.keySet().forEach(profileId ->
+                    fresh.remove(profileId.getMostSignificantBits(), profileId.getLeastSignificantBits()));
+            table = fresh;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        ready = true;
+        log.info("Profile existence index loaded {} profile(s) in {} ms",
+                fresh.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private UuidTable load() {
+        long expected = profileCacheRepository.count();
+        UuidTable fresh = new UuidTable((int) Math.min(Integer.MAX_VALUE, Math.max(1024, expected + expected / 4)));
+        UUID after = LOAD_START;
+        while (true) {
+            List<UUID> page = profileCacheRepository.findProfileIdsAfter(after, PageRequest.ofSize(loadPageSize));
+            for (UUID profileId : page) {
+                fresh.add(profileId.getMostSignificantBits(), profileId.getLeastSignificantBits());
+            }
+            if (page.size() < loadPageSize) {
+                return fresh;
+            }
+            after = page.get(page.size() - 1);
+        }
+    }
+
+    /** Caller holds the write lock. */
+    private void apply(Mutation mutation) {
+        mutation.applyTo(table);
+        if (rebuildJournal != null) {
+            rebuildJournal.add(mutation);
+        }
+    }
+
+    private record Mutation(UUID profileId, boolean add) {
+
+        void applyTo(UuidTable target) {
+            long msb = profileId.getMostSignificantBits();
+            long lsb = profileId.getLeastSignificantBits();
+            if (add) {
+                target.add(msb, lsb);
+            } else {
+                target.remove(msb, lsb);
+            }
+        }
+    }
+
+    /**
+     * Linear-probing set of 128-bit keys. Not thread-safe; {@link #contains} tolerates
+     * concurrent writers only in the sense that it terminates, the result must be validated.
+     */
+    static final class UuidTable {
+
+        private static final byte EMPTY = 0;
+        private static final byte FULL = 1;
+        private static final byte DELETED = 2;
+        private static final double MAX_LOAD = 0.6;
+        private static final int MAX_CAPACITY = 1 << 29;
+
+        private long[] keys;
+        private byte[] states;
+        private int size;
+        private int used;
+
+        UuidTable(int expected) {
+            long needed = (long) (expected / MAX_LOAD) + 1;
+            int capacity = 16;
+            while (capacity < needed && capacity < MAX_CAPACITY) {
+                capacity <<= 1;
+            }
+            allocate(capacity);
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(long msb, long lsb) {
+            long[] currentKeys = keys;
+            byte[] currentStates = states;
+            int mask = currentStates.length - 1;
+            int slot = slot(msb, lsb, mask);
+            for (int probes = 0; probes <= mask; probes++) {
+                byte state = currentStates[slot];
+                if (state == EMPTY) {
+                    return false;
+                }
+                if (state == FULL && currentKeys[2 * slot] == msb && currentKeys[2 * slot + 1] == lsb) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        boolean add(long msb, long lsb) {
+            if (contains(msb, lsb)) {
+                return false;
+            }
+            if (used + 1 > states.length * MAX_LOAD) {
+                rehash(size + 1 > states.length * MAX_LOAD / 2 ? states.length * 2 : states.length);
+            }
+            int mask = states.length - 1;
+            int slot = slot(msb, lsb, mask);
+            while (states[slot] == FULL) {
+                slot = (slot + 1) & mask;
+            }
+            if (states[slot] == EMPTY) {
+                used++;
+            }
+            states[slot] = FULL;
+            keys[2 * slot] = msb;
+            keys[2 * slot + 1] = lsb;
+            size++;
+            return true;
+        }
+
+        boolean remove(long msb, long lsb) {
+            int mask = states.length - 1;
+            int slot = slot(msb, lsb, mask);
+            for (int probes = 0; probes <= mask; probes++) {
+                byte state = states[slot];
+                if (state == EMPTY) {
+                    return false;
+                }
+                if (state == FULL && keys[2 * slot] == msb && keys[2 * slot + 1] == lsb) {
+                    states[slot] = DELETED;
+                    size--;
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            byte[] oldStates = states;
+            allocate(capacity);
+            for (int slot = 0; slot < oldStates.length; slot++) {
+                if (oldStates[slot] == FULL) {
+                    add(oldKeys[2 * slot], oldKeys[2 * slot + 1]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[2 * capacity];
+            states = new byte[capacity];
+            size = 0;
+            used = 0;
+        }
+
+        private static int slot(long msb, long lsb, int mask) {
+            long hash = (msb ^ Long.rotateLeft(lsb, 32)) * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -150,6 +150,41 @@ public class KafkaConsumerConfig {
         return factory;
     }
 
+    /**
+     * Consumer for the in-process {@code ProfileExistenceIndex}. No group: every replica must see
+     * every profile event, so {@code ProfileIndexEventHandler} assigns all partitions itself and
+     * seeks to the end. Nothing is committed and no group outlives the instance.
+     */
+    @Bean
+    public ConsumerFactory<String, ProfileCreateEvent> profileIndexCreateEventConsumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(ungroupedConsumerProps(ProfileCreateEvent.class));
+    }
+
+    /**
+     * Delete counterpart of {@link #profileIndexCreateEventConsumerFactory()}.
+     */
+    @Bean
+    public ConsumerFactory<String, ProfileDeleteEvent> profileIndexDeleteEventConsumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(ungroupedConsumerProps(ProfileDeleteEvent.class));
+    }
+
+    private Map<String, Object> ungroupedConsumerProps(Class<?> valueType) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        // Only consulted if the reader's position falls off the log.
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JacksonJsonDeserializer.class);
+        props.put(JacksonJsonDeserializer.TRUSTED_PACKAGES, "com.example.swipes_demo.*");
+        props.put(JacksonJsonDeserializer.VALUE_DEFAULT_TYPE, valueType.getName());
+        props.put(JacksonJsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        return props;
+    }
+
     private NewTopic deadLetterTopic(String name) {
         return TopicBuilder.name(name)
                 .partitions(10)
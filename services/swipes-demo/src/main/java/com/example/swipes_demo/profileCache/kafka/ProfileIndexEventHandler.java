@@ -0,0 +1,194 @@
+package com.example.swipes_demo.profileCache.kafka;
+
+import com.example.swipes_demo.profileCache.ProfileDeleteEvent;
+import com.example.swipes_demo.profileCache.ProfileExistenceIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Keeps this instance's {@link ProfileExistenceIndex} in step with profile events. Unlike
+ * {@link ProfileEventHandler}, whose shared group writes {@code profile_cache} and the Redis set
+ * once per event, every instance must see every event here, so each topic is read with
+ * {@code assign()} over all of its partitions and no consumer group: nothing is committed and
+ * nothing is left on the broker when the instance goes away.
+ *
+ * <p>A reader seeks to the end and resolves its position before reporting in; once both topics
+ * are positioned the index takes its {@code profile_cache} snapshot. Any event the snapshot missed
+ * therefore sits after a reader's position and is applied. A reader that fails starts over the
+ * same way and the index is reloaded, covering whatever was published while it was down.
+ */
+@Slf4j
+@Service
+public class ProfileIndexEventHandler implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(5);
+
+    private final ProfileExistenceIndex profileExistenceIndex;
+    private final ConsumerFactory<String, ProfileCreateEvent> createConsumerFactory;
+    private final ConsumerFactory<String, ProfileDeleteEvent> deleteConsumerFactory;
+    private final String profileCreatedTopic;
+    private final String profileDeletedTopic;
+    private final boolean autoStartup;
+
+    private final Set<String> positionedTopics = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<?, ?>> consumers = new CopyOnWriteArrayList<>();
+    private final List<Thread> readers = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private volatile CountDownLatch stopping = new CountDownLatch(1);
+
+    public ProfileIndexEventHandler(
+            ProfileExistenceIndex profileExistenceIndex,
+            @Qualifier("profileIndexCreateEventConsumerFactory")
+            ConsumerFactory<String, ProfileCreateEvent> createConsumerFactory,
+            @Qualifier("profileIndexDeleteEventConsumerFactory")
+            ConsumerFactory<String, ProfileDeleteEvent> deleteConsumerFactory,
+            @Value("${kafka.topics.profile-created}") String profileCreatedTopic,
+            @Value("${kafka.topics.profile-deleted}") String profileDeletedTopic,
+            @Value("${swipes.profile-index.enabled:true}") boolean enabled,
+            @Value("${spring.kafka.listener.auto-startup:true}") boolean listenersAutoStartup) {
+        this.profileExistenceIndex = profileExistenceIndex;
+        this.createConsumerFactory = createConsumerFactory;
+        this.deleteConsumerFactory = deleteConsumerFactory;
+        this.profileCreatedTopic = profileCreatedTopic;
+        this.profileDeletedTopic = profileDeletedTopic;
+        this.autoStartup = enabled && listenersAutoStartup;
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        stopping = new CountDownLatch(1);
+        running = true;
+        startReader(createConsumerFactory, profileCreatedTopic, ProfileCreateEvent::getProfileId, true);
+        startReader(deleteConsumerFactory, profileDeletedTopic, ProfileDeleteEvent::getProfileId, false);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        stopping.countDown();
+        consumers.forEach(Consumer::wakeup);
+        for (Thread reader : readers) {
+            try {
+                reader.join(RETRY_BACKOFF.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        readers.clear();
+        positionedTopics.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return autoStartup;
+    }
+
+    private <V> void startReader(ConsumerFactory<String, V> consumerFactory, String topic,
+                                 Function<V, UUID> profileIdOf, boolean created) {
+        Thread reader = new Thread(() -> {
+            while (running) {
+                try {
+                    read(consumerFactory, topic, profileIdOf, created);
+                } catch (WakeupException e) {
+                    // stop()
+                } catch (RuntimeException e) {
+                    positionedTopics.remove(topic);
+                    if (running) {
+                        log.warn("Profile index reader for {} failed, starting over: {}", topic, e.getMessage());
+                        awaitRetry();
+                    }
+                }
+            }
+        }, "profile-index-" + topic);
+        reader.setDaemon(true);
+        readers.add(reader);
+        reader.start();
+    }
+
+    private <V> void read(ConsumerFactory<String, V> consumerFactory, String topic,
+                          Function<V, UUID> profileIdOf, boolean created) {
+        try (Consumer<String, V> consumer = consumerFactory.createConsumer()) {
+            consumers.add(consumer);
+            try {
+                List<TopicPartition> partitions = consumer.partitionsFor(topic).stream()
+                        .map(PartitionInfo::partition)
+                        .map(partition -> new TopicPartition(topic, partition))
+                        .toList();
+                if (partitions.isEmpty()) {
+                    throw new IllegalStateException("no partitions for " + topic);
+                }
+                consumer.assign(partitions);
+                consumer.seekToEnd(partitions);
+                // seekToEnd is lazy; fix the offsets now, before the snapshot may start.
+                partitions.forEach(consumer::position);
+                positioned(topic);
+
+                while (running) {
+                    for (ConsumerRecord<String, V> record : consumer.poll(POLL_TIMEOUT)) {
+                        // Null when the value did not deserialize.
+                        UUID profileId = record.value() != null ? profileIdOf.apply(record.value()) : null;
+                        if (profileId == null) {
+                            continue;
+                        }
+                        if (created) {
+                            profileExistenceIndex.add(profileId);
+                        } else {
+                            profileExistenceIndex.remove(profileId);
+                        }
+                    }
+                }
+            } finally {
+                consumers.remove(consumer);
+            }
+        }
+    }
+
+    /**
+     * Runs the (re)load on the reader that completed the set. Its own events wait in Kafka behind
+     * its position meanwhile, and with no group there is no poll deadline to miss.
+     */
+    private synchronized void positioned(String topic) {
+        if (positionedTopics.add(topic)
+                && positionedTopics.containsAll(List.of(profileCreatedTopic, profileDeletedTopic))) {
+            profileExistenceIndex.eventsPositioned();
+        }
+    }
+
+    private void awaitRetry() {
+        try {
+            stopping.await(RETRY_BACKOFF.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
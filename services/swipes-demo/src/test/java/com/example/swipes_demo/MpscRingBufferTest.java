@@ -0,0 +1,105 @@
+package com.example.swipes_demo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpscRingBufferTest {
+
+    @Test
+    void givenFullBuffer_whenOffered_thenRejectedUntilConsumerPolls() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+
+        assertThat(buffer.offer(1)).isTrue();
+        assertThat(buffer.offer(2)).isTrue();
+        assertThat(buffer.offer(3)).isTrue();
+        assertThat(buffer.offer(4)).isFalse();
+
+        assertThat(buffer.poll()).isEqualTo(1);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.poll()).isEqualTo(2);
+        assertThat(buffer.poll()).isEqualTo(3);
+        assertThat(buffer.poll()).isEqualTo(4);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void givenRunLargerThanFreeSlots_whenOfferedAll_thenNothingIsEnqueued() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        assertThat(buffer.offer(0)).isTrue();
+        assertThat(buffer.offer(1)).isTrue();
+
+        assertThat(buffer.offerAll(List.of(2, 3, 4))).isFalse();
+        assertThat(buffer.offerAll(List.of(2, 3))).isTrue();
+        assertThat(buffer.offer(4)).isFalse();
+
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.poll()).isEqualTo(1);
+        assertThat(buffer.offerAll(List.of(4, 5))).isTrue();
+        assertThat(buffer.poll()).isEqualTo(2);
+        assertThat(buffer.poll()).isEqualTo(3);
+        assertThat(buffer.poll()).isEqualTo(4);
+        assertThat(buffer.poll()).isEqualTo(5);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.offerAll(List.of(6, 7, 8, 9, 10))).isFalse();
+    }
+
+    @Test
+    void givenConcurrentProducers_whenSingleConsumerDrains_thenEveryElementArrivesOnceInProducerOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        Set<Long> seen = new HashSet<>();
+        int received = 0;
+        while (received < producers * perProducer) {
+            long[] element = buffer.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int producer = (int) element[0];
+            assertThat(element[1]).isGreaterThan(lastSeen[producer]);
+            lastSeen[producer] = element[1];
+            assertThat(seen.add(element[0] * perProducer + element[1])).isTrue();
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(buffer.poll()).isNull();
+    }
+}
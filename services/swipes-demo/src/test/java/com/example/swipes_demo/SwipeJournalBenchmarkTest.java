@@ -0,0 +1,72 @@
+package com.example.swipes_demo;
+
+import com.tinder.platform.benchmark.BenchmarkReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append throughput of {@link SwipeJournal} on the local disk for several group-commit sizes
+ * (records appended per {@code flush()}, i.e. per drained batch in durable mode). Reports one
+ * {@link BenchmarkReport} line per size with records/s, MB/s and the flush latency percentiles
+ * that bound the extra time a request waits for its ack.
+ *
+ * <p>Opt-in: {@code mvn test -Dtest=SwipeJournalBenchmarkTest -Dswipes.benchmarks=true}.
+ * Point {@code -Djava.io.tmpdir} at the volume the journal will use in production; tmpfs
+ * results say nothing about fsync cost.
+ */
+@EnabledIfSystemProperty(named = "swipes.benchmarks", matches = "true")
+class SwipeJournalBenchmarkTest {
+
+    private static final int RECORDS = 1_000_000;
+    private static final int SEGMENT_SIZE = 64 << 20;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reportAppendThroughputPerGroupCommitSize() throws Exception {
+        SwipeCreatedEvent event = new SwipeCreatedEvent(UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(), UUID.randomUUID().toString(), true, false, System.currentTimeMillis());
+
+        for (int groupSize : new int[]{1, 50, 500}) {
+            Path journalDirectory = Files.createDirectory(directory.resolve("group-" + groupSize));
+            SwipeJournal journal = new SwipeJournal(journalDirectory, SEGMENT_SIZE, 1_024);
+            int records = groupSize == 1 ? RECORDS / 20 : RECORDS;
+            long[] flushNanos = new long[records / groupSize];
+
+            long start = System.nanoTime();
+            for (int i = 0; i < records; i++) {
+                journal.append(event);
+                if ((i + 1) % groupSize == 0) {
+                    long flushStart = System.nanoTime();
+                    journal.flush();
+                    flushNanos[i / groupSize] = System.nanoTime() - flushStart;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            long bytes = journalBytes(journal);
+            journal.close();
+
+            BenchmarkReport.of("swipe-journal")
+                    .with("group_size", groupSize)
+                    .with("records", records)
+                    .with("records_per_s", records * 1e9 / elapsed)
+                    .with("mb_per_s", bytes / 1_048_576.0 * 1e9 / elapsed)
+                    .with("ns_per_append", (double) elapsed / records)
+                    .percentiles("flush_us", flushNanos, TimeUnit.MICROSECONDS, 0.50, 0.99)
+                    .emit();
+        }
+    }
+
+    private static long journalBytes(SwipeJournal journal) {
+        long committed = journal.committedPosition();
+        long firstSegment = SwipeJournal.segmentId(journal.deliveredPosition()) + 1;
+        return (SwipeJournal.segmentId(committed) - firstSegment) * SEGMENT_SIZE + SwipeJournal.offset(committed);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.swipes_demo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwipeJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenAppendedRecords_whenRead_thenOnlyFlushedRecordsAreVisibleInOrderAcrossSegments() {
+        SwipeJournal journal = new SwipeJournal(directory, SEGMENT_SIZE, 16);
+        for (int i = 0; i < 100; i++) {
+            assertThat(journal.append(event(i))).isTrue();
+        }
+        assertThat(readAll(journal, journal.deliveredPosition())).isEmpty();
+
+        journal.flush();
+
+        List<SwipeCreatedEvent> events = readAll(journal, journal.deliveredPosition());
+        assertThat(events).extracting(SwipeCreatedEvent::getEventId)
+                .containsExactlyElementsOf(eventIds(0, 100));
+        assertThat(events.get(7).isDecision()).isFalse();
+        assertThat(events.get(7).isSuper()).isTrue();
+        assertThat(events.get(7).getProfile1Id()).isEqualTo("profile-7");
+        assertThat(events.get(7).getTimestamp()).isEqualTo(1_700_000_000_007L);
+        assertThat(journal.segmentCount()).isGreaterThan(1);
+    }
+
+    @Test
+    void givenDeliveredPosition_whenReleasedAndReopened_thenDeliveredSegmentsAreDeletedAndReplayResumes() throws IOException {
+        SwipeJournal journal = new SwipeJournal(directory, SEGMENT_SIZE, 16);
+        for (int i = 0; i < 300; i++) {
+            journal.append(event(i));
+        }
+        journal.flush();
+        long deliveredPosition = journal.read(journal.deliveredPosition(), 200, ignored -> { });
+        int segmentsBefore = segmentFiles();
+
+        journal.release(deliveredPosition);
+        assertThat(segmentFiles()).isLessThan(segmentsBefore);
+        journal.close();
+
+        SwipeJournal reopened = new SwipeJournal(directory, SEGMENT_SIZE, 16);
+        assertThat(reopened.deliveredPosition()).isEqualTo(deliveredPosition);
+        assertThat(readAll(reopened, reopened.deliveredPosition())).extracting(SwipeCreatedEvent::getEventId)
+                .containsExactlyElementsOf(eventIds(200, 300));
+    }
+
+    @Test
+    void givenCrashWithoutClose_whenReopened_thenFlushedRecordsSurviveAndTornTailIsDiscarded() throws IOException {
+        SwipeJournal crashed = new SwipeJournal(directory, SEGMENT_SIZE, 16);
+        for (int i = 0; i < 30; i++) {
+            crashed.append(event(i));
+        }
+        crashed.flush();
+        long tail = crashed.committedPosition();
+        // Simulate a record whose header reached disk but whose payload did not.
+        try (FileChannel channel = FileChannel.open(lastSegment(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putInt(0, 40).putInt(4, 0xBAD), SwipeJournal.offset(tail));
+        }
+
+        SwipeJournal recovered = new SwipeJournal(directory, SEGMENT_SIZE, 16);
+
+        assertThat(recovered.committedPosition()).isEqualTo(tail);
+        assertThat(readAll(recovered, recovered.deliveredPosition())).extracting(SwipeCreatedEvent::getEventId)
+                .containsExactlyElementsOf(eventIds(0, 30));
+        recovered.append(event(30));
+        recovered.flush();
+        assertThat(readAll(recovered, recovered.deliveredPosition())).hasSize(31);
+    }
+
+    @Test
+    void givenAllSegmentsInUse_whenAppending_thenJournalReportsFullUntilSegmentsAreReleased() {
+        SwipeJournal journal = new SwipeJournal(directory, SEGMENT_SIZE, 2);
+        int appended = 0;
+        while (journal.append(event(appended))) {
+            appended++;
+        }
+        journal.flush();
+        assertThat(appended).isPositive();
+        assertThat(journal.segmentCount()).isEqualTo(2);
+
+        journal.release(journal.read(journal.deliveredPosition(), appended, ignored -> { }));
+
+        assertThat(journal.append(event(appended))).isTrue();
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static SwipeCreatedEvent event(int i) {
+        return new SwipeCreatedEvent("event-" + i, "profile-" + i, "profile-" + (i + 1),
+                i % 7 != 0, i % 7 == 0, 1_700_000_000_000L + i);
+    }
+
+    private static List<String> eventIds(int from, int to) {
+        List<String> ids = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            ids.add("event-" + i);
+        }
+        return ids;
+    }
+
+    private static List<SwipeCreatedEvent> readAll(SwipeJournal journal, long from) {
+        List<SwipeCreatedEvent> events = new ArrayList<>();
+        journal.read(from, Integer.MAX_VALUE, events::add);
+        return events;
+    }
+
+    private int segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return (int) files.filter(path -> path.toString().endsWith(".seg")).count();
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).sorted()
+                    .reduce((first, second) -> second).orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.swipes_demo;
+
+import com.tinder.platform.benchmark.BenchmarkReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+/**
+ * Per-operation time and allocation of the swipe hot path: parsing the fast-path body from a
+ * {@link DataBuffer} and encoding a {@link SwipeCreatedEvent}, each next to the String-based
+ * baseline it replaced (decode the body to a String, concatenate the payload, encode it again).
+ * Reports one {@link BenchmarkReport} line per operation.
+ *
+ * <p>Opt-in: {@code mvn test -Dtest=SwipeJsonCodecBenchmarkTest -Dswipes.benchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "swipes.benchmarks", matches = "true")
+class SwipeJsonCodecBenchmarkTest {
+
+    private static final int WARMUP_OPS = 2_000_000;
+    private static final int MEASURED_OPS = 5_000_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void reportParseAndEncodeCost() {
+        byte[] body = ("{\"profile1Id\":\"" + UUID.randomUUID() + "\",\"profile2Id\":\"" + UUID.randomUUID()
+                + "\",\"decision\":true}").getBytes(StandardCharsets.UTF_8);
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap(body);
+        SwipeCreatedEvent event = new SwipeCreatedEvent(UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(), UUID.randomUUID().toString(), true, false, System.currentTimeMillis());
+        SwipeCreatedEventSerializer serializer = new SwipeCreatedEventSerializer();
+
+        report("parse_string_baseline", () -> {
+            String text = buffer.toString(StandardCharsets.UTF_8);
+            int start = text.indexOf("\"profile1Id\"");
+            return text.substring(start + 14, start + 50).length() + text.indexOf("\"decision\"");
+        });
+        report("parse_bytes", () -> SwipeJsonCodec.parseTrustedSwipe(buffer).profile1Id().length());
+        report("encode_string_baseline", () -> legacyPayload(event).getBytes(StandardCharsets.UTF_8).length);
+        report("encode_bytes", () -> serializer.serialize("swipe-created", event).length);
+    }
+
+    private void report(String operation, IntSupplier op) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_OPS; i++) {
+            sink += op.getAsInt();
+        }
+        long allocatedStart = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_OPS; i++) {
+            sink += op.getAsInt();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedStart;
+        BenchmarkReport.of("swipe-json-codec")
+                .with("op", operation)
+                .with("ns_per_op", (double) elapsed / MEASURED_OPS)
+                .with("bytes_per_op", (double) allocated / MEASURED_OPS)
+                .with("sink", sink)
+                .emit();
+    }
+
+    private static String legacyPayload(SwipeCreatedEvent event) {
+        return "{\"eventId\":\"" + event.getEventId()
+                + "\",\"profile1Id\":\"" + event.getProfile1Id()
+                + "\",\"profile2Id\":\"" + event.getProfile2Id()
+                + "\",\"decision\":" + event.isDecision()
+                + ",\"isSuper\":" + event.isSuper()
+                + ",\"timestamp\":" + event.getTimestamp()
+                + "}";
+    }
+}
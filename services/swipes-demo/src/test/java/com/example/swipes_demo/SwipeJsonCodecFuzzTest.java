@@ -0,0 +1,90 @@
+package com.example.swipes_demo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Mutates valid fast-path bodies (byte flips, truncation, insertion of JSON punctuation,
+ * deletion) with a fixed seed. Every input must either parse into canonical UUID text or be
+ * rejected with {@code 400}; any other exception, or an id that would not survive
+ * {@link UUID#fromString} on the consumer, is a parser bug.
+ */
+class SwipeJsonCodecFuzzTest {
+
+    private static final int ITERATIONS = 200_000;
+    private static final byte[] INTERESTING = "{}[]\":,\\ \n-0123456789eEtrufalsn".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void givenMutatedBodies_whenParsed_thenEitherValidOrRejectedWith400() {
+        Random random = new Random(20_241_018L);
+        for (int i = 0; i < ITERATIONS; i++) {
+            byte[] body = mutate(seed(random), random);
+            try {
+                SwipeJsonCodec.TrustedSwipe swipe = SwipeJsonCodec.parseTrustedSwipe(
+                        DefaultDataBufferFactory.sharedInstance.wrap(body));
+                assertThat(UUID.fromString(swipe.profile1Id()).toString()).isEqualToIgnoringCase(swipe.profile1Id());
+                assertThat(UUID.fromString(swipe.profile2Id()).toString()).isEqualToIgnoringCase(swipe.profile2Id());
+            } catch (ResponseStatusException e) {
+                assertThat(e.getStatusCode().value()).isEqualTo(400);
+            } catch (RuntimeException | StackOverflowError e) {
+                fail("Unexpected " + e + " for body: " + new String(body, StandardCharsets.ISO_8859_1), e);
+            }
+        }
+    }
+
+    @Test
+    void givenDeeplyNestedUnknownField_whenParsed_thenRejectedWithoutStackOverflow() {
+        String body = "{\"x\":" + "[".repeat(100_000) + "]".repeat(100_000) + "}";
+
+        try {
+            SwipeJsonCodec.parseTrustedSwipe(SwipeJsonCodecTest.buffer(body));
+            fail("Expected nested body to be rejected");
+        } catch (ResponseStatusException e) {
+            assertThat(e.getStatusCode().value()).isEqualTo(400);
+        }
+    }
+
+    private static byte[] seed(Random random) {
+        String body = "{\"profile1Id\":\"" + UUID.randomUUID() + "\",\"profile2Id\":\"" + UUID.randomUUID()
+                + "\",\"decision\":" + random.nextBoolean()
+                + (random.nextBoolean() ? ",\"isSuper\":false" : "")
+                + (random.nextBoolean() ? ",\"meta\":{\"v\":[1,\"a\",null]}" : "")
+                + "}";
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] mutate(byte[] body, Random random) {
+        int mutations = 1 + random.nextInt(4);
+        byte[] current = body;
+        for (int m = 0; m < mutations && current.length > 0; m++) {
+            int position = random.nextInt(current.length);
+            switch (random.nextInt(4)) {
+                case 0 -> current[position] = (byte) random.nextInt(256);
+                case 1 -> current = Arrays.copyOf(current, position);
+                case 2 -> {
+                    byte[] inserted = new byte[current.length + 1];
+                    System.arraycopy(current, 0, inserted, 0, position);
+                    inserted[position] = INTERESTING[random.nextInt(INTERESTING.length)];
+                    System.arraycopy(current, position, inserted, position + 1, current.length - position);
+                    current = inserted;
+                }
+                default -> {
+                    byte[] removed = new byte[current.length - 1];
+                    System.arraycopy(current, 0, removed, 0, position);
+                    System.arraycopy(current, position + 1, removed, position, current.length - position - 1);
+                    current = removed;
+                }
+            }
+        }
+        return current;
+    }
+}
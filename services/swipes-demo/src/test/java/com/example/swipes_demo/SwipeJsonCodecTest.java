@@ -0,0 +1,120 @@
+package com.example.swipes_demo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SwipeJsonCodecTest {
+
+    private static final String PROFILE1 = "249bea58-449e-4bb6-9243-8f16efec14e0";
+    private static final String PROFILE2 = "44799E38-8299-4697-A8A1-2C56CCEDEDFD";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void givenTrustedBody_whenParsed_thenFieldsAreReadWithoutChangingIdText() {
+        SwipeJsonCodec.TrustedSwipe swipe = SwipeJsonCodec.parseTrustedSwipe(buffer(
+                " {\"profile1Id\" : \"" + PROFILE1 + "\",\n\"profile2Id\":\"" + PROFILE2
+                        + "\",\"decision\":true,\"isSuper\":false} "));
+
+        assertThat(swipe.profile1Id()).isEqualTo(PROFILE1);
+        assertThat(swipe.profile2Id()).isEqualTo(PROFILE2);
+        assertThat(swipe.decision()).isTrue();
+        assertThat(swipe.isSuper()).isFalse();
+    }
+
+    @Test
+    void givenUnknownFieldsAndMissingFlags_whenParsed_thenUnknownAreSkippedAndFlagsDefaultToFalse() {
+        SwipeJsonCodec.TrustedSwipe swipe = SwipeJsonCodec.parseTrustedSwipe(buffer(
+                "{\"client\":{\"v\":[1,2.5e3,\"x\\\"y\",null]},\"profile1Id\":\"" + PROFILE1
+                        + "\",\"profile2Id\":\"" + PROFILE2 + "\",\"note\":\"café\"}"));
+
+        assertThat(swipe.decision()).isFalse();
+        assertThat(swipe.isSuper()).isFalse();
+    }
+
+    @Test
+    void givenBufferWithReadOffset_whenParsed_thenOnlyReadableBytesAreUsed() {
+        byte[] body = ("xx{\"profile1Id\":\"" + PROFILE1 + "\",\"profile2Id\":\"" + PROFILE2 + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap(body);
+        buffer.readPosition(2);
+
+        assertThat(SwipeJsonCodec.parseTrustedSwipe(buffer).profile1Id()).isEqualTo(PROFILE1);
+    }
+
+    @Test
+    void givenInvalidBodies_whenParsed_thenRejectedWithFieldSpecificReasons() {
+        assertRejected("   ", "Swipe body is required");
+        assertRejected("{\"profile2Id\":\"" + PROFILE2 + "\"}", "Missing field: profile1Id");
+        assertRejected("{\"profile1Id\":\"\",\"profile2Id\":\"" + PROFILE2 + "\"}", "Missing field: profile1Id");
+        assertRejected("{\"profile1Id\":42,\"profile2Id\":\"" + PROFILE2 + "\"}", "Invalid field: profile1Id");
+        assertRejected("{\"profile1Id\":\"not-a-uuid\",\"profile2Id\":\"" + PROFILE2 + "\"}",
+                "Invalid UUID in field: profile1Id");
+        assertRejected("{\"profile1Id\":\"" + PROFILE1.replace('-', 'x') + "\",\"profile2Id\":\"" + PROFILE2 + "\"}",
+                "Invalid UUID in field: profile1Id");
+        assertRejected("{\"profile1Id\":\"" + PROFILE1 + "\",\"profile2Id\":\"" + PROFILE2 + "\",\"decision\":\"yes\"}",
+                "Invalid field: decision");
+        assertRejected("{\"profile1Id\":\"" + PROFILE1 + "\",\"profile2Id\":\"" + PROFILE2 + "\"} trailing",
+                "Malformed swipe body");
+        assertRejected("[\"" + PROFILE1 + "\"]", "Malformed swipe body");
+    }
+
+    @Test
+    void givenEvent_whenEncoded_thenJacksonReadsTheSameFields() throws Exception {
+        SwipeCreatedEvent event = new SwipeCreatedEvent(
+                UUID.randomUUID().toString(), PROFILE1, "quote\" back\\ tab\t é € 😀", true, false, 1_700_000_000_123L);
+
+        JsonNode json = objectMapper.readTree(new SwipeCreatedEventSerializer().serialize("swipe-created", event));
+
+        assertThat(json.get("eventId").asText()).isEqualTo(event.getEventId());
+        assertThat(json.get("profile1Id").asText()).isEqualTo(PROFILE1);
+        assertThat(json.get("profile2Id").asText()).isEqualTo(event.getProfile2Id());
+        assertThat(json.get("decision").asBoolean()).isTrue();
+        assertThat(json.get("isSuper").asBoolean()).isFalse();
+        assertThat(json.get("timestamp").asLong()).isEqualTo(1_700_000_000_123L);
+    }
+
+    @Test
+    void givenAsciiEvent_whenEncoded_thenBytesMatchTheLegacyConcatenatedPayload() {
+        SwipeCreatedEvent event = new SwipeCreatedEvent("event-1", PROFILE1, PROFILE2, false, true, -42L);
+
+        String encoded = new String(new SwipeCreatedEventSerializer().serialize("swipe-created", event),
+                StandardCharsets.UTF_8);
+
+        assertThat(encoded).isEqualTo("{\"eventId\":\"event-1\",\"profile1Id\":\"" + PROFILE1
+                + "\",\"profile2Id\":\"" + PROFILE2 + "\",\"decision\":false,\"isSuper\":true,\"timestamp\":-42}");
+    }
+
+    @Test
+    void givenKeys_whenHashed_thenPartitionHashMatchesKafka() {
+        for (String key : new String[]{"", "a", "ab", "abc", PROFILE1, PROFILE2, "café"}) {
+            assertThat(SwipeProducer.murmur2(key))
+                    .isEqualTo(Utils.murmur2(key.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static void assertRejected(String body, String reason) {
+        assertThatThrownBy(() -> SwipeJsonCodec.parseTrustedSwipe(buffer(body)))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(error -> {
+                    ResponseStatusException exception = (ResponseStatusException) error;
+                    assertThat(exception.getStatusCode().value()).isEqualTo(400);
+                    assertThat(exception.getReason()).isEqualTo(reason);
+                });
+    }
+
+    static DataBuffer buffer(String body) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
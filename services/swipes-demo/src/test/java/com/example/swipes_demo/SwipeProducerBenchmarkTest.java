@@ -0,0 +1,149 @@
+package com.example.swipes_demo;
+
+import com.tinder.platform.benchmark.BenchmarkReport;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the in-process cost of {@link SwipeProducer} against a sender that acknowledges
+ * every record immediately, so only queueing, wakeup and batching are timed:
+ * drain-thread CPU while idle, allocated bytes per event on the request and drain threads,
+ * and enqueue-to-ack latency percentiles. Reports one {@link BenchmarkReport} line.
+ *
+ * <p>Opt-in: {@code mvn test -Dtest=SwipeProducerBenchmarkTest -Dswipes.benchmarks=true}.
+ * For the HTTP-level p99 see {@code load-tests/wrk/README.md}.
+ */
+@EnabledIfSystemProperty(named = "swipes.benchmarks", matches = "true")
+class SwipeProducerBenchmarkTest {
+
+    private static final int REQUEST_THREADS = 4;
+    private static final int WARMUP_EVENTS = 50_000;
+    private static final int MEASURED_EVENTS_PER_THREAD = 50_000;
+    private static final Duration IDLE_WINDOW = Duration.ofSeconds(2);
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private SwipeProducer producer;
+
+    @AfterEach
+    void stopProducer() {
+        if (producer != null) {
+            producer.stopSender();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reportIdleCpuAllocationAndEnqueueToAckLatency() throws Exception {
+        KafkaSender<String, SwipeCreatedEvent> sender = mock(KafkaSender.class);
+        when(sender.send(any())).thenAnswer(invocation -> acknowledgeAll(invocation.getArgument(0)));
+        producer = new SwipeProducer(sender, 200_000, 4, 500, false);
+        producer.startSender();
+        long drainThreadId = drainThreadId();
+
+        Thread.sleep(200);
+        long idleCpuStart = threads.getThreadCpuTime(drainThreadId);
+        Thread.sleep(IDLE_WINDOW.toMillis());
+        long idleCpuNanos = threads.getThreadCpuTime(drainThreadId) - idleCpuStart;
+
+        for (int i = 0; i < WARMUP_EVENTS; i++) {
+            producer.send(event(i)).block();
+        }
+
+        long drainAllocatedStart = threads.getThreadAllocatedBytes(drainThreadId);
+        long[] requestAllocated = new long[REQUEST_THREADS];
+        long[][] latencies = new long[REQUEST_THREADS][MEASURED_EVENTS_PER_THREAD];
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(REQUEST_THREADS);
+        for (int t = 0; t < REQUEST_THREADS; t++) {
+            int worker = t;
+            Thread.ofPlatform().name("bench-request-" + t).start(() -> {
+                try {
+                    SwipeCreatedEvent event = event(worker);
+                    start.await();
+                    long allocatedStart = threads.getCurrentThreadAllocatedBytes();
+                    for (int i = 0; i < MEASURED_EVENTS_PER_THREAD; i++) {
+                        long begin = System.nanoTime();
+                        producer.send(event).block();
+                        latencies[worker][i] = System.nanoTime() - begin;
+                    }
+                    requestAllocated[worker] = threads.getCurrentThreadAllocatedBytes() - allocatedStart;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        long drainAllocated = threads.getThreadAllocatedBytes(drainThreadId) - drainAllocatedStart;
+
+        int events = REQUEST_THREADS * MEASURED_EVENTS_PER_THREAD;
+        BenchmarkReport.of("swipe-producer")
+                .with("events", events)
+                .with("idle_drain_cpu_ms_per_s", idleCpuNanos / 1e6 / IDLE_WINDOW.toSeconds())
+                .with("request_bytes_per_event", Arrays.stream(requestAllocated).sum() / events)
+                .with("drain_bytes_per_event", drainAllocated / events)
+                .percentiles("enqueue_to_ack_us", Arrays.stream(latencies).flatMapToLong(Arrays::stream).toArray(),
+                        TimeUnit.MICROSECONDS, 0.50, 0.95, 0.99)
+                .emit();
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static <T> Flux<SenderResult<T>> acknowledgeAll(Publisher<SenderRecord<String, SwipeCreatedEvent, T>> records) {
+        return Flux.from(records).map(record -> new AckedResult<>(record.correlationMetadata()));
+    }
+
+    private static long drainThreadId() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("swipe-producer-drain"))
+                .findFirst()
+                .orElseThrow()
+                .threadId();
+    }
+
+    private static SwipeCreatedEvent event(int i) {
+        return new SwipeCreatedEvent(
+                "event-" + i,
+                "249bea58-449e-4bb6-9243-8f16efec14e0",
+                "44799e38-8299-4697-a8a1-2c56ccededfd",
+                true,
+                false,
+                1_700_000_000_000L
+        );
+    }
+
+    private record AckedResult<T>(T correlationMetadata) implements SenderResult<T> {
+
+        @Override
+        public RecordMetadata recordMetadata() {
+            return null;
+        }
+
+        @Override
+        public Exception exception() {
+            return null;
+        }
+    }
+}
@@ -2,16 +2,30 @@ package com.example.swipes_demo;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.web.server.ResponseStatusException;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class SwipeProducerTest {
@@ -27,9 +41,9 @@ class SwipeProducerTest {
 
     @Test
     void givenBrokerHasNotAcknowledged_whenSwipeIsEnqueued_thenRequestDoesNotComplete() {
-        KafkaSender<String, String> sender = mock(KafkaSender.class);
+        KafkaSender<String, SwipeCreatedEvent> sender = mock(KafkaSender.class);
         when(sender.send(any())).thenReturn(Flux.never());
-        producer = new SwipeProducer(sender, 10, 1, 10, Duration.ofMillis(1), false);
+        producer = new SwipeProducer(sender, 10, 1, 10, false);
         producer.startSender();
 
         assertThatThrownBy(() -> producer.send(event()).block(Duration.ofMillis(100)))
@@ -39,9 +53,9 @@ class SwipeProducerTest {
 
     @Test
     void givenBrokerSendFails_whenSwipeIsEnqueued_thenRequestFails() {
-        KafkaSender<String, String> sender = mock(KafkaSender.class);
+        KafkaSender<String, SwipeCreatedEvent> sender = mock(KafkaSender.class);
         when(sender.send(any())).thenReturn(Flux.error(new IllegalStateException("broker unavailable")));
-        producer = new SwipeProducer(sender, 10, 1, 10, Duration.ofMillis(1), false);
+        producer = new SwipeProducer(sender, 10, 1, 10, false);
         producer.startSender();
 
         assertThatThrownBy(() -> producer.send(event()).block(Duration.ofSeconds(2)))
@@ -51,9 +65,168 @@ class SwipeProducerTest {
                         .isEqualTo(503));
     }
 
+    @Test
+    void givenIdleProducer_whenSwipeIsEnqueued_thenDrainThreadWakesAndRequestCompletesOnAck() throws Exception {
+        KafkaSender<String, SwipeCreatedEvent> sender = mock(KafkaSender.class);
+        when(sender.send(any())).thenAnswer(invocation -> acknowledgeAll(invocation.getArgument(0)));
+        producer = new SwipeProducer(sender, 10, 1, 10, false);
+        producer.startSender();
+        // Let the drain thread find the buffer empty and park.
+        Thread.sleep(50);
+
+        producer.send(event()).block(Duration.ofSeconds(2));
+        producer.send(event()).block(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void givenAllBatchesInFlight_whenRingBufferIsFull_thenRequestIsRejected() {
+        KafkaSender<String, SwipeCreatedEvent> sender = mock(KafkaSender.class);
+        when(sender.send(any())).thenReturn(Flux.never());
+        producer = new SwipeProducer(sender, 1, 1, 1, false);
+        producer.startSender();
+
+        producer.send(event()).subscribe(ignored -> { }, ignored -> { });
+        // The only batch is now in flight and never acknowledged, so the drain thread stops draining.
+        verify(sender, timeout(2000)).send(any());
+        producer.send(event()).subscribe(ignored -> { }, ignored -> { });
+
+        assertThatThrownBy(() -> producer.send(event()).block(Duration.ofSeconds(1)))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(error -> assertThat(((ResponseStatusException) error).getStatusCode().value())
+                        .isEqualTo(429));
+    }
+
+    @Test
+    void givenProducerIsStopped_whenSwipeIsSent_thenRequestFailsFast() {
+        KafkaSender<String, SwipeCreatedEvent> sender = mock(KafkaSender.class);
+        producer = new SwipeProducer(sender, 10, 1, 10, false);
+        producer.startSender();
+        producer.stopSender();
+
+        assertThatThrownBy(() -> producer.send(event()).block(Duration.ofSeconds(1)))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(error -> assertThat(((ResponseStatusException) error).getStatusCode().value())
+                        .isEqualTo(503));
+    }
+
+    @Test
+    void givenGroupSpanningSeveralBatches_whenSentAll_thenCompletesOnceWithPerRecordOutcome() {
+        KafkaSender<String, SwipeCreatedEvent> sender = mock(KafkaSender.class);
+        when(sender.send(any())).thenAnswer(invocation -> acknowledgeAll(invocation.getArgument(0), "event-4"));
+        producer = new SwipeProducer(sender, 20, 2, 3, false);
+        producer.startSender();
+
+        List<SwipeCreatedEvent> events = IntStream.range(0, 7).mapToObj(this::event).toList();
+        BitSet failed = producer.sendAll(events).block(Duration.ofSeconds(2));
+
+        assertThat(failed).isNotNull();
+        assertThat(failed.stream().toArray()).containsExactly(4);
+    }
+
+    @Test
+    void givenGroupLargerThanFreeCapacity_whenSentAll_thenWholeGroupIsRejected() {
+        KafkaSender<String, SwipeCreatedEvent> sender = mock(KafkaSender.class);
+        when(sender.send(any())).thenReturn(Flux.never());
+        producer = new SwipeProducer(sender, 4, 1, 10, false);
+        producer.startSender();
+
+        List<SwipeCreatedEvent> events = IntStream.range(0, 5).mapToObj(this::event).toList();
+
+        assertThatThrownBy(() -> producer.sendAll(events).block(Duration.ofSeconds(1)))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(error -> assertThat(((ResponseStatusException) error).getStatusCode().value())
+                        .isEqualTo(429));
+    }
+
+    @Test
+    void givenJournalAndBrokerDown_whenSwipesAreSent_thenRequestsCompleteAndAreReplayedOnceBrokerRecovers(
+            @TempDir Path journalDirectory) {
+        AtomicBoolean brokerUp = new AtomicBoolean(false);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        KafkaSender<String, SwipeCreatedEvent> sender = flakySender(brokerUp, delivered);
+        producer = new SwipeProducer(sender, 10, 2, 10, false, true, journalDirectory.toString(), 4096, 4);
+        producer.startSender();
+
+        for (int i = 0; i < 5; i++) {
+            producer.send(event(i)).block(Duration.ofSeconds(2));
+        }
+        verify(sender, timeout(2000).atLeastOnce()).send(any());
+        assertThat(delivered).isEmpty();
+
+        brokerUp.set(true);
+
+        await(() -> delivered.size() >= 5);
+        assertThat(delivered).containsExactly("event-0", "event-1", "event-2", "event-3", "event-4");
+    }
+
+    @Test
+    void givenJournaledSwipesNotYetDelivered_whenProducerRestarts_thenTheyAreReplayedFromDisk(
+            @TempDir Path journalDirectory) {
+        AtomicBoolean brokerUp = new AtomicBoolean(false);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        producer = new SwipeProducer(flakySender(brokerUp, delivered), 10, 1, 10, false,
+                true, journalDirectory.toString(), 4096, 4);
+        producer.startSender();
+        for (int i = 0; i < 3; i++) {
+            producer.send(event(i)).block(Duration.ofSeconds(2));
+        }
+        producer.stopSender();
+
+        brokerUp.set(true);
+        producer = new SwipeProducer(flakySender(brokerUp, delivered), 10, 1, 10, false,
+                true, journalDirectory.toString(), 4096, 4);
+        producer.startSender();
+
+        await(() -> delivered.size() >= 3);
+        assertThat(delivered).containsExactly("event-0", "event-1", "event-2");
+    }
+
+    private static <T> Flux<SenderResult<T>> acknowledgeAll(Publisher<SenderRecord<String, SwipeCreatedEvent, T>> records) {
+        return acknowledgeAll(records, null);
+    }
+
+    /** Fails every send while {@code brokerUp} is false; otherwise acks and records delivered event ids. */
+    @SuppressWarnings("unchecked")
+    private static KafkaSender<String, SwipeCreatedEvent> flakySender(AtomicBoolean brokerUp, List<String> delivered) {
+        KafkaSender<String, SwipeCreatedEvent> sender = mock(KafkaSender.class);
+        when(sender.send(any())).thenAnswer(invocation -> {
+            if (!brokerUp.get()) {
+                return Flux.error(new IllegalStateException("broker unavailable"));
+            }
+            Publisher<SenderRecord<String, SwipeCreatedEvent, Object>> records = invocation.getArgument(0);
+            return acknowledgeAll(Flux.from(records).doOnNext(record -> delivered.add(record.value().getEventId())));
+        });
+        return sender;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Flux<SenderResult<T>> acknowledgeAll(Publisher<SenderRecord<String, SwipeCreatedEvent, T>> records,
+                                                            String failingEventId) {
+        return Flux.from(records).map(record -> {
+            SenderResult<T> result = mock(SenderResult.class);
+            when(result.correlationMetadata()).thenReturn(record.correlationMetadata());
+            if (record.value().getEventId().equals(failingEventId)) {
+                when(result.exception()).thenReturn(new IllegalStateException("record rejected"));
+            }
+            return result;
+        });
+    }
+
     private SwipeCreatedEvent event() {
+        return event(1);
+    }
+
+    private SwipeCreatedEvent event(int i) {
         return new SwipeCreatedEvent(
-                "event-1",
+                "event-" + i,
                 "249bea58-449e-4bb6-9243-8f16efec14e0",
                 "44799e38-8299-4697-a8a1-2c56ccededfd",
                 true,
@@ -13,6 +13,9 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -115,4 +118,88 @@ class SwipeServiceTest {
         verify(profileCacheService, never()).existsAll(any(), any(), any());
         verify(swipeProducer, never()).send(any());
     }
+
+    @Test
+    void sendTrustedInternalSwipeShouldPublishFieldsParsedFromRequestBytes() {
+        String profile1Id = UUID.randomUUID().toString();
+        String profile2Id = UUID.randomUUID().toString();
+        when(swipeProducer.send(any())).thenReturn(Mono.empty());
+
+        swipeService.sendTrustedInternalSwipe(SwipeJsonCodecTest.buffer(
+                "{\"profile1Id\":\"" + profile1Id + "\",\"profile2Id\":\"" + profile2Id + "\",\"decision\":true}"
+        ), false).block();
+
+        ArgumentCaptor<SwipeCreatedEvent> eventCaptor = ArgumentCaptor.forClass(SwipeCreatedEvent.class);
+        verify(swipeProducer).send(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getProfile1Id()).isEqualTo(profile1Id);
+        assertThat(eventCaptor.getValue().getProfile2Id()).isEqualTo(profile2Id);
+        assertThat(eventCaptor.getValue().isDecision()).isTrue();
+        verify(profileCacheService, never()).existsAll(any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendSwipesShouldCheckExistenceOnceAndPublishValidSwipesAsOneUnit() {
+        UUID liker = UUID.randomUUID();
+        UUID liked = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        List<SwipeDto> swipes = List.of(
+                new SwipeDto(liker.toString(), liked.toString(), true, null),
+                new SwipeDto(liker.toString(), "not-a-uuid", true, null),
+                new SwipeDto(liker.toString(), liker.toString(), false, null),
+                new SwipeDto(liker.toString(), unknown.toString(), false, null),
+                new SwipeDto(liked.toString(), liker.toString(), false, true)
+        );
+
+        ReflectionTestUtils.setField(swipeService, "batchMaxSize", 10);
+        when(profileCacheService.findExisting(Set.of(liker, liked, unknown), BEARER_TOKEN))
+                .thenReturn(Mono.just(Set.of(liker, liked)));
+        when(swipeProducer.sendAll(any())).thenReturn(Mono.just(new BitSet()));
+
+        List<SwipeBatchItemResult> results = swipeService.sendSwipes(swipes, false, jwt(), false).block();
+
+        assertThat(results).extracting(SwipeBatchItemResult::status).containsExactly(202, 400, 400, 404, 403);
+        assertThat(results.get(1).reason()).isEqualTo("Invalid UUID in field: profile2Id");
+        ArgumentCaptor<List<SwipeCreatedEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(swipeProducer).sendAll(eventsCaptor.capture());
+        assertThat(eventsCaptor.getValue()).singleElement()
+                .satisfies(event -> assertThat(event.getProfile2Id()).isEqualTo(liked.toString()));
+        verify(profileCacheService, never()).existsAll(any(), any(), any());
+        verify(swipeProducer, never()).send(any());
+    }
+
+    @Test
+    void sendSwipesShouldReportRecordsTheBrokerDidNotAcknowledge() {
+        UUID profile1Id = UUID.randomUUID();
+        UUID profile2Id = UUID.randomUUID();
+        List<SwipeDto> swipes = List.of(
+                new SwipeDto(profile1Id.toString(), profile2Id.toString(), true, null),
+                new SwipeDto(profile2Id.toString(), profile1Id.toString(), true, null)
+        );
+        BitSet failed = new BitSet();
+        failed.set(1);
+
+        ReflectionTestUtils.setField(swipeService, "batchMaxSize", 10);
+        when(profileCacheService.findExisting(any(), any())).thenReturn(Mono.just(Set.of(profile1Id, profile2Id)));
+        when(swipeProducer.sendAll(any())).thenReturn(Mono.just(failed));
+
+        List<SwipeBatchItemResult> results = swipeService.sendSwipes(swipes, false, jwt(), false).block();
+
+        assertThat(results).extracting(SwipeBatchItemResult::status).containsExactly(202, 503);
+    }
+
+    @Test
+    void sendSwipesShouldRejectBatchAboveConfiguredSize() {
+        SwipeDto dto = new SwipeDto(UUID.randomUUID().toString(), UUID.randomUUID().toString(), true, null);
+        ReflectionTestUtils.setField(swipeService, "batchMaxSize", 1);
+
+        ResponseStatusException exception = assertThrows(
+                ResponseStatusException.class,
+                () -> swipeService.sendSwipes(List.of(dto, dto), false, jwt(), false)
+        );
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(profileCacheService, never()).findExisting(any(), any());
+        verify(swipeProducer, never()).sendAll(any());
+    }
 }
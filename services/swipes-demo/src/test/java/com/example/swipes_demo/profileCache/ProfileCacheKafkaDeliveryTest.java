@@ -37,7 +37,8 @@ class ProfileCacheKafkaDeliveryTest {
         ProfileCacheService service = new ProfileCacheService(
                 repository,
                 redis,
-                mock(ProfileServiceClient.class)
+                mock(ProfileServiceClient.class),
+                mock(ProfileExistenceIndex.class)
         );
         ProfileDeleteEvent event = new ProfileDeleteEvent(UUID.randomUUID(), profileId, Instant.now());
 
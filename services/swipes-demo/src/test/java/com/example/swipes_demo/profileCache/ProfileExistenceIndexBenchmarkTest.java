@@ -0,0 +1,151 @@
+package com.example.swipes_demo.profileCache;
+
+import com.example.swipes_demo.profileCache.client.ProfileServiceClient;
+import com.tinder.platform.benchmark.BenchmarkReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.core.ReactiveSetOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Replays swipe existence checks at the 50k swipes/s target against 1M known profiles, once with
+ * the index ready and once with it disabled (the previous Redis-first path), counting Redis
+ * round trips through a stub that answers immediately. Also reports multi-threaded
+ * {@code contains} throughput and the index's retained heap. Reports one {@link BenchmarkReport}
+ * line per mode.
+ *
+ * <p>Opt-in: {@code mvn test -Dtest=ProfileExistenceIndexBenchmarkTest -Dswipes.benchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "swipes.benchmarks", matches = "true")
+class ProfileExistenceIndexBenchmarkTest {
+
+    private static final int PROFILES = 1_000_000;
+    private static final int SWIPES_PER_SECOND = 50_000;
+    private static final int SWIPES = SWIPES_PER_SECOND * 5;
+    private static final int LOOKUP_THREADS = 4;
+    private static final int LOOKUPS_PER_THREAD = 10_000_000;
+
+    @Test
+    void reportRedisRoundTripsAndLookupCost() throws Exception {
+        UUID[] profiles = new UUID[PROFILES];
+        for (int i = 0; i < PROFILES; i++) {
+            profiles[i] = UUID.randomUUID();
+        }
+
+        System.gc();
+        long heapBefore = usedHeap();
+        ProfileExistenceIndex index = new ProfileExistenceIndex(
+                ProfileExistenceIndexTest.repository(new TreeSet<>(), null), true, 10_000, Duration.ofMinutes(5));
+        index.rebuild();
+        Arrays.stream(profiles).forEach(index::add);
+        System.gc();
+        long indexBytes = usedHeap() - heapBefore;
+
+        replay("index", index, profiles, indexBytes, lookupsPerSecond(index, profiles));
+        replay("redis_only", new ProfileExistenceIndex(mock(ProfileCacheRepository.class), false, 10_000,
+                Duration.ofMinutes(5)),
+                profiles, 0, 0);
+    }
+
+    private void replay(String mode, ProfileExistenceIndex index, UUID[] profiles,
+                        long indexBytes, double lookupsPerSecond) {
+        LongAdder redisCalls = new LongAdder();
+        ProfileCacheService service = new ProfileCacheService(
+                mock(ProfileCacheRepository.class), redis(redisCalls), mock(ProfileServiceClient.class), index);
+
+        long[] latencies = new long[SWIPES];
+        long intervalNanos = 1_000_000_000L / SWIPES_PER_SECOND;
+        long next = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < SWIPES; i++) {
+            while (System.nanoTime() < next) {
+                Thread.onSpinWait();
+            }
+            UUID first = profiles[random.nextInt(PROFILES)];
+            UUID second = profiles[random.nextInt(PROFILES)];
+            long begin = System.nanoTime();
+            service.existsAll(first, second).block();
+            latencies[i] = System.nanoTime() - begin;
+            next += intervalNanos;
+        }
+
+        BenchmarkReport.of("profile-existence-index")
+                .with("mode", mode)
+                .with("profiles", PROFILES)
+                .with("swipes", SWIPES)
+                .with("redis_calls_per_swipe", (double) redisCalls.sum() / SWIPES)
+                .with("redis_calls_per_s_at_50k", redisCalls.sum() * SWIPES_PER_SECOND / SWIPES)
+                .with("index_mb", indexBytes / 1_048_576.0)
+                .with("contains_per_s", lookupsPerSecond)
+                .percentiles("exists_all_ns", latencies, TimeUnit.NANOSECONDS, 0.50, 0.95, 0.99)
+                .emit();
+    }
+
+    private static double lookupsPerSecond(ProfileExistenceIndex index, UUID[] profiles) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(LOOKUP_THREADS);
+        long[] hits = new long[LOOKUP_THREADS];
+        for (int t = 0; t < LOOKUP_THREADS; t++) {
+            int worker = t;
+            Thread.ofPlatform().name("bench-lookup-" + t).start(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+                        if (index.contains(profiles[random.nextInt(profiles.length)])) {
+                            hits[worker]++;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        long begin = System.nanoTime();
+        start.countDown();
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        long elapsed = System.nanoTime() - begin;
+        assertThat(Arrays.stream(hits).sum()).isEqualTo((long) LOOKUP_THREADS * LOOKUPS_PER_THREAD);
+        return LOOKUP_THREADS * (double) LOOKUPS_PER_THREAD * 1_000_000_000L / elapsed;
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    @SuppressWarnings("unchecked")
+    private static ReactiveStringRedisTemplate redis(LongAdder calls) {
+        ReactiveStringRedisTemplate template = mock(ReactiveStringRedisTemplate.class, withSettings().stubOnly());
+        ReactiveSetOperations<String, String> setOperations =
+                mock(ReactiveSetOperations.class, withSettings().stubOnly());
+        when(template.opsForSet()).thenReturn(setOperations);
+        when(setOperations.isMember(anyString(), anyString())).thenAnswer(invocation -> {
+            calls.increment();
+            return Mono.just(true);
+        });
+        return template;
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
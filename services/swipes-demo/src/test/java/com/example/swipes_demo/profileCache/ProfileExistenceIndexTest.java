@@ -0,0 +1,172 @@
+package com.example.swipes_demo.profileCache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProfileExistenceIndexTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @Test
+    void givenProfileCacheRows_whenRebuilt_thenEveryPageIsLoadedAndIndexBecomesReady() {
+        NavigableSet<UUID> stored = profiles(2_500);
+        ProfileExistenceIndex index = new ProfileExistenceIndex(repository(stored, null), true, 1_000, TTL);
+
+        assertThat(index.isReady()).isFalse();
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(2_500);
+        assertThat(stored).allMatch(index::contains);
+        assertThat(index.contains(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void givenProfileEventsDuringRebuild_whenSwappedIn_thenEventsAreNotLost() {
+        NavigableSet<UUID> stored = profiles(10);
+        UUID createdDuringLoad = UUID.randomUUID();
+        UUID deletedDuringLoad = stored.first();
+        AtomicReference<ProfileExistenceIndex> indexRef = new AtomicReference<>();
+        ProfileExistenceIndex index = new ProfileExistenceIndex(repository(stored, () -> {
+            indexRef.get().add(createdDuringLoad);
+            indexRef.get().remove(deletedDuringLoad);
+        }), true, 100, TTL);
+        indexRef.set(index);
+
+        index.rebuild();
+
+        assertThat(index.contains(createdDuringLoad)).isTrue();
+        assertThat(index.contains(deletedDuringLoad)).isFalse();
+        assertThat(index.size()).isEqualTo(10);
+    }
+
+    @Test
+    void givenDeletedProfile_whenASlowerLayerStillConfirmsIt_thenTombstoneKeepsItOut() {
+        NavigableSet<UUID> stored = profiles(5);
+        UUID deleted = stored.first();
+        ProfileExistenceIndex index = new ProfileExistenceIndex(repository(stored, null), true, 100, TTL);
+        index.rebuild();
+
+        index.remove(deleted);
+        index.addConfirmed(List.of(deleted, stored.last()));
+        assertThat(index.contains(deleted)).isFalse();
+
+        index.rebuild();
+        assertThat(index.contains(deleted)).isFalse();
+        assertThat(index.size()).isEqualTo(4);
+
+        index.add(deleted);
+        assertThat(index.contains(deleted)).isTrue();
+    }
+
+    @Test
+    void givenExpiredTombstone_whenConfirmed_thenIdIsIndexedAgain() {
+        UUID profileId = UUID.randomUUID();
+        ProfileExistenceIndex index = new ProfileExistenceIndex(repository(profiles(1), null), true, 100, Duration.ZERO);
+
+        index.remove(profileId);
+        index.addConfirmed(List.of(profileId));
+
+        assertThat(index.contains(profileId)).isTrue();
+    }
+
+    @Test
+    void givenIndexDisabledOrLoadFailing_whenRebuilt_thenIndexStaysNotReady() {
+        ProfileExistenceIndex disabled = new ProfileExistenceIndex(repository(profiles(3), null), false, 100, TTL);
+        disabled.rebuild();
+        assertThat(disabled.isReady()).isFalse();
+
+        ProfileCacheRepository failing = mock(ProfileCacheRepository.class);
+        when(failing.count()).thenThrow(new IllegalStateException("db down"));
+        ProfileExistenceIndex index = new ProfileExistenceIndex(failing, true, 100, TTL);
+        index.rebuild();
+        assertThat(index.isReady()).isFalse();
+    }
+
+    @Test
+    void givenEventReadersNotYetPositioned_whenRefreshDue_thenSnapshotWaitsForThem() {
+        NavigableSet<UUID> stored = profiles(3);
+        ProfileCacheRepository repository = repository(stored, null);
+        ProfileExistenceIndex index = new ProfileExistenceIndex(repository, true, 100, TTL);
+
+        index.refresh();
+        assertThat(index.isReady()).isFalse();
+        verify(repository, never()).findProfileIdsAfter(any(), any());
+
+        index.eventsPositioned();
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(3);
+
+        stored.add(UUID.randomUUID());
+        index.refresh();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void givenManyAddsAndRemoves_whenTableResizesAndReusesTombstones_thenMembershipStaysExact() {
+        ProfileExistenceIndex.UuidTable table = new ProfileExistenceIndex.UuidTable(16);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            assertThat(table.add(id.getMostSignificantBits(), id.getLeastSignificantBits())).isTrue();
+        }
+        for (int i = 0; i < ids.size(); i += 2) {
+            UUID id = ids.get(i);
+            assertThat(table.remove(id.getMostSignificantBits(), id.getLeastSignificantBits())).isTrue();
+        }
+        for (int i = 0; i < 20_000; i++) {
+            UUID id = UUID.randomUUID();
+            table.add(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        }
+
+        assertThat(table.size()).isEqualTo(45_000);
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            assertThat(table.contains(id.getMostSignificantBits(), id.getLeastSignificantBits()))
+                    .isEqualTo(i % 2 == 1);
+        }
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    static NavigableSet<UUID> profiles(int count) {
+        NavigableSet<UUID> ids = new TreeSet<>();
+        while (ids.size() < count) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    /** Keyset-paging repository over {@code stored}; {@code duringLoad} runs after the first page. */
+    static ProfileCacheRepository repository(NavigableSet<UUID> stored, Runnable duringLoad) {
+        ProfileCacheRepository repository = mock(ProfileCacheRepository.class);
+        when(repository.count()).thenReturn((long) stored.size());
+        when(repository.findProfileIdsAfter(any(), any())).thenAnswer(invocation -> {
+            UUID after = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            NavigableSet<UUID> tail = after.equals(new UUID(0L, 0L)) ? stored : stored.tailSet(after, false);
+            List<UUID> page = tail.stream().limit(pageable.getPageSize()).toList();
+            if (duringLoad != null && after.equals(new UUID(0L, 0L))) {
+                duringLoad.run();
+            }
+            return page;
+        });
+        return repository;
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
@@ -43,6 +45,19 @@ class KafkaConsumerDeliveryConfigurationTest {
         assertThat(ReflectionTestUtils.getField(factory, "commonErrorHandler")).isSameAs(errorHandler);
     }
 
+    @Test
+    void existenceIndexConsumersJoinNoGroupAndCommitNothing() {
+        var create = (DefaultKafkaConsumerFactory<?, ?>) config.profileIndexCreateEventConsumerFactory();
+        var delete = (DefaultKafkaConsumerFactory<?, ?>) config.profileIndexDeleteEventConsumerFactory();
+
+        for (var factory : List.of(create, delete)) {
+            assertThat(factory.getConfigurationProperties())
+                    .doesNotContainKey(ConsumerConfig.GROUP_ID_CONFIG)
+                    .containsEntry(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false)
+                    .containsEntry(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        }
+    }
+
     @Test
     void failedProfileEventsHaveNormalizedDeadLetterTopics() {
         assertThat(config.profileCreatedDeadLetterTopic().name()).isEqualTo("profile.created.dlt");
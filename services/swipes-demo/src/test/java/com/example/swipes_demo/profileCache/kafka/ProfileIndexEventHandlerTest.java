@@ -0,0 +1,126 @@
+package com.example.swipes_demo.profileCache.kafka;
+
+import com.example.swipes_demo.profileCache.ProfileDeleteEvent;
+import com.example.swipes_demo.profileCache.ProfileExistenceIndex;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProfileIndexEventHandlerTest {
+
+    private static final String CREATED = "profile.created";
+    private static final String DELETED = "profile.deleted";
+
+    private final ProfileExistenceIndex index = mock(ProfileExistenceIndex.class);
+    private final MockConsumer<String, ProfileCreateEvent> createConsumer = new MockConsumer<>("latest");
+    private final MockConsumer<String, ProfileDeleteEvent> deleteConsumer = new MockConsumer<>("latest");
+    private final ProfileIndexEventHandler handler = new ProfileIndexEventHandler(
+            index, factory(createConsumer), factory(deleteConsumer), CREATED, DELETED, true, true);
+
+    @AfterEach
+    void tearDown() {
+        handler.stop();
+    }
+
+    @Test
+    void givenEventsAlreadyInTheTopics_whenStarted_thenSnapshotStartsOnlyOnceBothReadersSitAtTheEnd() {
+        partitions(createConsumer, CREATED, 5L, 3L);
+        partitions(deleteConsumer, DELETED, 7L);
+        Map<TopicPartition, Long> positionsAtSnapshot = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            createConsumer.assignment().forEach(tp -> positionsAtSnapshot.put(tp, createConsumer.position(tp)));
+            deleteConsumer.assignment().forEach(tp -> positionsAtSnapshot.put(tp, deleteConsumer.position(tp)));
+            return null;
+        }).when(index).eventsPositioned();
+
+        handler.start();
+
+        verify(index, timeout(5_000)).eventsPositioned();
+        assertThat(positionsAtSnapshot).containsExactlyInAnyOrderEntriesOf(Map.of(
+                new TopicPartition(CREATED, 0), 5L,
+                new TopicPartition(CREATED, 1), 3L,
+                new TopicPartition(DELETED, 0), 7L));
+    }
+
+    @Test
+    void givenDeletePublishedWhileTheSnapshotLoads_thenItStillReachesTheIndex() {
+        partitions(createConsumer, CREATED, 0L);
+        partitions(deleteConsumer, DELETED, 7L);
+        UUID deletedDuringSnapshot = UUID.randomUUID();
+        UUID createdDuringSnapshot = UUID.randomUUID();
+        doAnswer(invocation -> {
+            deleteConsumer.addRecord(new ConsumerRecord<>(DELETED, 0, 7L, null,
+                    new ProfileDeleteEvent(UUID.randomUUID(), deletedDuringSnapshot, Instant.now())));
+            createConsumer.addRecord(new ConsumerRecord<>(CREATED, 0, 0L, null,
+                    new ProfileCreateEvent(UUID.randomUUID(), createdDuringSnapshot, Instant.now(), "user-1")));
+            return null;
+        }).when(index).eventsPositioned();
+
+        handler.start();
+
+        verify(index, timeout(5_000)).remove(deletedDuringSnapshot);
+        verify(index, timeout(5_000)).add(createdDuringSnapshot);
+    }
+
+    @Test
+    void givenOneTopicNotReadable_thenSnapshotDoesNotStart() {
+        partitions(createConsumer, CREATED, 0L);
+
+        handler.start();
+
+        verify(index, after(500).never()).eventsPositioned();
+    }
+
+    @Test
+    void givenIndexDisabledOrListenersOff_thenReadersDoNotAutoStart() {
+        assertThat(handler.isAutoStartup()).isTrue();
+        assertThat(new ProfileIndexEventHandler(index, factory(createConsumer), factory(deleteConsumer),
+                CREATED, DELETED, false, true).isAutoStartup()).isFalse();
+        assertThat(new ProfileIndexEventHandler(index, factory(createConsumer), factory(deleteConsumer),
+                CREATED, DELETED, true, false).isAutoStartup()).isFalse();
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    @SuppressWarnings("unchecked")
+    private static <V> ConsumerFactory<String, V> factory(MockConsumer<String, V> consumer) {
+        ConsumerFactory<String, V> factory = mock(ConsumerFactory.class);
+        when(factory.createConsumer()).thenReturn(consumer);
+        return factory;
+    }
+
+    /** One partition per end offset. */
+    private static void partitions(MockConsumer<String, ?> consumer, String topic, long... endOffsets) {
+        Node[] none = new Node[0];
+        consumer.updatePartitions(topic, IntStream.range(0, endOffsets.length)
+                .mapToObj(partition -> new PartitionInfo(topic, partition, null, none, none))
+                .toList());
+        Map<TopicPartition, Long> ends = new HashMap<>();
+        for (int partition = 0; partition < endOffsets.length; partition++) {
+            ends.put(new TopicPartition(topic, partition), endOffsets[partition]);
+        }
+        consumer.updateEndOffsets(ends);
+    }
+}
@@ -1,10 +1,10 @@
 package model
 
 import (
-	"encoding/binary"
 	"errors"
-	"sync/atomic"
 	"time"
+
+	"github.com/google/uuid"
 )
 
 var ErrQueueFull = errors.New("swipe producer queue is full")
@@ -34,20 +34,11 @@ type SwipeCreatedEvent struct {
 	Timestamp  int64
 }
 
-var eventSequence atomic.Uint64
-
-func init() {
-	eventSequence.Store(uint64(time.Now().UnixNano()))
-}
-
+// NewSwipeCreatedEvent draws a random (v4) eventId. The consumer drops events whose
+// eventId it has already applied, so ids must not collide across replicas.
 func NewSwipeCreatedEvent(command SwipeCommand) SwipeCreatedEvent {
-	var eventID [16]byte
-	binary.BigEndian.PutUint64(eventID[:8], uint64(time.Now().UnixNano()))
-	binary.BigEndian.PutUint64(eventID[8:], eventSequence.Add(1))
-	eventID[6] = eventID[6]&0x0f | 0x40
-	eventID[8] = eventID[8]&0x3f | 0x80
 	return SwipeCreatedEvent{
-		EventID: eventID, Profile1ID: command.Profile1ID, Profile2ID: command.Profile2ID,
+		EventID: uuid.New(), Profile1ID: command.Profile1ID, Profile2ID: command.Profile2ID,
 		Decision: command.Decision, IsSuper: command.IsSuper, Timestamp: time.Now().UnixMilli(),
 	}
 }
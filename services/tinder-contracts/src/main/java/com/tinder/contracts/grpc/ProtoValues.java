@@ -0,0 +1,51 @@
+package com.tinder.contracts.grpc;
+
+import com.google.protobuf.ByteString;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Encodings shared by both ends of the internal gRPC contracts
+ * ({@code profile_query.proto}): UUIDs as 16 raw bytes, most significant
+ * long first, and UTC timestamps as epoch millis with {@code 0} for unset.
+ */
+public final class ProtoValues {
+
+    private ProtoValues() {
+    }
+
+    public static ByteString uuid(UUID id) {
+        if (id == null) {
+            return ByteString.EMPTY;
+        }
+        return ByteString.copyFrom(ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array());
+    }
+
+    /** @return the decoded UUID, or {@code null} for an empty field */
+    public static UUID uuid(ByteString bytes) {
+        if (bytes.isEmpty()) {
+            return null;
+        }
+        if (bytes.size() != 16) {
+            throw new IllegalArgumentException("UUID must be 16 bytes, got " + bytes.size());
+        }
+        ByteBuffer buffer = bytes.asReadOnlyByteBuffer();
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    public static long epochMillis(LocalDateTime utc) {
+        return utc == null ? 0L : utc.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /** @return the UTC timestamp, or {@code null} for {@code 0} */
+    public static LocalDateTime utc(long epochMillis) {
+        return epochMillis == 0L ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
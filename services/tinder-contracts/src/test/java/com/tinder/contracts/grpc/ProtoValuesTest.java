@@ -0,0 +1,45 @@
+package com.tinder.contracts.grpc;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProtoValuesTest {
+
+    @Test
+    void uuid_roundTripsThroughSixteenBytes() {
+        UUID id = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+        ByteString bytes = ProtoValues.uuid(id);
+
+        assertEquals(16, bytes.size());
+        assertEquals(0x12, bytes.byteAt(0));
+        assertEquals(id, ProtoValues.uuid(bytes));
+    }
+
+    @Test
+    void uuid_unsetFieldDecodesToNull() {
+        assertEquals(ByteString.EMPTY, ProtoValues.uuid((UUID) null));
+        assertNull(ProtoValues.uuid(ByteString.EMPTY));
+    }
+
+    @Test
+    void uuid_rejectsWrongLength() {
+        assertThrows(IllegalArgumentException.class, () -> ProtoValues.uuid(ByteString.copyFromUtf8("short")));
+    }
+
+    @Test
+    void timestamp_roundTripsAtMillisecondPrecision() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_000_000);
+
+        assertEquals(createdAt, ProtoValues.utc(ProtoValues.epochMillis(createdAt)));
+        assertEquals(0L, ProtoValues.epochMillis(null));
+        assertNull(ProtoValues.utc(0L));
+    }
+}